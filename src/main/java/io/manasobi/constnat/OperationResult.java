@@ -0,0 +1,134 @@
+package io.manasobi.constnat;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 번의 작업 호출 결과(상태, 메시지, 처리한 파일 수와 bytes 수, 소요 시간)를 담는 불변 객체.<br>
+ * Result enum 상수와 달리 호출마다 새로 생성되므로 여러 스레드에서 동시에 사용해도 메시지가 섞이지 않는다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class OperationResult {
+
+	private final Result status;
+
+	private final String message;
+
+	private final long fileCount;
+
+	private final long byteCount;
+
+	private final long elapsedNanos;
+
+	private OperationResult(Result status, String message, long fileCount, long byteCount, long elapsedNanos) {
+		this.status = status;
+		this.message = message;
+		this.fileCount = fileCount;
+		this.byteCount = byteCount;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * 성공 결과를 생성한다.
+	 *
+	 * @param fileCount 처리한 파일 수
+	 * @param byteCount 처리한 bytes 수
+	 * @param elapsedNanos 소요 시간(ns)
+	 * @return 상태가 Result.SUCCESS인 OperationResult
+	 */
+	public static OperationResult success(long fileCount, long byteCount, long elapsedNanos) {
+		return new OperationResult(Result.SUCCESS, Result.SUCCESS.getMessage(), fileCount, byteCount, elapsedNanos);
+	}
+
+	/**
+	 * 실패 결과를 생성한다. 실패 전까지 처리한 파일 수와 bytes 수도 함께 담는다.
+	 *
+	 * @param message 에러 메시지
+	 * @param fileCount 처리한 파일 수
+	 * @param byteCount 처리한 bytes 수
+	 * @param elapsedNanos 소요 시간(ns)
+	 * @return 상태가 Result.FAIL인 OperationResult
+	 */
+	public static OperationResult fail(String message, long fileCount, long byteCount, long elapsedNanos) {
+		return new OperationResult(Result.FAIL, message, fileCount, byteCount, elapsedNanos);
+	}
+
+	/**
+	 * Result를 반환하는 기존 메소드의 결과를 OperationResult로 변환한다.<br>
+	 * 메시지는 현재 스레드에서 설정된 Result의 메시지를 사용하므로 해당 메소드를 호출한 스레드에서 바로 변환해야 한다.
+	 *
+	 * @param result 변환할 Result
+	 * @param fileCount 처리한 파일 수
+	 * @param byteCount 처리한 bytes 수
+	 * @param elapsedNanos 소요 시간(ns)
+	 * @return 변환한 OperationResult
+	 */
+	public static OperationResult of(Result result, long fileCount, long byteCount, long elapsedNanos) {
+		return new OperationResult(result, result.getMessage(), fileCount, byteCount, elapsedNanos);
+	}
+
+	/**
+	 * @return 작업 상태(Result.SUCCESS 또는 Result.FAIL 등)
+	 */
+	public Result getStatus() {
+		return status;
+	}
+
+	/**
+	 * @return 결과 메시지, 실패한 경우 에러 메시지
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * @return 처리한 파일 수
+	 */
+	public long getFileCount() {
+		return fileCount;
+	}
+
+	/**
+	 * @return 처리한 bytes 수
+	 */
+	public long getByteCount() {
+		return byteCount;
+	}
+
+	/**
+	 * @return 소요 시간(ns)
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * @return 소요 시간(ms)
+	 */
+	public long getElapsedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+	}
+
+	/**
+	 * 초당 처리한 bytes 수를 반환한다.
+	 *
+	 * @return 처리량(bytes/s), 소요 시간이 0이면 0
+	 */
+	public double getBytesPerSecond() {
+		return elapsedNanos == 0 ? 0 : byteCount * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+	}
+
+	/**
+	 * @return 상태가 Result.SUCCESS면 true, 아니면 false
+	 */
+	public boolean isSuccess() {
+		return status == Result.SUCCESS;
+	}
+
+	@Override
+	public String toString() {
+		return "OperationResult(status=" + status + ", files=" + fileCount + ", bytes=" + byteCount + ", elapsed=" + getElapsedMillis() + "ms, message=" + message + ")";
+	}
+
+}
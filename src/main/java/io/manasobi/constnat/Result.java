@@ -10,11 +10,20 @@ public enum Result {
 		
 	private String code;
 	
-	private String message;
+	/*
+	 * enum 상수는 모든 스레드가 공유하므로 메시지는 스레드별로 보관한다.
+	 * 다른 스레드의 setMessage()가 현재 스레드가 받은 에러 메시지를 덮어쓰지 않는다.
+	 */
+	private final ThreadLocal<String> message;
 	
-	private Result(String code, String message) {
+	private Result(String code, final String defaultMessage) {
 		this.code = code;
-		this.message = message;
+		this.message = new ThreadLocal<String>() {
+			@Override
+			protected String initialValue() {
+				return defaultMessage;
+			}
+		};
 	}
 	
 	public String getCode() {
@@ -25,12 +34,22 @@ public enum Result {
 		this.code = code;
 	}
 
+	/**
+	 * 현재 스레드에서 마지막으로 설정한 메시지를 반환한다.
+	 * 
+	 * @return 메시지
+	 */
 	public String getMessage() {
-		return message;
+		return message.get();
 	}
 
+	/**
+	 * 현재 스레드의 메시지를 설정한다. 다른 스레드에서 조회하는 메시지에는 영향을 주지 않는다.
+	 * 
+	 * @param message 메시지
+	 */
 	public void setMessage(String message) {
-		this.message = message;
+		this.message.set(message);
 	}
 	
 }
@@ -0,0 +1,423 @@
+package io.manasobi.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.charset.Charset;
+import java.nio.file.OpenOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.apache.commons.io.Charsets;
+
+import io.manasobi.constnat.OperationResult;
+import io.manasobi.constnat.Result;
+import io.manasobi.exception.FileUtilsException;
+
+/**
+ * FileUtils, IOUtils의 주요 기능을 호출 스레드를 막지 않고 실행하여 CompletableFuture로 반환하는 비동기 facade.<br>
+ * <ul>
+ * <li>파일 읽기와 쓰기는 AsynchronousFileChannel을 사용하며, 읽기/쓰기가 끝날 때마다 completion handler에서 다음 요청을 이어서 한다.</li>
+ * <li>복사, 이동, 삭제처럼 블로킹 API만 있는 작업은 스레드 수와 대기열 크기가 제한된 전용 I/O executor에서 실행한다.
+ * 대기열이 가득 차면 호출 스레드를 막지 않고 RejectedExecutionException으로 실패한 future를 반환한다.</li>
+ * <li>Result를 반환하는 작업은 스레드 간에 메시지가 유실되지 않도록 OperationResult로 완료되고,
+ * 읽기 작업은 실패하면 FileUtilsException으로 예외 완료된다.</li>
+ * </ul>
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class AsyncFileUtils {
+
+	public static final int DEFAULT_IO_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+	public static final int DEFAULT_IO_QUEUE_CAPACITY = 4096;
+
+	private static final Set<OpenOption> READ_OPTIONS = Collections.<OpenOption>singleton(StandardOpenOption.READ);
+
+	private static final Set<OpenOption> WRITE_OPTIONS = new HashSet<OpenOption>(Arrays.asList(
+			StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING));
+
+	private AsyncFileUtils() { }
+
+	/**
+	 * 비동기 작업이 사용하는 I/O executor를 반환한다. 이어지는 블로킹 단계를 같은 executor에서 실행할 때 사용한다.<br>
+	 * 공유 executor가 종료되지 않도록 작업 실행만 가능한 Executor를 반환한다.
+	 *
+	 * @return 스레드 수와 대기열 크기가 제한된 I/O executor
+	 */
+	public static Executor getExecutor() {
+		return IoExecutorHolder.VIEW;
+	}
+
+	/**
+	 * 원본 파일을 대상 파일로 비동기 복사한다.
+	 *
+	 * @param srcFile 원본 파일
+	 * @param destFile 대상 파일
+	 * @param preserveFileDate 수정일 설정 플래그
+	 * @return 복사한 bytes 수와 소요 시간이 담긴 OperationResult로 완료되는 future
+	 */
+	public static CompletableFuture<OperationResult> copyFile(final File srcFile, final File destFile, final boolean preserveFileDate) {
+		return submit(new ResultTask(srcFile) {
+			@Override
+			Result run() {
+				return FileUtils.copyFile(srcFile, destFile, preserveFileDate);
+			}
+		});
+	}
+
+	/**
+	 * 원본 디렉토리를 대상 디렉토리명으로 비동기 복사한다.
+	 *
+	 * @param srcDir 원본 디렉토리
+	 * @param destDir 대상 디렉토리
+	 * @param preserveFileDate 수정일 설정 플래그
+	 * @return 복사한 파일 수, bytes 수, 소요 시간이 담긴 OperationResult로 완료되는 future
+	 */
+	public static CompletableFuture<OperationResult> copyDir(final File srcDir, final File destDir, final boolean preserveFileDate) {
+		return supply(new Task<OperationResult>() {
+			@Override
+			OperationResult call() {
+				return FileUtils.copyDirParallel(srcDir, destDir, null, preserveFileDate, 1).toOperationResult();
+			}
+		});
+	}
+
+	/**
+	 * 원본 파일을 대상 파일로 비동기 이동한다.
+	 *
+	 * @param srcFile 원본 파일
+	 * @param destFile 대상 파일
+	 * @param preserveFileDate 수정일 설정 플래그
+	 * @return 이동한 bytes 수와 소요 시간이 담긴 OperationResult로 완료되는 future
+	 */
+	public static CompletableFuture<OperationResult> moveFile(final File srcFile, final File destFile, final boolean preserveFileDate) {
+		return submit(new ResultTask(srcFile) {
+			@Override
+			Result run() {
+				return FileUtils.moveFile(srcFile, destFile, preserveFileDate);
+			}
+		});
+	}
+
+	/**
+	 * 원본 디렉토리를 대상 디렉토리로 비동기 이동한다.
+	 *
+	 * @param srcDir 원본 디렉토리
+	 * @param destDir 대상 디렉토리
+	 * @param preserveFileDate 수정일 설정 플래그
+	 * @return 소요 시간이 담긴 OperationResult로 완료되는 future
+	 */
+	public static CompletableFuture<OperationResult> moveDir(final File srcDir, final File destDir, final boolean preserveFileDate) {
+		return submit(new ResultTask(null) {
+			@Override
+			Result run() {
+				return FileUtils.moveDir(srcDir, destDir, preserveFileDate);
+			}
+		});
+	}
+
+	/**
+	 * 파일을 비동기 삭제한다.
+	 *
+	 * @param targetFile 삭제할 파일
+	 * @return 소요 시간이 담긴 OperationResult로 완료되는 future
+	 */
+	public static CompletableFuture<OperationResult> deleteFile(final File targetFile) {
+		return submit(new ResultTask(null) {
+			@Override
+			Result run() {
+				return FileUtils.deleteFile(targetFile);
+			}
+		});
+	}
+
+	/**
+	 * 디렉토리를 하위 항목과 함께 비동기 삭제한다.
+	 *
+	 * @param targetDir 삭제할 디렉토리
+	 * @return 소요 시간이 담긴 OperationResult로 완료되는 future
+	 */
+	public static CompletableFuture<OperationResult> deleteDir(final File targetDir) {
+		return submit(new ResultTask(null) {
+			@Override
+			Result run() {
+				return FileUtils.deleteDir(targetDir);
+			}
+		});
+	}
+
+	/**
+	 * InputStream의 내용을 OutputStream으로 비동기 복사한다. 스트림은 닫지 않는다.
+	 *
+	 * @param is 읽을 InputStream
+	 * @param os 쓸 OutputStream
+	 * @return 복사한 bytes 수로 완료되는 future, 실패하면 IOUtilsException으로 예외 완료
+	 */
+	public static CompletableFuture<Long> copy(final InputStream is, final OutputStream os) {
+		return supply(new Task<Long>() {
+			@Override
+			Long call() {
+				return IOUtils.copyLarge(is, os);
+			}
+		});
+	}
+
+	/**
+	 * AsynchronousFileChannel로 파일 전체를 읽어 파일 크기와 같은 길이의 byte 배열로 반환한다.
+	 *
+	 * @param file 대상 파일
+	 * @return 파일 내용으로 완료되는 future, 실패하면 FileUtilsException으로 예외 완료
+	 */
+	public static CompletableFuture<byte[]> readFileToByteArray(final File file) {
+
+		final CompletableFuture<byte[]> future = new CompletableFuture<byte[]>();
+
+		final AsynchronousFileChannel channel;
+		final long size;
+
+		try {
+			channel = AsynchronousFileChannel.open(file.toPath(), READ_OPTIONS, IoExecutorHolder.INSTANCE);
+			size = channel.size();
+		} catch (Exception e) {
+			future.completeExceptionally(new FileUtilsException(file + "를 읽을 수 없습니다. " + e.getMessage()));
+			return future;
+		}
+
+		if (size > MappedFileReader.getReadSizeLimit()) {
+			IOUtils.closeQuietly(channel);
+			future.completeExceptionally(new FileUtilsException(file + "의 크기(" + size + " bytes)가 읽기 제한을 초과합니다."));
+			return future;
+		}
+
+		final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+
+		read(channel, buffer, new CompletionHandler<Integer, File>() {
+
+			@Override
+			public void completed(Integer read, File attachment) {
+
+				if (read >= 0 && buffer.hasRemaining()) {
+					read(channel, buffer, this, file, future);
+					return;
+				}
+
+				IOUtils.closeQuietly(channel);
+
+				byte[] bytes = buffer.array();
+
+				future.complete(buffer.hasRemaining() ? Arrays.copyOf(bytes, buffer.position()) : bytes);
+			}
+
+			@Override
+			public void failed(Throwable e, File attachment) {
+				IOUtils.closeQuietly(channel);
+				future.completeExceptionally(new FileUtilsException(attachment + " 읽기 중에 에러가 발생하였습니다. " + e.getMessage()));
+			}
+		}, file, future);
+
+		return future;
+	}
+
+	/**
+	 * AsynchronousFileChannel로 파일 전체를 읽어 지정한 charset으로 decode 한 문자열을 반환한다.
+	 *
+	 * @param file 대상 파일
+	 * @param encoding decode 할 charset
+	 * @return 파일 내용으로 완료되는 future, 실패하면 FileUtilsException으로 예외 완료
+	 */
+	public static CompletableFuture<String> readFileToString(File file, Charset encoding) {
+
+		final Charset charset = Charsets.toCharset(encoding);
+
+		return readFileToByteArray(file).thenApply(new Function<byte[], String>() {
+			@Override
+			public String apply(byte[] bytes) {
+				return new String(bytes, charset);
+			}
+		});
+	}
+
+	/**
+	 * AsynchronousFileChannel로 byte 배열을 파일에 쓴다. 파일이 존재하면 덮어쓰고, 상위 디렉토리가 없으면 생성한다.
+	 *
+	 * @param file 대상 파일
+	 * @param data 쓸 내용
+	 * @return 쓴 bytes 수와 소요 시간이 담긴 OperationResult로 완료되는 future
+	 */
+	public static CompletableFuture<OperationResult> writeByteArrayToFile(final File file, byte[] data) {
+
+		final long startTime = System.nanoTime();
+
+		final CompletableFuture<OperationResult> future = new CompletableFuture<OperationResult>();
+
+		final AsynchronousFileChannel channel;
+
+		try {
+
+			File parent = file.getAbsoluteFile().getParentFile();
+
+			if (parent != null && !parent.mkdirs() && !parent.isDirectory()) {
+				throw new IOException(parent + " 디렉토리를 생성할 수 없습니다.");
+			}
+
+			channel = AsynchronousFileChannel.open(file.toPath(), WRITE_OPTIONS, IoExecutorHolder.INSTANCE);
+
+		} catch (Exception e) {
+			future.complete(OperationResult.fail(file + " 쓰기 중에 에러가 발생하였습니다. " + e.getMessage(), 0, 0, System.nanoTime() - startTime));
+			return future;
+		}
+
+		final ByteBuffer buffer = ByteBuffer.wrap(data);
+
+		write(channel, buffer, new CompletionHandler<Integer, File>() {
+
+			@Override
+			public void completed(Integer written, File attachment) {
+
+				if (buffer.hasRemaining()) {
+					write(channel, buffer, this, file, future, startTime);
+					return;
+				}
+
+				IOUtils.closeQuietly(channel);
+
+				future.complete(OperationResult.success(1, buffer.capacity(), System.nanoTime() - startTime));
+			}
+
+			@Override
+			public void failed(Throwable e, File attachment) {
+				IOUtils.closeQuietly(channel);
+				future.complete(OperationResult.fail(attachment + " 쓰기 중에 에러가 발생하였습니다. " + e.getMessage(),
+						0, buffer.position(), System.nanoTime() - startTime));
+			}
+		}, file, future, startTime);
+
+		return future;
+	}
+
+	/**
+	 * AsynchronousFileChannel로 문자열을 지정한 charset으로 encode 하여 파일에 쓴다.
+	 *
+	 * @param file 대상 파일
+	 * @param data 쓸 문자열
+	 * @param encoding encode 할 charset
+	 * @return 쓴 bytes 수와 소요 시간이 담긴 OperationResult로 완료되는 future
+	 */
+	public static CompletableFuture<OperationResult> writeStringToFile(File file, String data, Charset encoding) {
+		return writeByteArrayToFile(file, data.getBytes(Charsets.toCharset(encoding)));
+	}
+
+	private static void read(AsynchronousFileChannel channel, ByteBuffer buffer, CompletionHandler<Integer, File> handler,
+			File file, CompletableFuture<byte[]> future) {
+
+		try {
+			channel.read(buffer, buffer.position(), file, handler);
+		} catch (RuntimeException e) {
+			IOUtils.closeQuietly(channel);
+			future.completeExceptionally(e);
+		}
+	}
+
+	private static void write(AsynchronousFileChannel channel, ByteBuffer buffer, CompletionHandler<Integer, File> handler,
+			File file, CompletableFuture<OperationResult> future, long startTime) {
+
+		try {
+			channel.write(buffer, buffer.position(), file, handler);
+		} catch (RuntimeException e) {
+			IOUtils.closeQuietly(channel);
+			future.complete(OperationResult.fail(file + " 쓰기 중에 에러가 발생하였습니다. " + e, 0, buffer.position(), System.nanoTime() - startTime));
+		}
+	}
+
+	private static CompletableFuture<OperationResult> submit(final ResultTask task) {
+		return supply(new Task<OperationResult>() {
+			@Override
+			OperationResult call() {
+
+				long startTime = System.nanoTime();
+
+				long bytes = task.srcFile != null ? task.srcFile.length() : 0;
+
+				Result result = task.run();
+
+				boolean success = result == Result.SUCCESS;
+
+				return OperationResult.of(result, success ? 1 : 0, success ? bytes : 0, System.nanoTime() - startTime);
+			}
+		});
+	}
+
+	private static <T> CompletableFuture<T> supply(final Task<T> task) {
+
+		final CompletableFuture<T> future = new CompletableFuture<T>();
+
+		try {
+
+			IoExecutorHolder.INSTANCE.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						future.complete(task.call());
+					} catch (Throwable e) {
+						future.completeExceptionally(e);
+					}
+				}
+			});
+
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+
+		return future;
+	}
+
+	private abstract static class Task<T> {
+
+		abstract T call();
+	}
+
+	private abstract static class ResultTask {
+
+		private final File srcFile;
+
+		private ResultTask(File srcFile) {
+			this.srcFile = srcFile;
+		}
+
+		abstract Result run();
+	}
+
+	private static final class IoExecutorHolder {
+
+		private static final ThreadPoolExecutor INSTANCE = new ThreadPoolExecutor(DEFAULT_IO_THREADS, DEFAULT_IO_THREADS,
+				60, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(DEFAULT_IO_QUEUE_CAPACITY), new NamedThreadFactory("async-file-io"));
+
+		private static final Executor VIEW = new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				INSTANCE.execute(command);
+			}
+		};
+
+		static {
+			INSTANCE.allowCoreThreadTimeOut(true);
+		}
+	}
+
+}
@@ -0,0 +1,350 @@
+package io.manasobi.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+
+import io.manasobi.constnat.Result;
+
+/**
+ * FileUtils의 파일 및 디렉토리 이동을 담당하는 내부 헬퍼.<br>
+ * 같은 볼륨에서는 Files.move(ATOMIC_MOVE)로 이름만 바꾸므로 대상 경로에는 이전 파일 또는 완성된 새 파일만 보인다.
+ * 다른 볼륨으로 이동하는 경우에는 대상 디렉토리 안의 임시 이름으로 복사하고 fsync 한 뒤 대상 이름으로 atomic rename 하므로,
+ * 대상 경로에 파일이 보이면 내용이 모두 기록된 상태임을 보장한다.<br>
+ * CopyProgressTracker는 다른 볼륨으로 복사하는 경우에만 파일별 진행 상황을 집계하며, 이름만 바꾸는 경우에는 아무것도 전달하지 않는다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+final class AtomicMover {
+
+	private AtomicMover() { }
+
+	/**
+	 * 원본 파일을 대상 파일로 이동한다. 대상 파일이 존재하면 atomic 하게 교체한다.<br>
+	 * preserveFileDate가 false면 이동 후 대상 파일의 최종 수정일을 현재 시각으로 설정한다.
+	 *
+	 * @param srcFile 원본 파일
+	 * @param destFile 대상 파일
+	 * @param preserveFileDate 수정일 설정 플래그
+	 * @throws SourceCleanupException 이동은 완료되었으나 복사한 원본을 삭제하지 못한 경우
+	 * @throws IOException 이동 중 에러가 발생한 경우
+	 */
+	static void moveFile(Path srcFile, Path destFile, boolean preserveFileDate) throws IOException {
+		moveFile(srcFile, destFile, preserveFileDate, null);
+	}
+
+	/**
+	 * 원본 파일을 대상 파일로 이동하고, 다른 볼륨으로 복사하는 경우 진행 상황을 tracker에 전달한다.
+	 *
+	 * @param srcFile 원본 파일
+	 * @param destFile 대상 파일
+	 * @param preserveFileDate 수정일 설정 플래그
+	 * @param tracker 진행 상황을 집계할 tracker, null이면 집계하지 않는다.
+	 * @throws SourceCleanupException 이동은 완료되었으나 복사한 원본을 삭제하지 못한 경우
+	 * @throws IOException 이동 중 에러가 발생한 경우
+	 */
+	static void moveFile(Path srcFile, Path destFile, boolean preserveFileDate, CopyProgressTracker tracker) throws IOException {
+
+		createParentDirs(destFile);
+
+		boolean copied = false;
+
+		try {
+			Files.move(srcFile, destFile, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+
+			if (tracker != null) {
+				tracker.expect(1, Files.size(srcFile));
+			}
+
+			copyFileThenRename(srcFile, destFile, preserveFileDate, tracker);
+			copied = true;
+		}
+
+		if (!preserveFileDate) {
+			destFile.toFile().setLastModified(System.currentTimeMillis());
+		}
+
+		syncDir(destFile.toAbsolutePath().getParent());
+
+		if (copied) {
+			try {
+				Files.delete(srcFile);
+			} catch (IOException e) {
+				throw new SourceCleanupException(srcFile, e);
+			}
+		}
+	}
+
+	/**
+	 * 원본 디렉토리를 대상 디렉토리로 이동한다.<br>
+	 * 원본을 대상 디렉토리 옆의 임시 이름으로 옮기거나 복사해 둔 뒤, 대상 디렉토리가 존재하면 다른 임시 이름으로 옮겨 두고
+	 * 준비된 디렉토리를 대상 이름으로 바꾼다. 따라서 다른 볼륨으로 복사하는 동안에도 기존 대상 디렉토리는 그대로 보이며,
+	 * 교체에 실패하면 기존 대상 디렉토리와 원본을 원래 이름으로 되돌린다.
+	 * 같은 볼륨에서는 디렉토리 이름만 바꾸므로 하위 파일들의 최종 수정일은 그대로 유지된다.
+	 *
+	 * @param srcDir 원본 디렉토리
+	 * @param destDir 대상 디렉토리
+	 * @param preserveFileDate 다른 볼륨으로 복사하는 경우의 수정일 설정 플래그
+	 * @throws SourceCleanupException 이동은 완료되었으나 복사한 원본을 삭제하지 못한 경우
+	 * @throws IOException 이동 중 에러가 발생한 경우
+	 */
+	static void moveDir(Path srcDir, Path destDir, boolean preserveFileDate) throws IOException {
+		moveDir(srcDir, destDir, preserveFileDate, null);
+	}
+
+	/**
+	 * 원본 디렉토리를 대상 디렉토리로 이동하고, 다른 볼륨으로 복사하는 경우 진행 상황을 tracker에 전달한다.
+	 *
+	 * @param srcDir 원본 디렉토리
+	 * @param destDir 대상 디렉토리
+	 * @param preserveFileDate 다른 볼륨으로 복사하는 경우의 수정일 설정 플래그
+	 * @param tracker 진행 상황을 집계할 tracker, null이면 집계하지 않는다.
+	 * @throws SourceCleanupException 이동은 완료되었으나 복사한 원본을 삭제하지 못한 경우
+	 * @throws IOException 이동 중 에러가 발생한 경우
+	 */
+	static void moveDir(Path srcDir, Path destDir, boolean preserveFileDate, CopyProgressTracker tracker) throws IOException {
+
+		createParentDirs(destDir);
+
+		Path stagedDir = tempSibling(destDir, ".tmp");
+		boolean copied = false;
+
+		try {
+			Files.move(srcDir, stagedDir, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+
+			if (tracker != null) {
+				tracker.expectDir(srcDir.toFile(), 1);
+			}
+
+			copyDirTo(srcDir, stagedDir, preserveFileDate, tracker);
+			copied = true;
+		}
+
+		Path asideDir = null;
+
+		try {
+
+			if (Files.exists(destDir, LinkOption.NOFOLLOW_LINKS)) {
+				asideDir = tempSibling(destDir, ".old");
+				Files.move(destDir, asideDir, StandardCopyOption.ATOMIC_MOVE);
+			}
+
+			Files.move(stagedDir, destDir, StandardCopyOption.ATOMIC_MOVE);
+
+		} catch (IOException e) {
+
+			// 되돌리는 중에 발생한 에러는 원래 에러에 추가하여 교체 실패 원인이 가려지지 않도록 한다.
+			try {
+				if (asideDir != null && Files.exists(asideDir, LinkOption.NOFOLLOW_LINKS) && !Files.exists(destDir, LinkOption.NOFOLLOW_LINKS)) {
+					Files.move(asideDir, destDir, StandardCopyOption.ATOMIC_MOVE);
+				}
+			} catch (IOException rollbackException) {
+				e.addSuppressed(rollbackException);
+			}
+
+			try {
+				if (copied) {
+					deleteTree(stagedDir);
+				} else {
+					Files.move(stagedDir, srcDir, StandardCopyOption.ATOMIC_MOVE);
+				}
+			} catch (IOException rollbackException) {
+				e.addSuppressed(rollbackException);
+			}
+
+			throw e;
+		}
+
+		syncDir(destDir.toAbsolutePath().getParent());
+
+		if (asideDir != null) {
+			try {
+				deleteTree(asideDir);
+			} catch (IOException e) {
+				// 이동은 완료되었으므로 옮겨 둔 이전 디렉토리를 지우지 못해도 실패로 처리하지 않는다.
+			}
+		}
+
+		if (copied) {
+			try {
+				deleteTree(srcDir);
+			} catch (IOException e) {
+				throw new SourceCleanupException(srcDir, e);
+			}
+		}
+	}
+
+	private static void copyFileThenRename(Path srcFile, Path destFile, boolean preserveFileDate, CopyProgressTracker tracker) throws IOException {
+
+		Path tempFile = tempSibling(destFile, ".tmp");
+
+		try {
+
+			if (Files.isSymbolicLink(srcFile)) {
+				// 심볼릭 링크는 가리키는 파일이 아닌 링크 자체를 옮긴다.
+				Files.copy(srcFile, tempFile, LinkOption.NOFOLLOW_LINKS);
+			} else {
+				FileChannelCopier.copy(srcFile.toFile(), tempFile.toFile(), preserveFileDate, tracker);
+				syncFile(tempFile);
+			}
+
+			Files.move(tempFile, destFile, StandardCopyOption.ATOMIC_MOVE);
+
+		} catch (IOException e) {
+
+			try {
+				Files.deleteIfExists(tempFile);
+			} catch (IOException cleanupException) {
+				e.addSuppressed(cleanupException);
+			}
+
+			throw e;
+		}
+	}
+
+	private static void copyDirTo(final Path srcDir, final Path tempDir, final boolean preserveFileDate, final CopyProgressTracker tracker) throws IOException {
+
+		final Deque<Path[]> copiedDirs = new ArrayDeque<Path[]>();
+
+		try {
+
+			Files.walkFileTree(srcDir, new SimpleFileVisitor<Path>() {
+
+				@Override
+				public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+
+					Path target = tempDir.resolve(srcDir.relativize(dir).toString());
+
+					Files.createDirectories(target);
+					copiedDirs.push(new Path[] {dir, target});
+
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+
+					Path target = tempDir.resolve(srcDir.relativize(file).toString());
+
+					if (attrs.isSymbolicLink()) {
+						// 디렉토리를 가리키는 링크도 따라가지 않고 링크 자체를 복사한다.
+						Files.copy(file, target, LinkOption.NOFOLLOW_LINKS);
+						return FileVisitResult.CONTINUE;
+					}
+
+					FileChannelCopier.copy(file.toFile(), target.toFile(), preserveFileDate, tracker);
+					syncFile(target);
+
+					return FileVisitResult.CONTINUE;
+				}
+			});
+
+			if (preserveFileDate) {
+				for (Path[] dirPair : copiedDirs) {
+					dirPair[1].toFile().setLastModified(dirPair[0].toFile().lastModified());
+				}
+			}
+
+		} catch (IOException e) {
+
+			try {
+				deleteTree(tempDir);
+			} catch (IOException cleanupException) {
+				e.addSuppressed(cleanupException);
+			}
+
+			throw e;
+		}
+	}
+
+	private static Path tempSibling(Path path, String suffix) {
+		return path.resolveSibling("." + path.getFileName() + "." + UUID.randomUUID() + suffix);
+	}
+
+	private static void createParentDirs(Path path) throws IOException {
+
+		Path parent = path.toAbsolutePath().getParent();
+
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+	}
+
+	private static void deleteTree(Path path) throws IOException {
+
+		if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+			return;
+		}
+
+		if (!Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+			Files.delete(path);
+			return;
+		}
+
+		Result result = FileUtils.deleteDir(path.toFile());
+
+		if (result == Result.FAIL) {
+			throw new IOException(result.getMessage());
+		}
+	}
+
+	private static void syncFile(Path file) throws IOException {
+
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+
+		try {
+			channel.force(true);
+		} finally {
+			channel.close();
+		}
+	}
+
+	private static void syncDir(Path dir) {
+
+		if (dir == null || File.separatorChar == '\\') {
+			return;
+		}
+
+		try {
+
+			FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ);
+
+			try {
+				channel.force(true);
+			} finally {
+				channel.close();
+			}
+
+		} catch (IOException e) {
+			// 디렉토리 fsync를 지원하지 않는 파일시스템은 무시한다.
+		}
+	}
+
+	/**
+	 * 다른 볼륨으로 복사하여 대상 경로에 이동을 완료했으나 원본을 삭제하지 못한 경우 발생한다.
+	 */
+	static final class SourceCleanupException extends IOException {
+
+		private static final long serialVersionUID = 1L;
+
+		private SourceCleanupException(Path source, IOException cause) {
+			super(source + " 삭제 실패: " + cause.getMessage(), cause);
+		}
+	}
+
+}
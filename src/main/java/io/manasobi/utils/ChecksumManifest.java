@@ -0,0 +1,606 @@
+package io.manasobi.utils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 디렉토리 트리의 SHA-256 checksum manifest를 병렬로 생성하고 검증하는 엔진.<br>
+ * manifest는 sha256sum과 같은 형식(checksum, 공백 두 칸, '/'로 구분한 상대 경로)이므로 sha256sum -c로도 검증할 수 있다.
+ * <ul>
+ * <li>생성할 때는 디렉토리를 이름 순으로 탐색하며 파일마다 hash 작업을 스레드 풀에 넣고, 넣은 순서대로 결과를 받아 바로 기록한다.
+ * 아직 기록하지 않은 결과는 스레드당 일정 개수까지만 유지하므로, 파일 수와 관계없이 메모리를 일정하게 사용하며 상대 경로 순으로 정렬된 manifest를 만든다.</li>
+ * <li>manifest는 임시 파일에 기록한 후 대상 이름으로 rename 하므로 중단되어도 불완전한 manifest가 남지 않는다.
+ * 읽지 못한 파일이나 디렉토리가 있으면 manifest를 교체하지 않고 이전 manifest를 그대로 둔다.</li>
+ * <li>파일은 FileChannel로 스레드별로 재사용하는 direct 버퍼에 읽어 hash 한다. 심볼릭 링크는 따라가지 않고 일반 파일만 기록한다.</li>
+ * <li>검증할 때는 manifest를 한 줄씩 읽으며 같은 방식으로 병렬 검증한다. manifest에 없는 파일은 검사하지 않는다.</li>
+ * </ul>
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class ChecksumManifest {
+
+	static final String ALGORITHM = "SHA-256";
+
+	private static final int PENDING_PER_THREAD = 64;
+
+	private static final int BUFFER_SIZE = 1024 * 1024;
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private static final ThreadLocal<MessageDigest> DIGESTS = new ThreadLocal<MessageDigest>() {
+		@Override
+		protected MessageDigest initialValue() {
+			try {
+				return MessageDigest.getInstance(ALGORITHM);
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	};
+
+	private static final ThreadLocal<ByteBuffer> BUFFERS = new ThreadLocal<ByteBuffer>() {
+		@Override
+		protected ByteBuffer initialValue() {
+			return ByteBuffer.allocateDirect(BUFFER_SIZE);
+		}
+	};
+
+	private static final Comparator<Child> NAME_ORDER = new Comparator<Child>() {
+		@Override
+		public int compare(Child child1, Child child2) {
+			return child1.sortKey.compareTo(child2.sortKey);
+		}
+	};
+
+	private final int parallelism;
+
+	/**
+	 * @param parallelism 동시에 hash 할 스레드 수
+	 */
+	public ChecksumManifest(int parallelism) {
+
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism은 1 이상이어야 합니다.");
+		}
+
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * 디렉토리 하위 전체 파일의 SHA-256 checksum을 상대 경로 순으로 manifest 파일에 기록한다.
+	 * manifest 파일이 디렉토리 안에 있으면 manifest 자신은 기록하지 않는다.<br>
+	 * 하나라도 읽지 못한 파일이나 디렉토리가 있으면 일부가 빠진 manifest를 만들지 않도록 manifest 파일을 교체하지 않으며,
+	 * 실패 목록은 ManifestReport의 failures로 확인한다.
+	 *
+	 * @param rootDir manifest를 생성할 디렉토리
+	 * @param manifestFile 기록할 manifest 파일, 존재하면 모든 파일을 읽은 경우에만 덮어쓴다.
+	 * @return 기록한 파일 수, bytes 수, 소요 시간이 담긴 ManifestReport
+	 */
+	public ManifestReport generate(File rootDir, File manifestFile) {
+
+		long startTime = System.nanoTime();
+
+		Path root = rootDir.toPath().toAbsolutePath().normalize();
+
+		if (!Files.isDirectory(root)) {
+			return ManifestReport.fail(rootDir + "는 디렉토리가 아닙니다.");
+		}
+
+		Path manifest = manifestFile.toPath().toAbsolutePath().normalize();
+		Path tempManifest = manifest.resolveSibling(manifest.getFileName() + ".tmp");
+
+		Tally tally = new Tally();
+		ExecutorService pool = Executors.newFixedThreadPool(parallelism, new NamedThreadFactory("checksum-manifest"));
+		Writer writer = null;
+
+		try {
+
+			Files.createDirectories(manifest.getParent());
+
+			writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tempManifest.toFile()), StandardCharsets.UTF_8), 64 * 1024);
+
+			Generation generation = new Generation(root, manifest, tempManifest, pool, writer, tally);
+
+			generation.walk(root);
+			generation.drainAll();
+
+			writer.close();
+			writer = null;
+
+			if (!tally.failures.isEmpty()) {
+				tally.failures.add(manifestFile + " 읽지 못한 파일이 있어 manifest를 갱신하지 않았습니다.");
+				return tally.toReport(System.nanoTime() - startTime);
+			}
+
+			try {
+				Files.move(tempManifest, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempManifest, manifest, StandardCopyOption.REPLACE_EXISTING);
+			}
+
+		} catch (IOException e) {
+			tally.failures.add(e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			tally.failures.add("manifest 생성 작업이 중단되었습니다.");
+		} finally {
+			pool.shutdownNow();
+			IOUtils.closeQuietly(writer);
+			deleteQuietly(tempManifest);
+		}
+
+		return tally.toReport(System.nanoTime() - startTime);
+	}
+
+	/**
+	 * manifest에 기록된 파일들의 SHA-256 checksum을 병렬로 다시 계산하여 manifest와 비교한다.
+	 *
+	 * @param rootDir manifest의 상대 경로 기준 디렉토리
+	 * @param manifestFile 검증할 manifest 파일
+	 * @return 일치한 파일 수, 내용이 다른 파일과 존재하지 않는 파일 목록이 담긴 ManifestReport
+	 */
+	public ManifestReport verify(File rootDir, File manifestFile) {
+
+		long startTime = System.nanoTime();
+
+		Path root = rootDir.toPath().toAbsolutePath().normalize();
+
+		if (!Files.isDirectory(root)) {
+			return ManifestReport.fail(rootDir + "는 디렉토리가 아닙니다.");
+		}
+
+		Tally tally = new Tally();
+		ExecutorService pool = Executors.newFixedThreadPool(parallelism, new NamedThreadFactory("checksum-manifest"));
+		BufferedReader reader = null;
+
+		try {
+
+			reader = new BufferedReader(new InputStreamReader(new FileInputStream(manifestFile), StandardCharsets.UTF_8), 64 * 1024);
+
+			Deque<Future<FileDigest>> pending = new ArrayDeque<Future<FileDigest>>();
+			String line;
+			long lineNo = 0;
+
+			while ((line = reader.readLine()) != null) {
+
+				lineNo++;
+
+				if (line.isEmpty()) {
+					continue;
+				}
+
+				String[] entry = parseLine(line);
+
+				if (entry == null) {
+					tally.failures.add(manifestFile + ":" + lineNo + " 잘못된 manifest 형식입니다.");
+					continue;
+				}
+
+				Path file = root.resolve(entry[1]).normalize();
+
+				if (!file.startsWith(root)) {
+					tally.failures.add(manifestFile + ":" + lineNo + " " + entry[1] + "는 기준 디렉토리 밖의 경로입니다.");
+					continue;
+				}
+
+				pending.add(pool.submit(new DigestTask(file, entry[1], entry[0])));
+
+				if (pending.size() >= parallelism * PENDING_PER_THREAD) {
+					tally.verified(take(pending));
+				}
+			}
+
+			while (!pending.isEmpty()) {
+				tally.verified(take(pending));
+			}
+
+		} catch (IOException e) {
+			tally.failures.add(e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			tally.failures.add("manifest 검증 작업이 중단되었습니다.");
+		} finally {
+			pool.shutdownNow();
+			IOUtils.closeQuietly(reader);
+		}
+
+		return tally.toReport(System.nanoTime() - startTime);
+	}
+
+	private static FileDigest digest(Path file) throws IOException {
+
+		MessageDigest messageDigest = DIGESTS.get();
+		ByteBuffer buffer = BUFFERS.get();
+
+		messageDigest.reset();
+
+		long size = 0;
+
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+
+		try {
+
+			buffer.clear();
+
+			while (channel.read(buffer) != -1) {
+
+				buffer.flip();
+				size += buffer.remaining();
+				messageDigest.update(buffer);
+				buffer.clear();
+			}
+
+		} finally {
+			channel.close();
+		}
+
+		return new FileDigest(null, toHex(messageDigest.digest()), size);
+	}
+
+	private static FileDigest take(Deque<Future<FileDigest>> pending) throws InterruptedException {
+
+		try {
+			return pending.poll().get();
+		} catch (ExecutionException e) {
+			return FileDigest.failed(null, String.valueOf(e.getCause()));
+		}
+	}
+
+	/**
+	 * sha256sum 형식의 한 줄을 checksum과 상대 경로로 나눈다. 경로에 '\n', '\r'이나 '\'가 있으면 줄 앞에 '\'를 붙이고 escape 한다.
+	 *
+	 * @return {checksum, 상대 경로}, 형식이 잘못되었으면 null
+	 */
+	static String[] parseLine(String line) {
+
+		boolean escaped = line.startsWith("\\");
+		int offset = escaped ? 1 : 0;
+
+		if (line.length() < offset + 66 || line.charAt(offset + 64) != ' ' || (line.charAt(offset + 65) != ' ' && line.charAt(offset + 65) != '*')) {
+			return null;
+		}
+
+		String hex = line.substring(offset, offset + 64).toLowerCase();
+
+		for (int i = 0; i < hex.length(); i++) {
+			if (Character.digit(hex.charAt(i), 16) < 0) {
+				return null;
+			}
+		}
+
+		String path = line.substring(offset + 66);
+
+		if (escaped) {
+			path = unescape(path);
+		}
+
+		return path == null || path.isEmpty() ? null : new String[] {hex, path};
+	}
+
+	static String formatLine(String hex, String path) {
+
+		if (path.indexOf('\\') < 0 && path.indexOf('\n') < 0 && path.indexOf('\r') < 0) {
+			return hex + "  " + path;
+		}
+
+		// readLine이 '\r'도 줄의 끝으로 처리하므로 GNU coreutils 9와 같이 '\r'도 escape 한다.
+		return "\\" + hex + "  " + path.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r");
+	}
+
+	private static String unescape(String path) {
+
+		StringBuilder builder = new StringBuilder(path.length());
+
+		for (int i = 0; i < path.length(); i++) {
+
+			char ch = path.charAt(i);
+
+			if (ch != '\\') {
+				builder.append(ch);
+				continue;
+			}
+
+			if (++i == path.length()) {
+				return null;
+			}
+
+			char next = path.charAt(i);
+
+			if (next == 'n') {
+				builder.append('\n');
+			} else if (next == 'r') {
+				builder.append('\r');
+			} else if (next == '\\') {
+				builder.append('\\');
+			} else {
+				return null;
+			}
+		}
+
+		return builder.toString();
+	}
+
+	private static String toHex(byte[] bytes) {
+
+		char[] chars = new char[bytes.length * 2];
+
+		for (int i = 0; i < bytes.length; i++) {
+			chars[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0x0f];
+			chars[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0x0f];
+		}
+
+		return new String(chars);
+	}
+
+	private static void deleteQuietly(Path path) {
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException e) {
+			// 임시 manifest를 지우지 못해도 결과에는 영향이 없다.
+		}
+	}
+
+	/**
+	 * 생성 작업의 탐색과 기록을 담당한다. 호출한 스레드 하나에서만 사용한다.
+	 */
+	private final class Generation {
+
+		private final Path root;
+
+		private final Path manifest;
+
+		private final Path tempManifest;
+
+		private final ExecutorService pool;
+
+		private final Writer writer;
+
+		private final Tally tally;
+
+		private final Deque<Future<FileDigest>> pending = new ArrayDeque<Future<FileDigest>>();
+
+		private Generation(Path root, Path manifest, Path tempManifest, ExecutorService pool, Writer writer, Tally tally) {
+			this.root = root;
+			this.manifest = manifest;
+			this.tempManifest = tempManifest;
+			this.pool = pool;
+			this.writer = writer;
+			this.tally = tally;
+		}
+
+		/**
+		 * 하위 항목을 '/'를 붙인 디렉토리명과 파일명의 순서로 정렬하여 탐색하므로, 기록 순서가 전체 상대 경로의 문자열 순서와 같다.
+		 */
+		private void walk(Path dir) throws IOException, InterruptedException {
+
+			List<Child> children = new ArrayList<Child>();
+
+			DirectoryStream<Path> stream;
+
+			try {
+				stream = Files.newDirectoryStream(dir);
+			} catch (IOException e) {
+				tally.failures.add(dir + ": " + e.getMessage());
+				return;
+			}
+
+			try {
+
+				for (Path path : stream) {
+
+					BasicFileAttributes attributes;
+
+					try {
+						attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+					} catch (IOException e) {
+						tally.failures.add(path + ": " + e.getMessage());
+						continue;
+					}
+
+					if (attributes.isDirectory()) {
+						children.add(new Child(path, true));
+					} else if (attributes.isRegularFile() && !path.equals(manifest) && !path.equals(tempManifest)) {
+						children.add(new Child(path, false));
+					}
+				}
+
+			} finally {
+				stream.close();
+			}
+
+			Collections.sort(children, NAME_ORDER);
+
+			for (Child child : children) {
+
+				if (child.directory) {
+					walk(child.path);
+					continue;
+				}
+
+				String relativePath = root.relativize(child.path).toString().replace(File.separatorChar, '/');
+
+				pending.add(pool.submit(new DigestTask(child.path, relativePath, null)));
+
+				if (pending.size() >= parallelism * PENDING_PER_THREAD) {
+					write(take(pending));
+				}
+			}
+		}
+
+		private void drainAll() throws IOException, InterruptedException {
+			while (!pending.isEmpty()) {
+				write(take(pending));
+			}
+		}
+
+		private void write(FileDigest digest) throws IOException {
+
+			if (digest.error != null) {
+				tally.failures.add(digest.relativePath + ": " + digest.error);
+				return;
+			}
+
+			writer.write(formatLine(digest.hex, digest.relativePath));
+			writer.write('\n');
+
+			tally.fileCount++;
+			tally.byteCount += digest.size;
+		}
+	}
+
+	private static final class Child {
+
+		private final Path path;
+
+		private final boolean directory;
+
+		private final String sortKey;
+
+		private Child(Path path, boolean directory) {
+			this.path = path;
+			this.directory = directory;
+			this.sortKey = directory ? path.getFileName() + "/" : path.getFileName().toString();
+		}
+	}
+
+	private static final class DigestTask implements Callable<FileDigest> {
+
+		private final Path file;
+
+		private final String relativePath;
+
+		private final String expectedHex;
+
+		private DigestTask(Path file, String relativePath, String expectedHex) {
+			this.file = file;
+			this.relativePath = relativePath;
+			this.expectedHex = expectedHex;
+		}
+
+		@Override
+		public FileDigest call() {
+
+			try {
+
+				FileDigest digest = digest(file);
+
+				return new FileDigest(relativePath, digest.hex, digest.size, expectedHex);
+
+			} catch (NoSuchFileException e) {
+				return FileDigest.missing(relativePath);
+			} catch (IOException e) {
+				return FileDigest.failed(relativePath, e.getMessage());
+			}
+		}
+	}
+
+	private static final class FileDigest {
+
+		private final String relativePath;
+
+		private final String hex;
+
+		private final long size;
+
+		private final String expectedHex;
+
+		private boolean missing;
+
+		private String error;
+
+		private FileDigest(String relativePath, String hex, long size) {
+			this(relativePath, hex, size, null);
+		}
+
+		private FileDigest(String relativePath, String hex, long size, String expectedHex) {
+			this.relativePath = relativePath;
+			this.hex = hex;
+			this.size = size;
+			this.expectedHex = expectedHex;
+		}
+
+		private static FileDigest missing(String relativePath) {
+
+			FileDigest digest = new FileDigest(relativePath, null, 0);
+			digest.missing = true;
+
+			return digest;
+		}
+
+		private static FileDigest failed(String relativePath, String error) {
+
+			FileDigest digest = new FileDigest(relativePath, null, 0);
+			digest.error = error;
+
+			return digest;
+		}
+	}
+
+	/**
+	 * 결과 집계. 결과는 호출한 스레드에서만 받으므로 동기화하지 않는다.
+	 */
+	private static final class Tally {
+
+		private long fileCount;
+
+		private long byteCount;
+
+		private final List<String> mismatchedFiles = new ArrayList<String>();
+
+		private final List<String> missingFiles = new ArrayList<String>();
+
+		private final List<String> failures = new ArrayList<String>();
+
+		private void verified(FileDigest digest) {
+
+			if (digest.missing) {
+				missingFiles.add(digest.relativePath);
+			} else if (digest.error != null) {
+				failures.add(digest.relativePath + ": " + digest.error);
+			} else if (!digest.hex.equals(digest.expectedHex)) {
+				mismatchedFiles.add(digest.relativePath);
+			} else {
+				fileCount++;
+				byteCount += digest.size;
+			}
+		}
+
+		private ManifestReport toReport(long elapsedNanos) {
+			return new ManifestReport(fileCount, byteCount, mismatchedFiles, missingFiles, elapsedNanos, failures);
+		}
+	}
+
+}
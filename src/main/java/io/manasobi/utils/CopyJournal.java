@@ -0,0 +1,299 @@
+package io.manasobi.utils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ResumableDirCopier가 사용하는 복사 journal.<br>
+ * 한 줄에 파일 하나의 상태를 기록하는 append-only 텍스트 파일이며, 복사를 완료한 파일은 "F", 나누어 복사 중인 큰 파일의 진행 위치는 "P"로 기록한다.
+ * 열 때 파일별 마지막 상태만 남기고 다시 써서(compaction) 재시작을 반복해도 journal이 커지지 않도록 한다.
+ * 비정상 종료로 마지막 줄이 잘린 경우 해당 줄은 무시한다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+final class CopyJournal implements Closeable {
+
+	private static final String HEADER = "#copy-journal-v1";
+
+	private static final String COMPLETED = "F";
+
+	private static final String PARTIAL = "P";
+
+	private static final char SEPARATOR = '\t';
+
+	private final File journalFile;
+
+	private final Map<String, Entry> entries;
+
+	private final FileOutputStream output;
+
+	private final Writer writer;
+
+	private CopyJournal(File journalFile, Map<String, Entry> entries, FileOutputStream output) {
+		this.journalFile = journalFile;
+		this.entries = entries;
+		this.output = output;
+		this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * journal을 연다. 같은 원본과 대상 디렉토리의 journal이면 기록된 상태를 읽고 compaction 하며, 그 외에는 새 journal을 만든다.
+	 *
+	 * @param journalFile journal 파일
+	 * @param srcDir 원본 디렉토리
+	 * @param destDir 대상 디렉토리
+	 * @return 기록할 수 있도록 열린 CopyJournal
+	 * @throws IOException journal을 읽거나 쓰는 중 에러가 발생한 경우
+	 */
+	static CopyJournal open(File journalFile, File srcDir, File destDir) throws IOException {
+
+		String header = HEADER + SEPARATOR + escape(srcDir.getCanonicalPath()) + SEPARATOR + escape(destDir.getCanonicalPath());
+
+		Map<String, Entry> entries = journalFile.isFile() ? load(journalFile, header) : new HashMap<String, Entry>();
+
+		File parent = journalFile.getAbsoluteFile().getParentFile();
+
+		if (parent != null && !parent.mkdirs() && !parent.isDirectory()) {
+			throw new IOException("Journal directory '" + parent + "' cannot be created");
+		}
+
+		File tempFile = new File(parent, journalFile.getName() + ".tmp");
+
+		FileOutputStream tempOutput = new FileOutputStream(tempFile);
+
+		try {
+
+			Writer tempWriter = new BufferedWriter(new OutputStreamWriter(tempOutput, StandardCharsets.UTF_8));
+
+			tempWriter.write(header);
+			tempWriter.write('\n');
+
+			for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+				writeEntry(tempWriter, entry.getKey(), entry.getValue());
+			}
+
+			tempWriter.flush();
+			tempOutput.getChannel().force(true);
+
+		} finally {
+			IOUtils.closeQuietly(tempOutput);
+		}
+
+		try {
+			Files.move(tempFile.toPath(), journalFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(tempFile.toPath(), journalFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+
+		return new CopyJournal(journalFile, entries, new FileOutputStream(journalFile, true));
+	}
+
+	/**
+	 * journal을 열 때 읽은 파일의 상태를 반환한다.
+	 *
+	 * @param path 원본 디렉토리 기준의 상대 경로
+	 * @return 기록된 상태, 없으면 null
+	 */
+	Entry get(String path) {
+		return entries.get(path);
+	}
+
+	/**
+	 * @return journal을 열 때 읽은 파일 상태의 수
+	 */
+	int size() {
+		return entries.size();
+	}
+
+	/**
+	 * 파일의 복사 완료를 기록한다. 기록은 OS에 바로 전달되므로 JVM이 비정상 종료되어도 유지된다.
+	 */
+	synchronized void completed(String path, long size, long lastModified) throws IOException {
+		writeEntry(writer, path, new Entry(true, size, lastModified, size));
+		writer.flush();
+	}
+
+	/**
+	 * 큰 파일의 복사 진행 위치를 기록하고 디스크에 fsync 한다. 호출 전에 대상 파일도 offset까지 fsync 되어 있어야 한다.
+	 */
+	synchronized void progress(String path, long size, long lastModified, long offset) throws IOException {
+		writeEntry(writer, path, new Entry(false, size, lastModified, offset));
+		writer.flush();
+		output.getChannel().force(false);
+	}
+
+	/**
+	 * journal을 닫고 삭제한다.
+	 *
+	 * @return 삭제되었으면 true
+	 */
+	boolean delete() {
+		IOUtils.closeQuietly(this);
+		return journalFile.delete();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		writer.close();
+	}
+
+	private static Map<String, Entry> load(File journalFile, String header) throws IOException {
+
+		Map<String, Entry> entries = new HashMap<String, Entry>();
+
+		BufferedReader reader = null;
+
+		try {
+
+			reader = new BufferedReader(new InputStreamReader(new FileInputStream(journalFile), StandardCharsets.UTF_8));
+
+			// 다른 원본 또는 대상 디렉토리의 journal이면 기록을 사용하지 않는다.
+			if (!header.equals(reader.readLine())) {
+				return entries;
+			}
+
+			String line;
+
+			while ((line = reader.readLine()) != null) {
+
+				String[] fields = line.split(String.valueOf(SEPARATOR), 5);
+
+				if (fields.length != 5 || !(COMPLETED.equals(fields[0]) || PARTIAL.equals(fields[0]))) {
+					continue;
+				}
+
+				try {
+					entries.put(unescape(fields[4]), new Entry(COMPLETED.equals(fields[0]), Long.parseLong(fields[1]), Long.parseLong(fields[2]), Long.parseLong(fields[3])));
+				} catch (NumberFormatException e) {
+					// 비정상 종료로 잘린 줄은 무시한다.
+				}
+			}
+
+		} finally {
+			IOUtils.closeQuietly(reader);
+		}
+
+		return entries;
+	}
+
+	private static void writeEntry(Writer writer, String path, Entry entry) throws IOException {
+
+		writer.write(entry.completed ? COMPLETED : PARTIAL);
+		writer.write(SEPARATOR);
+		writer.write(Long.toString(entry.size));
+		writer.write(SEPARATOR);
+		writer.write(Long.toString(entry.lastModified));
+		writer.write(SEPARATOR);
+		writer.write(Long.toString(entry.offset));
+		writer.write(SEPARATOR);
+		writer.write(escape(path));
+		writer.write('\n');
+	}
+
+	private static String escape(String value) {
+
+		StringBuilder builder = new StringBuilder(value.length());
+
+		for (int i = 0; i < value.length(); i++) {
+
+			char ch = value.charAt(i);
+
+			switch (ch) {
+			case '\\':
+				builder.append("\\\\");
+				break;
+			case '\t':
+				builder.append("\\t");
+				break;
+			case '\n':
+				builder.append("\\n");
+				break;
+			case '\r':
+				builder.append("\\r");
+				break;
+			default:
+				builder.append(ch);
+				break;
+			}
+		}
+
+		return builder.toString();
+	}
+
+	private static String unescape(String value) {
+
+		if (value.indexOf('\\') < 0) {
+			return value;
+		}
+
+		StringBuilder builder = new StringBuilder(value.length());
+
+		for (int i = 0; i < value.length(); i++) {
+
+			char ch = value.charAt(i);
+
+			if (ch != '\\' || i == value.length() - 1) {
+				builder.append(ch);
+				continue;
+			}
+
+			char escaped = value.charAt(++i);
+
+			builder.append(escaped == 't' ? '\t' : escaped == 'n' ? '\n' : escaped == 'r' ? '\r' : escaped);
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * journal에 기록된 파일 하나의 상태.
+	 */
+	static final class Entry {
+
+		private final boolean completed;
+
+		private final long size;
+
+		private final long lastModified;
+
+		private final long offset;
+
+		Entry(boolean completed, long size, long lastModified, long offset) {
+			this.completed = completed;
+			this.size = size;
+			this.lastModified = lastModified;
+			this.offset = offset;
+		}
+
+		boolean isCompleted() {
+			return completed;
+		}
+
+		long getOffset() {
+			return offset;
+		}
+
+		/**
+		 * 기록할 때와 원본 파일의 크기 및 수정일이 같은지 검사한다.
+		 */
+		boolean matches(long size, long lastModified) {
+			return this.size == size && this.lastModified == lastModified;
+		}
+	}
+
+}
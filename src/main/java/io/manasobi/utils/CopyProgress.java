@@ -0,0 +1,134 @@
+package io.manasobi.utils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CopyProgressListener에 전달되는 복사 진행 상황의 불변 snapshot.<br>
+ * 전체 파일 수와 bytes 수를 미리 알 수 없는 작업(필터나 증분 복사 등)에서는 전체 값과 남은 시간이 -1이다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class CopyProgress {
+
+	private final long completedFileCount;
+
+	private final long failedFileCount;
+
+	private final long totalFileCount;
+
+	private final long copiedBytes;
+
+	private final long totalBytes;
+
+	private final long bytesPerSecond;
+
+	private final long elapsedNanos;
+
+	private final boolean done;
+
+	CopyProgress(long completedFileCount, long failedFileCount, long totalFileCount, long copiedBytes, long totalBytes, long bytesPerSecond, long elapsedNanos, boolean done) {
+		this.completedFileCount = completedFileCount;
+		this.failedFileCount = failedFileCount;
+		this.totalFileCount = totalFileCount;
+		this.copiedBytes = copiedBytes;
+		this.totalBytes = totalBytes;
+		this.bytesPerSecond = bytesPerSecond;
+		this.elapsedNanos = elapsedNanos;
+		this.done = done;
+	}
+
+	/**
+	 * @return 복사를 완료한 파일 수
+	 */
+	public long getCompletedFileCount() {
+		return completedFileCount;
+	}
+
+	/**
+	 * @return 복사에 실패한 파일 수
+	 */
+	public long getFailedFileCount() {
+		return failedFileCount;
+	}
+
+	/**
+	 * @return 전체 파일 수, 알 수 없으면 -1
+	 */
+	public long getTotalFileCount() {
+		return totalFileCount;
+	}
+
+	/**
+	 * @return 지금까지 복사한 bytes 수
+	 */
+	public long getCopiedBytes() {
+		return copiedBytes;
+	}
+
+	/**
+	 * @return 전체 bytes 수, 알 수 없으면 -1
+	 */
+	public long getTotalBytes() {
+		return totalBytes;
+	}
+
+	/**
+	 * 직전 호출 이후 구간의 처리 속도를 반환한다. 0이 계속되면 복사가 멈춘 것이다.
+	 *
+	 * @return 현재 처리 속도(bytes/sec)
+	 */
+	public long getBytesPerSecond() {
+		return bytesPerSecond;
+	}
+
+	/**
+	 * @return 작업 시작 후 전체 평균 처리 속도(bytes/sec)
+	 */
+	public long getAverageBytesPerSecond() {
+		return elapsedNanos <= 0 ? 0 : (long) (copiedBytes * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+	}
+
+	/**
+	 * 남은 bytes 수를 현재 처리 속도로 나누어 남은 시간을 계산한다.
+	 *
+	 * @return 남은 시간(ms), 전체 bytes 수를 모르거나 처리 속도가 0이면 -1
+	 */
+	public long getEtaMillis() {
+
+		if (totalBytes < 0) {
+			return -1;
+		}
+
+		long remainingBytes = totalBytes - copiedBytes;
+
+		if (remainingBytes <= 0 || done) {
+			return 0;
+		}
+
+		long rate = bytesPerSecond > 0 ? bytesPerSecond : getAverageBytesPerSecond();
+
+		return rate <= 0 ? -1 : (long) (remainingBytes * 1000.0 / rate);
+	}
+
+	/**
+	 * @return 작업 시작 후 경과 시간(ms)
+	 */
+	public long getElapsedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+	}
+
+	/**
+	 * @return 작업이 끝난 후의 마지막 진행 상황이면 true
+	 */
+	public boolean isDone() {
+		return done;
+	}
+
+	@Override
+	public String toString() {
+		return "CopyProgress(files=" + completedFileCount + "/" + totalFileCount + ", failed=" + failedFileCount + ", bytes=" + copiedBytes + "/" + totalBytes
+				+ ", rate=" + bytesPerSecond + "B/s, eta=" + getEtaMillis() + "ms, elapsed=" + getElapsedMillis() + "ms" + (done ? ", done" : "") + ")";
+	}
+
+}
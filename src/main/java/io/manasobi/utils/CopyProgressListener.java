@@ -0,0 +1,41 @@
+package io.manasobi.utils;
+
+import java.io.File;
+
+/**
+ * 파일 및 디렉토리 복사, 이동의 진행 상황을 전달받는 callback.<br>
+ * 파일별 시작과 완료는 파일마다 호출되고, 누적 bytes 수와 처리 속도, 남은 시간은 버퍼마다가 아니라 일정 간격(기본 1초)으로 모아서 onProgress로 전달된다.
+ * 병렬 복사에서는 여러 복사 스레드에서 동시에 호출되므로 thread-safe 해야 하며, 복사 스레드에서 호출되므로 오래 걸리는 작업을 해서는 안 된다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public interface CopyProgressListener {
+
+	/**
+	 * 파일 복사를 시작할 때 호출된다.
+	 *
+	 * @param srcFile 원본 파일
+	 * @param destFile 대상 파일
+	 * @param size 원본 파일 크기(bytes)
+	 */
+	void onFileStart(File srcFile, File destFile, long size);
+
+	/**
+	 * 파일 복사가 끝났을 때 호출된다.
+	 *
+	 * @param srcFile 원본 파일
+	 * @param destFile 대상 파일
+	 * @param bytes 복사한 bytes 수, 실패한 경우 0
+	 * @param success 성공 유무
+	 */
+	void onFileFinish(File srcFile, File destFile, long bytes, boolean success);
+
+	/**
+	 * 일정 간격마다, 그리고 작업이 끝났을 때 한 번 호출된다. 한 번에 하나의 스레드에서만 호출된다.
+	 *
+	 * @param progress 호출 시점의 진행 상황
+	 */
+	void onProgress(CopyProgress progress);
+
+}
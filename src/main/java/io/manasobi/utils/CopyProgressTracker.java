@@ -0,0 +1,144 @@
+package io.manasobi.utils;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.manasobi.exception.FileUtilsException;
+
+/**
+ * 복사 작업의 진행 상황을 집계하여 CopyProgressListener에 전달하는 내부 헬퍼.<br>
+ * 복사한 bytes 수는 LongAdder에 더하기만 하고, 샘플 간격이 지났을 때 처음 도착한 스레드 하나만 onProgress를 호출하므로
+ * 버퍼마다 listener를 호출하지 않는다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+final class CopyProgressTracker {
+
+	static final long DEFAULT_SAMPLE_INTERVAL_MILLIS = 1000;
+
+	/** 진행 상황을 자주 갱신할 수 있도록 FileChannel 전송을 나누는 최대 크기 */
+	static final long PROGRESS_CHUNK_SIZE = 8L * 1024L * 1024L;
+
+	private final CopyProgressListener listener;
+
+	private final long sampleIntervalNanos;
+
+	private final long startNanos = System.nanoTime();
+
+	private final LongAdder copiedBytes = new LongAdder();
+
+	private final AtomicLong completedFileCount = new AtomicLong();
+
+	private final AtomicLong failedFileCount = new AtomicLong();
+
+	private final AtomicLong nextSampleNanos;
+
+	private volatile long totalFileCount = -1;
+
+	private volatile long totalBytes = -1;
+
+	private long lastSampleNanos = startNanos;
+
+	private long lastSampleBytes;
+
+	private long lastBytesPerSecond;
+
+	CopyProgressTracker(CopyProgressListener listener, long sampleIntervalMillis) {
+
+		if (sampleIntervalMillis < 0) {
+			throw new IllegalArgumentException("sampleIntervalMillis는 0 이상이어야 합니다.");
+		}
+
+		this.listener = listener;
+		this.sampleIntervalNanos = TimeUnit.MILLISECONDS.toNanos(sampleIntervalMillis);
+		this.nextSampleNanos = new AtomicLong(startNanos + sampleIntervalNanos);
+	}
+
+	/**
+	 * listener가 null이면 null을 반환한다.
+	 */
+	static CopyProgressTracker of(CopyProgressListener listener) {
+		return listener == null ? null : new CopyProgressTracker(listener, DEFAULT_SAMPLE_INTERVAL_MILLIS);
+	}
+
+	/**
+	 * 전체 파일 수와 bytes 수를 설정한다. 설정하지 않으면 남은 시간을 계산하지 않는다.
+	 */
+	void expect(long fileCount, long byteCount) {
+		this.totalFileCount = fileCount;
+		this.totalBytes = byteCount;
+	}
+
+	/**
+	 * 디렉토리 하위의 파일 수와 bytes 수를 미리 수집하여 전체 값으로 설정한다. 수집할 수 없으면 전체 값을 모르는 상태로 둔다.
+	 */
+	void expectDir(File dir, int parallelism) {
+
+		try {
+			DirStats stats = new DirStatsCollector(parallelism, false).collect(dir);
+			expect(stats.getFileCount(), stats.getByteCount());
+		} catch (FileUtilsException e) {
+			// 전체 값 없이도 진행 상황은 전달할 수 있으므로 무시한다.
+		}
+	}
+
+	void fileStarted(File srcFile, File destFile, long size) {
+		listener.onFileStart(srcFile, destFile, size);
+	}
+
+	void bytesCopied(long bytes) {
+		copiedBytes.add(bytes);
+		sampleIfDue();
+	}
+
+	void fileFinished(File srcFile, File destFile, long bytes, boolean success) {
+
+		if (success) {
+			completedFileCount.incrementAndGet();
+		} else {
+			failedFileCount.incrementAndGet();
+		}
+
+		listener.onFileFinish(srcFile, destFile, bytes, success);
+
+		sampleIfDue();
+	}
+
+	/**
+	 * 작업이 끝났음을 알리는 마지막 진행 상황을 전달한다.
+	 */
+	void finish() {
+		emit(System.nanoTime(), true);
+	}
+
+	private void sampleIfDue() {
+
+		long now = System.nanoTime();
+		long next = nextSampleNanos.get();
+
+		// 간격이 지났을 때 CAS에 성공한 스레드 하나만 listener를 호출한다.
+		if (now >= next && nextSampleNanos.compareAndSet(next, now + sampleIntervalNanos)) {
+			emit(now, false);
+		}
+	}
+
+	private synchronized void emit(long now, boolean done) {
+
+		long bytes = copiedBytes.sum();
+		long windowNanos = now - lastSampleNanos;
+
+		if (windowNanos > 0) {
+			lastBytesPerSecond = (long) ((bytes - lastSampleBytes) * (double) TimeUnit.SECONDS.toNanos(1) / windowNanos);
+		}
+
+		lastSampleNanos = now;
+		lastSampleBytes = bytes;
+
+		listener.onProgress(new CopyProgress(completedFileCount.get(), failedFileCount.get(), totalFileCount, bytes, totalBytes, lastBytesPerSecond,
+				now - startNanos, done));
+	}
+
+}
@@ -0,0 +1,149 @@
+package io.manasobi.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.manasobi.constnat.OperationResult;
+
+/**
+ * 디렉토리 복사 작업의 결과(복사한 파일 수, bytes 수, 소요 시간, 실패 목록)를 담는 불변 객체.<br>
+ * 증분 복사의 경우 변경이 없어 건너뛴 파일 수와 원본에 없어 삭제한 대상 파일 수도 함께 담는다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class CopyReport {
+
+	private final long fileCount;
+
+	private final long byteCount;
+
+	private final long skippedFileCount;
+
+	private final long deletedCount;
+
+	private final long elapsedNanos;
+
+	private final List<String> failures;
+
+	CopyReport(long fileCount, long byteCount, long elapsedNanos, List<String> failures) {
+		this(fileCount, byteCount, 0, 0, elapsedNanos, failures);
+	}
+
+	CopyReport(long fileCount, long byteCount, long skippedFileCount, long deletedCount, long elapsedNanos, List<String> failures) {
+		this.fileCount = fileCount;
+		this.byteCount = byteCount;
+		this.skippedFileCount = skippedFileCount;
+		this.deletedCount = deletedCount;
+		this.elapsedNanos = elapsedNanos;
+		this.failures = Collections.unmodifiableList(new ArrayList<String>(failures));
+	}
+
+	static CopyReport fail(String errMsg) {
+		return new CopyReport(0, 0, 0, Collections.singletonList(errMsg));
+	}
+
+	CopyReport withFailure(String errMsg) {
+
+		List<String> newFailures = new ArrayList<String>(failures);
+		newFailures.add(errMsg);
+
+		return new CopyReport(fileCount, byteCount, skippedFileCount, deletedCount, elapsedNanos, newFailures);
+	}
+
+	/**
+	 * 복사에 성공한 파일 수를 반환한다.
+	 *
+	 * @return 복사한 파일 수
+	 */
+	public long getFileCount() {
+		return fileCount;
+	}
+
+	/**
+	 * 복사에 성공한 파일들의 bytes 합계를 반환한다.
+	 *
+	 * @return 복사한 bytes 수
+	 */
+	public long getByteCount() {
+		return byteCount;
+	}
+
+	/**
+	 * 증분 복사에서 변경이 없어 복사하지 않은 파일 수를 반환한다.
+	 *
+	 * @return 건너뛴 파일 수
+	 */
+	public long getSkippedFileCount() {
+		return skippedFileCount;
+	}
+
+	/**
+	 * 증분 복사에서 원본에 없어 대상 디렉토리에서 삭제한 파일 및 디렉토리 수를 반환한다.
+	 *
+	 * @return 삭제한 파일 및 디렉토리 수
+	 */
+	public long getDeletedCount() {
+		return deletedCount;
+	}
+
+	/**
+	 * 작업 소요 시간을 nano second 단위로 반환한다.
+	 *
+	 * @return 소요 시간(ns)
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * 작업 소요 시간을 milli second 단위로 반환한다.
+	 *
+	 * @return 소요 시간(ms)
+	 */
+	public long getElapsedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+	}
+
+	/**
+	 * 작업 중 발생한 에러 메시지 목록을 반환한다.
+	 *
+	 * @return 에러 메시지 목록, 실패가 없으면 빈 리스트
+	 */
+	public List<String> getFailures() {
+		return failures;
+	}
+
+	/**
+	 * 실패 없이 작업이 완료되었는지를 체크한다.
+	 *
+	 * @return 실패가 없으면 true, 아니면 false
+	 */
+	public boolean isSuccess() {
+		return failures.isEmpty();
+	}
+
+	/**
+	 * 작업 결과를 OperationResult로 변환한다. 실패가 있으면 첫 번째 에러 메시지와 실패 건수를 메시지로 사용한다.
+	 *
+	 * @return 복사한 파일 수와 bytes 수, 소요 시간이 담긴 OperationResult
+	 */
+	public OperationResult toOperationResult() {
+
+		if (isSuccess()) {
+			return OperationResult.success(fileCount, byteCount, elapsedNanos);
+		}
+
+		String errMsg = failures.size() == 1 ? failures.get(0) : failures.get(0) + " 외 " + (failures.size() - 1) + "건";
+
+		return OperationResult.fail(errMsg, fileCount, byteCount, elapsedNanos);
+	}
+
+	@Override
+	public String toString() {
+		return "CopyReport(files=" + fileCount + ", bytes=" + byteCount + ", skipped=" + skippedFileCount + ", deleted=" + deletedCount + ", elapsed=" + getElapsedMillis() + "ms, failures=" + failures.size() + ")";
+	}
+
+}
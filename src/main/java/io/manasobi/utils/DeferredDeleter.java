@@ -0,0 +1,542 @@
+package io.manasobi.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileStore;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.manasobi.constnat.Result;
+
+/**
+ * 디렉토리나 파일을 휴지통 디렉토리로 atomic rename 한 뒤 즉시 반환하고, 실제 삭제는 백그라운드 스레드에서 수행하는 삭제기.
+ * <ul>
+ * <li>rename은 같은 볼륨 안에서만 atomic 하므로 볼륨(FileStore)마다 별도의 휴지통 디렉토리를 사용한다.
+ * 생성자로 지정한 휴지통 중 대상과 같은 볼륨의 것이 없거나 그 휴지통으로 이동할 수 없으면 대상의 상위 디렉토리에 .trash 디렉토리를 만들어 사용한다.
+ * 상위 디렉토리의 휴지통은 그 디렉토리의 대상에만 사용하며, 같은 볼륨의 다른 디렉토리 대상에는 사용하지 않는다.</li>
+ * <li>삭제 스레드는 초당 삭제 건수(deletesPerSecond)를 넘지 않도록 속도를 조절하여 다른 I/O 작업에 주는 영향을 줄인다.</li>
+ * <li>휴지통 디렉토리를 처음 사용할 때, 그리고 start() 시점에 지정한 휴지통에 남아 있는 항목(비정상 종료로 삭제되지 못한 항목)도
+ * 삭제 대상으로 등록한다.</li>
+ * <li>registryFile을 지정하면 상위 디렉토리에 만든 .trash 디렉토리의 위치를 기록해 두고, 다음 start() 때 기록된 휴지통들의
+ * 남은 항목도 삭제한다.</li>
+ * <li>삭제에 실패한 항목은 1초부터 두 배씩 늘어나는 간격(최대 1분)으로 MAX_RETRY_COUNT번까지 다시 시도한다.</li>
+ * </ul>
+ * FileUtils.deleteDirLater가 사용하는 기본 deleter의 휴지통과 기록 파일은 시스템 속성 {@value #TRASH_DIRS_PROPERTY}(path separator로 구분)와
+ * {@value #REGISTRY_FILE_PROPERTY}로 지정할 수 있으며, 기록 파일의 기본 위치는 java.io.tmpdir 아래의 manasobi-trash-dirs-[user.name]이다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class DeferredDeleter implements Closeable {
+
+	public static final String DEFAULT_TRASH_DIR_NAME = ".trash";
+
+	public static final int DEFAULT_DELETES_PER_SECOND = 2000;
+
+	public static final String TRASH_DIRS_PROPERTY = "manasobi.trash.dirs";
+
+	public static final String REGISTRY_FILE_PROPERTY = "manasobi.trash.registry";
+
+	public static final int MAX_RETRY_COUNT = 10;
+
+	private static final long INITIAL_RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private static final long MAX_RETRY_DELAY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+	private static final long MAX_SLEEP_DEBT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+	private final int deletesPerSecond;
+
+	private final File[] trashRoots;
+
+	private final Map<FileStore, Path> trashDirs = new ConcurrentHashMap<FileStore, Path>();
+
+	private final Map<Path, Boolean> registeredTrashDirs = new ConcurrentHashMap<Path, Boolean>();
+
+	private final DelayQueue<TrashEntry> queue = new DelayQueue<TrashEntry>();
+
+	private final AtomicInteger pendingCount = new AtomicInteger();
+
+	private final AtomicLong deletedCount = new AtomicLong();
+
+	private final AtomicLong failedCount = new AtomicLong();
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	private volatile File registryFile;
+
+	private Thread reaperThread;
+
+	private long nextSlotNanos;
+
+	/**
+	 * @param deletesPerSecond 백그라운드 스레드의 초당 최대 삭제 건수, 0 이하면 제한하지 않음
+	 * @param trashRoots 볼륨별로 사용할 휴지통 디렉토리
+	 */
+	public DeferredDeleter(int deletesPerSecond, File... trashRoots) {
+		this.deletesPerSecond = deletesPerSecond;
+		this.trashRoots = trashRoots.clone();
+	}
+
+	/**
+	 * 시스템 속성으로 지정한 휴지통과 기록 파일을 사용하는 deleter를 생성한다.
+	 *
+	 * @return 시작하지 않은 deleter
+	 */
+	static DeferredDeleter fromSystemProperties() {
+
+		List<File> trashRoots = new ArrayList<File>();
+
+		String trashDirs = System.getProperty(TRASH_DIRS_PROPERTY);
+
+		if (trashDirs != null) {
+			for (String trashDir : trashDirs.split(File.pathSeparator)) {
+				if (!trashDir.trim().isEmpty()) {
+					trashRoots.add(new File(trashDir.trim()));
+				}
+			}
+		}
+
+		String registry = System.getProperty(REGISTRY_FILE_PROPERTY,
+				new File(System.getProperty("java.io.tmpdir"), "manasobi-trash-dirs-" + System.getProperty("user.name")).getPath());
+
+		DeferredDeleter deleter = new DeferredDeleter(DEFAULT_DELETES_PER_SECOND, trashRoots.toArray(new File[trashRoots.size()]));
+		deleter.setRegistryFile(new File(registry));
+
+		return deleter;
+	}
+
+	/**
+	 * 상위 디렉토리에 만든 휴지통의 위치를 기록할 파일을 지정한다. start() 전에 호출해야 한다.
+	 *
+	 * @param registryFile 휴지통 위치를 한 줄에 하나씩 기록할 파일, null이면 기록하지 않는다.
+	 */
+	public synchronized void setRegistryFile(File registryFile) {
+
+		if (reaperThread != null) {
+			throw new IllegalStateException("이미 시작된 deleter입니다.");
+		}
+
+		this.registryFile = registryFile;
+	}
+
+	/**
+	 * 지정한 휴지통 디렉토리와 기록 파일에 남아 있는 휴지통의 항목을 삭제 대상으로 등록하고 백그라운드 삭제 스레드를 시작한다.
+	 */
+	public synchronized void start() {
+
+		if (reaperThread != null) {
+			throw new IllegalStateException("이미 시작된 deleter입니다.");
+		}
+
+		for (File trashRoot : trashRoots) {
+
+			if (FileUtils.notExistsDir(trashRoot) && FileUtils.createDir(trashRoot.getAbsolutePath()) == Result.FAIL) {
+				continue;
+			}
+
+			Path trashDir = trashRoot.toPath().toAbsolutePath();
+
+			try {
+				trashDirs.put(Files.getFileStore(trashDir), trashDir);
+			} catch (IOException e) {
+				continue;
+			}
+
+			registerTrashDir(trashDir);
+		}
+
+		loadRegistry();
+
+		reaperThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				reap();
+			}
+		}, "deferred-deleter");
+
+		reaperThread.setDaemon(true);
+		reaperThread.start();
+	}
+
+	/**
+	 * 백그라운드 삭제 스레드를 중지한다. 삭제되지 못한 항목은 휴지통에 남아 다음 start() 때 다시 삭제된다.
+	 */
+	@Override
+	public synchronized void close() {
+
+		if (reaperThread != null) {
+			reaperThread.interrupt();
+		}
+	}
+
+	/**
+	 * 대상 디렉토리(또는 파일)를 휴지통으로 이동한 후 즉시 반환한다. 실제 삭제는 백그라운드 스레드에서 수행된다.
+	 *
+	 * @param target 삭제할 디렉토리 또는 파일
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 */
+	public Result delete(File target) {
+
+		Result result = Result.EMPTY;
+
+		Path targetPath = target.toPath().toAbsolutePath();
+
+		if (!Files.exists(targetPath)) {
+			return buildFailResult(result, target + "가 존재하지 않습니다.");
+		}
+
+		Path parent = targetPath.getParent();
+
+		if (parent == null) {
+			return buildFailResult(result, target + "는 삭제할 수 없습니다.");
+		}
+
+		String trashName = UUID.randomUUID() + "-" + targetPath.getFileName();
+
+		Path trashDir = configuredTrashDirFor(targetPath);
+
+		if (trashDir != null) {
+			try {
+				moveToTrash(targetPath, trashDir.resolve(trashName));
+				return Result.SUCCESS;
+			} catch (IOException e) {
+				// 지정한 휴지통으로 이동할 수 없으면(예: bind mount) 상위 디렉토리의 휴지통을 사용한다.
+			}
+		}
+
+		Path siblingTrashDir = parent.resolve(DEFAULT_TRASH_DIR_NAME);
+
+		if (siblingTrashDir.equals(trashDir) || targetPath.equals(siblingTrashDir)) {
+			return buildFailResult(result, target + "를 휴지통으로 이동할 수 없습니다.");
+		}
+
+		try {
+			Files.createDirectories(siblingTrashDir);
+			recordTrashDir(siblingTrashDir);
+			moveToTrash(targetPath, siblingTrashDir.resolve(trashName));
+		} catch (IOException e) {
+			return buildFailResult(result, target + "를 휴지통으로 이동할 수 없습니다. " + e.getMessage());
+		}
+
+		return Result.SUCCESS;
+	}
+
+	/**
+	 * @return 휴지통으로 이동했지만 아직 삭제가 끝나지 않은 항목 수
+	 */
+	public int getPendingCount() {
+		return pendingCount.get();
+	}
+
+	/**
+	 * @return 백그라운드 스레드가 삭제를 끝낸 항목 수
+	 */
+	public long getDeletedCount() {
+		return deletedCount.get();
+	}
+
+	/**
+	 * @return MAX_RETRY_COUNT번 다시 시도해도 삭제하지 못하여 휴지통에 남겨 둔 항목 수
+	 */
+	public long getFailedCount() {
+		return failedCount.get();
+	}
+
+	/**
+	 * 휴지통의 항목이 모두 삭제될 때까지 기다린다.
+	 *
+	 * @param timeoutMillis 최대 대기 시간(ms)
+	 * @return 모두 삭제되었으면 true, 시간이 초과되면 false
+	 */
+	public boolean awaitIdle(long timeoutMillis) {
+
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+		while (pendingCount.get() > 0) {
+
+			if (System.nanoTime() >= deadline) {
+				return false;
+			}
+
+			ThreadUtils.sleep(10, TimeUnit.MILLISECONDS);
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return 대상과 같은 볼륨에 생성자로 지정한 휴지통, 없으면 null
+	 */
+	private Path configuredTrashDirFor(Path targetPath) {
+
+		Path trashDir;
+
+		try {
+			trashDir = trashDirs.get(Files.getFileStore(targetPath));
+		} catch (IOException e) {
+			return null;
+		}
+
+		if (trashDir == null || Files.isDirectory(trashDir)) {
+			return trashDir;
+		}
+
+		// 휴지통 디렉토리가 상위 디렉토리와 함께 삭제된 경우에는 다시 만들어 사용한다.
+		try {
+			Files.createDirectories(trashDir);
+			return trashDir;
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private void recordTrashDir(Path trashDir) {
+
+		if (!registerTrashDir(trashDir)) {
+			return;
+		}
+
+		File registry = registryFile;
+
+		if (registry == null) {
+			return;
+		}
+
+		synchronized (this) {
+			try {
+				Files.write(registry.toPath(), (trashDir + "\n").getBytes(StandardCharsets.UTF_8),
+						StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+			} catch (IOException e) {
+				// 기록하지 못한 휴지통도 이번 실행 중에는 정상적으로 삭제된다.
+			}
+		}
+	}
+
+	private void loadRegistry() {
+
+		File registry = registryFile;
+
+		if (registry == null || !registry.isFile()) {
+			return;
+		}
+
+		Set<String> aliveTrashDirs = new LinkedHashSet<String>();
+
+		try {
+
+			for (String line : Files.readAllLines(registry.toPath(), StandardCharsets.UTF_8)) {
+
+				if (line.isEmpty()) {
+					continue;
+				}
+
+				Path trashDir = Paths.get(line);
+
+				if (Files.isDirectory(trashDir, LinkOption.NOFOLLOW_LINKS)) {
+					aliveTrashDirs.add(line);
+					registerTrashDir(trashDir);
+				}
+			}
+
+			// 상위 디렉토리와 함께 삭제된 휴지통은 기록에서 제거한다.
+			Path tempFile = registry.toPath().resolveSibling(registry.getName() + ".tmp");
+			Files.write(tempFile, aliveTrashDirs, StandardCharsets.UTF_8);
+			Files.move(tempFile, registry.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		} catch (IOException e) {
+			// 기록 파일을 읽거나 정리하지 못해도 지정한 휴지통은 계속 사용한다.
+		}
+	}
+
+	private boolean registerTrashDir(Path trashDir) {
+
+		if (registeredTrashDirs.putIfAbsent(trashDir, Boolean.TRUE) != null) {
+			return false;
+		}
+
+		File[] orphans = trashDir.toFile().listFiles();
+
+		if (orphans != null) {
+			for (File orphan : orphans) {
+				enqueue(orphan.toPath());
+			}
+		}
+
+		return true;
+	}
+
+	private void moveToTrash(Path targetPath, Path trashPath) throws IOException {
+		Files.move(targetPath, trashPath, StandardCopyOption.ATOMIC_MOVE);
+		enqueue(trashPath);
+	}
+
+	private void enqueue(Path trashPath) {
+		pendingCount.incrementAndGet();
+		queue.add(new TrashEntry(trashPath, 0, System.nanoTime(), sequence.getAndIncrement()));
+	}
+
+	private void reap() {
+
+		while (!Thread.currentThread().isInterrupted()) {
+
+			TrashEntry entry;
+
+			try {
+				entry = queue.take();
+			} catch (InterruptedException e) {
+				return;
+			}
+
+			try {
+				deleteThrottled(entry.path);
+				deletedCount.incrementAndGet();
+			} catch (IOException e) {
+
+				if (entry.attempt < MAX_RETRY_COUNT) {
+					long delay = Math.min(INITIAL_RETRY_DELAY_NANOS << entry.attempt, MAX_RETRY_DELAY_NANOS);
+					queue.add(new TrashEntry(entry.path, entry.attempt + 1, System.nanoTime() + delay, sequence.getAndIncrement()));
+					continue;
+				}
+
+				// 끝내 삭제하지 못한 항목은 휴지통에 남겨 두고 다음 start() 때 다시 시도한다.
+				failedCount.incrementAndGet();
+
+			} catch (InterruptedException e) {
+				pendingCount.decrementAndGet();
+				return;
+			}
+
+			pendingCount.decrementAndGet();
+		}
+	}
+
+	private void deleteThrottled(Path trashPath) throws IOException, InterruptedException {
+
+		if (!Files.isDirectory(trashPath, LinkOption.NOFOLLOW_LINKS)) {
+			acquire();
+			Files.deleteIfExists(trashPath);
+			return;
+		}
+
+		final InterruptedException[] interrupted = new InterruptedException[1];
+
+		Files.walkFileTree(trashPath, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				return deleteEntry(file);
+			}
+
+			@Override
+			public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+
+				if (e != null) {
+					throw e;
+				}
+
+				return deleteEntry(dir);
+			}
+
+			private FileVisitResult deleteEntry(Path path) throws IOException {
+
+				try {
+					acquire();
+				} catch (InterruptedException e) {
+					interrupted[0] = e;
+					return FileVisitResult.TERMINATE;
+				}
+
+				Files.deleteIfExists(path);
+
+				return FileVisitResult.CONTINUE;
+			}
+		});
+
+		if (interrupted[0] != null) {
+			throw interrupted[0];
+		}
+	}
+
+	private void acquire() throws InterruptedException {
+
+		if (deletesPerSecond <= 0) {
+			return;
+		}
+
+		long now = System.nanoTime();
+
+		nextSlotNanos = Math.max(nextSlotNanos, now) + TimeUnit.SECONDS.toNanos(1) / deletesPerSecond;
+
+		long debt = nextSlotNanos - now;
+
+		if (debt > MAX_SLEEP_DEBT_NANOS) {
+			TimeUnit.NANOSECONDS.sleep(debt);
+		}
+	}
+
+	private static Result buildFailResult(Result result, String errMsg) {
+
+		result = Result.FAIL;
+		result.setMessage(errMsg);
+
+		return result;
+	}
+
+	private static final class TrashEntry implements Delayed {
+
+		private final Path path;
+
+		private final int attempt;
+
+		private final long dueNanos;
+
+		private final long sequence;
+
+		private TrashEntry(Path path, int attempt, long dueNanos, long sequence) {
+			this.path = path;
+			this.attempt = attempt;
+			this.dueNanos = dueNanos;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(dueNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+
+			TrashEntry entry = (TrashEntry) other;
+
+			if (dueNanos != entry.dueNanos) {
+				return dueNanos - entry.dueNanos < 0 ? -1 : 1;
+			}
+
+			return sequence < entry.sequence ? -1 : (sequence == entry.sequence ? 0 : 1);
+		}
+	}
+
+}
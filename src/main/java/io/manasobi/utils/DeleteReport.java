@@ -0,0 +1,112 @@
+package io.manasobi.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.manasobi.constnat.OperationResult;
+
+/**
+ * 디렉토리 삭제 작업의 결과(삭제한 파일 수, 디렉토리 수, 소요 시간, 실패 목록)를 담는 불변 객체.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class DeleteReport {
+
+	private final long fileCount;
+
+	private final long dirCount;
+
+	private final long elapsedNanos;
+
+	private final List<String> failures;
+
+	DeleteReport(long fileCount, long dirCount, long elapsedNanos, List<String> failures) {
+		this.fileCount = fileCount;
+		this.dirCount = dirCount;
+		this.elapsedNanos = elapsedNanos;
+		this.failures = Collections.unmodifiableList(new ArrayList<String>(failures));
+	}
+
+	static DeleteReport fail(String errMsg) {
+		return new DeleteReport(0, 0, 0, Collections.singletonList(errMsg));
+	}
+
+	/**
+	 * 삭제에 성공한 파일 수를 반환한다.
+	 *
+	 * @return 삭제한 파일 수
+	 */
+	public long getFileCount() {
+		return fileCount;
+	}
+
+	/**
+	 * 삭제에 성공한 디렉토리 수를 반환한다.
+	 *
+	 * @return 삭제한 디렉토리 수
+	 */
+	public long getDirCount() {
+		return dirCount;
+	}
+
+	/**
+	 * 작업 소요 시간을 nano second 단위로 반환한다.
+	 *
+	 * @return 소요 시간(ns)
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * 작업 소요 시간을 milli second 단위로 반환한다.
+	 *
+	 * @return 소요 시간(ms)
+	 */
+	public long getElapsedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+	}
+
+	/**
+	 * 작업 중 발생한 에러 메시지 목록을 반환한다.
+	 *
+	 * @return 에러 메시지 목록, 실패가 없으면 빈 리스트
+	 */
+	public List<String> getFailures() {
+		return failures;
+	}
+
+	/**
+	 * 실패 없이 작업이 완료되었는지를 체크한다.
+	 *
+	 * @return 실패가 없으면 true, 아니면 false
+	 */
+	public boolean isSuccess() {
+		return failures.isEmpty();
+	}
+
+	/**
+	 * 작업 결과를 OperationResult로 변환한다. 실패가 있으면 첫 번째 에러 메시지와 실패 건수를 메시지로 사용한다.
+	 *
+	 * @return 삭제한 파일 및 디렉토리 수, 소요 시간이 담긴 OperationResult
+	 */
+	public OperationResult toOperationResult() {
+
+		if (isSuccess()) {
+			return OperationResult.success(fileCount + dirCount, 0, elapsedNanos);
+		}
+
+		String errMsg = failures.size() == 1 ? failures.get(0) : failures.get(0) + " 외 " + (failures.size() - 1) + "건";
+
+		return OperationResult.fail(errMsg, fileCount + dirCount, 0, elapsedNanos);
+	}
+
+	@Override
+	public String toString() {
+		return "DeleteReport(files=" + fileCount + ", dirs=" + dirCount + ", elapsed=" + getElapsedMillis() + "ms, failures=" + failures.size() + ")";
+	}
+
+}
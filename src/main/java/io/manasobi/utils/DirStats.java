@@ -0,0 +1,168 @@
+package io.manasobi.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 디렉토리 트리의 사용량 통계(전체 bytes 수, 파일 수, 디렉토리 수, 확장자별 및 깊이별 사용량)를 담는 불변 객체.<br>
+ * 최상위 디렉토리는 디렉토리 수에 포함하지 않으며, 깊이는 최상위 디렉토리 바로 아래의 파일을 0으로 한다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class DirStats {
+
+	private final long fileCount;
+
+	private final long dirCount;
+
+	private final long byteCount;
+
+	private final Map<String, Usage> extensionUsage;
+
+	private final List<Usage> depthUsage;
+
+	private final long cachedDirCount;
+
+	private final long elapsedNanos;
+
+	DirStats(long fileCount, long dirCount, long byteCount, Map<String, Usage> extensionUsage, List<Usage> depthUsage, long cachedDirCount, long elapsedNanos) {
+		this.fileCount = fileCount;
+		this.dirCount = dirCount;
+		this.byteCount = byteCount;
+		this.extensionUsage = Collections.unmodifiableMap(new TreeMap<String, Usage>(extensionUsage));
+		this.depthUsage = Collections.unmodifiableList(new ArrayList<Usage>(depthUsage));
+		this.cachedDirCount = cachedDirCount;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * @return 하위 전체의 파일 수
+	 */
+	public long getFileCount() {
+		return fileCount;
+	}
+
+	/**
+	 * @return 하위 전체의 디렉토리 수 (최상위 디렉토리 제외)
+	 */
+	public long getDirCount() {
+		return dirCount;
+	}
+
+	/**
+	 * @return 하위 전체 파일의 bytes 합계
+	 */
+	public long getByteCount() {
+		return byteCount;
+	}
+
+	/**
+	 * bytes 합계를 EB, PB, TB, GB, MB, KB, bytes 단위의 읽기 쉬운 문자열로 반환한다.
+	 *
+	 * @return 읽기 쉬운 단위의 전체 사용량
+	 */
+	public String getDisplaySize() {
+		return FileUtils.byteCountToDisplaySize(byteCount);
+	}
+
+	/**
+	 * 확장자(소문자)별 사용량을 확장자 순으로 반환한다. 확장자가 없는 파일은 빈 문자열 키에 담긴다.
+	 *
+	 * @return 확장자별 Usage
+	 */
+	public Map<String, Usage> getExtensionUsage() {
+		return extensionUsage;
+	}
+
+	/**
+	 * 지정한 확장자의 사용량을 반환한다.
+	 *
+	 * @param ext 확장자 (대소문자 구분 없음)
+	 * @return 확장자의 Usage, 해당하는 파일이 없으면 파일 수와 bytes 수가 0인 Usage
+	 */
+	public Usage getExtensionUsage(String ext) {
+
+		Usage usage = extensionUsage.get(ext == null ? "" : ext.toLowerCase());
+
+		return usage == null ? Usage.EMPTY : usage;
+	}
+
+	/**
+	 * 깊이별 사용량을 반환한다. index 0은 최상위 디렉토리 바로 아래의 파일들이다.
+	 *
+	 * @return 깊이별 Usage 목록
+	 */
+	public List<Usage> getDepthUsage() {
+		return depthUsage;
+	}
+
+	/**
+	 * DirStatsCollector의 캐시를 사용한 경우, 목록을 다시 읽지 않고 캐시의 값을 사용한 디렉토리 수를 반환한다.
+	 *
+	 * @return 캐시를 사용한 디렉토리 수
+	 */
+	public long getCachedDirCount() {
+		return cachedDirCount;
+	}
+
+	/**
+	 * @return 소요 시간(ns)
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * @return 소요 시간(ms)
+	 */
+	public long getElapsedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+	}
+
+	@Override
+	public String toString() {
+		return "DirStats(files=" + fileCount + ", dirs=" + dirCount + ", bytes=" + byteCount + ", extensions=" + extensionUsage.size() + ", depth=" + depthUsage.size() + ", cached=" + cachedDirCount + ", elapsed=" + getElapsedMillis() + "ms)";
+	}
+
+	/**
+	 * 확장자 또는 깊이 하나에 해당하는 파일 수와 bytes 합계.
+	 */
+	public static final class Usage {
+
+		static final Usage EMPTY = new Usage(0, 0);
+
+		private final long fileCount;
+
+		private final long byteCount;
+
+		Usage(long fileCount, long byteCount) {
+			this.fileCount = fileCount;
+			this.byteCount = byteCount;
+		}
+
+		/**
+		 * @return 파일 수
+		 */
+		public long getFileCount() {
+			return fileCount;
+		}
+
+		/**
+		 * @return bytes 합계
+		 */
+		public long getByteCount() {
+			return byteCount;
+		}
+
+		@Override
+		public String toString() {
+			return "Usage(files=" + fileCount + ", bytes=" + byteCount + ")";
+		}
+	}
+
+}
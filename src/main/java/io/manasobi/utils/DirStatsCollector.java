@@ -0,0 +1,419 @@
+package io.manasobi.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.manasobi.exception.FileUtilsException;
+
+/**
+ * ForkJoinPool로 하위 디렉토리를 동시에 탐색하며, 파일마다 stat을 한 번만 호출하여 디렉토리 트리의 사용량 통계를 수집하는 collector.<br>
+ * <ul>
+ * <li>전체 bytes 수, 파일 수, 디렉토리 수, 확장자별 및 깊이별 사용량을 한 번의 탐색으로 함께 구한다.</li>
+ * <li>캐시를 사용하면 디렉토리마다 직속 파일들의 집계를 디렉토리의 최종 수정일과 함께 보관하고, 다음 수집 시 최종 수정일이 같은 디렉토리는
+ * 목록을 다시 읽지 않고 하위 디렉토리의 최종 수정일만 확인한다.</li>
+ * <li>디렉토리의 최종 수정일은 파일이 추가, 삭제, 이름 변경될 때만 바뀌므로, 캐시를 사용하면 기존 파일의 내용만 변경된 경우의 크기 변화는 반영되지 않는다.
+ * 수집 직전 1초 이내에 변경된 디렉토리는 최종 수정일의 정밀도 문제로 변경을 놓칠 수 있으므로 캐시하지 않는다.</li>
+ * <li>symbolic link는 따라가지 않으며, 일반 파일과 디렉토리만 집계한다.</li>
+ * </ul>
+ * 한 인스턴스의 캐시는 여러 스레드에서 공유할 수 있다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class DirStatsCollector {
+
+	private static final long RACY_MILLIS = 1000;
+
+	private final int parallelism;
+
+	private final Map<Path, DirListing> cache;
+
+	/**
+	 * 캐시를 사용하지 않는 collector를 생성한다.
+	 *
+	 * @param parallelism 동시에 탐색할 스레드 수
+	 */
+	public DirStatsCollector(int parallelism) {
+		this(parallelism, false);
+	}
+
+	/**
+	 * @param parallelism 동시에 탐색할 스레드 수
+	 * @param useCache 디렉토리의 최종 수정일을 키로 하는 캐시의 사용 여부
+	 */
+	public DirStatsCollector(int parallelism, boolean useCache) {
+
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism은 1 이상이어야 합니다.");
+		}
+
+		this.parallelism = parallelism;
+		this.cache = useCache ? new ConcurrentHashMap<Path, DirListing>() : null;
+	}
+
+	/**
+	 * 디렉토리 하위 전체의 사용량 통계를 수집한다.
+	 *
+	 * @param rootDir 통계를 수집할 디렉토리
+	 * @return 수집한 DirStats
+	 */
+	public DirStats collect(File rootDir) {
+
+		long startTime = System.nanoTime();
+
+		Path root = rootDir.toPath().toAbsolutePath().normalize();
+
+		BasicFileAttributes attributes = readAttributes(root);
+
+		if (attributes == null || !attributes.isDirectory()) {
+			throw new FileUtilsException(rootDir + "는 디렉토리가 아닙니다.");
+		}
+
+		long racyTime = System.currentTimeMillis() - RACY_MILLIS;
+
+		Set<Path> visited = cache != null ? ConcurrentHashMap.<Path>newKeySet() : null;
+		AtomicLong cachedDirCount = new AtomicLong();
+
+		Tally tally;
+
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+		try {
+			tally = pool.invoke(new DirStatsTask(root, attributes.lastModifiedTime().toMillis(), 0, racyTime, visited, cachedDirCount));
+		} finally {
+			pool.shutdownNow();
+		}
+
+		if (cache != null) {
+			pruneCache(root, visited);
+		}
+
+		return tally.toDirStats(cachedDirCount.get(), System.nanoTime() - startTime);
+	}
+
+	/**
+	 * 캐시를 비운다.
+	 */
+	public void clearCache() {
+		if (cache != null) {
+			cache.clear();
+		}
+	}
+
+	/**
+	 * @return 캐시에 보관 중인 디렉토리 수
+	 */
+	public int getCacheSize() {
+		return cache == null ? 0 : cache.size();
+	}
+
+	/**
+	 * 이번 수집에서 방문하지 않은(삭제되었거나 이동된) 최상위 디렉토리 하위의 캐시를 제거한다.
+	 */
+	private void pruneCache(Path root, Set<Path> visited) {
+
+		for (Path dir : cache.keySet()) {
+			if (dir.startsWith(root) && !visited.contains(dir)) {
+				cache.remove(dir);
+			}
+		}
+	}
+
+	private static BasicFileAttributes readAttributes(Path path) {
+
+		try {
+			return Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private static String extensionOf(Path path) {
+
+		String name = path.getFileName().toString();
+
+		int dotIndex = name.lastIndexOf('.');
+
+		return dotIndex < 0 ? "" : name.substring(dotIndex + 1).toLowerCase();
+	}
+
+	private final class DirStatsTask extends RecursiveTask<Tally> {
+
+		private static final long serialVersionUID = -2436880935404615284L;
+
+		private final transient Path dir;
+
+		private final long lastModified;
+
+		private final int depth;
+
+		private final long racyTime;
+
+		private final transient Set<Path> visited;
+
+		private final AtomicLong cachedDirCount;
+
+		private DirStatsTask(Path dir, long lastModified, int depth, long racyTime, Set<Path> visited, AtomicLong cachedDirCount) {
+			this.dir = dir;
+			this.lastModified = lastModified;
+			this.depth = depth;
+			this.racyTime = racyTime;
+			this.visited = visited;
+			this.cachedDirCount = cachedDirCount;
+		}
+
+		@Override
+		protected Tally compute() {
+
+			DirListing listing = cache != null ? cache.get(dir) : null;
+
+			List<Path> subDirs = new ArrayList<Path>();
+			List<Long> subDirModifieds = new ArrayList<Long>();
+
+			if (listing != null && listing.lastModified == lastModified) {
+
+				cachedDirCount.incrementAndGet();
+
+				// 목록은 그대로이므로 하위 디렉토리의 최종 수정일만 다시 읽는다.
+				for (Path subDir : listing.subDirs) {
+
+					BasicFileAttributes attributes = readAttributes(subDir);
+
+					if (attributes != null && attributes.isDirectory()) {
+						subDirs.add(subDir);
+						subDirModifieds.add(attributes.lastModifiedTime().toMillis());
+					}
+				}
+
+			} else {
+
+				listing = list(subDirs, subDirModifieds);
+
+				if (cache != null && listing != null && listing.cacheable && lastModified < racyTime) {
+					cache.put(dir, listing);
+				} else if (cache != null) {
+					cache.remove(dir);
+				}
+			}
+
+			if (visited != null) {
+				visited.add(dir);
+			}
+
+			Tally tally = new Tally();
+
+			if (listing != null) {
+				tally.addFiles(depth, listing);
+			}
+
+			tally.dirCount += subDirs.size();
+
+			List<DirStatsTask> subTasks = new ArrayList<DirStatsTask>(subDirs.size());
+
+			for (int i = 0; i < subDirs.size(); i++) {
+				subTasks.add(new DirStatsTask(subDirs.get(i), subDirModifieds.get(i), depth + 1, racyTime, visited, cachedDirCount));
+			}
+
+			for (DirStatsTask subTask : invokeAll(subTasks)) {
+				tally.merge(subTask.join());
+			}
+
+			return tally;
+		}
+
+		/**
+		 * 디렉토리 목록을 읽어 직속 파일들을 집계하고 하위 디렉토리를 subDirs에 담는다. 목록을 열 수 없으면 null을 반환한다.
+		 */
+		private DirListing list(List<Path> subDirs, List<Long> subDirModifieds) {
+
+			DirListing listing = new DirListing(lastModified);
+
+			DirectoryStream<Path> stream = null;
+
+			try {
+
+				stream = Files.newDirectoryStream(dir);
+
+				for (Path path : stream) {
+
+					BasicFileAttributes attributes = readAttributes(path);
+
+					if (attributes == null) {
+						continue;
+					}
+
+					if (attributes.isDirectory()) {
+						subDirs.add(path);
+						subDirModifieds.add(attributes.lastModifiedTime().toMillis());
+					} else if (attributes.isRegularFile()) {
+						listing.addFile(extensionOf(path), attributes.size());
+					}
+				}
+
+			} catch (IOException e) {
+				return null;
+			} catch (DirectoryIteratorException e) {
+				// 목록을 읽는 도중 에러가 발생하면 이미 발견한 파일과 하위 디렉토리까지만 집계하고 캐시하지 않는다.
+				return listing.complete(subDirs).incomplete();
+			} finally {
+				IOUtils.closeQuietly(stream);
+			}
+
+			return listing.complete(subDirs);
+		}
+	}
+
+	/**
+	 * 디렉토리 하나의 직속 파일 집계와 하위 디렉토리 목록. 캐시에 보관한 뒤에는 변경하지 않는다.
+	 */
+	private static final class DirListing {
+
+		private final long lastModified;
+
+		private final Map<String, long[]> extensionUsage = new HashMap<String, long[]>();
+
+		private long fileCount;
+
+		private long byteCount;
+
+		private List<Path> subDirs;
+
+		private boolean cacheable = true;
+
+		private DirListing(long lastModified) {
+			this.lastModified = lastModified;
+		}
+
+		private void addFile(String ext, long size) {
+
+			long[] usage = extensionUsage.get(ext);
+
+			if (usage == null) {
+				usage = new long[2];
+				extensionUsage.put(ext, usage);
+			}
+
+			usage[0]++;
+			usage[1] += size;
+
+			fileCount++;
+			byteCount += size;
+		}
+
+		private DirListing complete(List<Path> subDirs) {
+			this.subDirs = new ArrayList<Path>(subDirs);
+			return this;
+		}
+
+		private DirListing incomplete() {
+			this.cacheable = false;
+			return this;
+		}
+	}
+
+	/**
+	 * 하위 트리의 집계. 각 작업에서 만들어 부모 작업으로 합친다.
+	 */
+	private static final class Tally {
+
+		private final Map<String, long[]> extensionUsage = new HashMap<String, long[]>();
+
+		private final List<long[]> depthUsage = new ArrayList<long[]>();
+
+		private long fileCount;
+
+		private long dirCount;
+
+		private long byteCount;
+
+		private void addFiles(int depth, DirListing listing) {
+
+			if (listing.fileCount == 0) {
+				return;
+			}
+
+			for (Map.Entry<String, long[]> entry : listing.extensionUsage.entrySet()) {
+				add(extensionUsage, entry.getKey(), entry.getValue());
+			}
+
+			long[] usage = depthUsageAt(depth);
+			usage[0] += listing.fileCount;
+			usage[1] += listing.byteCount;
+
+			fileCount += listing.fileCount;
+			byteCount += listing.byteCount;
+		}
+
+		private void merge(Tally other) {
+
+			for (Map.Entry<String, long[]> entry : other.extensionUsage.entrySet()) {
+				add(extensionUsage, entry.getKey(), entry.getValue());
+			}
+
+			for (int depth = 0; depth < other.depthUsage.size(); depth++) {
+				long[] usage = depthUsageAt(depth);
+				usage[0] += other.depthUsage.get(depth)[0];
+				usage[1] += other.depthUsage.get(depth)[1];
+			}
+
+			fileCount += other.fileCount;
+			dirCount += other.dirCount;
+			byteCount += other.byteCount;
+		}
+
+		private long[] depthUsageAt(int depth) {
+
+			while (depthUsage.size() <= depth) {
+				depthUsage.add(new long[2]);
+			}
+
+			return depthUsage.get(depth);
+		}
+
+		private DirStats toDirStats(long cachedDirCount, long elapsedNanos) {
+
+			Map<String, DirStats.Usage> extensions = new HashMap<String, DirStats.Usage>();
+
+			for (Map.Entry<String, long[]> entry : extensionUsage.entrySet()) {
+				extensions.put(entry.getKey(), new DirStats.Usage(entry.getValue()[0], entry.getValue()[1]));
+			}
+
+			List<DirStats.Usage> depths = new ArrayList<DirStats.Usage>(depthUsage.size());
+
+			for (long[] usage : depthUsage) {
+				depths.add(new DirStats.Usage(usage[0], usage[1]));
+			}
+
+			return new DirStats(fileCount, dirCount, byteCount, extensions, depths, cachedDirCount, elapsedNanos);
+		}
+
+		private static void add(Map<String, long[]> target, String key, long[] value) {
+
+			long[] usage = target.get(key);
+
+			if (usage == null) {
+				usage = new long[2];
+				target.put(key, usage);
+			}
+
+			usage[0] += value[0];
+			usage[1] += value[1];
+		}
+	}
+
+}
@@ -0,0 +1,420 @@
+package io.manasobi.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.manasobi.constnat.OperationResult;
+import io.manasobi.constnat.Result;
+import io.manasobi.exception.FileUtilsException;
+
+/**
+ * 여러 건의 파일 복사, 이동, 삭제, 이름 변경 작업을 모아 두었다가 한 번에 실행하는 일괄 작업기.<br>
+ * <ul>
+ * <li>submit() 시점에 각 작업의 원본과 대상 경로가 속한 볼륨(FileStore)을 확인하여, 같은 볼륨을 사용하는 작업끼리 묶는다.</li>
+ * <li>볼륨마다 동시에 실행할 수 있는 작업 수를 제한하므로, 한 디스크에 작업이 몰려도 다른 디스크의 작업은 기다리지 않고 실행된다.
+ * 다른 볼륨으로 복사하거나 이동하는 작업은 양쪽 볼륨의 실행 슬롯을 모두 확보한 뒤 실행한다.</li>
+ * <li>작업별 결과와 전체 결과는 FileBatchReport로 반환한다.</li>
+ * </ul>
+ * 작업 등록과 submit()은 한 스레드에서 호출해야 한다.<br>
+ * 작업은 등록한 순서와 관계없이 동시에 실행되므로, 같은 경로를 사용하는 작업(예: 복사 후 삭제)의 실행 순서는 보장하지 않는다.
+ * 순서가 필요한 작업은 submit()을 나누어 호출해야 한다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class FileBatch {
+
+	public static final int DEFAULT_DEVICE_CONCURRENCY = 4;
+
+	private static final Object UNKNOWN_DEVICE = new Object();
+
+	private enum Type { COPY, MOVE, DELETE, RENAME }
+
+	private final int defaultDeviceConcurrency;
+
+	private final Map<FileStore, Integer> deviceConcurrency = new HashMap<FileStore, Integer>();
+
+	private final List<Operation> operations = new ArrayList<Operation>();
+
+	public FileBatch() {
+		this(DEFAULT_DEVICE_CONCURRENCY);
+	}
+
+	/**
+	 * @param defaultDeviceConcurrency 볼륨별 동시 실행 작업 수의 기본값
+	 */
+	public FileBatch(int defaultDeviceConcurrency) {
+
+		if (defaultDeviceConcurrency < 1) {
+			throw new IllegalArgumentException("defaultDeviceConcurrency는 1 이상이어야 합니다.");
+		}
+
+		this.defaultDeviceConcurrency = defaultDeviceConcurrency;
+	}
+
+	/**
+	 * 지정한 경로가 속한 볼륨의 동시 실행 작업 수를 설정한다.<br>
+	 * SSD처럼 동시 I/O에 강한 볼륨은 크게, 회전형 디스크나 네트워크 볼륨은 작게 설정한다.
+	 *
+	 * @param pathOnDevice 볼륨을 식별할 경로(파일 또는 디렉토리)
+	 * @param concurrency 동시 실행 작업 수
+	 * @return 현재 FileBatch
+	 */
+	public FileBatch setDeviceConcurrency(File pathOnDevice, int concurrency) {
+
+		if (concurrency < 1) {
+			throw new IllegalArgumentException("concurrency는 1 이상이어야 합니다.");
+		}
+
+		try {
+			deviceConcurrency.put(fileStoreOf(pathOnDevice.toPath()), concurrency);
+		} catch (IOException e) {
+			throw new FileUtilsException(pathOnDevice + "의 볼륨을 확인할 수 없습니다. " + e.getMessage());
+		}
+
+		return this;
+	}
+
+	/**
+	 * 파일 복사 작업을 등록한다. FileUtils.copyFile(srcFile, destFile)과 같이 동작한다.
+	 *
+	 * @param srcFile 원본 파일
+	 * @param destFile 대상 파일
+	 * @return 현재 FileBatch
+	 */
+	public FileBatch copyFile(File srcFile, File destFile) {
+		return add(Type.COPY, srcFile, destFile);
+	}
+
+	/**
+	 * 파일 이동 작업을 등록한다. FileUtils.moveFile(srcFile, destFile)과 같이 동작한다.
+	 *
+	 * @param srcFile 원본 파일
+	 * @param destFile 대상 파일
+	 * @return 현재 FileBatch
+	 */
+	public FileBatch moveFile(File srcFile, File destFile) {
+		return add(Type.MOVE, srcFile, destFile);
+	}
+
+	/**
+	 * 파일 삭제 작업을 등록한다. FileUtils.deleteFile(targetFile)과 같이 동작한다.
+	 *
+	 * @param targetFile 삭제할 파일
+	 * @return 현재 FileBatch
+	 */
+	public FileBatch deleteFile(File targetFile) {
+		return add(Type.DELETE, targetFile, null);
+	}
+
+	/**
+	 * 파일 이름 변경 작업을 등록한다. FileUtils.rename(srcFile, destFile)과 같이 동작한다.
+	 *
+	 * @param srcFile 원본 파일
+	 * @param destFile 대상 파일
+	 * @return 현재 FileBatch
+	 */
+	public FileBatch rename(File srcFile, File destFile) {
+		return add(Type.RENAME, srcFile, destFile);
+	}
+
+	/**
+	 * @return 등록되었지만 아직 실행하지 않은 작업 수
+	 */
+	public int size() {
+		return operations.size();
+	}
+
+	/**
+	 * 등록한 작업들을 볼륨별 동시 실행 수 제한에 맞추어 실행하고, 모든 작업이 끝나면 결과를 반환한다.<br>
+	 * 실행한 작업은 목록에서 제거되므로 같은 FileBatch에 다시 작업을 등록하여 사용할 수 있다.<br>
+	 * 같은 경로를 사용하는 작업 사이의 실행 순서는 보장하지 않는다.
+	 *
+	 * @return 작업별 결과와 전체 결과가 담긴 FileBatchReport
+	 */
+	public FileBatchReport submit() {
+
+		long startTime = System.nanoTime();
+
+		List<Operation> batch = new ArrayList<Operation>(operations);
+		operations.clear();
+
+		OperationResult[] results = new OperationResult[batch.size()];
+
+		Map<Object, int[]> freeSlots = new LinkedHashMap<Object, int[]>();
+		Map<List<Object>, Deque<Operation>> groups = new LinkedHashMap<List<Object>, Deque<Operation>>();
+		Map<Path, Object> deviceCache = new HashMap<Path, Object>();
+
+		for (Operation operation : batch) {
+
+			List<Object> devices = devicesOf(operation, deviceCache);
+
+			for (Object device : devices) {
+				if (!freeSlots.containsKey(device)) {
+					freeSlots.put(device, new int[] {concurrencyOf(device)});
+				}
+			}
+
+			Deque<Operation> group = groups.get(devices);
+
+			if (group == null) {
+				group = new ArrayDeque<Operation>();
+				groups.put(devices, group);
+			}
+
+			group.add(operation);
+		}
+
+		if (!batch.isEmpty()) {
+			run(groups, freeSlots, results);
+		}
+
+		return new FileBatchReport(Arrays.asList(results), countKnownDevices(freeSlots), System.nanoTime() - startTime);
+	}
+
+	private void run(Map<List<Object>, Deque<Operation>> groups, Map<Object, int[]> freeSlots, final OperationResult[] results) {
+
+		int threadCount = 0;
+
+		for (int[] slots : freeSlots.values()) {
+			threadCount += slots[0];
+		}
+
+		threadCount = Math.min(threadCount, results.length);
+
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount, 0, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<Runnable>(), new NamedThreadFactory("file-batch"));
+
+		final LinkedBlockingQueue<Operation> completed = new LinkedBlockingQueue<Operation>();
+
+		int inFlight = 0;
+
+		try {
+
+			while (true) {
+
+				// 실행 슬롯이 남은 볼륨의 작업부터 꺼내 실행한다. 슬롯 관리는 이 스레드에서만 하므로 동기화가 필요 없다.
+				for (Map.Entry<List<Object>, Deque<Operation>> entry : groups.entrySet()) {
+
+					Deque<Operation> group = entry.getValue();
+
+					while (!group.isEmpty() && acquire(entry.getKey(), freeSlots)) {
+
+						final Operation operation = group.poll();
+
+						inFlight++;
+
+						executor.execute(new Runnable() {
+							@Override
+							public void run() {
+								try {
+									results[operation.index] = execute(operation);
+								} catch (Throwable e) {
+									// 실패 메시지를 만드는 중에 발생한 에러도 결과를 비워 두지 않고 실패로 기록한다.
+									results[operation.index] = OperationResult.fail(String.valueOf(e), 0, 0, 0);
+								} finally {
+									completed.add(operation);
+								}
+							}
+						});
+					}
+				}
+
+				if (inFlight == 0) {
+					break;
+				}
+
+				Operation done = completed.take();
+
+				do {
+					release(done.devices, freeSlots);
+					inFlight--;
+				} while ((done = completed.poll()) != null);
+			}
+
+		} catch (InterruptedException e) {
+
+			Thread.currentThread().interrupt();
+
+			for (int i = 0; i < results.length; i++) {
+				if (results[i] == null) {
+					results[i] = OperationResult.fail("일괄 작업이 중단되었습니다.", 0, 0, 0);
+				}
+			}
+
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static OperationResult execute(Operation operation) {
+
+		long startTime = System.nanoTime();
+
+		long bytes = operation.type == Type.COPY || operation.type == Type.MOVE ? operation.srcFile.length() : 0;
+
+		Result result;
+
+		try {
+
+			switch (operation.type) {
+			case COPY:
+				result = FileUtils.copyFile(operation.srcFile, operation.destFile);
+				break;
+			case MOVE:
+				result = FileUtils.moveFile(operation.srcFile, operation.destFile);
+				break;
+			case DELETE:
+				result = FileUtils.deleteFile(operation.srcFile);
+				break;
+			default:
+				result = FileUtils.rename(operation.srcFile.getPath(), operation.destFile.getPath());
+				break;
+			}
+
+		} catch (Throwable e) {
+			// Error가 발생하더라도 작업별 결과를 채워야 FileBatchReport에 실패 원인이 남는다.
+			return OperationResult.fail(operation.srcFile + ": " + e, 0, 0, System.nanoTime() - startTime);
+		}
+
+		boolean success = result == Result.SUCCESS;
+
+		return OperationResult.of(result, success ? 1 : 0, success ? bytes : 0, System.nanoTime() - startTime);
+	}
+
+	private FileBatch add(Type type, File srcFile, File destFile) {
+
+		if (srcFile == null || type != Type.DELETE && destFile == null) {
+			throw new IllegalArgumentException("원본 및 대상 파일은 null일 수 없습니다.");
+		}
+
+		operations.add(new Operation(operations.size(), type, srcFile, destFile));
+
+		return this;
+	}
+
+	private int concurrencyOf(Object device) {
+
+		Integer concurrency = deviceConcurrency.get(device);
+
+		return concurrency != null ? concurrency : defaultDeviceConcurrency;
+	}
+
+	private static int countKnownDevices(Map<Object, int[]> freeSlots) {
+		return freeSlots.containsKey(UNKNOWN_DEVICE) ? freeSlots.size() - 1 : freeSlots.size();
+	}
+
+	private static List<Object> devicesOf(Operation operation, Map<Path, Object> deviceCache) {
+
+		Object srcDevice = deviceOf(operation.srcFile, deviceCache);
+
+		if (operation.destFile == null) {
+			operation.devices = Collections.singletonList(srcDevice);
+			return operation.devices;
+		}
+
+		Object destDevice = deviceOf(operation.destFile, deviceCache);
+
+		operation.devices = srcDevice.equals(destDevice) ? Collections.singletonList(srcDevice) : Arrays.asList(srcDevice, destDevice);
+
+		return operation.devices;
+	}
+
+	private static Object deviceOf(File file, Map<Path, Object> deviceCache) {
+
+		Path parent = file.toPath().toAbsolutePath().getParent();
+
+		if (parent == null) {
+			return UNKNOWN_DEVICE;
+		}
+
+		Object device = deviceCache.get(parent);
+
+		if (device == null) {
+
+			try {
+				device = fileStoreOf(parent);
+			} catch (IOException e) {
+				device = UNKNOWN_DEVICE;
+			}
+
+			deviceCache.put(parent, device);
+		}
+
+		return device;
+	}
+
+	private static FileStore fileStoreOf(Path path) throws IOException {
+
+		Path existing = path.toAbsolutePath();
+
+		// 아직 생성되지 않은 대상 경로는 존재하는 상위 디렉토리의 볼륨을 사용한다.
+		while (existing != null && !Files.exists(existing)) {
+			existing = existing.getParent();
+		}
+
+		if (existing == null) {
+			throw new IOException(path + "의 상위 디렉토리가 존재하지 않습니다.");
+		}
+
+		return Files.getFileStore(existing);
+	}
+
+	private static boolean acquire(List<Object> devices, Map<Object, int[]> freeSlots) {
+
+		for (Object device : devices) {
+			if (freeSlots.get(device)[0] == 0) {
+				return false;
+			}
+		}
+
+		for (Object device : devices) {
+			freeSlots.get(device)[0]--;
+		}
+
+		return true;
+	}
+
+	private static void release(List<Object> devices, Map<Object, int[]> freeSlots) {
+
+		for (Object device : devices) {
+			freeSlots.get(device)[0]++;
+		}
+	}
+
+	private static final class Operation {
+
+		private final int index;
+
+		private final Type type;
+
+		private final File srcFile;
+
+		private final File destFile;
+
+		private List<Object> devices;
+
+		private Operation(int index, Type type, File srcFile, File destFile) {
+			this.index = index;
+			this.type = type;
+			this.srcFile = srcFile;
+			this.destFile = destFile;
+		}
+	}
+
+}
@@ -0,0 +1,160 @@
+package io.manasobi.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.manasobi.constnat.OperationResult;
+
+/**
+ * FileBatch로 일괄 실행한 작업들의 결과를 담는 불변 객체.<br>
+ * 작업별 결과는 등록한 순서대로 담기며, 성공 건수, 처리한 bytes 합계, 사용한 볼륨 수, 전체 소요 시간을 함께 제공한다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class FileBatchReport {
+
+	private final List<OperationResult> results;
+
+	private final long successCount;
+
+	private final long byteCount;
+
+	private final int deviceCount;
+
+	private final long elapsedNanos;
+
+	FileBatchReport(List<OperationResult> results, int deviceCount, long elapsedNanos) {
+
+		long successCount = 0;
+		long byteCount = 0;
+
+		for (OperationResult result : results) {
+			if (result.isSuccess()) {
+				successCount++;
+				byteCount += result.getByteCount();
+			}
+		}
+
+		this.results = Collections.unmodifiableList(new ArrayList<OperationResult>(results));
+		this.successCount = successCount;
+		this.byteCount = byteCount;
+		this.deviceCount = deviceCount;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * 등록한 순서대로 작업별 결과를 반환한다.
+	 *
+	 * @return 작업별 OperationResult 목록
+	 */
+	public List<OperationResult> getResults() {
+		return results;
+	}
+
+	/**
+	 * @return 실행한 작업 수
+	 */
+	public int getOperationCount() {
+		return results.size();
+	}
+
+	/**
+	 * @return 성공한 작업 수
+	 */
+	public long getSuccessCount() {
+		return successCount;
+	}
+
+	/**
+	 * @return 실패한 작업 수
+	 */
+	public long getFailedCount() {
+		return results.size() - successCount;
+	}
+
+	/**
+	 * 성공한 복사 및 이동 작업에서 처리한 bytes 합계를 반환한다.
+	 *
+	 * @return 처리한 bytes 수
+	 */
+	public long getByteCount() {
+		return byteCount;
+	}
+
+	/**
+	 * 작업들이 사용한 볼륨(FileStore) 수를 반환한다.
+	 *
+	 * @return 볼륨 수
+	 */
+	public int getDeviceCount() {
+		return deviceCount;
+	}
+
+	/**
+	 * @return 전체 소요 시간(ns)
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * @return 전체 소요 시간(ms)
+	 */
+	public long getElapsedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+	}
+
+	/**
+	 * 실패한 작업들의 에러 메시지 목록을 반환한다.
+	 *
+	 * @return 에러 메시지 목록, 실패가 없으면 빈 리스트
+	 */
+	public List<String> getFailures() {
+
+		List<String> failures = new ArrayList<String>();
+
+		for (OperationResult result : results) {
+			if (!result.isSuccess()) {
+				failures.add(result.getMessage());
+			}
+		}
+
+		return failures;
+	}
+
+	/**
+	 * 실패 없이 모든 작업이 완료되었는지를 체크한다.
+	 *
+	 * @return 실패가 없으면 true, 아니면 false
+	 */
+	public boolean isSuccess() {
+		return successCount == results.size();
+	}
+
+	/**
+	 * 일괄 작업 전체의 결과를 OperationResult로 변환한다. 실패가 있으면 첫 번째 에러 메시지와 실패 건수를 메시지로 사용한다.
+	 *
+	 * @return 성공한 작업 수와 bytes 수, 전체 소요 시간이 담긴 OperationResult
+	 */
+	public OperationResult toOperationResult() {
+
+		if (isSuccess()) {
+			return OperationResult.success(successCount, byteCount, elapsedNanos);
+		}
+
+		List<String> failures = getFailures();
+
+		String errMsg = failures.size() == 1 ? failures.get(0) : failures.get(0) + " 외 " + (failures.size() - 1) + "건";
+
+		return OperationResult.fail(errMsg, successCount, byteCount, elapsedNanos);
+	}
+
+	@Override
+	public String toString() {
+		return "FileBatchReport(operations=" + results.size() + ", success=" + successCount + ", bytes=" + byteCount + ", devices=" + deviceCount + ", elapsed=" + getElapsedMillis() + "ms)";
+	}
+
+}
@@ -0,0 +1,70 @@
+package io.manasobi.utils;
+
+import java.io.File;
+
+/**
+ * HotFolderWatcher가 전달하는 파일 변경 이벤트.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class FileChangeEvent {
+
+	/**
+	 * 파일 변경 종류.
+	 */
+	public enum Kind {
+		CREATE,
+		MODIFY,
+		DELETE
+	}
+
+	private final Kind kind;
+
+	private final File file;
+
+	private final long size;
+
+	private final long lastModified;
+
+	FileChangeEvent(Kind kind, File file, long size, long lastModified) {
+		this.kind = kind;
+		this.file = file;
+		this.size = size;
+		this.lastModified = lastModified;
+	}
+
+	/**
+	 * @return 변경 종류
+	 */
+	public Kind getKind() {
+		return kind;
+	}
+
+	/**
+	 * @return 변경된 파일
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * @return 이벤트 시점의 파일 크기, DELETE 이벤트는 삭제 전 마지막으로 확인한 크기
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * @return 이벤트 시점의 최종 수정일, DELETE 이벤트는 삭제 전 마지막으로 확인한 수정일
+	 */
+	public long getLastModified() {
+		return lastModified;
+	}
+
+	@Override
+	public String toString() {
+		return kind + " " + file;
+	}
+
+}
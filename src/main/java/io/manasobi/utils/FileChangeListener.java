@@ -0,0 +1,19 @@
+package io.manasobi.utils;
+
+/**
+ * HotFolderWatcher로부터 파일 변경 이벤트를 전달받는 callback.<br>
+ * 이벤트는 watcher 스레드에서 순서대로 호출되므로, 오래 걸리는 작업은 별도의 스레드로 넘겨야 한다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public interface FileChangeListener {
+
+	/**
+	 * 파일이 생성, 수정, 삭제되었을 때 호출된다.
+	 *
+	 * @param event 파일 변경 이벤트
+	 */
+	void onChange(FileChangeEvent event);
+
+}
@@ -0,0 +1,279 @@
+package io.manasobi.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * FileUtils의 파일 복사를 담당하는 내부 헬퍼.<br>
+ * threshold 이상의 파일은 대상 파일의 길이를 미리 확보한 뒤 FileChannel.transferTo로 커널 내에서 복사하고,
+ * 작은 파일이나 채널 전송이 지원되지 않는 경우에는 버퍼를 사용하여 복사한다.<br>
+ * IoThrottle이 설정되어 있으면 파일마다 파일 token을, 나누어 복사하는 구간마다 bytes token을 사용한다.
+ * CopyProgressTracker가 전달되면 나누어 복사하는 구간마다 복사한 bytes 수를 더하고, 진행 상황을 자주 갱신할 수 있도록 채널 전송 구간을 줄인다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+final class FileChannelCopier {
+
+	static final long DEFAULT_CHANNEL_COPY_THRESHOLD = 1024L * 1024L;
+
+	private static final long TRANSFER_CHUNK_SIZE = 64L * 1024L * 1024L;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static volatile long channelCopyThreshold = DEFAULT_CHANNEL_COPY_THRESHOLD;
+
+	private static volatile IoThrottle throttle;
+
+	private FileChannelCopier() { }
+
+	static long getChannelCopyThreshold() {
+		return channelCopyThreshold;
+	}
+
+	static void setChannelCopyThreshold(long threshold) {
+
+		if (threshold < 0) {
+			throw new IllegalArgumentException("threshold는 0 이상이어야 합니다.");
+		}
+
+		channelCopyThreshold = threshold;
+	}
+
+	static IoThrottle getThrottle() {
+		return throttle;
+	}
+
+	static void setThrottle(IoThrottle newThrottle) {
+		throttle = newThrottle;
+	}
+
+	/**
+	 * 원본 파일을 대상 파일로 복사한다. 대상 파일이 존재하면 덮어쓴다.
+	 *
+	 * @param srcFile 원본 파일
+	 * @param destFile 대상 파일
+	 * @param preserveFileDate 수정일 설정 플래그
+	 * @return 복사한 bytes 수
+	 * @throws IOException 복사 중 에러가 발생한 경우
+	 */
+	static long copy(File srcFile, File destFile, boolean preserveFileDate) throws IOException {
+		return copy(srcFile, destFile, preserveFileDate, null);
+	}
+
+	/**
+	 * 원본 파일을 대상 파일로 복사하고 진행 상황을 tracker에 전달한다. 대상 파일이 존재하면 덮어쓴다.
+	 *
+	 * @param srcFile 원본 파일
+	 * @param destFile 대상 파일
+	 * @param preserveFileDate 수정일 설정 플래그
+	 * @param tracker 진행 상황을 집계할 tracker, null이면 집계하지 않는다.
+	 * @return 복사한 bytes 수
+	 * @throws IOException 복사 중 에러가 발생한 경우
+	 */
+	static long copy(File srcFile, File destFile, boolean preserveFileDate, CopyProgressTracker tracker) throws IOException {
+
+		if (tracker == null) {
+			return doCopy(srcFile, destFile, preserveFileDate, null);
+		}
+
+		tracker.fileStarted(srcFile, destFile, srcFile.length());
+
+		boolean success = false;
+		long copied = 0;
+
+		try {
+			copied = doCopy(srcFile, destFile, preserveFileDate, tracker);
+			success = true;
+			return copied;
+		} finally {
+			tracker.fileFinished(srcFile, destFile, copied, success);
+		}
+	}
+
+	private static long doCopy(File srcFile, File destFile, boolean preserveFileDate, CopyProgressTracker tracker) throws IOException {
+
+		if (srcFile.getCanonicalPath().equals(destFile.getCanonicalPath())) {
+			throw new IOException("Source '" + srcFile + "' and destination '" + destFile + "' are the same");
+		}
+
+		File parent = destFile.getParentFile();
+
+		if (parent != null && !parent.mkdirs() && !parent.isDirectory()) {
+			throw new IOException("Destination '" + parent + "' directory cannot be created");
+		}
+
+		IoThrottle currentThrottle = throttle;
+
+		if (currentThrottle != null) {
+			currentThrottle.acquireFile();
+		}
+
+		long size = srcFile.length();
+		long copied = size < channelCopyThreshold ? bufferedCopy(srcFile, destFile, currentThrottle, tracker)
+				: channelCopy(srcFile, destFile, size, currentThrottle, tracker);
+
+		if (copied != size) {
+			throw new IOException("Failed to copy full contents from '" + srcFile + "' to '" + destFile + "'");
+		}
+
+		if (preserveFileDate) {
+			destFile.setLastModified(srcFile.lastModified());
+		}
+
+		return copied;
+	}
+
+	static long channelCopy(File srcFile, File destFile, long size, IoThrottle throttle, CopyProgressTracker tracker) throws IOException {
+
+		FileInputStream fis = null;
+		RandomAccessFile raf = null;
+
+		try {
+
+			fis = new FileInputStream(srcFile);
+			raf = new RandomAccessFile(destFile, "rw");
+
+			FileChannel input = fis.getChannel();
+			FileChannel output = raf.getChannel();
+
+			raf.setLength(size);
+
+			long position = 0;
+			long maxChunkSize = tracker == null ? TRANSFER_CHUNK_SIZE : CopyProgressTracker.PROGRESS_CHUNK_SIZE;
+			long chunkSize = throttle == null ? maxChunkSize : throttle.chunkSize(maxChunkSize);
+
+			while (position < size) {
+
+				long count = Math.min(chunkSize, size - position);
+
+				if (throttle != null) {
+					throttle.acquireBytes(count);
+				}
+
+				long transferred = input.transferTo(position, count, output);
+
+				if (transferred <= 0) {
+					break;
+				}
+
+				position += transferred;
+
+				if (tracker != null) {
+					tracker.bytesCopied(transferred);
+				}
+			}
+
+			if (position < size) {
+				position += bufferedCopy(input, output, position, throttle, tracker);
+			}
+
+			if (position != size) {
+				raf.setLength(position);
+			}
+
+			return position;
+
+		} finally {
+			IOUtils.closeQuietly(fis);
+			IOUtils.closeQuietly(raf);
+		}
+	}
+
+	static long bufferedCopy(File srcFile, File destFile) throws IOException {
+		return bufferedCopy(srcFile, destFile, null, null);
+	}
+
+	static long bufferedCopy(File srcFile, File destFile, IoThrottle throttle, CopyProgressTracker tracker) throws IOException {
+
+		InputStream input = null;
+		OutputStream output = null;
+
+		try {
+
+			input = new FileInputStream(srcFile);
+			output = new FileOutputStream(destFile);
+
+			if (throttle == null && tracker == null) {
+				return org.apache.commons.io.IOUtils.copyLarge(input, output, new byte[BUFFER_SIZE]);
+			}
+
+			return meteredCopy(input, output, new byte[BUFFER_SIZE], throttle, tracker);
+
+		} finally {
+			IOUtils.closeQuietly(input);
+			IOUtils.closeQuietly(output);
+		}
+	}
+
+	/**
+	 * 버퍼 크기만큼 읽을 때마다 bytes token을 사용하고 복사한 bytes 수를 tracker에 더하며 복사한다.
+	 * throttle과 tracker는 각각 null일 수 있다.
+	 *
+	 * @return 복사한 bytes 수
+	 */
+	static long meteredCopy(InputStream input, OutputStream output, byte[] buffer, IoThrottle throttle, CopyProgressTracker tracker) throws IOException {
+
+		long copied = 0;
+		int read;
+
+		while ((read = input.read(buffer)) != -1) {
+
+			if (throttle != null) {
+				throttle.acquireBytes(read);
+			}
+
+			output.write(buffer, 0, read);
+			copied += read;
+
+			if (tracker != null) {
+				tracker.bytesCopied(read);
+			}
+		}
+
+		return copied;
+	}
+
+	private static long bufferedCopy(FileChannel input, FileChannel output, long position, IoThrottle throttle, CopyProgressTracker tracker) throws IOException {
+
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+		long copied = 0;
+
+		input.position(position);
+		output.position(position);
+
+		while (input.read(buffer) != -1) {
+
+			buffer.flip();
+
+			if (throttle != null) {
+				throttle.acquireBytes(buffer.remaining());
+			}
+
+			int count = buffer.remaining();
+
+			while (buffer.hasRemaining()) {
+				output.write(buffer);
+			}
+
+			copied += count;
+
+			if (tracker != null) {
+				tracker.bytesCopied(count);
+			}
+
+			buffer.clear();
+		}
+
+		return copied;
+	}
+
+}
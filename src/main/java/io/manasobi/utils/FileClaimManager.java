@@ -0,0 +1,398 @@
+package io.manasobi.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.manasobi.constnat.Result;
+import io.manasobi.exception.FileUtilsException;
+
+/**
+ * 여러 JVM(또는 여러 서버)이 NFS 등으로 공유하는 hot folder에서 하나의 파일을 한 노드만 처리하도록 보장하는 claim/lease 관리자.
+ * <ul>
+ * <li>파일은 입력 디렉토리에서 노드별 claim 디렉토리(claimRootDir/nodeId/고유ID/파일명)로 atomic rename 하여 가져온다.
+ * rename은 한 노드만 성공하므로 별도의 coordinator 없이 중복 처리를 막을 수 있다.</li>
+ * <li>각 노드는 claimRootDir/nodeId.lease 파일의 heartbeat 값을 주기적으로 증가시킨다.</li>
+ * <li>reclaimStale()은 leaseTimeoutMillis 동안 heartbeat 값이 변하지 않은 노드의 claim 디렉토리를 가져와
+ * 파일들을 입력 디렉토리로 되돌린다. 서버 간 시계 차이의 영향을 받지 않도록 lease 파일의 시각이 아니라
+ * 값이 마지막으로 바뀐 것을 관찰한 로컬 시각을 기준으로 판단한다.</li>
+ * </ul>
+ * stale로 판단된 노드가 다시 살아난 경우 해당 노드가 처리 중이던 파일은 다른 노드에서 다시 처리될 수 있다(at-least-once).
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class FileClaimManager implements Closeable {
+
+	public static final long DEFAULT_LEASE_TIMEOUT_MILLIS = 30000;
+
+	private static final String LEASE_SUFFIX = ".lease";
+
+	private static final String RECLAIM_PREFIX = ".reclaim-";
+
+	private final File inboxDir;
+
+	private final File claimRootDir;
+
+	private final String nodeId;
+
+	private final long leaseTimeoutMillis;
+
+	private final File nodeDir;
+
+	private final File leaseFile;
+
+	private final AtomicLong heartbeat = new AtomicLong();
+
+	private final Map<String, ObservedLease> observedLeases = new HashMap<String, ObservedLease>();
+
+	private ScheduledExecutorService heartbeatExecutor;
+
+	private volatile boolean leaseLost;
+
+	/**
+	 * @param inboxDir 처리할 파일이 들어오는 공유 입력 디렉토리
+	 * @param claimRootDir 노드별 claim 디렉토리와 lease 파일을 보관하는 공유 디렉토리
+	 * @param nodeId 노드를 구분하는 고유한 이름 (예: 호스트명-pid)
+	 * @param leaseTimeoutMillis heartbeat가 이 시간(ms) 동안 변하지 않으면 stale로 판단한다
+	 */
+	public FileClaimManager(File inboxDir, File claimRootDir, String nodeId, long leaseTimeoutMillis) {
+
+		if (nodeId.startsWith(".") || nodeId.contains("/") || nodeId.contains(File.separator)) {
+			throw new IllegalArgumentException(nodeId + "는 nodeId로 사용할 수 없습니다.");
+		}
+
+		this.inboxDir = inboxDir;
+		this.claimRootDir = claimRootDir;
+		this.nodeId = nodeId;
+		this.leaseTimeoutMillis = leaseTimeoutMillis;
+		this.nodeDir = new File(claimRootDir, nodeId);
+		this.leaseFile = new File(claimRootDir, nodeId + LEASE_SUFFIX);
+	}
+
+	/**
+	 * claim 디렉토리를 만들고 lease 파일의 heartbeat를 시작한다.
+	 */
+	public synchronized void start() {
+
+		if (heartbeatExecutor != null) {
+			throw new IllegalStateException("이미 시작된 claim manager입니다.");
+		}
+
+		if (FileUtils.notExistsDir(nodeDir) && FileUtils.createDir(nodeDir.getAbsolutePath()) == Result.FAIL) {
+			throw new FileUtilsException(nodeDir + " 디렉토리 생성 중에 에러가 발생하였습니다.");
+		}
+
+		try {
+			writeLease();
+		} catch (IOException e) {
+			throw new FileUtilsException(e.getMessage());
+		}
+
+		heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "file-claim-heartbeat-" + nodeId);
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+		long interval = Math.max(1, leaseTimeoutMillis / 3);
+
+		heartbeatExecutor.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				beat();
+			}
+		}, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * heartbeat를 중지하고 lease 파일을 삭제한다. claim 디렉토리에 남은 파일은 다른 노드가 reclaim 할 수 있도록 그대로 둔다.
+	 */
+	@Override
+	public synchronized void close() {
+
+		if (heartbeatExecutor == null) {
+			return;
+		}
+
+		heartbeatExecutor.shutdownNow();
+
+		try {
+			heartbeatExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		FileUtils.deleteFile(leaseFile);
+	}
+
+	/**
+	 * @return 노드 이름
+	 */
+	public String getNodeId() {
+		return nodeId;
+	}
+
+	/**
+	 * @return 다른 노드가 이 노드의 claim 디렉토리를 reclaim 했으면 true, 아니면 false
+	 */
+	public boolean isLeaseLost() {
+		return leaseLost;
+	}
+
+	/**
+	 * 입력 디렉토리의 파일을 이 노드의 claim 디렉토리로 atomic rename 하여 가져온다.<br>
+	 * 다른 노드가 reclaim 하여 claim 디렉토리가 없어졌으면 lease를 잃은 것으로 표시하고 더 이상 가져오지 않는다.
+	 *
+	 * @param file 입력 디렉토리의 파일
+	 * @return 가져온 파일, 다른 노드가 먼저 가져갔거나 파일이 없거나 lease를 잃었으면 null
+	 */
+	public File claim(File file) {
+
+		if (leaseLost) {
+			return null;
+		}
+
+		if (!nodeDir.isDirectory()) {
+			// 다른 노드가 reclaim 하여 삭제한 claim 디렉토리를 다시 만들지 않는다.
+			leaseLost = true;
+			return null;
+		}
+
+		File claimDir = new File(nodeDir, UUID.randomUUID().toString());
+
+		if (!claimDir.mkdir()) {
+
+			if (!nodeDir.isDirectory()) {
+				leaseLost = true;
+			}
+
+			return null;
+		}
+
+		File claimedFile = new File(claimDir, file.getName());
+
+		try {
+			Files.move(file.toPath(), claimedFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			claimDir.delete();
+			return null;
+		}
+
+		return claimedFile;
+	}
+
+	/**
+	 * 입력 디렉토리의 파일들을 최대 maxCount개까지 가져온다.
+	 *
+	 * @param maxCount 가져올 최대 파일 수
+	 * @return 가져온 파일 목록
+	 */
+	public List<File> claimAvailable(int maxCount) {
+
+		List<File> claimedFiles = new ArrayList<File>();
+
+		FileEntryIterator iterator = new FileEntryIterator(inboxDir.toPath(), false, false, null);
+
+		try {
+
+			while (claimedFiles.size() < maxCount && iterator.hasNext()) {
+
+				File claimedFile = claim(iterator.next().getFile());
+
+				if (claimedFile != null) {
+					claimedFiles.add(claimedFile);
+				}
+			}
+
+		} finally {
+			iterator.close();
+		}
+
+		return claimedFiles;
+	}
+
+	/**
+	 * 처리가 끝난 파일을 대상 디렉토리로 이동하고 claim을 해제한다.
+	 *
+	 * @param claimedFile claim()으로 가져온 파일
+	 * @param destDir 대상 디렉토리 (완료 또는 에러 디렉토리)
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 */
+	public Result complete(File claimedFile, File destDir) {
+
+		Result result = FileUtils.moveFileToDir(claimedFile, destDir);
+
+		if (result == Result.SUCCESS) {
+			claimedFile.getParentFile().delete();
+		}
+
+		return result;
+	}
+
+	/**
+	 * 처리하지 못한 파일을 입력 디렉토리로 되돌리고 claim을 해제한다.
+	 *
+	 * @param claimedFile claim()으로 가져온 파일
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 */
+	public Result release(File claimedFile) {
+		return complete(claimedFile, inboxDir);
+	}
+
+	/**
+	 * heartbeat가 멈춘 다른 노드의 claim 디렉토리를 가져와 남아 있는 파일들을 입력 디렉토리로 되돌린다.<br>
+	 * lease 값의 변화를 관찰해야 하므로 leaseTimeoutMillis보다 짧은 주기로 반복해서 호출해야 한다.
+	 *
+	 * @return 입력 디렉토리로 되돌린 파일 수
+	 */
+	public synchronized int reclaimStale() {
+
+		File[] entries = claimRootDir.listFiles();
+
+		if (entries == null) {
+			return 0;
+		}
+
+		long now = System.nanoTime();
+		int reclaimedCount = 0;
+
+		for (File entry : entries) {
+
+			String name = entry.getName();
+
+			if (name.startsWith(RECLAIM_PREFIX) && entry.isDirectory()) {
+				// 이전에 reclaim 도중 중단된 디렉토리
+				reclaimedCount += returnToInbox(entry);
+				continue;
+			}
+
+			if (!entry.isDirectory() || name.startsWith(".") || name.equals(nodeId)) {
+				continue;
+			}
+
+			String lease = readLease(new File(claimRootDir, name + LEASE_SUFFIX));
+
+			ObservedLease observed = observedLeases.get(name);
+
+			if (observed == null || !observed.value.equals(lease)) {
+				observedLeases.put(name, new ObservedLease(lease, now));
+				continue;
+			}
+
+			if (now - observed.sinceNanos < TimeUnit.MILLISECONDS.toNanos(leaseTimeoutMillis)) {
+				continue;
+			}
+
+			File reclaimDir = new File(claimRootDir, RECLAIM_PREFIX + name + "-" + UUID.randomUUID());
+
+			try {
+				Files.move(entry.toPath(), reclaimDir.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			} catch (IOException e) {
+				// 다른 노드가 먼저 reclaim 한 경우
+				continue;
+			}
+
+			observedLeases.remove(name);
+			FileUtils.deleteFile(new File(claimRootDir, name + LEASE_SUFFIX));
+
+			reclaimedCount += returnToInbox(reclaimDir);
+		}
+
+		return reclaimedCount;
+	}
+
+	private int returnToInbox(File reclaimDir) {
+
+		int returnedCount = 0;
+
+		File[] claimDirs = reclaimDir.listFiles();
+
+		if (claimDirs != null) {
+
+			for (File claimDir : claimDirs) {
+
+				File[] files = claimDir.isDirectory() ? claimDir.listFiles() : new File[] {claimDir};
+
+				if (files == null) {
+					continue;
+				}
+
+				for (File file : files) {
+					if (FileUtils.moveFileToDir(file, inboxDir) == Result.SUCCESS) {
+						returnedCount++;
+					}
+				}
+
+				claimDir.delete();
+			}
+		}
+
+		reclaimDir.delete();
+
+		return returnedCount;
+	}
+
+	private void beat() {
+
+		if (!nodeDir.isDirectory()) {
+			// 다른 노드가 이 노드를 stale로 판단하여 claim 디렉토리를 가져갔다.
+			leaseLost = true;
+			return;
+		}
+
+		try {
+			writeLease();
+		} catch (IOException e) {
+			// 다음 주기에 다시 시도한다.
+		}
+	}
+
+	private void writeLease() throws IOException {
+
+		File tempFile = new File(claimRootDir, "." + nodeId + LEASE_SUFFIX + ".tmp");
+
+		String lease = heartbeat.incrementAndGet() + " " + System.currentTimeMillis();
+
+		Files.write(tempFile.toPath(), lease.getBytes(StandardCharsets.UTF_8));
+		Files.move(tempFile.toPath(), leaseFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static String readLease(File leaseFile) {
+
+		try {
+			return new String(Files.readAllBytes(leaseFile.toPath()), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			return "";
+		}
+	}
+
+	private static final class ObservedLease {
+
+		private final String value;
+
+		private final long sinceNanos;
+
+		private ObservedLease(String value, long sinceNanos) {
+			this.value = value;
+			this.sinceNanos = sinceNanos;
+		}
+	}
+
+}
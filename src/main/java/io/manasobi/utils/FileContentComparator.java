@@ -0,0 +1,200 @@
+package io.manasobi.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * 두 파일의 내용이 같은지 비교하는 내부 헬퍼.<br>
+ * 파일마다 속성을 한 번만 읽어 크기가 다르면 파일을 읽지 않고 바로 false를 반환한다. 크기가 같으면 작은 파일은 스레드별로 재사용하는 direct 버퍼에 읽고,
+ * 큰 파일은 일정 크기씩 memory-map 하여 8 bytes(long) 단위로 비교하며, 처음 다른 곳에서 바로 중단한다.
+ * 파일 전체를 heap에 올리지 않는다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+final class FileContentComparator {
+
+	static final long MAPPED_COMPARE_THRESHOLD = 1024L * 1024L;
+
+	private static final long WINDOW_SIZE = 64L * 1024L * 1024L;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final ThreadLocal<ByteBuffer[]> BUFFERS = new ThreadLocal<ByteBuffer[]>() {
+		@Override
+		protected ByteBuffer[] initialValue() {
+			return new ByteBuffer[] {
+					ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.nativeOrder()),
+					ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.nativeOrder()) };
+		}
+	};
+
+	private FileContentComparator() { }
+
+	/**
+	 * 두 파일의 내용이 같은지 비교한다. 두 파일이 모두 존재하지 않으면 같은 것으로 판단한다.
+	 *
+	 * @param file1 비교할 파일
+	 * @param file2 비교할 파일
+	 * @return 내용이 같으면 true
+	 * @throws IOException 디렉토리이거나 읽는 중 에러가 발생한 경우
+	 */
+	static boolean contentEquals(File file1, File file2) throws IOException {
+
+		BasicFileAttributes attributes1 = readAttributes(file1);
+		BasicFileAttributes attributes2 = readAttributes(file2);
+
+		if (attributes1 == null || attributes2 == null) {
+			return attributes1 == attributes2;
+		}
+
+		if (attributes1.isDirectory() || attributes2.isDirectory()) {
+			throw new IOException("Can't compare directories, only files");
+		}
+
+		if (attributes1.size() != attributes2.size()) {
+			return false;
+		}
+
+		if (isSameFile(file1, attributes1, file2, attributes2)) {
+			return true;
+		}
+
+		FileChannel channel1 = FileChannel.open(file1.toPath(), StandardOpenOption.READ);
+
+		try {
+
+			FileChannel channel2 = FileChannel.open(file2.toPath(), StandardOpenOption.READ);
+
+			try {
+
+				// 속성을 읽은 후 크기가 바뀌었을 수 있으므로 열린 채널의 크기로 다시 확인한다.
+				long size = channel1.size();
+
+				if (size != channel2.size()) {
+					return false;
+				}
+
+				return size < MAPPED_COMPARE_THRESHOLD ? bufferedEquals(channel1, channel2) : mappedEquals(channel1, channel2, size);
+
+			} finally {
+				channel2.close();
+			}
+
+		} finally {
+			channel1.close();
+		}
+	}
+
+	private static BasicFileAttributes readAttributes(File file) throws IOException {
+
+		try {
+			return Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+		} catch (NoSuchFileException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * fileKey(Unix의 device, inode)를 제공하는 파일 시스템에서는 fileKey로, 그렇지 않으면 canonical 경로로 같은 파일인지 판단한다.
+	 */
+	private static boolean isSameFile(File file1, BasicFileAttributes attributes1, File file2, BasicFileAttributes attributes2) throws IOException {
+
+		Object fileKey1 = attributes1.fileKey();
+		Object fileKey2 = attributes2.fileKey();
+
+		if (fileKey1 != null && fileKey2 != null) {
+			return fileKey1.equals(fileKey2);
+		}
+
+		return file1.getCanonicalFile().equals(file2.getCanonicalFile());
+	}
+
+	private static boolean bufferedEquals(FileChannel channel1, FileChannel channel2) throws IOException {
+
+		ByteBuffer[] buffers = BUFFERS.get();
+		ByteBuffer buffer1 = buffers[0];
+		ByteBuffer buffer2 = buffers[1];
+
+		while (true) {
+
+			buffer1.clear();
+			buffer2.clear();
+
+			int read1 = fill(channel1, buffer1);
+			int read2 = fill(channel2, buffer2);
+
+			if (read1 != read2) {
+				return false;
+			}
+
+			if (read1 == 0) {
+				return true;
+			}
+
+			if (!regionEquals(buffer1, buffer2, read1)) {
+				return false;
+			}
+		}
+	}
+
+	private static boolean mappedEquals(FileChannel channel1, FileChannel channel2, long size) throws IOException {
+
+		long position = 0;
+
+		while (position < size) {
+
+			long length = Math.min(WINDOW_SIZE, size - position);
+
+			ByteBuffer window1 = channel1.map(FileChannel.MapMode.READ_ONLY, position, length).order(ByteOrder.nativeOrder());
+			ByteBuffer window2 = channel2.map(FileChannel.MapMode.READ_ONLY, position, length).order(ByteOrder.nativeOrder());
+
+			if (!regionEquals(window1, window2, (int) length)) {
+				return false;
+			}
+
+			position += length;
+		}
+
+		return true;
+	}
+
+	/**
+	 * 두 버퍼의 0부터 length까지를 8 bytes 단위로 비교하고, 남은 bytes는 하나씩 비교한다.
+	 */
+	static boolean regionEquals(ByteBuffer buffer1, ByteBuffer buffer2, int length) {
+
+		int wordEnd = length - (length & 7);
+
+		for (int i = 0; i < wordEnd; i += 8) {
+			if (buffer1.getLong(i) != buffer2.getLong(i)) {
+				return false;
+			}
+		}
+
+		for (int i = wordEnd; i < length; i++) {
+			if (buffer1.get(i) != buffer2.get(i)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static int fill(FileChannel channel, ByteBuffer buffer) throws IOException {
+
+		while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+			// 버퍼가 가득 차거나 파일 끝에 도달할 때까지 읽는다.
+		}
+
+		return buffer.position();
+	}
+
+}
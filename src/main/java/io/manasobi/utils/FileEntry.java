@@ -0,0 +1,94 @@
+package io.manasobi.utils;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * 디렉토리 탐색 중 발견된 파일 또는 디렉토리와, 탐색 시점에 한 번 읽어 둔 BasicFileAttributes를 함께 담는 객체.<br>
+ * size, lastModified, isDirectory 등을 조회할 때 추가적인 stat 호출이 발생하지 않는다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class FileEntry {
+
+	private final Path path;
+
+	private final BasicFileAttributes attributes;
+
+	FileEntry(Path path, BasicFileAttributes attributes) {
+		this.path = path;
+		this.attributes = attributes;
+	}
+
+	/**
+	 * @return 엔트리의 Path
+	 */
+	public Path getPath() {
+		return path;
+	}
+
+	/**
+	 * @return 엔트리의 File 객체
+	 */
+	public File getFile() {
+		return path.toFile();
+	}
+
+	/**
+	 * @return 엔트리의 이름 (경로 제외)
+	 */
+	public String getName() {
+		Path fileName = path.getFileName();
+		return fileName == null ? path.toString() : fileName.toString();
+	}
+
+	/**
+	 * @return 엔트리의 절대 경로
+	 */
+	public String getAbsolutePath() {
+		return path.toAbsolutePath().toString();
+	}
+
+	/**
+	 * @return 탐색 시점에 읽은 BasicFileAttributes
+	 */
+	public BasicFileAttributes getAttributes() {
+		return attributes;
+	}
+
+	/**
+	 * @return 파일 크기(bytes)
+	 */
+	public long size() {
+		return attributes.size();
+	}
+
+	/**
+	 * @return 최종 수정일 (epoch milli second)
+	 */
+	public long lastModified() {
+		return attributes.lastModifiedTime().toMillis();
+	}
+
+	/**
+	 * @return 디렉토리이면 true, 아니면 false
+	 */
+	public boolean isDirectory() {
+		return attributes.isDirectory();
+	}
+
+	/**
+	 * @return 일반 파일이면 true, 아니면 false
+	 */
+	public boolean isFile() {
+		return attributes.isRegularFile();
+	}
+
+	@Override
+	public String toString() {
+		return path.toString();
+	}
+
+}
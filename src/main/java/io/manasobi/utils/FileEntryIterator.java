@@ -0,0 +1,217 @@
+package io.manasobi.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.io.filefilter.IOFileFilter;
+
+import io.manasobi.exception.FileUtilsException;
+
+/**
+ * DirectoryStream을 사용하여 디렉토리 하위의 엔트리를 필요할 때마다 하나씩 읽어 반환하는 Iterator.<br>
+ * 전체 목록을 메모리에 올리지 않으며, 한 번에 하나의 DirectoryStream만 열어 둔다.<br>
+ * 탐색을 중간에 멈추는 경우 반드시 close()를 호출해야 한다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class FileEntryIterator implements Iterator<FileEntry>, Closeable {
+
+	private final Path rootDir;
+
+	private final boolean recursive;
+
+	private final boolean includeDirs;
+
+	private final IOFileFilter fileFilter;
+
+	private final Deque<Path> pendingDirs = new ArrayDeque<Path>();
+
+	private DirectoryStream<Path> currentStream;
+
+	private Iterator<Path> currentIterator;
+
+	private File currentDir;
+
+	private FileEntry nextEntry;
+
+	private boolean closed;
+
+	/**
+	 * @param rootDir 탐색할 디렉토리
+	 * @param recursive 하위 폴더 내부의 파일들에 대한 탐색 유무
+	 * @param includeDirs 하위 디렉토리도 엔트리로 반환할지에 대한 플래그
+	 * @param fileFilter 파일명에 적용할 필터, null이면 전체 파일
+	 */
+	FileEntryIterator(Path rootDir, boolean recursive, boolean includeDirs, IOFileFilter fileFilter) {
+
+		if (!Files.isDirectory(rootDir)) {
+			throw new FileUtilsException(rootDir + "는 디렉토리가 아닙니다.");
+		}
+
+		this.rootDir = rootDir;
+		this.recursive = recursive;
+		this.includeDirs = includeDirs;
+		this.fileFilter = fileFilter;
+
+		pendingDirs.push(rootDir);
+	}
+
+	@Override
+	public boolean hasNext() {
+
+		if (nextEntry == null && !closed) {
+			nextEntry = fetchNext();
+		}
+
+		return nextEntry != null;
+	}
+
+	@Override
+	public FileEntry next() {
+
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		FileEntry entry = nextEntry;
+		nextEntry = null;
+
+		return entry;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("remove");
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		closeCurrentStream();
+		pendingDirs.clear();
+	}
+
+	/**
+	 * Iterator를 순차 Stream으로 변환한다. Stream을 close하면 Iterator도 함께 닫힌다.
+	 *
+	 * @return FileEntry에 대한 Stream
+	 */
+	public Stream<FileEntry> stream() {
+
+		Spliterator<FileEntry> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.DISTINCT | Spliterator.NONNULL);
+
+		return StreamSupport.stream(spliterator, false).onClose(new Runnable() {
+			@Override
+			public void run() {
+				close();
+			}
+		});
+	}
+
+	private FileEntry fetchNext() {
+
+		while (true) {
+
+			if (hasNextPath()) {
+
+				Path path = currentIterator.next();
+				BasicFileAttributes attributes = readAttributes(path);
+
+				if (attributes == null) {
+					continue;
+				}
+
+				if (attributes.isDirectory()) {
+
+					if (recursive) {
+						pendingDirs.push(path);
+					}
+
+					if (includeDirs) {
+						return new FileEntry(path, attributes);
+					}
+
+				} else if (fileFilter == null || fileFilter.accept(currentDir, path.getFileName().toString())) {
+					return new FileEntry(path, attributes);
+				}
+
+				continue;
+			}
+
+			closeCurrentStream();
+
+			Path dir = pendingDirs.poll();
+
+			if (dir == null) {
+				return null;
+			}
+
+			openStream(dir);
+		}
+	}
+
+	private boolean hasNextPath() {
+
+		if (currentIterator == null) {
+			return false;
+		}
+
+		try {
+			return currentIterator.hasNext();
+		} catch (DirectoryIteratorException e) {
+			return false;
+		}
+	}
+
+	private void openStream(Path dir) {
+
+		try {
+			currentStream = Files.newDirectoryStream(dir);
+			currentIterator = currentStream.iterator();
+			currentDir = dir.toFile();
+		} catch (IOException e) {
+			if (dir == rootDir) {
+				throw new FileUtilsException(e.getMessage());
+			}
+		}
+	}
+
+	private void closeCurrentStream() {
+
+		IOUtils.closeQuietly(currentStream);
+
+		currentStream = null;
+		currentIterator = null;
+		currentDir = null;
+	}
+
+	private static BasicFileAttributes readAttributes(Path path) {
+
+		try {
+			return Files.readAttributes(path, BasicFileAttributes.class);
+		} catch (IOException e) {
+			try {
+				return Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+			} catch (IOException ignore) {
+				return null;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,718 @@
+package io.manasobi.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FileUtils의 existsFile, isDir, notExistsDir 등과 같은 존재 및 타입 검사 결과를 보관하는 메모리 캐시.<br>
+ * 같은 경로를 짧은 간격으로 반복해서 검사하는 경우, 매번 stat을 호출하는 대신 캐시된 결과를 반환한다.
+ * <ul>
+ * <li>결과는 TTL 동안만 사용하며, 최대 개수를 넘으면 가장 오래 사용하지 않은 경로부터 제거한다(LRU).</li>
+ * <li>watch를 사용하면 캐시한 경로의 부모 디렉토리를 WatchService에 등록하고, 생성, 삭제, 수정 이벤트가 발생한 경로를 바로 무효화한다.
+ * 디렉토리의 마지막 캐시 항목이 만료, 제거, 무효화되면 등록을 해제하며, 등록하는 디렉토리 수는 최대 캐시 개수와 별도로 제한한다(inotify 등의 watch 개수 제한).
+ * WatchService가 지원되지 않거나 등록할 수 없는 디렉토리, 제한을 넘은 디렉토리는 TTL로만 만료된다.</li>
+ * <li>hit/miss 건수를 제공하므로 캐시의 효과를 확인할 수 있다.</li>
+ * </ul>
+ * 직접 파일을 생성하거나 삭제한 경우에는 invalidate를 호출하여 해당 경로를 무효화한다. 여러 스레드에서 공유하여 사용할 수 있다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class FileMetadataCache implements Closeable {
+
+	/** 기본 TTL (1초) */
+	public static final long DEFAULT_TTL_MILLIS = 1000;
+
+	/** 기본 최대 캐시 개수 */
+	public static final int DEFAULT_MAX_SIZE = 10000;
+
+	/** 기본 최대 watch 디렉토리 수 */
+	public static final int DEFAULT_MAX_WATCHED_DIRS = 1024;
+
+	/** 조회할 때마다 정리하는 최대 만료 항목 수 */
+	private static final int MAX_PURGE_PER_LOOKUP = 64;
+
+	private static final int MISSING = 0;
+
+	private static final int FILE = 1;
+
+	private static final int DIR = 2;
+
+	private static final int OTHER = 3;
+
+	private final long ttlNanos;
+
+	private final int maxSize;
+
+	private final int maxWatchedDirs;
+
+	private final LinkedHashMap<Path, CachedStat> entries;
+
+	/** 부모 디렉토리 경로별로 캐시된 경로, 하위 경로는 부모 디렉토리 경로의 prefix 범위로 찾는다. */
+	private final TreeMap<String, Set<Path>> entriesByDir = new TreeMap<String, Set<Path>>();
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private final Map<WatchKey, Path> watchKeys = new HashMap<WatchKey, Path>();
+
+	private final Map<Path, WatchKey> watchedDirs = new HashMap<Path, WatchKey>();
+
+	private final WatchService watchService;
+
+	private final Thread watchThread;
+
+	private long generation;
+
+	private volatile boolean closed;
+
+	/**
+	 * 기본 TTL(1초)과 최대 개수(10000), WatchService 무효화를 사용하는 캐시를 생성한다.
+	 */
+	public FileMetadataCache() {
+		this(DEFAULT_TTL_MILLIS, DEFAULT_MAX_SIZE, true);
+	}
+
+	/**
+	 * @param ttlMillis 검사 결과를 사용할 시간(ms)
+	 * @param maxSize 최대 캐시 개수
+	 * @param watch WatchService를 이용한 무효화 사용 유무, 사용하면 최대 DEFAULT_MAX_WATCHED_DIRS개의 디렉토리를 등록한다.
+	 */
+	public FileMetadataCache(long ttlMillis, int maxSize, boolean watch) {
+		this(ttlMillis, maxSize, watch ? Math.min(DEFAULT_MAX_WATCHED_DIRS, maxSize) : 0);
+	}
+
+	/**
+	 * @param ttlMillis 검사 결과를 사용할 시간(ms)
+	 * @param maxSize 최대 캐시 개수
+	 * @param maxWatchedDirs WatchService에 등록할 최대 디렉토리 수, 0이면 WatchService를 사용하지 않는다.
+	 */
+	public FileMetadataCache(long ttlMillis, final int maxSize, int maxWatchedDirs) {
+
+		if (ttlMillis < 0) {
+			throw new IllegalArgumentException("ttlMillis는 0 이상이어야 합니다.");
+		}
+
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("maxSize는 1 이상이어야 합니다.");
+		}
+
+		if (maxWatchedDirs < 0) {
+			throw new IllegalArgumentException("maxWatchedDirs는 0 이상이어야 합니다.");
+		}
+
+		this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+		this.maxSize = maxSize;
+		this.maxWatchedDirs = maxWatchedDirs;
+
+		this.entries = new LinkedHashMap<Path, CachedStat>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 5092740165946411393L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Path, CachedStat> eldest) {
+
+				if (size() <= maxSize) {
+					return false;
+				}
+
+				unindex(eldest.getKey());
+
+				return true;
+			}
+		};
+
+		this.watchService = maxWatchedDirs > 0 ? newWatchService() : null;
+
+		if (watchService == null) {
+			this.watchThread = null;
+			return;
+		}
+
+		this.watchThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				watchLoop();
+			}
+		}, "file-metadata-cache-watcher");
+
+		watchThread.setDaemon(true);
+		watchThread.start();
+	}
+
+	/**
+	 * 해당 파일의 존재유무를 확인한다.
+	 *
+	 * @param file 존재유무를 확인할 파일
+	 * @return 파일이 존재하면 true, 아니면 false
+	 */
+	public boolean existsFile(File file) {
+		return lookup(file) == FILE;
+	}
+
+	/**
+	 * 해당 파일의 존재유무를 확인한다.
+	 *
+	 * @param file 존재유무를 확인할 파일
+	 * @return 파일이 존재하면 true, 아니면 false
+	 */
+	public boolean existsFile(String file) {
+		return existsFile(new File(file));
+	}
+
+	/**
+	 * 해당 파일의 존재유무를 확인한다.
+	 *
+	 * @param file 존재유무를 확인할 파일
+	 * @return 파일이 존재하지 않으면 true, 아니면 false
+	 */
+	public boolean notExistsFile(File file) {
+		return !existsFile(file);
+	}
+
+	/**
+	 * 해당 파일의 존재유무를 확인한다.
+	 *
+	 * @param file 존재유무를 확인할 파일
+	 * @return 파일이 존재하지 않으면 true, 아니면 false
+	 */
+	public boolean notExistsFile(String file) {
+		return !existsFile(new File(file));
+	}
+
+	/**
+	 * 해당 디렉토리의 존재유무를 확인한다.
+	 *
+	 * @param dir 존재유무를 확인할 디렉토리
+	 * @return 디렉토리가 존재하면 true, 아니면 false
+	 */
+	public boolean existsDir(File dir) {
+		return lookup(dir) == DIR;
+	}
+
+	/**
+	 * 해당 디렉토리의 존재유무를 확인한다.
+	 *
+	 * @param dir 존재유무를 확인할 디렉토리
+	 * @return 디렉토리가 존재하면 true, 아니면 false
+	 */
+	public boolean existsDir(String dir) {
+		return existsDir(new File(dir));
+	}
+
+	/**
+	 * 해당 디렉토리의 존재유무를 확인한다.
+	 *
+	 * @param dir 존재유무를 확인할 디렉토리
+	 * @return 디렉토리가 존재하지 않으면 true, 아니면 false
+	 */
+	public boolean notExistsDir(File dir) {
+		return !existsDir(dir);
+	}
+
+	/**
+	 * 해당 디렉토리의 존재유무를 확인한다.
+	 *
+	 * @param dir 존재유무를 확인할 디렉토리
+	 * @return 디렉토리가 존재하지 않으면 true, 아니면 false
+	 */
+	public boolean notExistsDir(String dir) {
+		return !existsDir(new File(dir));
+	}
+
+	/**
+	 * 해당 target이 디렉토리인지를 체크한다.
+	 *
+	 * @param dir 디렉토리
+	 * @return 해당 파일이 디렉토리이면 true, 아니면 false
+	 */
+	public boolean isDir(File dir) {
+		return existsDir(dir);
+	}
+
+	/**
+	 * 해당 target이 디렉토리인지를 체크한다.
+	 *
+	 * @param dir 디렉토리
+	 * @return 해당 파일이 디렉토리이면 true, 아니면 false
+	 */
+	public boolean isDir(String dir) {
+		return existsDir(new File(dir));
+	}
+
+	/**
+	 * 해당 target이 디렉토리가 아닌지를 체크한다.
+	 *
+	 * @param dir 디렉토리
+	 * @return 해당 파일이 디렉토리가 아니면 true, 아니면 false
+	 */
+	public boolean isNotDir(File dir) {
+		return !existsDir(dir);
+	}
+
+	/**
+	 * 해당 target이 디렉토리가 아닌지를 체크한다.
+	 *
+	 * @param dir 디렉토리
+	 * @return 해당 파일이 디렉토리가 아니면 true, 아니면 false
+	 */
+	public boolean isNotDir(String dir) {
+		return !existsDir(new File(dir));
+	}
+
+	/**
+	 * 해당 target이 파일인지를 체크한다.
+	 *
+	 * @param file 파일
+	 * @return 해당 파일이 파일이면 true, 아니면 false
+	 */
+	public boolean isFile(File file) {
+		return existsFile(file);
+	}
+
+	/**
+	 * 해당 target이 파일인지를 체크한다.
+	 *
+	 * @param file 파일
+	 * @return 해당 파일이 파일이면 true, 아니면 false
+	 */
+	public boolean isFile(String file) {
+		return existsFile(new File(file));
+	}
+
+	/**
+	 * 해당 target이 파일이 아닌지를 체크한다.
+	 *
+	 * @param file 파일
+	 * @return 해당 파일이 파일이 아니면 true, 아니면 false
+	 */
+	public boolean isNotFile(File file) {
+		return !existsFile(file);
+	}
+
+	/**
+	 * 해당 target이 파일이 아닌지를 체크한다.
+	 *
+	 * @param file 파일
+	 * @return 해당 파일이 파일이 아니면 true, 아니면 false
+	 */
+	public boolean isNotFile(String file) {
+		return !existsFile(new File(file));
+	}
+
+	/**
+	 * 해당 경로와 하위 경로의 캐시를 무효화한다.
+	 *
+	 * @param file 무효화할 파일 또는 디렉토리
+	 */
+	public void invalidate(File file) {
+		invalidate(toKey(file), true);
+	}
+
+	/**
+	 * 전체 캐시를 무효화한다.
+	 */
+	public synchronized void invalidateAll() {
+
+		generation++;
+		entries.clear();
+		entriesByDir.clear();
+
+		if (watchService == null) {
+			return;
+		}
+
+		synchronized (watchKeys) {
+
+			for (WatchKey key : watchKeys.keySet()) {
+				key.cancel();
+			}
+
+			watchKeys.clear();
+			watchedDirs.clear();
+		}
+	}
+
+	/**
+	 * @return 캐시된 결과를 반환한 건수
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * @return 캐시에 없거나 만료되어 stat을 호출한 건수
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * @return 전체 검사 중 캐시된 결과를 반환한 비율, 검사한 적이 없으면 0
+	 */
+	public double getHitRatio() {
+
+		long hits = hitCount.get();
+		long total = hits + missCount.get();
+
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	/**
+	 * @return 캐시된 경로 수
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return WatchService에 등록된 디렉토리 수
+	 */
+	public int getWatchedDirCount() {
+		synchronized (watchKeys) {
+			return watchedDirs.size();
+		}
+	}
+
+	/**
+	 * WatchService를 닫고 캐시를 비운다.
+	 */
+	@Override
+	public void close() {
+
+		closed = true;
+
+		IOUtils.closeQuietly(watchService);
+
+		if (watchThread != null) {
+			watchThread.interrupt();
+		}
+
+		invalidateAll();
+	}
+
+	@Override
+	public String toString() {
+		return "FileMetadataCache(size=" + size() + ", hits=" + hitCount.get() + ", misses=" + missCount.get() + ", watchedDirs=" + getWatchedDirCount() + ")";
+	}
+
+	private int lookup(File file) {
+
+		Path path = toKey(file);
+
+		long now = System.nanoTime();
+		long currentGeneration;
+
+		synchronized (this) {
+
+			CachedStat entry = entries.get(path);
+
+			if (entry != null && now - entry.cachedNanos < ttlNanos) {
+				hitCount.incrementAndGet();
+				return entry.type;
+			}
+
+			if (watchService != null) {
+				purgeExpired(now);
+			}
+
+			currentGeneration = generation;
+		}
+
+		missCount.incrementAndGet();
+
+		// stat 전에 먼저 등록해야 stat 이후의 변경 이벤트를 놓치지 않는다.
+		boolean watched = watchParent(path);
+
+		int type = stat(path);
+
+		synchronized (this) {
+
+			// stat 하는 동안 무효화가 있었거나, 등록했던 watch가 다른 경로의 제거로 해제되었으면 결과가 이미 오래된 것일 수 있으므로 캐시하지 않는다.
+			if (currentGeneration == generation && !closed && (!watched || isWatched(path.getParent()))) {
+
+				if (entries.put(path, new CachedStat(type, now)) == null) {
+					index(path);
+				}
+
+			} else if (watched) {
+				releaseWatchIfUnused(path.getParent());
+			}
+		}
+
+		return type;
+	}
+
+	/**
+	 * 만료된 항목의 watch를 해제할 수 있도록, LRU 순서상 가장 오래 사용하지 않은 항목부터 만료된 항목을 제거한다.
+	 */
+	private void purgeExpired(long now) {
+
+		Iterator<Map.Entry<Path, CachedStat>> iterator = entries.entrySet().iterator();
+
+		for (int i = 0; i < MAX_PURGE_PER_LOOKUP && iterator.hasNext(); i++) {
+
+			Map.Entry<Path, CachedStat> eldest = iterator.next();
+
+			if (now - eldest.getValue().cachedNanos < ttlNanos) {
+				return;
+			}
+
+			iterator.remove();
+			unindex(eldest.getKey());
+		}
+	}
+
+	private void index(Path path) {
+
+		String dir = dirKey(path);
+
+		Set<Path> children = entriesByDir.get(dir);
+
+		if (children == null) {
+			children = new HashSet<Path>();
+			entriesByDir.put(dir, children);
+		}
+
+		children.add(path);
+	}
+
+	/**
+	 * 제거된 항목을 부모 디렉토리의 목록에서 빼고, 마지막 항목이었으면 부모 디렉토리의 watch를 해제한다.
+	 */
+	private void unindex(Path path) {
+
+		String dir = dirKey(path);
+
+		Set<Path> children = entriesByDir.get(dir);
+
+		if (children == null || !children.remove(path) || !children.isEmpty()) {
+			return;
+		}
+
+		entriesByDir.remove(dir);
+		unwatch(path.getParent());
+	}
+
+	private void releaseWatchIfUnused(Path dir) {
+		if (dir != null && !entriesByDir.containsKey(dir.toString())) {
+			unwatch(dir);
+		}
+	}
+
+	private static String dirKey(Path path) {
+		Path parent = path.getParent();
+		return parent == null ? "" : parent.toString();
+	}
+
+	private static Path toKey(File file) {
+		return file.toPath().toAbsolutePath().normalize();
+	}
+
+	private static int stat(Path path) {
+
+		try {
+
+			BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+
+			return attributes.isDirectory() ? DIR : attributes.isRegularFile() ? FILE : OTHER;
+
+		} catch (IOException e) {
+			return MISSING;
+		}
+	}
+
+	private synchronized void invalidate(Path path, boolean includeChildren) {
+
+		generation++;
+
+		CachedStat removed = entries.remove(path);
+
+		if (removed != null) {
+			unindex(path);
+		}
+
+		if (!includeChildren || removed != null && removed.type != DIR) {
+			return;
+		}
+
+		// 하위 경로는 전체 항목 대신 부모 디렉토리 경로가 path이거나 path로 시작하는 목록에서만 찾는다.
+		String dir = path.toString();
+		String prefix = dir.endsWith(File.separator) ? dir : dir + File.separator;
+
+		List<String> dirs = new ArrayList<String>();
+
+		if (entriesByDir.containsKey(dir)) {
+			dirs.add(dir);
+		}
+
+		dirs.addAll(entriesByDir.subMap(prefix, prefix + Character.MAX_VALUE).keySet());
+
+		for (String childDir : dirs) {
+
+			for (Path child : new ArrayList<Path>(entriesByDir.get(childDir))) {
+				entries.remove(child);
+				unindex(child);
+			}
+		}
+	}
+
+	private static WatchService newWatchService() {
+
+		try {
+			return FileSystems.getDefault().newWatchService();
+		} catch (IOException e) {
+			return null;
+		} catch (UnsupportedOperationException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @return 부모 디렉토리가 WatchService에 등록되어 있으면 true, 등록할 수 없어 TTL로만 만료되면 false
+	 */
+	private boolean watchParent(Path path) {
+
+		Path dir = path.getParent();
+
+		if (watchService == null || dir == null || closed) {
+			return false;
+		}
+
+		synchronized (watchKeys) {
+
+			if (watchedDirs.containsKey(dir)) {
+				return true;
+			}
+
+			if (watchedDirs.size() >= maxWatchedDirs) {
+				return false;
+			}
+
+			try {
+				WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+				watchKeys.put(key, dir);
+				watchedDirs.put(dir, key);
+				return true;
+			} catch (IOException e) {
+				// 존재하지 않거나 등록할 수 없는 디렉토리는 TTL로만 만료된다.
+				return false;
+			} catch (ClosedWatchServiceException e) {
+				// close 된 캐시
+				return false;
+			}
+		}
+	}
+
+	private boolean isWatched(Path dir) {
+		synchronized (watchKeys) {
+			return watchedDirs.containsKey(dir);
+		}
+	}
+
+	private void unwatch(Path dir) {
+
+		if (watchService == null || dir == null) {
+			return;
+		}
+
+		synchronized (watchKeys) {
+
+			WatchKey key = watchedDirs.remove(dir);
+
+			if (key != null) {
+				watchKeys.remove(key);
+				key.cancel();
+			}
+		}
+	}
+
+	private void watchLoop() {
+
+		while (!closed) {
+
+			WatchKey key;
+
+			try {
+				key = watchService.take();
+			} catch (InterruptedException e) {
+				break;
+			} catch (ClosedWatchServiceException e) {
+				break;
+			}
+
+			Path dir;
+
+			synchronized (watchKeys) {
+				dir = watchKeys.get(key);
+			}
+
+			if (dir == null) {
+				key.pollEvents();
+				key.reset();
+				continue;
+			}
+
+			for (WatchEvent<?> event : key.pollEvents()) {
+
+				if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+					// 유실된 이벤트가 있으면 디렉토리 하위 전체를 무효화한다.
+					invalidate(dir, true);
+					continue;
+				}
+
+				invalidate(dir.resolve((Path) event.context()), true);
+			}
+
+			if (!key.reset()) {
+
+				synchronized (watchKeys) {
+
+					watchKeys.remove(key);
+
+					// 해제된 후 같은 디렉토리가 새 key로 다시 등록되었을 수 있다.
+					if (watchedDirs.get(dir) == key) {
+						watchedDirs.remove(dir);
+					}
+				}
+
+				invalidate(dir, true);
+			}
+		}
+	}
+
+	private static final class CachedStat {
+
+		private final int type;
+
+		private final long cachedNanos;
+
+		private CachedStat(int type, long cachedNanos) {
+			this.type = type;
+			this.cachedNanos = cachedNanos;
+		}
+	}
+
+}
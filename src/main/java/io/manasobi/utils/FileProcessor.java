@@ -0,0 +1,22 @@
+package io.manasobi.utils;
+
+import java.io.File;
+
+/**
+ * HotFolderPipeline이 작업 디렉토리로 가져온 파일을 처리하는 callback.<br>
+ * 여러 worker 스레드에서 동시에 호출되므로 thread-safe 해야 한다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public interface FileProcessor {
+
+	/**
+	 * 파일을 처리한다. 정상적으로 반환되면 파일은 완료 디렉토리로, 예외가 발생하면 에러 디렉토리로 이동된다.
+	 *
+	 * @param file 작업 디렉토리로 이동된 파일
+	 * @throws Exception 처리 중 에러가 발생한 경우
+	 */
+	void process(File file) throws Exception;
+
+}
@@ -0,0 +1,31 @@
+package io.manasobi.utils;
+
+import java.io.File;
+
+/**
+ * FileTailer로부터 파일에 추가된 줄을 전달받는 callback.<br>
+ * 모든 파일의 이벤트가 FileTailer의 스레드 하나에서 순서대로 호출되므로, 오래 걸리는 작업은 별도의 스레드로 넘겨야 한다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public interface FileTailListener {
+
+	/**
+	 * 줄바꿈 문자까지 기록된 한 줄이 추가되었을 때 호출된다. 줄 끝의 '\n'과 '\r'은 제외한다.
+	 *
+	 * @param file 따라 읽는 파일
+	 * @param line 추가된 줄
+	 */
+	void onLine(File file, String line);
+
+	/**
+	 * 파일이 교체(rotation)되었거나 잘려서(truncation) 처음부터 다시 읽기 시작할 때 호출된다.
+	 * 교체된 경우에는 이전 파일의 남은 줄을 모두 전달한 후에 호출된다.
+	 *
+	 * @param file 따라 읽는 파일
+	 * @param truncated 같은 파일이 잘린 경우 true, 다른 파일로 교체된 경우 false
+	 */
+	void onReset(File file, boolean truncated);
+
+}
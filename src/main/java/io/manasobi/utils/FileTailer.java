@@ -0,0 +1,506 @@
+package io.manasobi.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.manasobi.exception.FileUtilsException;
+
+/**
+ * 계속 커지는 로그, 결과 파일들을 tail -F 처럼 따라 읽는 reader.<br>
+ * 파일마다 읽은 위치를 기억하고 FileChannel로 추가된 bytes만 읽어 줄 단위로 FileTailListener에 전달하므로,
+ * 매번 파일 전체를 다시 읽는 대신 비용이 추가된 크기에 비례한다.
+ * <ul>
+ * <li>스레드 하나가 pollMillis 간격으로 따라 읽는 모든 파일을 확인하므로, 수백 개의 파일도 스레드 하나로 처리한다.
+ * 한 파일에 쌓인 내용이 많으면 파일마다 일정 크기씩 돌아가며 읽어 다른 파일이 밀리지 않도록 한다.</li>
+ * <li>같은 경로에 다른 파일이 생기면(rotation) 이전 파일의 남은 내용을 끝까지 전달한 후 새 파일을 처음부터 읽는다.
+ * 파일 크기가 읽은 위치보다 작아지면(truncation) 처음부터 다시 읽는다.</li>
+ * <li>줄바꿈 문자('\n')가 기록되기 전의 마지막 줄은 전달하지 않고 보관한다. 줄은 byte 단위로 나누므로 encoding은 UTF-8처럼 ASCII와 호환되어야 한다.</li>
+ * </ul>
+ * listener에서 예외가 발생해도 다른 파일은 계속 읽으며, 예외가 발생한 줄은 다시 전달하지 않는다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class FileTailer implements Closeable {
+
+	public static final long DEFAULT_POLL_MILLIS = 500;
+
+	/** 줄바꿈 없이 이보다 길어진 줄은 나누어 전달한다. */
+	static final int MAX_LINE_LENGTH = 1024 * 1024;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final long MAX_READ_PER_ROUND = 4L * 1024L * 1024L;
+
+	private final long pollMillis;
+
+	private final Charset encoding;
+
+	private final Map<Path, TailedFile> files = new ConcurrentHashMap<Path, TailedFile>();
+
+	private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+	private final AtomicLong errorCount = new AtomicLong();
+
+	private ScheduledExecutorService scheduler;
+
+	private volatile Thread tailerThread;
+
+	private volatile boolean running;
+
+	private volatile boolean closed;
+
+	/**
+	 * 500ms 간격으로 UTF-8 파일을 따라 읽는 FileTailer를 생성한다.
+	 */
+	public FileTailer() {
+		this(DEFAULT_POLL_MILLIS, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @param pollMillis 파일들을 확인하는 간격(ms)
+	 * @param encoding 줄을 decode 할 charset, ASCII와 호환되어야 한다.
+	 */
+	public FileTailer(long pollMillis, Charset encoding) {
+
+		if (pollMillis < 1) {
+			throw new IllegalArgumentException("pollMillis는 1 이상이어야 합니다.");
+		}
+
+		this.pollMillis = pollMillis;
+		this.encoding = encoding;
+	}
+
+	/**
+	 * 파일을 따라 읽기 시작한다. 파일이 아직 없으면 생길 때까지 기다린다.
+	 *
+	 * @param file 따라 읽을 파일
+	 * @param fromEnd true면 현재 파일 끝부터(tail -f), false면 처음부터 읽는다.
+	 * @param listener 추가된 줄을 전달받을 callback
+	 */
+	public void follow(File file, boolean fromEnd, FileTailListener listener) {
+		follow(file, fromEnd ? file.length() : 0, listener);
+	}
+
+	/**
+	 * getPosition으로 저장해 둔 위치부터 파일을 따라 읽기 시작한다.
+	 * 파일 크기가 위치보다 작으면 잘린 것으로 판단하여 처음부터 읽는다.
+	 *
+	 * @param file 따라 읽을 파일
+	 * @param position 읽기 시작할 위치(bytes)
+	 * @param listener 추가된 줄을 전달받을 callback
+	 */
+	public void follow(File file, long position, FileTailListener listener) {
+
+		if (position < 0) {
+			throw new IllegalArgumentException("position은 0 이상이어야 합니다.");
+		}
+
+		Path path = file.toPath().toAbsolutePath().normalize();
+
+		if (files.putIfAbsent(path, new TailedFile(file, path, position, listener)) != null) {
+			throw new FileUtilsException(file + "는 이미 따라 읽고 있는 파일입니다.");
+		}
+	}
+
+	/**
+	 * 파일 따라 읽기를 중지한다.
+	 *
+	 * @param file 중지할 파일
+	 */
+	public void unfollow(File file) {
+
+		TailedFile tailedFile = files.remove(file.toPath().toAbsolutePath().normalize());
+
+		if (tailedFile != null) {
+			tailedFile.close();
+		}
+	}
+
+	/**
+	 * 마지막으로 전달한 줄의 끝 위치를 반환한다. 다시 시작할 때 follow(File, long, FileTailListener)에 전달하면 이어서 읽는다.
+	 *
+	 * @param file 따라 읽는 파일
+	 * @return 전달한 줄까지의 위치(bytes), 따라 읽지 않는 파일이면 -1
+	 */
+	public long getPosition(File file) {
+
+		TailedFile tailedFile = files.get(file.toPath().toAbsolutePath().normalize());
+
+		return tailedFile == null ? -1 : tailedFile.committedPosition;
+	}
+
+	/**
+	 * @return 따라 읽고 있는 파일 수
+	 */
+	public int getFollowedCount() {
+		return files.size();
+	}
+
+	/**
+	 * @return 파일을 읽는 중 에러가 발생했거나 listener에서 예외가 발생한 횟수
+	 */
+	public long getErrorCount() {
+		return errorCount.get();
+	}
+
+	/**
+	 * 파일들을 확인하는 스레드를 시작한다. 시작 전후에 언제든지 follow, unfollow 할 수 있다.
+	 */
+	public synchronized void start() {
+
+		if (scheduler != null) {
+			throw new IllegalStateException("이미 시작된 tailer입니다.");
+		}
+
+		running = true;
+
+		scheduler = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("file-tailer"));
+		scheduler.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				pollAll();
+			}
+		}, 0, pollMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * 따라 읽기를 모두 중지하고 열린 파일들을 닫는다.
+	 */
+	@Override
+	public synchronized void close() {
+
+		running = false;
+		closed = true;
+
+		if (scheduler != null) {
+
+			scheduler.shutdownNow();
+
+			if (tailerThread != Thread.currentThread()) {
+				try {
+					scheduler.awaitTermination(pollMillis + 1000, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+
+		for (TailedFile tailedFile : files.values()) {
+			tailedFile.close();
+		}
+
+		files.clear();
+	}
+
+	/**
+	 * @return 따라 읽는 중이면 true, 아니면 false
+	 */
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * 모든 파일을 한 번씩 확인하고, 한 번에 읽을 수 있는 양을 넘게 쌓인 파일이 있으면 다 읽을 때까지 반복한다.
+	 */
+	void pollAll() {
+
+		tailerThread = Thread.currentThread();
+
+		boolean remaining = true;
+
+		while (remaining && !closed) {
+
+			remaining = false;
+
+			for (TailedFile tailedFile : files.values()) {
+
+				try {
+					remaining |= tailedFile.poll();
+				} catch (IOException e) {
+					errorCount.incrementAndGet();
+					tailedFile.closeChannel();
+				} catch (RuntimeException e) {
+					errorCount.incrementAndGet();
+				}
+			}
+		}
+	}
+
+	private static BasicFileAttributes readAttributes(Path path) throws IOException {
+
+		try {
+			return Files.readAttributes(path, BasicFileAttributes.class);
+		} catch (NoSuchFileException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * 따라 읽는 파일 하나의 상태. poll은 tailer 스레드에서만 호출되며, unfollow와 동시에 실행되지 않도록 동기화한다.
+	 */
+	private final class TailedFile {
+
+		private final File file;
+
+		private final Path path;
+
+		private final FileTailListener listener;
+
+		private FileChannel channel;
+
+		private Object fileKey;
+
+		private long creationTime;
+
+		/** fileKey와 creationTime이 마지막으로 연 파일을 가리키는지 여부 */
+		private boolean opened;
+
+		private long position;
+
+		private byte[] partial = new byte[256];
+
+		private int partialLength;
+
+		private volatile long committedPosition;
+
+		private boolean closed;
+
+		private TailedFile(File file, Path path, long position, FileTailListener listener) {
+			this.file = file;
+			this.path = path;
+			this.position = position;
+			this.committedPosition = position;
+			this.listener = listener;
+		}
+
+		/**
+		 * 추가된 내용을 읽어 줄 단위로 전달한다.
+		 *
+		 * @return 한 번에 읽을 수 있는 양을 넘게 쌓여 있어 다 읽지 못했으면 true
+		 */
+		private synchronized boolean poll() throws IOException {
+
+			if (closed) {
+				return false;
+			}
+
+			BasicFileAttributes attributes = readAttributes(path);
+
+			if (channel != null && (attributes == null || !isSameFile(attributes))) {
+
+				// 교체된 이전 파일은 더 이상 기록되지 않으므로 끝까지 읽고, 줄바꿈이 없는 마지막 줄도 전달한다.
+				readAvailable(Long.MAX_VALUE);
+				flushPartial();
+				closeChannel();
+
+				opened = false;
+				position = 0;
+				committedPosition = 0;
+
+				fireReset(false);
+			}
+
+			if (channel == null && !open(attributes)) {
+				return false;
+			}
+
+			if (channel.size() < position) {
+
+				partialLength = 0;
+				position = 0;
+				committedPosition = 0;
+
+				fireReset(true);
+			}
+
+			return readAvailable(MAX_READ_PER_ROUND);
+		}
+
+		private boolean open(BasicFileAttributes attributes) throws IOException {
+
+			if (attributes == null || !attributes.isRegularFile()) {
+				return false;
+			}
+
+			FileChannel newChannel = FileChannel.open(path, StandardOpenOption.READ);
+
+			BasicFileAttributes openedAttributes = readAttributes(path);
+
+			// 확인과 open 사이에 파일이 교체되었으면 어느 파일을 열었는지 알 수 없으므로 다음 확인 때 다시 연다.
+			if (openedAttributes == null || !sameFile(attributes, openedAttributes)) {
+				IOUtils.closeQuietly(newChannel);
+				return false;
+			}
+
+			// 에러로 채널을 닫은 사이에 파일이 교체되었으면 이전 파일의 위치를 새 파일에 적용하지 않고 처음부터 읽는다.
+			boolean rotated = opened && !isSameFile(attributes);
+
+			channel = newChannel;
+			fileKey = attributes.fileKey();
+			creationTime = attributes.creationTime().toMillis();
+			opened = true;
+
+			if (rotated) {
+
+				flushPartial();
+
+				position = 0;
+				committedPosition = 0;
+
+				fireReset(false);
+			}
+
+			return true;
+		}
+
+		/**
+		 * fileKey(Unix의 device, inode)가 있으면 fileKey로, 없으면 생성 시각으로 같은 파일인지 판단한다.
+		 */
+		private boolean isSameFile(BasicFileAttributes attributes) {
+			return fileKey != null ? fileKey.equals(attributes.fileKey()) : creationTime == attributes.creationTime().toMillis();
+		}
+
+		private boolean sameFile(BasicFileAttributes attributes1, BasicFileAttributes attributes2) {
+
+			Object fileKey1 = attributes1.fileKey();
+
+			return fileKey1 != null ? fileKey1.equals(attributes2.fileKey()) : attributes1.creationTime().equals(attributes2.creationTime());
+		}
+
+		private boolean readAvailable(long limit) throws IOException {
+
+			long readBytes = 0;
+
+			while (readBytes < limit && !closed) {
+
+				buffer.clear();
+
+				int read = channel.read(buffer, position);
+
+				if (read <= 0) {
+					return false;
+				}
+
+				consume(buffer.array(), read, position);
+
+				position += read;
+				readBytes += read;
+			}
+
+			return !closed;
+		}
+
+		private void consume(byte[] bytes, int length, long chunkPosition) {
+
+			int lineStart = 0;
+
+			for (int i = 0; i < length; i++) {
+
+				if (bytes[i] != '\n') {
+					continue;
+				}
+
+				emit(bytes, lineStart, i);
+				lineStart = i + 1;
+				committedPosition = chunkPosition + lineStart;
+			}
+
+			append(bytes, lineStart, length - lineStart);
+
+			if (partialLength >= MAX_LINE_LENGTH) {
+				flushPartial();
+				committedPosition = chunkPosition + length;
+			}
+		}
+
+		private void emit(byte[] bytes, int start, int end) {
+
+			if (partialLength > 0) {
+				append(bytes, start, end - start);
+				bytes = partial;
+				start = 0;
+				end = partialLength;
+				partialLength = 0;
+			}
+
+			if (end > start && bytes[end - 1] == '\r') {
+				end--;
+			}
+
+			fireLine(new String(bytes, start, end - start, encoding));
+
+			if (partial.length > MAX_LINE_LENGTH) {
+				// 한 번 길어진 줄 때문에 큰 배열을 계속 보관하지 않는다.
+				partial = new byte[256];
+			}
+		}
+
+		private void fireLine(String line) {
+
+			try {
+				listener.onLine(file, line);
+			} catch (RuntimeException e) {
+				// 예외가 발생한 줄을 다시 읽지 않도록 기록만 하고 다음 줄로 넘어간다.
+				errorCount.incrementAndGet();
+			}
+		}
+
+		private void fireReset(boolean truncated) {
+
+			try {
+				listener.onReset(file, truncated);
+			} catch (RuntimeException e) {
+				errorCount.incrementAndGet();
+			}
+		}
+
+		private void append(byte[] bytes, int start, int length) {
+
+			if (length == 0) {
+				return;
+			}
+
+			if (partialLength + length > partial.length) {
+				partial = Arrays.copyOf(partial, Math.max(partial.length * 2, partialLength + length));
+			}
+
+			System.arraycopy(bytes, start, partial, partialLength, length);
+			partialLength += length;
+		}
+
+		private void flushPartial() {
+			if (partialLength > 0) {
+				emit(partial, 0, 0);
+			}
+		}
+
+		private synchronized void closeChannel() {
+			IOUtils.closeQuietly(channel);
+			channel = null;
+		}
+
+		private synchronized void close() {
+			closed = true;
+			closeChannel();
+		}
+	}
+
+}
@@ -25,22 +25,28 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.nio.charset.Charset;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.Charsets;
 import org.apache.commons.io.IOCase;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.filefilter.DirectoryFileFilter;
+import org.apache.commons.io.filefilter.FalseFileFilter;
 import org.apache.commons.io.filefilter.FileFileFilter;
 import org.apache.commons.io.filefilter.FileFilterUtils;
 import org.apache.commons.io.filefilter.IOFileFilter;
 import org.apache.commons.io.filefilter.NotFileFilter;
 import org.apache.commons.io.filefilter.SuffixFileFilter;
 import org.apache.commons.io.filefilter.TrueFileFilter;
-import org.apache.commons.io.filefilter.WildcardFileFilter;
 
 import io.manasobi.constnat.Result;
 import io.manasobi.exception.FileUtilsException;
@@ -53,6 +59,13 @@ import io.manasobi.exception.FileUtilsException;
  */
 public final class FileUtils {
 
+	/** deleteDirLater가 사용하는 deleter. 비정상 종료로 휴지통에 남은 항목을 deleteDirLater 호출을 기다리지 않고 삭제하도록 FileUtils를 처음 사용할 때 시작한다. */
+	private static final DeferredDeleter DEFERRED_DELETER = DeferredDeleter.fromSystemProperties();
+
+	static {
+		DEFERRED_DELETER.start();
+	}
+
 	private FileUtils() { }
 	
 	private static Result buildFailResult(Result result, String errMsg) {
@@ -62,6 +75,13 @@ public final class FileUtils {
 		
 		return result;
 	}
+
+	/*
+	 * 파일명이 wildcard 중 하나와 일치하면 통과시키는 필터. WildcardMatcher로 한 번 컴파일한 뒤 파일마다 한 번에 검사한다.
+	 */
+	private static IOFileFilter wildcardFileFilter(String[] wildcards) {
+		return new NotFileFilter(new WildcardExcludeFileFilter(wildcards, IOCase.INSENSITIVE));
+	}
 	
 	/**
      * byte단위의 파일 사이즈를 읽기 쉽도록 EB, PB, TB, GB, MB, KB, bytes 단위로 파싱하여 반환한다.
@@ -83,6 +103,86 @@ public final class FileUtils {
     	return org.apache.commons.io.FileUtils.byteCountToDisplaySize(size);    	
     }
 
+	/**
+	 * 파일 복사시 FileChannel 전송을 사용하기 시작하는 파일 크기를 반환한다.
+	 * 
+	 * @return FileChannel 전송을 사용하는 최소 파일 크기(bytes)
+	 */
+	public static long getChannelCopyThreshold() {
+		return FileChannelCopier.getChannelCopyThreshold();
+	}
+
+	/**
+	 * 파일 복사시 FileChannel 전송을 사용하기 시작하는 파일 크기를 설정한다.<br>
+	 * threshold 미만의 파일은 버퍼를 사용하여 복사하고, 이상의 파일은 대상 파일의 길이를 미리 확보한 뒤
+	 * FileChannel.transferTo를 사용하여 복사한다. 기본값은 1MB.
+	 * 
+	 * @param threshold FileChannel 전송을 사용하는 최소 파일 크기(bytes)
+	 */
+	public static void setChannelCopyThreshold(long threshold) {
+		FileChannelCopier.setChannelCopyThreshold(threshold);
+	}
+
+	/**
+	 * 파일 복사 및 다른 볼륨으로의 이동에 적용 중인 I/O 제한기를 반환한다.
+	 * 
+	 * @return 적용 중인 IoThrottle, 제한이 없으면 null
+	 */
+	public static IoThrottle getIoThrottle() {
+		return FileChannelCopier.getThrottle();
+	}
+
+	/**
+	 * 파일 복사 및 다른 볼륨으로의 이동에 적용할 I/O 제한기를 설정한다.<br>
+	 * copyFile, copyDir, copyDirParallel, moveFile, moveDir 등 파일 내용을 복사하는 모든 작업이 하나의 IoThrottle을 공유하므로,
+	 * 업무 시간에는 속도를 낮추고 야간에는 높이는 식으로 실행 중에 IoThrottle의 속도를 변경하여 대량 작업이 장비 성능의 일정 비율만 사용하도록 할 수 있다.
+	 * 같은 볼륨에서 이름만 변경하는 이동은 제한하지 않는다.
+	 * 
+	 * @param throttle 적용할 IoThrottle, null이면 제한 없음
+	 */
+	public static void setIoThrottle(IoThrottle throttle) {
+		FileChannelCopier.setThrottle(throttle);
+	}
+
+	/**
+	 * readFileToByteArray, readFileToString에서 memory-map을 사용하기 시작하는 파일 크기를 반환한다.
+	 * 
+	 * @return memory-map을 사용하는 최소 파일 크기(bytes)
+	 */
+	public static long getMappedReadThreshold() {
+		return MappedFileReader.getMappedReadThreshold();
+	}
+
+	/**
+	 * readFileToByteArray, readFileToString에서 memory-map을 사용하기 시작하는 파일 크기를 설정한다.<br>
+	 * threshold 미만의 파일은 FileChannel로 파일 크기만큼의 배열에 바로 읽는다. 기본값은 1MB.
+	 * 
+	 * @param threshold memory-map을 사용하는 최소 파일 크기(bytes)
+	 */
+	public static void setMappedReadThreshold(long threshold) {
+		MappedFileReader.setMappedReadThreshold(threshold);
+	}
+
+	/**
+	 * readFileToByteArray, readFileToString으로 한 번에 읽을 수 있는 최대 파일 크기를 반환한다.
+	 * 
+	 * @return 최대 파일 크기(bytes)
+	 */
+	public static long getReadSizeLimit() {
+		return MappedFileReader.getReadSizeLimit();
+	}
+
+	/**
+	 * readFileToByteArray, readFileToString으로 한 번에 읽을 수 있는 최대 파일 크기를 설정한다.<br>
+	 * 이보다 큰 파일은 heap에 올리지 않고 null을 반환하므로 openMappedReader나 openInputStream으로 순차적으로 읽는다.
+	 * 기본값은 배열의 최대 크기(Integer.MAX_VALUE - 8).
+	 * 
+	 * @param limit 최대 파일 크기(bytes)
+	 */
+	public static void setReadSizeLimit(long limit) {
+		MappedFileReader.setReadSizeLimit(limit);
+	}
+
 	/**
 	 * 루트 디렉토리 내의 파일 및 하위 디렉토리를 삭제한다. 루트 디렉토리는 삭제하지 않는다.
 	 * 
@@ -119,6 +219,29 @@ public final class FileUtils {
 		return cleanDir(new File(dir));
 	}
 
+	/**
+	 * 루트 디렉토리 내의 파일 및 하위 디렉토리를 여러 스레드로 동시에 삭제한다. 루트 디렉토리는 삭제하지 않는다.<br>
+	 * 파일이 많은 디렉토리 트리에서 cleanDir보다 빠르며, 삭제 건수가 필요하면 ParallelDirDeleter를 직접 사용한다.
+	 * 
+	 * @param dir 루트 디렉토리 File
+	 * @param parallelism 동시에 삭제할 스레드 수
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 */
+	public static Result cleanDirParallel(File dir, int parallelism) {
+		return deleteParallel(dir, false, parallelism);
+	}
+
+	/**
+	 * 루트 디렉토리 내의 파일 및 하위 디렉토리를 여러 스레드로 동시에 삭제한다. 루트 디렉토리는 삭제하지 않는다.
+	 * 
+	 * @param dir 루트 디렉토리 명
+	 * @param parallelism 동시에 삭제할 스레드 수
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 */
+	public static Result cleanDirParallel(String dir, int parallelism) {
+		return cleanDirParallel(new File(dir), parallelism);
+	}
+
 	/**
 	 * 원본 디렉토리를 대상 디렉토리명으로 복사한다.
 	 * 
@@ -197,7 +320,7 @@ public final class FileUtils {
 		if (StringUtils.isEmpty(fileOrDir)) {
 			
 			try {
-				org.apache.commons.io.FileUtils.copyDirectory(srcDir, destDir, preserveFileDate);
+				copyDirectory(srcDir, destDir, null, preserveFileDate);
 			} catch (Exception e) {
 				return buildFailResult(result, e.getMessage());				
 			}
@@ -205,7 +328,7 @@ public final class FileUtils {
 		} else if (StringUtils.equalsIgnoreCase("file", fileOrDir)) {
 			
 			try {
-				org.apache.commons.io.FileUtils.copyDirectory(srcDir, destDir, FileFileFilter.FILE, preserveFileDate);
+				copyDirectory(srcDir, destDir, FileFileFilter.FILE, preserveFileDate);
 			} catch (Exception e) {
 				return buildFailResult(result, e.getMessage());
 			}
@@ -213,7 +336,7 @@ public final class FileUtils {
 		} else if (StringUtils.equalsIgnoreCase("dir", fileOrDir)) {
 			
 			try {
-				org.apache.commons.io.FileUtils.copyDirectory(srcDir, destDir, DirectoryFileFilter.DIRECTORY, preserveFileDate);
+				copyDirectory(srcDir, destDir, DirectoryFileFilter.DIRECTORY, preserveFileDate);
 			} catch (Exception e) {
 				return buildFailResult(result, e.getMessage());
 			}
@@ -277,6 +400,56 @@ public final class FileUtils {
 		return copyDir(new File(srcDir), new File(destDir), fileOrDir, preserveFileDate);
 	}
 
+	/**
+	 * 원본 디렉토리를 대상 디렉토리명으로 복사하며 진행 상황을 listener에 전달한다.<br>
+	 * 복사 전에 원본 디렉토리의 파일 수와 크기를 수집하므로 전체 bytes 수와 남은 시간을 함께 전달하며,
+	 * onProgress는 버퍼마다가 아니라 1초 간격으로 호출된다.
+	 * 
+	 * @param srcDir  원본 디렉토리
+	 * @param destDir 대상 디렉토리
+	 * @param preserveFileDate 수정일 설정 플래그
+	 * @param listener 진행 상황 listener
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 */
+	public static Result copyDir(File srcDir, File destDir, boolean preserveFileDate, CopyProgressListener listener) {
+
+		Result result = Result.EMPTY;
+
+		if (isNotDir(srcDir)) {
+			return buildFailResult(result, srcDir + "는 디렉토리가 아닙니다.");
+		}
+
+		String errMsg = checkCopyDirs(srcDir, destDir);
+
+		if (errMsg != null) {
+			return buildFailResult(result, errMsg);
+		}
+
+		ParallelDirCopier copier = new ParallelDirCopier(1, null, preserveFileDate);
+		copier.setProgressListener(listener);
+
+		CopyReport report = copier.copy(srcDir, destDir);
+
+		if (!report.isSuccess()) {
+			return buildFailResult(result, report.getFailures().get(0));
+		}
+
+		return Result.SUCCESS;
+	}
+
+	/**
+	 * 원본 디렉토리를 대상 디렉토리명으로 복사하며 진행 상황을 listener에 전달한다.
+	 * 
+	 * @param srcDir  원본 디렉토리
+	 * @param destDir 대상 디렉토리
+	 * @param preserveFileDate 수정일 설정 플래그
+	 * @param listener 진행 상황 listener
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 */
+	public static Result copyDir(String srcDir, String destDir, boolean preserveFileDate, CopyProgressListener listener) {
+		return copyDir(new File(srcDir), new File(destDir), preserveFileDate, listener);
+	}
+
 	/**
 	 * 원본디렉토리를 대상 디렉토리명으로 복사한다. 입력된 파일 확장자랑 일치하는 파일들만 복사한다.
 	 * 
@@ -329,7 +502,7 @@ public final class FileUtils {
 		FileFilter filter = FileFilterUtils.or(DirectoryFileFilter.DIRECTORY, suffixFilters);
 		
 		try {
-			org.apache.commons.io.FileUtils.copyDirectory(srcDir, destDir, filter, preserveFileDate);
+			copyDirectory(srcDir, destDir, filter, preserveFileDate);
 		} catch (Exception e) {
 			return buildFailResult(result, e.getMessage());
 		}
@@ -453,347 +626,752 @@ public final class FileUtils {
 	}
 
 	/**
-	 * 원본 파일을 대상 파일명으로 복사한다
+	 * 원본 디렉토리를 대상 디렉토리명으로 병렬 복사한다.<br>
+	 * 하위 디렉토리 탐색과 파일 복사를 parallelism 개의 스레드로 동시에 수행한다.
 	 * 
-	 * @param srcFile  원본 파일
-	 * @param destFile 대상 파일
-	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 * @param srcDir  원본 디렉토리
+	 * @param destDir 대상 디렉토리
+	 * @param parallelism 동시에 복사할 스레드 수
+	 * @return 복사한 파일 수, bytes 수, 소요 시간이 담긴 CopyReport
 	 */
-	public static Result copyFile(File srcFile, File destFile) {
-		return copyFile(srcFile, destFile, true);
+	public static CopyReport copyDirParallel(File srcDir, File destDir, int parallelism) {
+		return copyDirParallel(srcDir, destDir, null, true, parallelism);
 	}
 
 	/**
-	 * 원본 파일을 대상 파일명으로 복사한다.<br>
+	 * 원본 디렉토리를 대상 디렉토리명으로 병렬 복사한다. fileOrDir가 'file'이면 파일만 'dir'이면 디렉토리만 복사한다.<br>
 	 * preserveFileDate가 true면 원본디렉토리의 파일 최종 수정일을 그대로 사용하고 false면 현재 일자를 최종 수정일로
 	 * 설정한다.
 	 * 
-	 * @param srcFile  원본 파일
-	 * @param destFile 대상 파일
+	 * @param srcDir  원본 디렉토리
+	 * @param destDir 대상 디렉토리
+	 * @param fileOrDir 파일인지 디렉토리인지를 결정하는 플래그
 	 * @param preserveFileDate 수정일 설정 플래그
-	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 * @param parallelism 동시에 복사할 스레드 수
+	 * @return 복사한 파일 수, bytes 수, 소요 시간이 담긴 CopyReport
 	 */
-	public static Result copyFile(File srcFile, File destFile, boolean preserveFileDate) {
+	public static CopyReport copyDirParallel(File srcDir, File destDir, String fileOrDir, boolean preserveFileDate, int parallelism) {
 
-		Result result = Result.EMPTY;
+		String errMsg = checkCopyDirs(srcDir, destDir);
 		
-		if (notExistsFile(srcFile)) {
-			return buildFailResult(result, srcFile.getName() + "가 존재하지 않습니다.");
-		}
-
-		if (isNotFile(srcFile)) {
-			return buildFailResult(result, srcFile.getName() + "는 디렉토리가 아닙니다.");			
+		if (errMsg != null) {
+			return CopyReport.fail(errMsg);
 		}
 		
-		if (existsFile(destFile)) {
-			
-			result = deleteFile(destFile);
-			
-			if (result == Result.FAIL) {
-				return buildFailResult(result, destFile.getName() + "을 삭제하는 도중에 에러가 발생하였습니다.");
-			}
-		}
-
-		try {
-			org.apache.commons.io.FileUtils.copyFile(srcFile, destFile,	preserveFileDate);
-		} catch (IOException e) {
-			
-			String errorMsg = e.getMessage();
-			
-			if (StringUtils.contains(errorMsg, "same")) {
-				return Result.SUCCESS;
-			} else {
-				return buildFailResult(result, e.getMessage());
-			}
+		FileFilter filter = null;
+		
+		if (StringUtils.equalsIgnoreCase("file", fileOrDir)) {
+			filter = FileFileFilter.FILE;
+		} else if (StringUtils.equalsIgnoreCase("dir", fileOrDir)) {
+			filter = DirectoryFileFilter.DIRECTORY;
+		} else if (StringUtils.isNotEmpty(fileOrDir)) {
+			return CopyReport.fail(fileOrDir + "은 지원하지 않는 타입입니다.");
 		}
-
-		return Result.SUCCESS;
-	}
-
-	/**
-	 * 원본 파일을 대상 파일명으로 복사한다
-	 * 
-	 * @param srcFile  원본 파일
-	 * @param destFile 대상 파일
-	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
-	 */
-	public static Result copyFile(String srcFile, String destFile) {
-		return copyFile(new File(srcFile), new File(destFile), true);
+		
+		return new ParallelDirCopier(parallelism, filter, preserveFileDate).copy(srcDir, destDir);
 	}
 
 	/**
-	 * 원본 파일을 대상 파일명으로 복사한다.<br>
+	 * 원본 디렉토리를 대상 디렉토리명으로 병렬 복사한다. fileOrDir가 'file'이면 파일만 'dir'이면 디렉토리만 복사한다.<br>
 	 * preserveFileDate가 true면 원본디렉토리의 파일 최종 수정일을 그대로 사용하고 false면 현재 일자를 최종 수정일로
 	 * 설정한다.
 	 * 
-	 * @param srcFile  원본 파일
-	 * @param destFile 대상 파일
+	 * @param srcDir  원본 디렉토리
+	 * @param destDir 대상 디렉토리
+	 * @param fileOrDir 파일인지 디렉토리인지를 결정하는 플래그
 	 * @param preserveFileDate 수정일 설정 플래그
-	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 * @param parallelism 동시에 복사할 스레드 수
+	 * @return 복사한 파일 수, bytes 수, 소요 시간이 담긴 CopyReport
 	 */
-	public static Result copyFile(String srcFile, String destFile, boolean preserveFileDate) {
-		return copyFile(new File(srcFile), new File(destFile), preserveFileDate);
+	public static CopyReport copyDirParallel(String srcDir, String destDir, String fileOrDir, boolean preserveFileDate, int parallelism) {
+		return copyDirParallel(new File(srcDir), new File(destDir), fileOrDir, preserveFileDate, parallelism);
 	}
 
 	/**
-	 * 파일을 대상 디렉토리에 복사한다.
+	 * 원본 디렉토리를 대상 디렉토리명으로 병렬 복사한다. 입력된 파일 확장자랑 일치하는 파일들만 복사한다.<br>
+	 * preserveFileDate가 true면 원본디렉토리의 파일 최종 수정일을 그대로 사용하고 false면 현재 일자를 최종 수정일로
+	 * 설정한다.
 	 * 
-	 * @param srcFile 원본 파일
+	 * @param srcDir  원본 디렉토리
 	 * @param destDir 대상 디렉토리
-	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 * @param preserveFileDate 수정일 설정 플래그
+	 * @param parallelism 동시에 복사할 스레드 수
+	 * @param extList 파일 확장자들
+	 * @return 복사한 파일 수, bytes 수, 소요 시간이 담긴 CopyReport
 	 */
-	public static Result copyFileToDir(File srcFile, File destDir) {
-		return copyFileToDir(srcFile, destDir, true);
+	public static CopyReport copyDirAfterCheckFileExtParallel(File srcDir, File destDir, boolean preserveFileDate, int parallelism, String... extList) {
+
+		String errMsg = checkCopyDirs(srcDir, destDir);
+		
+		if (errMsg != null) {
+			return CopyReport.fail(errMsg);
+		}
+		
+		IOFileFilter suffixFilters = new SuffixFileFilter(extList, IOCase.INSENSITIVE);
+		FileFilter filter = FileFilterUtils.or(DirectoryFileFilter.DIRECTORY, suffixFilters);
+		
+		return new ParallelDirCopier(parallelism, filter, preserveFileDate).copy(srcDir, destDir);
 	}
 
 	/**
-	 * 파일을 대상 디렉토리에 복사한다.<br>
+	 * 원본 디렉토리를 대상 디렉토리의 하위로 병렬 복사한다.<br>
 	 * preserveFileDate가 true면 원본디렉토리의 파일 최종 수정일을 그대로 사용하고 false면 현재 일자를 최종 수정일로
 	 * 설정한다.
 	 * 
-	 * @param srcFile 원본 파일
+	 * @param srcDir  원본 디렉토리
 	 * @param destDir 대상 디렉토리
 	 * @param preserveFileDate 수정일 설정 플래그
-	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 * @param parallelism 동시에 복사할 스레드 수
+	 * @return 복사한 파일 수, bytes 수, 소요 시간이 담긴 CopyReport
 	 */
-	public static Result copyFileToDir(File srcFile, File destDir, boolean preserveFileDate) {
-
-		Result result = Result.EMPTY;
-		
-		if (!srcFile.exists()) {
-			return buildFailResult(result, srcFile + "가 존재하지 않습니다.");
-		}
+	public static CopyReport copyDirToDirParallel(File srcDir, File destDir, boolean preserveFileDate, int parallelism) {
 
-		if (notExistsDir(destDir)) {
-			
-			result = createDir(destDir.getAbsolutePath());
-			
-			if (result == Result.FAIL) {
-				return buildFailResult(result, destDir + " 디렉토리 생성 중에 에러가 발생하였습니다.");
-			}
-		}
+		String errMsg = checkCopyDirs(srcDir, destDir);
 		
-		if (isNotDir(destDir)) {
-			return buildFailResult(result, destDir + "는 디렉토리가 아닙니다.");
+		if (errMsg != null) {
+			return CopyReport.fail(errMsg);
 		}
 		
-		try {
-			org.apache.commons.io.FileUtils.copyFileToDirectory(srcFile, destDir, preserveFileDate);
-		} catch (Exception e) {
-			return buildFailResult(result, e.getMessage());
+		return copyDirParallel(srcDir, new File(destDir, srcDir.getName()), null, preserveFileDate, parallelism);
+	}
+
+	/**
+	 * 원본 디렉토리를 대상 디렉토리명으로 증분 복사한다. 새로 생겼거나 변경된 파일만 복사하고 파일 최종 수정일은 원본과 동일하게 설정한다.<br>
+	 * 크기와 수정일이 같은 파일은 변경이 없는 것으로 판단하며, compareContent가 true면 수정일 대신 파일 내용을 비교한다.<br>
+	 * deleteExtraneous가 true면 원본에 없는 대상 디렉토리의 파일 및 디렉토리를 삭제한다.
+	 *
+	 * @param srcDir  원본 디렉토리
+	 * @param destDir 대상 디렉토리
+	 * @param compareContent 수정일 대신 파일 내용 비교 유무
+	 * @param deleteExtraneous 원본에 없는 대상 파일 삭제 유무
+	 * @param parallelism 동시에 복사할 스레드 수
+	 * @return 복사한 파일 수, 건너뛴 파일 수, 삭제한 파일 수, 소요 시간이 담긴 CopyReport
+	 */
+	public static CopyReport copyDirIncremental(File srcDir, File destDir, boolean compareContent, boolean deleteExtraneous, int parallelism) {
+
+		String errMsg = checkCopyDirs(srcDir, destDir);
+
+		if (errMsg != null) {
+			return CopyReport.fail(errMsg);
 		}
 
-		return Result.SUCCESS;
+		ParallelDirCopier copier = new ParallelDirCopier(parallelism, null, true);
+		copier.setIncremental(true);
+		copier.setCompareContent(compareContent);
+		copier.setDeleteExtraneous(deleteExtraneous);
+
+		return copier.copy(srcDir, destDir);
 	}
 
 	/**
-	 * 파일을 대상 디렉토리에 복사한다.
-	 * 
-	 * @param srcFile 원본 파일
+	 * 원본 디렉토리를 대상 디렉토리명으로 증분 복사한다. 새로 생겼거나 변경된 파일만 복사하고 파일 최종 수정일은 원본과 동일하게 설정한다.<br>
+	 * 크기와 수정일이 같은 파일은 변경이 없는 것으로 판단하며, compareContent가 true면 수정일 대신 파일 내용을 비교한다.<br>
+	 * deleteExtraneous가 true면 원본에 없는 대상 디렉토리의 파일 및 디렉토리를 삭제한다.
+	 *
+	 * @param srcDir  원본 디렉토리
 	 * @param destDir 대상 디렉토리
-	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 * @param compareContent 수정일 대신 파일 내용 비교 유무
+	 * @param deleteExtraneous 원본에 없는 대상 파일 삭제 유무
+	 * @param parallelism 동시에 복사할 스레드 수
+	 * @return 복사한 파일 수, 건너뛴 파일 수, 삭제한 파일 수, 소요 시간이 담긴 CopyReport
 	 */
-	public static Result copyFileToDir(String srcFile, String destDir) {
-		return copyFileToDir(new File(srcFile), new File(destDir), true);
+	public static CopyReport copyDirIncremental(String srcDir, String destDir, boolean compareContent, boolean deleteExtraneous, int parallelism) {
+		return copyDirIncremental(new File(srcDir), new File(destDir), compareContent, deleteExtraneous, parallelism);
 	}
 
 	/**
-	 * 파일을 대상 디렉토리에 복사한다.<br>
-	 * preserveFileDate가 true면 원본디렉토리의 파일 최종 수정일을 그대로 사용하고 false면 현재 일자를 최종 수정일로
-	 * 설정한다.
+	 * 원본 디렉토리를 대상 디렉토리명으로 복사하며, 진행 상태를 journal 파일에 기록하여 중단된 경우 다시 호출하면 이어서 복사한다.<br>
+	 * 이전 실행에서 복사를 완료한 파일은 건너뛰고, 복사 중이던 큰 파일은 마지막으로 기록한 위치부터 복사한다.
+	 * 모든 파일을 복사하면 journal 파일을 삭제한다.
 	 * 
-	 * @param srcFile 원본 파일
+	 * @param srcDir  원본 디렉토리
 	 * @param destDir 대상 디렉토리
-	 * @param preserveFileDate 수정일 설정 플래그
-	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 * @param journalFile 진행 상태를 기록할 journal 파일
+	 * @param parallelism 동시에 복사할 스레드 수
+	 * @return 복사한 파일 수, bytes 수, 건너뛴 파일 수, 소요 시간이 담긴 CopyReport
 	 */
-	public static Result copyFileToDir(String srcFile, String destDir, boolean preserveFileDate) {
-		return copyFileToDir(new File(srcFile), new File(destDir), preserveFileDate);
+	public static CopyReport copyDirResumable(File srcDir, File destDir, File journalFile, int parallelism) {
+
+		String errMsg = checkCopyDirs(srcDir, destDir);
+
+		if (errMsg != null) {
+			return CopyReport.fail(errMsg);
+		}
+
+		return new ResumableDirCopier(journalFile, parallelism, true).copy(srcDir, destDir);
 	}
 
 	/**
-	 * 주어진 디렉토리명으로 디렉토리를 생성한다.
+	 * 원본 디렉토리를 대상 디렉토리명으로 복사하며, 진행 상태를 journal 파일에 기록하여 중단된 경우 다시 호출하면 이어서 복사한다.
 	 * 
-	 * @param dirPath 생성할 디렉토리 명
-	 * @return enum 타입의 Result로 작업 결과를 반환
+	 * @param srcDir  원본 디렉토리
+	 * @param destDir 대상 디렉토리
+	 * @param journalFile 진행 상태를 기록할 journal 파일
+	 * @param parallelism 동시에 복사할 스레드 수
+	 * @return 복사한 파일 수, bytes 수, 건너뛴 파일 수, 소요 시간이 담긴 CopyReport
 	 */
-	public static Result createDir(String dirPath) {
-		
-		try {
-			org.apache.commons.io.FileUtils.forceMkdir(new File(dirPath));
-		} catch (IOException e) {
-			return buildFailResult(Result.FAIL, "directory 생성에 실패하였습니다.");
-		}
-		
-		return Result.SUCCESS;
+	public static CopyReport copyDirResumable(String srcDir, String destDir, String journalFile, int parallelism) {
+		return copyDirResumable(new File(srcDir), new File(destDir), new File(journalFile), parallelism);
 	}
 
 	/**
-	 * 해당 디렉토리 및 하위 파일을 삭제한다.
+	 * 디렉토리 하위 전체 파일의 SHA-256 checksum을 여러 스레드로 동시에 계산하여 sha256sum 형식의 manifest 파일에 기록한다.<br>
+	 * 결과를 상대 경로 순으로 받는 대로 기록하므로 파일 수가 많아도 checksum 목록을 메모리에 모아 두지 않으며,
+	 * 기록이 끝난 후 manifest 이름으로 rename 한다.
 	 * 
-	 * @param targetDir 삭제할 디렉토리
-	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 * @param rootDir manifest를 생성할 디렉토리
+	 * @param manifestFile 기록할 manifest 파일
+	 * @param parallelism 동시에 hash 할 스레드 수
+	 * @return 기록한 파일 수, bytes 수, 소요 시간이 담긴 ManifestReport
 	 */
-	public static Result deleteDir(File targetDir) {
+	public static ManifestReport createChecksumManifest(File rootDir, File manifestFile, int parallelism) {
 
-		Result result = Result.EMPTY;
-		
-		if (!targetDir.exists()) {
-			return buildFailResult(result, targetDir	+ "가 존재하지 않습니다.");
+		if (notExistsDir(rootDir)) {
+			return ManifestReport.fail(rootDir + "가 존재하지 않습니다.");
 		}
 
-		if (isNotDir(targetDir)) {
-			return buildFailResult(result, targetDir + "는(은) 디렉토리가 아닙니다.");
+		return new ChecksumManifest(parallelism).generate(rootDir, manifestFile);
+	}
+
+	/**
+	 * 디렉토리 하위 전체 파일의 SHA-256 checksum을 여러 스레드로 동시에 계산하여 sha256sum 형식의 manifest 파일에 기록한다.
+	 * 
+	 * @param rootDir manifest를 생성할 디렉토리
+	 * @param manifestFile 기록할 manifest 파일
+	 * @param parallelism 동시에 hash 할 스레드 수
+	 * @return 기록한 파일 수, bytes 수, 소요 시간이 담긴 ManifestReport
+	 */
+	public static ManifestReport createChecksumManifest(String rootDir, String manifestFile, int parallelism) {
+		return createChecksumManifest(new File(rootDir), new File(manifestFile), parallelism);
+	}
+
+	/**
+	 * manifest 파일에 기록된 파일들의 SHA-256 checksum을 여러 스레드로 동시에 다시 계산하여 비교한다.<br>
+	 * manifest에 없는 파일은 검사하지 않는다.
+	 * 
+	 * @param rootDir manifest의 상대 경로 기준 디렉토리
+	 * @param manifestFile 검증할 manifest 파일
+	 * @param parallelism 동시에 hash 할 스레드 수
+	 * @return 일치한 파일 수, 내용이 다른 파일과 존재하지 않는 파일 목록이 담긴 ManifestReport
+	 */
+	public static ManifestReport verifyChecksumManifest(File rootDir, File manifestFile, int parallelism) {
+
+		if (notExistsDir(rootDir)) {
+			return ManifestReport.fail(rootDir + "가 존재하지 않습니다.");
 		}
 
-		try {
-			org.apache.commons.io.FileUtils.deleteDirectory(targetDir);
-		} catch (Exception e) {
-			return buildFailResult(result, e.getMessage());
+		if (notExistsFile(manifestFile)) {
+			return ManifestReport.fail(manifestFile + "가 존재하지 않습니다.");
 		}
 
-		return Result.SUCCESS;
+		return new ChecksumManifest(parallelism).verify(rootDir, manifestFile);
 	}
 
 	/**
-	 * 해당 디렉토리 및 하위 파일을 삭제한다.
+	 * manifest 파일에 기록된 파일들의 SHA-256 checksum을 여러 스레드로 동시에 다시 계산하여 비교한다.
 	 * 
-	 * @param targetDir 삭제할 디렉토리
+	 * @param rootDir manifest의 상대 경로 기준 디렉토리
+	 * @param manifestFile 검증할 manifest 파일
+	 * @param parallelism 동시에 hash 할 스레드 수
+	 * @return 일치한 파일 수, 내용이 다른 파일과 존재하지 않는 파일 목록이 담긴 ManifestReport
+	 */
+	public static ManifestReport verifyChecksumManifest(String rootDir, String manifestFile, int parallelism) {
+		return verifyChecksumManifest(new File(rootDir), new File(manifestFile), parallelism);
+	}
+
+	private static void copyDirectory(File srcDir, File destDir, FileFilter filter, boolean preserveFileDate) throws IOException {
+
+		if (FileChannelCopier.getThrottle() == null) {
+			org.apache.commons.io.FileUtils.copyDirectory(srcDir, destDir, filter, preserveFileDate);
+			return;
+		}
+
+		// commons-io의 copyDirectory는 IoThrottle을 거치지 않으므로, 제한이 설정되면 FileChannelCopier를 사용하는 복사기로 복사한다.
+		CopyReport report = new ParallelDirCopier(1, filter, preserveFileDate).copy(srcDir, destDir);
+
+		if (!report.isSuccess()) {
+			throw new IOException(report.getFailures().get(0));
+		}
+	}
+
+	private static String checkCopyDirs(File srcDir, File destDir) {
+		
+		if (notExistsDir(srcDir)) {
+			return srcDir + "가 존재하지 않습니다.";
+		}
+		
+		if (notExistsDir(destDir) && createDir(destDir.getAbsolutePath()) == Result.FAIL) {
+			return destDir + " 디렉토리 생성 중에 에러가 발생하였습니다.";
+		}
+		
+		if (isNotDir(destDir)) {
+			return destDir + "는 디렉토리가 아닙니다.";
+		}
+		
+		return null;
+	}
+
+	/**
+	 * 원본 파일을 대상 파일명으로 복사한다
+	 * 
+	 * @param srcFile  원본 파일
+	 * @param destFile 대상 파일
 	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
 	 */
-	public static Result deleteDir(String targetDir) {
-		return deleteDir(new File(targetDir));
+	public static Result copyFile(File srcFile, File destFile) {
+		return copyFile(srcFile, destFile, true);
 	}
 
 	/**
-	 * 해당파일을 삭제한다.
+	 * 원본 파일을 대상 파일명으로 복사한다.<br>
+	 * preserveFileDate가 true면 원본디렉토리의 파일 최종 수정일을 그대로 사용하고 false면 현재 일자를 최종 수정일로
+	 * 설정한다.
 	 * 
-	 * @param targetFile 삭제할 File
+	 * @param srcFile  원본 파일
+	 * @param destFile 대상 파일
+	 * @param preserveFileDate 수정일 설정 플래그
 	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
 	 */
-	public static Result deleteFile(File targetFile) {
+	public static Result copyFile(File srcFile, File destFile, boolean preserveFileDate) {
+		return copyFile(srcFile, destFile, preserveFileDate, null);
+	}
+
+	/**
+	 * 원본 파일을 대상 파일명으로 복사하며 진행 상황을 listener에 전달한다.<br>
+	 * onProgress는 버퍼마다가 아니라 1초 간격으로, 그리고 복사가 끝났을 때 한 번 호출된다.
+	 * 
+	 * @param srcFile  원본 파일
+	 * @param destFile 대상 파일
+	 * @param preserveFileDate 수정일 설정 플래그
+	 * @param listener 진행 상황 listener, null이면 전달하지 않는다.
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 */
+	public static Result copyFile(File srcFile, File destFile, boolean preserveFileDate, CopyProgressListener listener) {
 
 		Result result = Result.EMPTY;
 		
-		if (!targetFile.exists()) {
-			return buildFailResult(result, targetFile	+ "가 존재하지 않습니다.");
+		if (notExistsFile(srcFile)) {
+			return buildFailResult(result, srcFile.getName() + "가 존재하지 않습니다.");
 		}
 
-		if (isNotFile(targetFile)) {
-			return buildFailResult(result, targetFile	+ "은 파일이 아닙니다.");
+		if (isNotFile(srcFile)) {
+			return buildFailResult(result, srcFile.getName() + "는 디렉토리가 아닙니다.");			
+		}
+		
+		if (existsFile(destFile)) {
+			
+			result = deleteFile(destFile);
+			
+			if (result == Result.FAIL) {
+				return buildFailResult(result, destFile.getName() + "을 삭제하는 도중에 에러가 발생하였습니다.");
+			}
+		}
+
+		CopyProgressTracker tracker = CopyProgressTracker.of(listener);
+
+		if (tracker != null) {
+			tracker.expect(1, srcFile.length());
 		}
 
 		try {
-			org.apache.commons.io.FileUtils.forceDelete(targetFile);
-		} catch (Exception e) {
-			return buildFailResult(result, e.getMessage());
+			FileChannelCopier.copy(srcFile, destFile, preserveFileDate, tracker);
+		} catch (IOException e) {
+			
+			String errorMsg = e.getMessage();
+			
+			if (StringUtils.contains(errorMsg, "same")) {
+				return Result.SUCCESS;
+			} else {
+				return buildFailResult(result, e.getMessage());
+			}
+		} finally {
+			if (tracker != null) {
+				tracker.finish();
+			}
 		}
 
 		return Result.SUCCESS;
 	}
 
 	/**
-	 * 해당파일을 삭제한다.
+	 * 원본 파일을 대상 파일명으로 복사한다
 	 * 
-	 * @param targetFile 삭제할 File
+	 * @param srcFile  원본 파일
+	 * @param destFile 대상 파일
 	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
 	 */
-	public static Result deleteFile(String targetFile) {
-		return deleteFile(new File(targetFile));
+	public static Result copyFile(String srcFile, String destFile) {
+		return copyFile(new File(srcFile), new File(destFile), true);
 	}
 
 	/**
-	 * 해당 디렉토리의 존재유무를 확인한다.
+	 * 원본 파일을 대상 파일명으로 복사한다.<br>
+	 * preserveFileDate가 true면 원본디렉토리의 파일 최종 수정일을 그대로 사용하고 false면 현재 일자를 최종 수정일로
+	 * 설정한다.
 	 * 
-	 * @param dir 존재유무를 확인할 디렉토리
-	 * @return 존재유무에 대한 결과
+	 * @param srcFile  원본 파일
+	 * @param destFile 대상 파일
+	 * @param preserveFileDate 수정일 설정 플래그
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
 	 */
-	public static boolean existsDir(File dir) {
-		return (dir.exists() && isDir(dir)) ? true : false;
+	public static Result copyFile(String srcFile, String destFile, boolean preserveFileDate) {
+		return copyFile(new File(srcFile), new File(destFile), preserveFileDate);
 	}
 
 	/**
-	 * 해당 디렉토리의 존재유무를 확인한다.
+	 * 원본 파일을 대상 파일명으로 복사하며 진행 상황을 listener에 전달한다.
 	 * 
-	 * @param dir 존재유무를 확인할 디렉토리
-	 * @return 존재유무에 대한 결과
+	 * @param srcFile  원본 파일
+	 * @param destFile 대상 파일
+	 * @param preserveFileDate 수정일 설정 플래그
+	 * @param listener 진행 상황 listener, null이면 전달하지 않는다.
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
 	 */
-	public static boolean existsDir(String dir) {
-		return existsDir(new File(dir));
+	public static Result copyFile(String srcFile, String destFile, boolean preserveFileDate, CopyProgressListener listener) {
+		return copyFile(new File(srcFile), new File(destFile), preserveFileDate, listener);
 	}
 
 	/**
-	 * 해당 파일의 존재유무를 확인한다.
+	 * 파일을 대상 디렉토리에 복사한다.
 	 * 
-	 * @param file 존재유무를 확인할 파일
-	 * @return 존재유무에 대한 결과
+	 * @param srcFile 원본 파일
+	 * @param destDir 대상 디렉토리
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
 	 */
-	public static boolean existsFile(File file) {
-		return (file.exists() && isFile(file)) ? true : false; 
+	public static Result copyFileToDir(File srcFile, File destDir) {
+		return copyFileToDir(srcFile, destDir, true);
 	}
 
 	/**
-	 * 해당 파일의 존재유무를 확인한다.
+	 * 파일을 대상 디렉토리에 복사한다.<br>
+	 * preserveFileDate가 true면 원본디렉토리의 파일 최종 수정일을 그대로 사용하고 false면 현재 일자를 최종 수정일로
+	 * 설정한다.
 	 * 
-	 * @param file 존재유무를 확인할 파일
-	 * @return 존재유무에 대한 결과
+	 * @param srcFile 원본 파일
+	 * @param destDir 대상 디렉토리
+	 * @param preserveFileDate 수정일 설정 플래그
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
 	 */
-	public static boolean existsFile(String file) {
-		return existsFile(new File(file));
+	public static Result copyFileToDir(File srcFile, File destDir, boolean preserveFileDate) {
+
+		Result result = Result.EMPTY;
+		
+		if (!srcFile.exists()) {
+			return buildFailResult(result, srcFile + "가 존재하지 않습니다.");
+		}
+
+		if (notExistsDir(destDir)) {
+			
+			result = createDir(destDir.getAbsolutePath());
+			
+			if (result == Result.FAIL) {
+				return buildFailResult(result, destDir + " 디렉토리 생성 중에 에러가 발생하였습니다.");
+			}
+		}
+		
+		if (isNotDir(destDir)) {
+			return buildFailResult(result, destDir + "는 디렉토리가 아닙니다.");
+		}
+		
+		try {
+			FileChannelCopier.copy(srcFile, new File(destDir, srcFile.getName()), preserveFileDate);
+		} catch (Exception e) {
+			return buildFailResult(result, e.getMessage());
+		}
+
+		return Result.SUCCESS;
 	}
-	
+
 	/**
-	 * 해당 디렉토리의 존재유무를 확인한다.
+	 * 파일을 대상 디렉토리에 복사한다.
 	 * 
-	 * @param dir 존재유무를 확인할 디렉토리
-	 * @return 존재유무에 대한 결과
+	 * @param srcFile 원본 파일
+	 * @param destDir 대상 디렉토리
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
 	 */
-	public static boolean notExistsDir(File dir) {
-		return !existsDir(dir);
+	public static Result copyFileToDir(String srcFile, String destDir) {
+		return copyFileToDir(new File(srcFile), new File(destDir), true);
 	}
-	
+
 	/**
-	 * 해당 디렉토리의 존재유무를 확인한다.
+	 * 파일을 대상 디렉토리에 복사한다.<br>
+	 * preserveFileDate가 true면 원본디렉토리의 파일 최종 수정일을 그대로 사용하고 false면 현재 일자를 최종 수정일로
+	 * 설정한다.
 	 * 
-	 * @param dir 존재유무를 확인할 디렉토리
-	 * @return 존재유무에 대한 결과
+	 * @param srcFile 원본 파일
+	 * @param destDir 대상 디렉토리
+	 * @param preserveFileDate 수정일 설정 플래그
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
 	 */
-	public static boolean notExistsDir(String dir) {
-		return !existsDir(new File(dir));
+	public static Result copyFileToDir(String srcFile, String destDir, boolean preserveFileDate) {
+		return copyFileToDir(new File(srcFile), new File(destDir), preserveFileDate);
 	}
 
 	/**
-	 * 해당 파일의 존재유무를 확인한다.
+	 * 주어진 디렉토리명으로 디렉토리를 생성한다.
 	 * 
-	 * @param file 존재유무를 확인할 파일
-	 * @return 존재유무에 대한 결과
+	 * @param dirPath 생성할 디렉토리 명
+	 * @return enum 타입의 Result로 작업 결과를 반환
 	 */
-	public static boolean notExistsFile(File file) {
-		return !existsFile(file);
+	public static Result createDir(String dirPath) {
+		
+		try {
+			org.apache.commons.io.FileUtils.forceMkdir(new File(dirPath));
+		} catch (IOException e) {
+			return buildFailResult(Result.FAIL, "directory 생성에 실패하였습니다.");
+		}
+		
+		return Result.SUCCESS;
 	}
 
 	/**
-	 * 해당 파일의 존재유무를 확인한다.
+	 * 해당 디렉토리 및 하위 파일을 삭제한다.
 	 * 
-	 * @param file 존재유무를 확인할 파일
-	 * @return 존재유무에 대한 결과
+	 * @param targetDir 삭제할 디렉토리
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
 	 */
-	public static boolean notExistsFile(String file) {
-		return !existsFile(new File(file));
-	}
+	public static Result deleteDir(File targetDir) {
 
-	/**
-     * Java가 실행되는 현재 폴더 경로를 반환한다.
-     * 
-     * @return 현재 폴더 경로
-     */
-    public static String getCurrentDir() {
-        return System.getProperty("user.dir");
-    }
+		Result result = Result.EMPTY;
+		
+		if (!targetDir.exists()) {
+			return buildFailResult(result, targetDir	+ "가 존재하지 않습니다.");
+		}
 
-	/**
-     * Java가 실행되는 현재 폴더 경로를 File 객체로 반환한다.
-     * 
+		if (isNotDir(targetDir)) {
+			return buildFailResult(result, targetDir + "는(은) 디렉토리가 아닙니다.");
+		}
+
+		try {
+			org.apache.commons.io.FileUtils.deleteDirectory(targetDir);
+		} catch (Exception e) {
+			return buildFailResult(result, e.getMessage());
+		}
+
+		return Result.SUCCESS;
+	}
+
+	/**
+	 * 해당 디렉토리 및 하위 파일을 삭제한다.
+	 * 
+	 * @param targetDir 삭제할 디렉토리
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 */
+	public static Result deleteDir(String targetDir) {
+		return deleteDir(new File(targetDir));
+	}
+
+	/**
+	 * 해당 디렉토리 및 하위 파일을 여러 스레드로 동시에 삭제한다.<br>
+	 * 하위 항목이 모두 삭제된 디렉토리부터 삭제하며, 파일이 많은 디렉토리 트리에서 deleteDir보다 빠르다.
+	 * 
+	 * @param targetDir 삭제할 디렉토리
+	 * @param parallelism 동시에 삭제할 스레드 수
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 */
+	public static Result deleteDirParallel(File targetDir, int parallelism) {
+		return deleteParallel(targetDir, true, parallelism);
+	}
+
+	/**
+	 * 해당 디렉토리 및 하위 파일을 여러 스레드로 동시에 삭제한다.
+	 * 
+	 * @param targetDir 삭제할 디렉토리
+	 * @param parallelism 동시에 삭제할 스레드 수
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 */
+	public static Result deleteDirParallel(String targetDir, int parallelism) {
+		return deleteDirParallel(new File(targetDir), parallelism);
+	}
+
+	/**
+	 * 해당 디렉토리를 같은 볼륨의 휴지통 디렉토리(.trash)로 이동한 후 즉시 반환한다.<br>
+	 * 실제 삭제는 백그라운드 스레드가 초당 삭제 건수를 제한하며 수행하므로 큰 디렉토리 트리도 호출 스레드를 오래 붙잡지 않는다.<br>
+	 * 휴지통은 시스템 속성 {@value DeferredDeleter#TRASH_DIRS_PROPERTY}로 지정할 수 있으며, 같은 볼륨의 휴지통이 없으면 대상의 상위 디렉토리에
+	 * .trash를 만들고 그 위치를 {@value DeferredDeleter#REGISTRY_FILE_PROPERTY}로 지정한 파일(기본값은 java.io.tmpdir 아래)에 기록하여
+	 * 다음 실행 때 FileUtils를 처음 사용하는 시점에 남은 항목을 삭제한다. 시스템 속성은 FileUtils를 사용하기 전에 지정해야 한다.
+	 * 삭제 속도를 지정하려면 DeferredDeleter를 직접 사용한다.
+	 *
+	 * @param targetDir 삭제할 디렉토리
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 */
+	public static Result deleteDirLater(File targetDir) {
+
+		Result result = Result.EMPTY;
+
+		if (!targetDir.exists()) {
+			return buildFailResult(result, targetDir + "가 존재하지 않습니다.");
+		}
+
+		if (isNotDir(targetDir)) {
+			return buildFailResult(result, targetDir + "는(은) 디렉토리가 아닙니다.");
+		}
+
+		return DEFERRED_DELETER.delete(targetDir);
+	}
+
+	/**
+	 * 해당 디렉토리를 같은 볼륨의 휴지통 디렉토리(.trash)로 이동한 후 즉시 반환한다. 실제 삭제는 백그라운드 스레드에서 수행된다.
+	 *
+	 * @param targetDir 삭제할 디렉토리
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 */
+	public static Result deleteDirLater(String targetDir) {
+		return deleteDirLater(new File(targetDir));
+	}
+
+	private static Result deleteParallel(File dir, boolean deleteRoot, int parallelism) {
+
+		Result result = Result.EMPTY;
+
+		if (notExistsDir(dir)) {
+			return buildFailResult(result, dir + "가 존재하지 않습니다.");
+		}
+
+		if (isNotDir(dir)) {
+			return buildFailResult(result, dir + "는 디렉토리가 아닙니다.");
+		}
+
+		DeleteReport report = new ParallelDirDeleter(parallelism).delete(dir, deleteRoot);
+
+		if (!report.isSuccess()) {
+			return buildFailResult(result, report.getFailures().size() + "건의 삭제 에러가 발생하였습니다. " + report.getFailures().get(0));
+		}
+
+		return Result.SUCCESS;
+	}
+
+	/**
+	 * 해당파일을 삭제한다.
+	 * 
+	 * @param targetFile 삭제할 File
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 */
+	public static Result deleteFile(File targetFile) {
+
+		Result result = Result.EMPTY;
+		
+		if (!targetFile.exists()) {
+			return buildFailResult(result, targetFile	+ "가 존재하지 않습니다.");
+		}
+
+		if (isNotFile(targetFile)) {
+			return buildFailResult(result, targetFile	+ "은 파일이 아닙니다.");
+		}
+
+		try {
+			org.apache.commons.io.FileUtils.forceDelete(targetFile);
+		} catch (Exception e) {
+			return buildFailResult(result, e.getMessage());
+		}
+
+		return Result.SUCCESS;
+	}
+
+	/**
+	 * 해당파일을 삭제한다.
+	 * 
+	 * @param targetFile 삭제할 File
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 */
+	public static Result deleteFile(String targetFile) {
+		return deleteFile(new File(targetFile));
+	}
+
+	/**
+	 * 해당 디렉토리의 존재유무를 확인한다.<br>
+	 * 같은 경로를 짧은 간격으로 반복해서 확인하는 경우에는 stat 호출을 줄이기 위해 FileMetadataCache를 사용한다.
+	 * 
+	 * @param dir 존재유무를 확인할 디렉토리
+	 * @return 존재유무에 대한 결과
+	 */
+	public static boolean existsDir(File dir) {
+		return (dir.exists() && isDir(dir)) ? true : false;
+	}
+
+	/**
+	 * 해당 디렉토리의 존재유무를 확인한다.
+	 * 
+	 * @param dir 존재유무를 확인할 디렉토리
+	 * @return 존재유무에 대한 결과
+	 */
+	public static boolean existsDir(String dir) {
+		return existsDir(new File(dir));
+	}
+
+	/**
+	 * 해당 파일의 존재유무를 확인한다.<br>
+	 * 같은 경로를 짧은 간격으로 반복해서 확인하는 경우에는 stat 호출을 줄이기 위해 FileMetadataCache를 사용한다.
+	 * 
+	 * @param file 존재유무를 확인할 파일
+	 * @return 존재유무에 대한 결과
+	 */
+	public static boolean existsFile(File file) {
+		return (file.exists() && isFile(file)) ? true : false; 
+	}
+
+	/**
+	 * 해당 파일의 존재유무를 확인한다.
+	 * 
+	 * @param file 존재유무를 확인할 파일
+	 * @return 존재유무에 대한 결과
+	 */
+	public static boolean existsFile(String file) {
+		return existsFile(new File(file));
+	}
+	
+	/**
+	 * 해당 디렉토리의 존재유무를 확인한다.
+	 * 
+	 * @param dir 존재유무를 확인할 디렉토리
+	 * @return 존재유무에 대한 결과
+	 */
+	public static boolean notExistsDir(File dir) {
+		return !existsDir(dir);
+	}
+	
+	/**
+	 * 해당 디렉토리의 존재유무를 확인한다.
+	 * 
+	 * @param dir 존재유무를 확인할 디렉토리
+	 * @return 존재유무에 대한 결과
+	 */
+	public static boolean notExistsDir(String dir) {
+		return !existsDir(new File(dir));
+	}
+
+	/**
+	 * 해당 파일의 존재유무를 확인한다.
+	 * 
+	 * @param file 존재유무를 확인할 파일
+	 * @return 존재유무에 대한 결과
+	 */
+	public static boolean notExistsFile(File file) {
+		return !existsFile(file);
+	}
+
+	/**
+	 * 해당 파일의 존재유무를 확인한다.
+	 * 
+	 * @param file 존재유무를 확인할 파일
+	 * @return 존재유무에 대한 결과
+	 */
+	public static boolean notExistsFile(String file) {
+		return !existsFile(new File(file));
+	}
+
+	/**
+     * Java가 실행되는 현재 폴더 경로를 반환한다.
+     * 
+     * @return 현재 폴더 경로
+     */
+    public static String getCurrentDir() {
+        return System.getProperty("user.dir");
+    }
+
+	/**
+     * Java가 실행되는 현재 폴더 경로를 File 객체로 반환한다.
+     * 
      * @return 현재 위치 경로를 가진 File 객체.
      */
     public static File getCurrentDirAsFile() {
@@ -888,397 +1466,831 @@ public final class FileUtils {
 	}
 	
 	/**
-	 * 해당 target이 파일인지를 체크한다.
-	 * 
-	 * @param file 파일
-	 * @return 해당 파일이 파일이면 true, 아니면 false
-	 */
-	public static boolean isFile(String file) {
-		return isFile(new File(file));
-	}
-
-	/**
-	 * 해당 target이 디렉토리가 아닌지를 체크한다.
+	 * 해당 target이 파일인지를 체크한다.
+	 * 
+	 * @param file 파일
+	 * @return 해당 파일이 파일이면 true, 아니면 false
+	 */
+	public static boolean isFile(String file) {
+		return isFile(new File(file));
+	}
+
+	/**
+	 * 해당 target이 디렉토리가 아닌지를 체크한다.
+	 * 
+	 * @param dir 디렉토리
+	 * @return 해당 파일이 디렉토리가 아니면 true, 아니면 false
+	 */
+	public static boolean isNotDir(File dir) {
+		return (!dir.isDirectory()) ? true : false;
+	}
+	
+	/**
+	 * 해당 target이 디렉토리가 아닌지를 체크한다.
+	 * 
+	 * @param dir 디렉토리
+	 * @return 해당 파일이 디렉토리가 아니면 true, 아니면 false
+	 */
+	public static boolean isNotDir(String dir) {
+		return isNotDir(new File(dir));
+	}
+
+	/**
+	 * 해당 target이 파일이 아닌지를 체크한다.
+	 * 
+	 * @param file 파일
+	 * @return 해당 파일이 파일이 아니면 true, 아니면 false
+	 */
+	public static boolean isNotFile(File file) {
+		return (!file.isFile()) ? true : false;
+	}
+	
+	/**
+	 * 해당 target이 파일이 아닌지를 체크한다.
+	 * 
+	 * @param file 파일
+	 * @return 해당 파일이 파일이 아니면 true, 아니면 false
+	 */
+	public static boolean isNotFile(String file) {
+		return isNotFile(new File(file));
+	}
+	
+	/**
+	 * 지정한 디렉토리 하위의 디렉토리명과 파일명을 가져온다. 
+	 * 
+	 * @param dir 디렉토리
+	 * @param includeRootDir 가장 상위의 디렉토리명을 포함할지를 결정. (true면 최상위 폴더 포함)
+	 * @return 디렉토리 하위의 디렉토리명과 파일명에 대한 리스트
+	 */
+	public static List<String> listFileAndDirNames(String dir, boolean includeRootDir) {
+		
+		List<File> dirs = (List<File>) org.apache.commons.io.FileUtils.listFilesAndDirs(new File(dir), 
+				FileFileFilter.FILE, DirectoryFileFilter.DIRECTORY);
+		
+		List<String> dirNameList = new ArrayList<String>();
+		
+		int index = 0;
+		
+		for (File dirUnit : dirs) {
+			
+			if (index++ == 0 && !includeRootDir) {
+				continue;
+			}
+			
+			dirNameList.add(dirUnit.getAbsolutePath());			
+			index++;
+		}
+		
+		return dirNameList;
+	}
+	
+	/**
+	 * 지정한 디렉토리 하위의 디렉토리명과 파일명을 File 타입의 배열로 가져온다. 
+	 * 
+	 * @param dir 디렉토리
+	 * @param includeRootDir 가장 상위의 디렉토리명을 포함할지를 결정. (true면 최상위 폴더 포함)
+	 * @return 디렉토리 하위의 디렉토리명과 파일명에 대한 File 타입의 배열
+	 */
+	public static File[] listFilesAndDirs(String dir, boolean includeRootDir) {
+		
+		List<File> filesAndDirs = (List<File>) org.apache.commons.io.FileUtils.listFilesAndDirs(new File(dir), 
+				FileFileFilter.FILE, DirectoryFileFilter.DIRECTORY);
+		
+		List<File> filesAndDirsList = new ArrayList<File>();
+		
+		int index = 0;
+		
+		for (File fileOrDir : filesAndDirs) {
+			
+			if (index++ == 0 && !includeRootDir) {
+				continue;
+			}
+			
+			filesAndDirsList.add(fileOrDir);			
+			index++;
+		}
+		
+		return filesAndDirsList.toArray(new File[filesAndDirsList.size()]);
+		
+	}
+	
+	/**
+	 * 지정한 디렉토리 하위의 디렉토리명을 가져온다. 
+	 * 
+	 * @param dir 디렉토리
+	 * @param includeRootDir 가장 상위의 디렉토리명을 포함할지를 결정. (true면 최상위 폴더 포함)
+	 * @return 디렉토리 하위의 디렉토리명에 대한 리스트
+	 */
+	public static List<String> listDirNames(String dir, boolean includeRootDir) {
+		
+		List<File> dirs = (List<File>) org.apache.commons.io.FileUtils.listFilesAndDirs(new File(dir), 
+				new NotFileFilter(TrueFileFilter.INSTANCE), DirectoryFileFilter.DIRECTORY);
+		
+		List<String> dirNameList = new ArrayList<String>();
+		
+		int index = 0;
+		
+		for (File dirUnit : dirs) {
+			
+			if (index++ == 0 && !includeRootDir) {
+				continue;
+			}
+			
+			dirNameList.add(dirUnit.getAbsolutePath());			
+			index++;
+		}
+		
+		return dirNameList;		
+	}
+	
+	/**
+	 * 지정한 디렉토리 하위의 디렉토리명을 File 타입의 배열로 가져온다. 
+	 * 
+	 * @param dir 디렉토리
+	 * @param includeRootDir 가장 상위의 디렉토리명을 포함할지를 결정. (true면 최상위 폴더 포함)
+	 * @return 디렉토리 하위의 디렉토리명에 대한 File 타입의 배열
+	 */
+	public static File[] listDirs(String dir, boolean includeRootDir) {
+		
+		List<File> dirs = (List<File>) org.apache.commons.io.FileUtils.listFilesAndDirs(new File(dir), 
+				new NotFileFilter(TrueFileFilter.INSTANCE), DirectoryFileFilter.DIRECTORY);
+		
+		List<File> dirList = new ArrayList<File>();
+		
+		int index = 0;
+		
+		for (File dirUnit : dirs) {
+			
+			if (index++ == 0 && !includeRootDir) {
+				continue;
+			}
+			
+			dirList.add(dirUnit);			
+			index++;
+		}
+		
+		return dirList.toArray(new File[dirList.size()]);
+	}
+	
+	/**
+	 * 지정한 디렉토리 하위의 파일들을 File 타입의 배열로 가져온다. 
+	 * 
+	 * @param dir 디렉토리
+	 * @param recursive 하위 폴더 내부의 파일들에 대한 탐색 유무
+	 * @return 디렉토리 하위의 파일에 대한 File 타입의 배열
+	 */
+	public static File[] listFiles(String dir, boolean recursive) {
+		
+		return org.apache.commons.io.FileUtils.convertFileCollectionToFileArray(
+				org.apache.commons.io.FileUtils.listFiles(new File(dir), null, recursive));	
+	}
+	
+	/**
+	 * 지정한 디렉토리 하위의 파일명들에 대한 리스트를 가져온다.
+	 * 
+	 * @param dir 디렉토리
+	 * @param recursive 하위 폴더 내부의 파일들에 대한 탐색 유무
+	 * @return 디렉토리 하위의 파일들에 대한 파일명 리스트
+	 */
+	public static List<String> listFileNames(String dir, boolean recursive) throws FileUtilsException {
+		
+		Collection<File> files = null;
+		
+		try {
+			files = org.apache.commons.io.FileUtils.listFiles(new File(dir), null, recursive);
+		} catch (Exception e) {
+			throw new FileUtilsException(e.getMessage());
+		}
+		
+		List<String> fileNamesList = new ArrayList<String>();
+		
+		for (File file : files) {
+			fileNamesList.add(file.getAbsolutePath());
+		}
+		
+		return fileNamesList;
+	}
+	
+	/**
+	 * 지정한 파일 확장자로 구성된 파일들에 대한 리스트를 가져온다.
+	 * 
+	 * @param dir 디렉토리 
+	 * @param recursive 하위 폴더 내부의 파일들에 대한 작업 유무
+	 * @param extList 포함시킬 확장자 리스트
+	 * @return 지정한 파일 확장자로 구성된 파일들에 대한 리스트
+	 */
+	public static List<String> listFilenamesIncludeExt(String dir, boolean recursive, String... extList) {
+		
+		List<File> extFilterList = (List<File>) org.apache.commons.io.FileUtils.listFiles(new File(dir), extList,  recursive);
+		
+		List<String> resultList = new ArrayList<String>();
+		
+		for (File file : extFilterList) {
+			resultList.add(file.getAbsolutePath());
+		}
+		
+		return resultList;		
+	}
+
+	/**
+	 * 지정한 파일 확장자로 구성된 파일들을 File 타입의 배열로 가져온다.
+	 * 
+	 * @param dir 디렉토리 
+	 * @param recursive 하위 폴더 내부의 파일들에 대한 작업 유무
+	 * @param extList 포함시킬 확장자 리스트
+	 * @return 지정한 파일 확장자로 구성된 파일들에 대한 File 타입의 배열
+	 */
+	public static File[] listFilesIncludeExt(String dir, boolean recursive, String... extList) {
+		
+		Collection<File> resultFiles = org.apache.commons.io.FileUtils.listFiles(new File(dir), extList,  recursive);
+		
+		return org.apache.commons.io.FileUtils.convertFileCollectionToFileArray(resultFiles);		
+	}
+	
+	/**
+	 * 지정한 파일 확장자를 제외한 파일들의 파일명 리스트를 가져온다.
+	 * 
+	 * @param dir 디렉토리 
+	 * @param recursive 하위 폴더 내부의 파일들에 대한 작업 유무
+	 * @param extList 포함시킬 확장자 리스트
+	 * @return 지정한 파일 확장자를 제외한 파일들의 파일명 리스트
+	 */
+	public static List<String> listFilenamesExcludeExt(String dir, boolean recursive, String... extList) {
+		
+		IOFileFilter suffixFileFilters = new SuffixFileFilter(extList, IOCase.INSENSITIVE);
+		IOFileFilter excludeExtFilter = FileFilterUtils.notFileFilter(FileFilterUtils.or(suffixFileFilters));
+    	
+    	List<File> resultFiles = (List<File>) org.apache.commons.io.FileUtils.listFiles(new File(dir), excludeExtFilter, TrueFileFilter.INSTANCE);
+		
+		List<String> resultList = new ArrayList<String>();
+		
+		for (File file : resultFiles) {
+			resultList.add(file.getAbsolutePath());
+		}
+		
+		return resultList;		
+	}
+
+	/**
+	 * 지정한 파일 확장자를 제외한 파일들을 File 타입의 배열로 가져온다.
+	 * 
+	 * @param dir 디렉토리 
+	 * @param recursive 하위 폴더 내부의 파일들에 대한 작업 유무
+	 * @param extList 포함시킬 확장자 리스트
+	 * @return 지정한 파일 확장자를 제외한 파일들에 대한 File 타입의 배열
+	 */
+	public static File[] listFilesExcludeExt(String dir, boolean recursive, String... extList) {
+		
+		IOFileFilter suffixFileFilters = new SuffixFileFilter(extList, IOCase.INSENSITIVE);
+		IOFileFilter excludeExtFilter = FileFilterUtils.notFileFilter(FileFilterUtils.or(suffixFileFilters));
+    	
+		Collection<File> resultFiles = org.apache.commons.io.FileUtils.listFiles(new File(dir), excludeExtFilter, TrueFileFilter.INSTANCE);
+
+		return org.apache.commons.io.FileUtils.convertFileCollectionToFileArray(resultFiles);		
+	}
+	
+	/**
+	 * 지정한 와일드카드가 포함된 파일들에 대한 파일명의 리스트를 가져온다.<br>
+	 * 예) 와일드 카드: "test*.*" - test로 시작되는 파일 전부
+	 * 와일드카드에 경로 구분자('/')가 포함되면 경로 glob으로 처리하며(listFilesByGlob 참고), 함께 지정한 파일명 와일드카드는
+	 * recursive가 true면 모든 하위 디렉토리에서, false면 지정한 디렉토리에서만 찾는다.
+	 * 
+	 * @param dir 디렉토리
+	 * @param wildcards 포함시킬 와일드카드
+	 * @param recursive 하위 폴더 내부의 파일들에 대한 작업 유무
+	 * @return 지정한 와일드카드가 포함된 파일들에 대한 파일명의 리스트
+	 */
+	public static List<String> listFilenamesByWildcard(String dir, String[] wildcards, boolean recursive) {
+		
+		String[] globs = toPathGlobs(wildcards, recursive);
+		
+		if (globs != null) {
+			return listFilenamesByGlob(dir, globs);
+		}
+		
+		IOFileFilter wildcardFileFileter = wildcardFileFilter(wildcards);
+		
+		IOFileFilter recursiveDirFilter = null;
+		
+		if (recursive) {
+			recursiveDirFilter = TrueFileFilter.INSTANCE;
+		}
+		
+		Collection<File> resultFiles = org.apache.commons.io.FileUtils.listFiles(new File(dir), wildcardFileFileter, recursiveDirFilter);
+		
+		List<String> resultList = new ArrayList<String>();
+		
+		for (File file : resultFiles) {
+			resultList.add(file.getAbsolutePath());
+		}
+		
+		return resultList;		
+	}
+
+	/**
+	 * 지정한 와일드카드가 포함된 파일들에 대해 File 타입의 배열로 가져온다.<br>
+	 * 예) 와일드 카드: "test*.*" - test로 시작되는 파일 전부
+	 * 와일드카드에 경로 구분자('/')가 포함되면 경로 glob으로 처리하며(listFilesByGlob 참고), 함께 지정한 파일명 와일드카드는
+	 * recursive가 true면 모든 하위 디렉토리에서, false면 지정한 디렉토리에서만 찾는다.
+	 * 
+	 * @param dir 디렉토리
+	 * @param wildcards 포함시킬 와일드카드
+	 * @param recursive 하위 폴더 내부의 파일들에 대한 작업 유무
+	 * @return 지정한 와일드카드가 포함된 파일들에 대해 File 타입의 배열
+	 */
+	public static File[] listFilesByWildcard(String dir, String[] wildcards, boolean recursive) {
+		
+		String[] globs = toPathGlobs(wildcards, recursive);
+		
+		if (globs != null) {
+			return listFilesByGlob(dir, globs);
+		}
+		
+		IOFileFilter wildcardFileFileter = wildcardFileFilter(wildcards);
+		
+		IOFileFilter recursiveDirFilter = null;
+		
+		if (recursive) {
+			recursiveDirFilter = TrueFileFilter.INSTANCE;
+		}
+		
+		Collection<File> resultFiles = org.apache.commons.io.FileUtils.listFiles(new File(dir), wildcardFileFileter, recursiveDirFilter);
+		
+		return org.apache.commons.io.FileUtils.convertFileCollectionToFileArray(resultFiles);		
+	}
+	
+	/**
+	 * 지정한 경로 glob과 일치하는 파일들에 대해 File 타입의 배열로 가져온다. 대소문자는 구분하지 않는다.<br>
+	 * glob은 디렉토리 기준의 상대 경로이며 각 구간에 '*', '?'를 사용할 수 있고, "**" 구간은 0개 이상의 디렉토리와 일치한다.
+	 * glob과 일치할 수 없는 하위 디렉토리는 탐색하지 않으므로 깊은 날짜별 디렉토리에서도 필요한 경로만 읽는다.<br>
+	 * 예) "2024/*&#47;incoming/*.pdf" - 2024 하위 모든 디렉토리의 incoming 디렉토리에 있는 pdf 파일<br>
+	 * 예) "**&#47;*.pdf" - 모든 하위 디렉토리의 pdf 파일
 	 * 
 	 * @param dir 디렉토리
-	 * @return 해당 파일이 디렉토리가 아니면 true, 아니면 false
+	 * @param globs 포함시킬 경로 glob
+	 * @return 지정한 경로 glob과 일치하는 파일들에 대해 File 타입의 배열
 	 */
-	public static boolean isNotDir(File dir) {
-		return (!dir.isDirectory()) ? true : false;
+	public static File[] listFilesByGlob(String dir, String... globs) {
+		return listFilesByGlob(dir, IOCase.INSENSITIVE, globs);
 	}
 	
 	/**
-	 * 해당 target이 디렉토리가 아닌지를 체크한다.
+	 * 지정한 경로 glob과 일치하는 파일들에 대해 File 타입의 배열로 가져온다.<br>
+	 * 대소문자를 구분하고 glob 구간에 wildcard가 없으면 디렉토리 목록을 읽지 않고 해당 이름의 경로만 확인한다.
 	 * 
 	 * @param dir 디렉토리
-	 * @return 해당 파일이 디렉토리가 아니면 true, 아니면 false
+	 * @param caseSensitivity 대소문자 구분 방식
+	 * @param globs 포함시킬 경로 glob
+	 * @return 지정한 경로 glob과 일치하는 파일들에 대해 File 타입의 배열
 	 */
-	public static boolean isNotDir(String dir) {
-		return isNotDir(new File(dir));
-	}
-
-	/**
-	 * 해당 target이 파일이 아닌지를 체크한다.
-	 * 
-	 * @param file 파일
-	 * @return 해당 파일이 파일이 아니면 true, 아니면 false
-	 */
-	public static boolean isNotFile(File file) {
-		return (!file.isFile()) ? true : false;
+	public static File[] listFilesByGlob(String dir, IOCase caseSensitivity, String... globs) {
+		
+		List<File> resultFiles = new GlobFileWalker(globs, caseSensitivity).walk(new File(dir));
+		
+		return resultFiles.toArray(new File[resultFiles.size()]);
 	}
 	
 	/**
-	 * 해당 target이 파일이 아닌지를 체크한다.
+	 * 지정한 경로 glob과 일치하는 파일들에 대한 파일명의 리스트를 가져온다. 대소문자는 구분하지 않는다.
 	 * 
-	 * @param file 파일
-	 * @return 해당 파일이 파일이 아니면 true, 아니면 false
+	 * @param dir 디렉토리
+	 * @param globs 포함시킬 경로 glob
+	 * @return 지정한 경로 glob과 일치하는 파일들에 대한 파일명의 리스트
 	 */
-	public static boolean isNotFile(String file) {
-		return isNotFile(new File(file));
+	public static List<String> listFilenamesByGlob(String dir, String... globs) {
+		
+		List<String> resultList = new ArrayList<String>();
+		
+		for (File file : new GlobFileWalker(globs, IOCase.INSENSITIVE).walk(new File(dir))) {
+			resultList.add(file.getAbsolutePath());
+		}
+		
+		return resultList;
 	}
 	
-	/**
-	 * 지정한 디렉토리 하위의 디렉토리명과 파일명을 가져온다. 
-	 * 
-	 * @param dir 디렉토리
-	 * @param includeRootDir 가장 상위의 디렉토리명을 포함할지를 결정. (true면 최상위 폴더 포함)
-	 * @return 디렉토리 하위의 디렉토리명과 파일명에 대한 리스트
-	 */
-	public static List<String> listFileAndDirNames(String dir, boolean includeRootDir) {
+	private static String[] toPathGlobs(String[] wildcards, boolean recursive) {
 		
-		List<File> dirs = (List<File>) org.apache.commons.io.FileUtils.listFilesAndDirs(new File(dir), 
-				FileFileFilter.FILE, DirectoryFileFilter.DIRECTORY);
+		boolean pathGlob = false;
 		
-		List<String> dirNameList = new ArrayList<String>();
+		for (String wildcard : wildcards) {
+			pathGlob |= isPathGlob(wildcard);
+		}
 		
-		int index = 0;
+		if (!pathGlob) {
+			return null;
+		}
 		
-		for (File dirUnit : dirs) {
+		List<String> globs = new ArrayList<String>(wildcards.length);
+		
+		for (String wildcard : wildcards) {
 			
-			if (index++ == 0 && !includeRootDir) {
+			if (wildcard == null) {
 				continue;
 			}
 			
-			dirNameList.add(dirUnit.getAbsolutePath());			
-			index++;
+			// 파일명 와일드카드는 recursive일 때 모든 하위 디렉토리의 파일과 일치하도록 "**/"를 붙인다.
+			globs.add(recursive && !isPathGlob(wildcard) ? "**/" + wildcard : wildcard);
 		}
 		
-		return dirNameList;
+		return globs.toArray(new String[globs.size()]);
+	}
+	
+	private static boolean isPathGlob(String wildcard) {
+		return wildcard != null && (wildcard.indexOf('/') >= 0 || wildcard.indexOf('\\') >= 0);
 	}
 	
 	/**
-	 * 지정한 디렉토리 하위의 디렉토리명과 파일명을 File 타입의 배열로 가져온다. 
+	 * 지정한 와일드카드를 포함하지않는 파일들에 대한 파일명의 리스트를 가져온다.<br>
+	 * 예) 와일드 카드: "test*.*" - test로 시작되는 파일 전부 제외
 	 * 
 	 * @param dir 디렉토리
-	 * @param includeRootDir 가장 상위의 디렉토리명을 포함할지를 결정. (true면 최상위 폴더 포함)
-	 * @return 디렉토리 하위의 디렉토리명과 파일명에 대한 File 타입의 배열
+	 * @param wildcards 제외시킬 와일드카드
+	 * @param recursive 하위 폴더 내부의 파일들에 대한 작업 유무
+	 * @return 지정한 와일드카드에 포함되지않는 파일들에 대한 파일명의 리스트
 	 */
-	public static File[] listFilesAndDirs(String dir, boolean includeRootDir) {
-		
-		List<File> filesAndDirs = (List<File>) org.apache.commons.io.FileUtils.listFilesAndDirs(new File(dir), 
-				FileFileFilter.FILE, DirectoryFileFilter.DIRECTORY);
+	public static List<String> listExcludeFilenamesByWildcard(String dir, String[] wildcards, boolean recursive) {
 		
-		List<File> filesAndDirsList = new ArrayList<File>();
+		IOFileFilter wildcardExcludeFileFileter = new WildcardExcludeFileFilter(wildcards, IOCase.INSENSITIVE);
 		
-		int index = 0;
+		IOFileFilter recursiveDirFilter = null;
 		
-		for (File fileOrDir : filesAndDirs) {
-			
-			if (index++ == 0 && !includeRootDir) {
-				continue;
-			}
-			
-			filesAndDirsList.add(fileOrDir);			
-			index++;
+		if (recursive) {
+			recursiveDirFilter = TrueFileFilter.INSTANCE;
 		}
 		
-		return filesAndDirsList.toArray(new File[filesAndDirsList.size()]);
+		Collection<File> resultFiles = org.apache.commons.io.FileUtils.listFiles(new File(dir), wildcardExcludeFileFileter, recursiveDirFilter);
+		
+		List<String> resultList = new ArrayList<String>();
 		
+		for (File file : resultFiles) {
+			resultList.add(file.getAbsolutePath());
+		}
+		
+		return resultList;		
 	}
 	
 	/**
-	 * 지정한 디렉토리 하위의 디렉토리명을 가져온다. 
+	 * 지정한 와일드카드를 포함하지않는 파일들에 대해 File 타입의 배열로 가져온다.<br>
+	 * 예) 와일드 카드: "test*.*" - test로 시작되는 파일 전부 제외
 	 * 
 	 * @param dir 디렉토리
-	 * @param includeRootDir 가장 상위의 디렉토리명을 포함할지를 결정. (true면 최상위 폴더 포함)
-	 * @return 디렉토리 하위의 디렉토리명에 대한 리스트
+	 * @param wildcards 제외시킬 와일드카드
+	 * @param recursive 하위 폴더 내부의 파일들에 대한 작업 유무
+	 * @return 지정한 와일드카드에 포함되지않는 파일들에 대해 File 타입의 배열
 	 */
-	public static List<String> listDirNames(String dir, boolean includeRootDir) {
+	public static File[] listExcludeFilesByWildcard(String dir, String[] wildcards, boolean recursive) {
 		
-		List<File> dirs = (List<File>) org.apache.commons.io.FileUtils.listFilesAndDirs(new File(dir), 
-				new NotFileFilter(TrueFileFilter.INSTANCE), DirectoryFileFilter.DIRECTORY);
 		
-		List<String> dirNameList = new ArrayList<String>();
+		IOFileFilter wildcardExcludeFileFileter = new WildcardExcludeFileFilter(wildcards, IOCase.INSENSITIVE);
 		
-		int index = 0;
+		IOFileFilter recursiveDirFilter = null;
 		
-		for (File dirUnit : dirs) {
-			
-			if (index++ == 0 && !includeRootDir) {
-				continue;
-			}
-			
-			dirNameList.add(dirUnit.getAbsolutePath());			
-			index++;
+		if (recursive) {
+			recursiveDirFilter = TrueFileFilter.INSTANCE;
 		}
 		
-		return dirNameList;		
+		Collection<File> resultFiles = org.apache.commons.io.FileUtils.listFiles(new File(dir), wildcardExcludeFileFileter, recursiveDirFilter);
+		
+		return org.apache.commons.io.FileUtils.convertFileCollectionToFileArray(resultFiles);		
 	}
 	
 	/**
-	 * 지정한 디렉토리 하위의 디렉토리명을 File 타입의 배열로 가져온다. 
+	 * 지정한 디렉토리 하위의 파일들을 하나씩 읽어 반환하는 Iterator를 가져온다.<br>
+	 * 전체 목록을 메모리에 올리지 않으므로 대용량 디렉토리에서도 첫 결과를 바로 받을 수 있다.
+	 * 탐색을 중간에 멈추는 경우 반드시 close()를 호출해야 한다.
 	 * 
 	 * @param dir 디렉토리
-	 * @param includeRootDir 가장 상위의 디렉토리명을 포함할지를 결정. (true면 최상위 폴더 포함)
-	 * @return 디렉토리 하위의 디렉토리명에 대한 File 타입의 배열
+	 * @param recursive 하위 폴더 내부의 파일들에 대한 탐색 유무
+	 * @return 디렉토리 하위의 파일에 대한 FileEntryIterator
 	 */
-	public static File[] listDirs(String dir, boolean includeRootDir) {
-		
-		List<File> dirs = (List<File>) org.apache.commons.io.FileUtils.listFilesAndDirs(new File(dir), 
-				new NotFileFilter(TrueFileFilter.INSTANCE), DirectoryFileFilter.DIRECTORY);
-		
-		List<File> dirList = new ArrayList<File>();
-		
-		int index = 0;
-		
-		for (File dirUnit : dirs) {
-			
-			if (index++ == 0 && !includeRootDir) {
-				continue;
-			}
-			
-			dirList.add(dirUnit);			
-			index++;
-		}
-		
-		return dirList.toArray(new File[dirList.size()]);
+	public static FileEntryIterator iterateFiles(String dir, boolean recursive) {
+		return new FileEntryIterator(Paths.get(dir), recursive, false, null);
 	}
 	
 	/**
-	 * 지정한 디렉토리 하위의 파일들을 File 타입의 배열로 가져온다. 
+	 * 지정한 디렉토리 하위의 파일들을 Stream으로 가져온다.<br>
+	 * 엔트리는 필요할 때마다 하나씩 읽히며, 각 FileEntry는 탐색 시점에 읽은 BasicFileAttributes를 가지고 있다.
+	 * 사용 후에는 Stream을 close해야 한다.
 	 * 
 	 * @param dir 디렉토리
 	 * @param recursive 하위 폴더 내부의 파일들에 대한 탐색 유무
-	 * @return 디렉토리 하위의 파일에 대한 File 타입의 배열
+	 * @return 디렉토리 하위의 파일에 대한 Stream
 	 */
-	public static File[] listFiles(String dir, boolean recursive) {
-		
-		return org.apache.commons.io.FileUtils.convertFileCollectionToFileArray(
-				org.apache.commons.io.FileUtils.listFiles(new File(dir), null, recursive));	
+	public static Stream<FileEntry> streamFiles(String dir, boolean recursive) {
+		return new FileEntryIterator(Paths.get(dir), recursive, false, null).stream();
 	}
 	
 	/**
-	 * 지정한 디렉토리 하위의 파일명들에 대한 리스트를 가져온다.
+	 * 지정한 디렉토리 하위의 파일과 디렉토리들을 Stream으로 가져온다. 최상위 디렉토리는 포함하지 않는다.<br>
+	 * 사용 후에는 Stream을 close해야 한다.
 	 * 
 	 * @param dir 디렉토리
 	 * @param recursive 하위 폴더 내부의 파일들에 대한 탐색 유무
-	 * @return 디렉토리 하위의 파일들에 대한 파일명 리스트
+	 * @return 디렉토리 하위의 파일과 디렉토리에 대한 Stream
 	 */
-	public static List<String> listFileNames(String dir, boolean recursive) throws FileUtilsException {
+	public static Stream<FileEntry> streamFilesAndDirs(String dir, boolean recursive) {
+		return new FileEntryIterator(Paths.get(dir), recursive, true, null).stream();
+	}
+	
+	/**
+	 * 지정한 파일 확장자로 구성된 파일들을 Stream으로 가져온다.<br>
+	 * 사용 후에는 Stream을 close해야 한다.
+	 * 
+	 * @param dir 디렉토리 
+	 * @param recursive 하위 폴더 내부의 파일들에 대한 작업 유무
+	 * @param extList 포함시킬 확장자 리스트
+	 * @return 지정한 파일 확장자로 구성된 파일들에 대한 Stream
+	 */
+	public static Stream<FileEntry> streamFilesIncludeExt(String dir, boolean recursive, String... extList) {
 		
-		Collection<File> files = null;
+		IOFileFilter suffixFileFilter = new SuffixFileFilter(toSuffixes(extList));
 		
-		try {
-			files = org.apache.commons.io.FileUtils.listFiles(new File(dir), null, recursive);
-		} catch (Exception e) {
-			throw new FileUtilsException(e.getMessage());
-		}
+		return new FileEntryIterator(Paths.get(dir), recursive, false, suffixFileFilter).stream();
+	}
+	
+	/**
+	 * 지정한 파일 확장자를 제외한 파일들을 Stream으로 가져온다.<br>
+	 * 사용 후에는 Stream을 close해야 한다.
+	 * 
+	 * @param dir 디렉토리 
+	 * @param recursive 하위 폴더 내부의 파일들에 대한 작업 유무
+	 * @param extList 제외시킬 확장자 리스트
+	 * @return 지정한 파일 확장자를 제외한 파일들에 대한 Stream
+	 */
+	public static Stream<FileEntry> streamFilesExcludeExt(String dir, boolean recursive, String... extList) {
 		
-		List<String> fileNamesList = new ArrayList<String>();
+		IOFileFilter suffixFileFilters = new SuffixFileFilter(extList, IOCase.INSENSITIVE);
+		IOFileFilter excludeExtFilter = FileFilterUtils.notFileFilter(suffixFileFilters);
 		
-		for (File file : files) {
-			fileNamesList.add(file.getAbsolutePath());
-		}
+		return new FileEntryIterator(Paths.get(dir), recursive, false, excludeExtFilter).stream();
+	}
+	
+	/**
+	 * 지정한 와일드카드가 포함된 파일들을 Stream으로 가져온다.<br>
+	 * 예) 와일드 카드: "test*.*" - test로 시작되는 파일 전부<br>
+	 * 사용 후에는 Stream을 close해야 한다.
+	 * 
+	 * @param dir 디렉토리
+	 * @param wildcards 포함시킬 와일드카드
+	 * @param recursive 하위 폴더 내부의 파일들에 대한 작업 유무
+	 * @return 지정한 와일드카드가 포함된 파일들에 대한 Stream
+	 */
+	public static Stream<FileEntry> streamFilesByWildcard(String dir, String[] wildcards, boolean recursive) {
 		
-		return fileNamesList;
+		IOFileFilter wildcardFileFileter = wildcardFileFilter(wildcards);
+		
+		return new FileEntryIterator(Paths.get(dir), recursive, false, wildcardFileFileter).stream();
 	}
 	
 	/**
-	 * 지정한 파일 확장자로 구성된 파일들에 대한 리스트를 가져온다.
+	 * 지정한 와일드카드를 포함하지않는 파일들을 Stream으로 가져온다.<br>
+	 * 예) 와일드 카드: "test*.*" - test로 시작되는 파일 전부 제외<br>
+	 * 사용 후에는 Stream을 close해야 한다.
 	 * 
-	 * @param dir 디렉토리 
+	 * @param dir 디렉토리
+	 * @param wildcards 제외시킬 와일드카드
 	 * @param recursive 하위 폴더 내부의 파일들에 대한 작업 유무
-	 * @param extList 포함시킬 확장자 리스트
-	 * @return 지정한 파일 확장자로 구성된 파일들에 대한 리스트
+	 * @return 지정한 와일드카드에 포함되지않는 파일들에 대한 Stream
 	 */
-	public static List<String> listFilenamesIncludeExt(String dir, boolean recursive, String... extList) {
+	public static Stream<FileEntry> streamExcludeFilesByWildcard(String dir, String[] wildcards, boolean recursive) {
 		
-		List<File> extFilterList = (List<File>) org.apache.commons.io.FileUtils.listFiles(new File(dir), extList,  recursive);
+		IOFileFilter wildcardExcludeFileFileter = new WildcardExcludeFileFilter(wildcards, IOCase.INSENSITIVE);
 		
-		List<String> resultList = new ArrayList<String>();
+		return new FileEntryIterator(Paths.get(dir), recursive, false, wildcardExcludeFileFileter).stream();
+	}
+	
+	/**
+	 * 지정한 디렉토리 하위를 여러 스레드로 동시에 탐색하여 전체 bytes 수, 파일 수, 디렉토리 수, 확장자별 및 깊이별 사용량을 한 번에 구한다.<br>
+	 * 파일마다 stat을 한 번만 호출하므로 listFiles 후 파일별로 length()를 합산하는 것보다 빠르며,
+	 * 같은 디렉토리를 주기적으로 집계한다면 캐시를 사용하는 DirStatsCollector를 생성하여 재사용한다.
+	 * 
+	 * @param dir 디렉토리
+	 * @param parallelism 동시에 탐색할 스레드 수
+	 * @return 디렉토리 하위의 사용량 통계
+	 */
+	public static DirStats dirStatsParallel(File dir, int parallelism) {
+		return new DirStatsCollector(parallelism).collect(dir);
+	}
+	
+	/**
+	 * 지정한 디렉토리 하위를 여러 스레드로 동시에 탐색하여 전체 bytes 수, 파일 수, 디렉토리 수, 확장자별 및 깊이별 사용량을 한 번에 구한다.
+	 * 
+	 * @param dir 디렉토리
+	 * @param parallelism 동시에 탐색할 스레드 수
+	 * @return 디렉토리 하위의 사용량 통계
+	 */
+	public static DirStats dirStatsParallel(String dir, int parallelism) {
+		return dirStatsParallel(new File(dir), parallelism);
+	}
+	
+	/**
+	 * 지정한 디렉토리 하위를 여러 스레드로 동시에 탐색하며 조건에 맞는 파일을 visitor에 전달한다.<br>
+	 * 필터는 각 탐색 스레드에서 적용되며, visitor는 여러 스레드에서 동시에 호출되므로 thread-safe 해야 한다.
+	 * 
+	 * @param dir 디렉토리
+	 * @param recursive 하위 폴더 내부의 파일들에 대한 탐색 유무
+	 * @param fileFilter 파일명에 적용할 필터, null이면 전체 파일
+	 * @param parallelism 동시에 탐색할 스레드 수
+	 * @param visitor 파일을 전달받을 callback
+	 * @return visitor에 전달한 파일 수
+	 */
+	public static long walkParallel(String dir, boolean recursive, IOFileFilter fileFilter, int parallelism, Consumer<FileEntry> visitor) {
+		return new ParallelFileWalker(parallelism, recursive, false, fileFilter, null).walk(new File(dir), visitor);
+	}
+	
+	/**
+	 * 지정한 디렉토리 하위의 파일들을 여러 스레드로 동시에 탐색하여 File 타입의 배열로 가져온다. 
+	 * 
+	 * @param dir 디렉토리
+	 * @param recursive 하위 폴더 내부의 파일들에 대한 탐색 유무
+	 * @param parallelism 동시에 탐색할 스레드 수
+	 * @return 디렉토리 하위의 파일에 대한 File 타입의 배열
+	 */
+	public static File[] listFilesParallel(String dir, boolean recursive, int parallelism) {
+		return listParallel(dir, recursive, false, null, parallelism);
+	}
+	
+	/**
+	 * 지정한 디렉토리 하위의 디렉토리와 파일들을 여러 스레드로 동시에 탐색하여 File 타입의 배열로 가져온다. 
+	 * 
+	 * @param dir 디렉토리
+	 * @param includeRootDir 가장 상위의 디렉토리를 포함할지를 결정. (true면 최상위 폴더 포함)
+	 * @param parallelism 동시에 탐색할 스레드 수
+	 * @return 디렉토리 하위의 디렉토리와 파일에 대한 File 타입의 배열
+	 */
+	public static File[] listFilesAndDirsParallel(String dir, boolean includeRootDir, int parallelism) {
 		
-		for (File file : extFilterList) {
-			resultList.add(file.getAbsolutePath());
-		}
+		File[] filesAndDirs = listParallel(dir, true, true, null, parallelism);
 		
-		return resultList;		
+		return includeRootDir ? prependRootDir(dir, filesAndDirs) : filesAndDirs;
 	}
-
+	
 	/**
-	 * 지정한 파일 확장자로 구성된 파일들을 File 타입의 배열로 가져온다.
+	 * 지정한 디렉토리 하위의 디렉토리들을 여러 스레드로 동시에 탐색하여 File 타입의 배열로 가져온다. 
 	 * 
-	 * @param dir 디렉토리 
-	 * @param recursive 하위 폴더 내부의 파일들에 대한 작업 유무
-	 * @param extList 포함시킬 확장자 리스트
-	 * @return 지정한 파일 확장자로 구성된 파일들에 대한 File 타입의 배열
+	 * @param dir 디렉토리
+	 * @param includeRootDir 가장 상위의 디렉토리를 포함할지를 결정. (true면 최상위 폴더 포함)
+	 * @param parallelism 동시에 탐색할 스레드 수
+	 * @return 디렉토리 하위의 디렉토리에 대한 File 타입의 배열
 	 */
-	public static File[] listFilesIncludeExt(String dir, boolean recursive, String... extList) {
+	public static File[] listDirsParallel(String dir, boolean includeRootDir, int parallelism) {
 		
-		Collection<File> resultFiles = org.apache.commons.io.FileUtils.listFiles(new File(dir), extList,  recursive);
+		File[] dirs = listParallel(dir, true, true, FalseFileFilter.FALSE, parallelism);
 		
-		return org.apache.commons.io.FileUtils.convertFileCollectionToFileArray(resultFiles);		
+		return includeRootDir ? prependRootDir(dir, dirs) : dirs;
 	}
 	
 	/**
-	 * 지정한 파일 확장자를 제외한 파일들의 파일명 리스트를 가져온다.
+	 * 지정한 디렉토리 하위의 디렉토리명들을 여러 스레드로 동시에 탐색하여 가져온다. 
 	 * 
-	 * @param dir 디렉토리 
-	 * @param recursive 하위 폴더 내부의 파일들에 대한 작업 유무
-	 * @param extList 포함시킬 확장자 리스트
-	 * @return 지정한 파일 확장자를 제외한 파일들의 파일명 리스트
+	 * @param dir 디렉토리
+	 * @param includeRootDir 가장 상위의 디렉토리명을 포함할지를 결정. (true면 최상위 폴더 포함)
+	 * @param parallelism 동시에 탐색할 스레드 수
+	 * @return 디렉토리 하위의 디렉토리명에 대한 리스트
 	 */
-	public static List<String> listFilenamesExcludeExt(String dir, boolean recursive, String... extList) {
+	public static List<String> listDirNamesParallel(String dir, boolean includeRootDir, int parallelism) {
 		
-		IOFileFilter suffixFileFilters = new SuffixFileFilter(extList, IOCase.INSENSITIVE);
-		IOFileFilter excludeExtFilter = FileFilterUtils.notFileFilter(FileFilterUtils.or(suffixFileFilters));
-    	
-    	List<File> resultFiles = (List<File>) org.apache.commons.io.FileUtils.listFiles(new File(dir), excludeExtFilter, TrueFileFilter.INSTANCE);
+		File[] dirs = listDirsParallel(dir, includeRootDir, parallelism);
 		
-		List<String> resultList = new ArrayList<String>();
+		List<String> dirNameList = new ArrayList<String>(dirs.length);
 		
-		for (File file : resultFiles) {
-			resultList.add(file.getAbsolutePath());
+		for (File dirUnit : dirs) {
+			dirNameList.add(dirUnit.getAbsolutePath());
 		}
 		
-		return resultList;		
+		return dirNameList;
 	}
-
+	
 	/**
-	 * 지정한 파일 확장자를 제외한 파일들을 File 타입의 배열로 가져온다.
+	 * 지정한 파일 확장자로 구성된 파일들을 여러 스레드로 동시에 탐색하여 File 타입의 배열로 가져온다.
 	 * 
 	 * @param dir 디렉토리 
 	 * @param recursive 하위 폴더 내부의 파일들에 대한 작업 유무
+	 * @param parallelism 동시에 탐색할 스레드 수
 	 * @param extList 포함시킬 확장자 리스트
-	 * @return 지정한 파일 확장자를 제외한 파일들에 대한 File 타입의 배열
+	 * @return 지정한 파일 확장자로 구성된 파일들에 대한 File 타입의 배열
 	 */
-	public static File[] listFilesExcludeExt(String dir, boolean recursive, String... extList) {
-		
-		IOFileFilter suffixFileFilters = new SuffixFileFilter(extList, IOCase.INSENSITIVE);
-		IOFileFilter excludeExtFilter = FileFilterUtils.notFileFilter(FileFilterUtils.or(suffixFileFilters));
-    	
-		Collection<File> resultFiles = org.apache.commons.io.FileUtils.listFiles(new File(dir), excludeExtFilter, TrueFileFilter.INSTANCE);
-
-		return org.apache.commons.io.FileUtils.convertFileCollectionToFileArray(resultFiles);		
+	public static File[] listFilesIncludeExtParallel(String dir, boolean recursive, int parallelism, String... extList) {
+		return listParallel(dir, recursive, false, new SuffixFileFilter(toSuffixes(extList)), parallelism);
 	}
 	
 	/**
-	 * 지정한 와일드카드가 포함된 파일들에 대한 파일명의 리스트를 가져온다.<br>
-	 * 예) 와일드 카드: "test*.*" - test로 시작되는 파일 전부
+	 * 지정한 파일 확장자를 제외한 파일들을 여러 스레드로 동시에 탐색하여 File 타입의 배열로 가져온다.
 	 * 
-	 * @param dir 디렉토리
-	 * @param wildcards 포함시킬 와일드카드
+	 * @param dir 디렉토리 
 	 * @param recursive 하위 폴더 내부의 파일들에 대한 작업 유무
-	 * @return 지정한 와일드카드가 포함된 파일들에 대한 파일명의 리스트
+	 * @param parallelism 동시에 탐색할 스레드 수
+	 * @param extList 제외시킬 확장자 리스트
+	 * @return 지정한 파일 확장자를 제외한 파일들에 대한 File 타입의 배열
 	 */
-	public static List<String> listFilenamesByWildcard(String dir, String[] wildcards, boolean recursive) {
-		
-		IOFileFilter wildcardFileFileter = new WildcardFileFilter(wildcards, IOCase.INSENSITIVE);
-		
-		IOFileFilter recursiveDirFilter = null;
-		
-		if (recursive) {
-			recursiveDirFilter = TrueFileFilter.INSTANCE;
-		}
-		
-		Collection<File> resultFiles = org.apache.commons.io.FileUtils.listFiles(new File(dir), wildcardFileFileter, recursiveDirFilter);
-		
-		List<String> resultList = new ArrayList<String>();
+	public static File[] listFilesExcludeExtParallel(String dir, boolean recursive, int parallelism, String... extList) {
 		
-		for (File file : resultFiles) {
-			resultList.add(file.getAbsolutePath());
-		}
+		IOFileFilter suffixFileFilters = new SuffixFileFilter(extList, IOCase.INSENSITIVE);
 		
-		return resultList;		
+		return listParallel(dir, recursive, false, FileFilterUtils.notFileFilter(suffixFileFilters), parallelism);
 	}
-
+	
 	/**
-	 * 지정한 와일드카드가 포함된 파일들에 대해 File 타입의 배열로 가져온다.<br>
+	 * 지정한 와일드카드가 포함된 파일들을 여러 스레드로 동시에 탐색하여 File 타입의 배열로 가져온다.<br>
 	 * 예) 와일드 카드: "test*.*" - test로 시작되는 파일 전부
 	 * 
 	 * @param dir 디렉토리
 	 * @param wildcards 포함시킬 와일드카드
 	 * @param recursive 하위 폴더 내부의 파일들에 대한 작업 유무
+	 * @param parallelism 동시에 탐색할 스레드 수
 	 * @return 지정한 와일드카드가 포함된 파일들에 대해 File 타입의 배열
 	 */
-	public static File[] listFilesByWildcard(String dir, String[] wildcards, boolean recursive) {
-		
-		
-		IOFileFilter wildcardFileFileter = new WildcardFileFilter(wildcards, IOCase.INSENSITIVE);
-		
-		IOFileFilter recursiveDirFilter = null;
-		
-		if (recursive) {
-			recursiveDirFilter = TrueFileFilter.INSTANCE;
-		}
-		
-		Collection<File> resultFiles = org.apache.commons.io.FileUtils.listFiles(new File(dir), wildcardFileFileter, recursiveDirFilter);
-		
-		return org.apache.commons.io.FileUtils.convertFileCollectionToFileArray(resultFiles);		
+	public static File[] listFilesByWildcardParallel(String dir, String[] wildcards, boolean recursive, int parallelism) {
+		return listParallel(dir, recursive, false, wildcardFileFilter(wildcards), parallelism);
 	}
 	
 	/**
-	 * 지정한 와일드카드를 포함하지않는 파일들에 대한 파일명의 리스트를 가져온다.<br>
+	 * 지정한 와일드카드를 포함하지않는 파일들을 여러 스레드로 동시에 탐색하여 File 타입의 배열로 가져온다.<br>
 	 * 예) 와일드 카드: "test*.*" - test로 시작되는 파일 전부 제외
 	 * 
 	 * @param dir 디렉토리
 	 * @param wildcards 제외시킬 와일드카드
 	 * @param recursive 하위 폴더 내부의 파일들에 대한 작업 유무
-	 * @return 지정한 와일드카드에 포함되지않는 파일들에 대한 파일명의 리스트
+	 * @param parallelism 동시에 탐색할 스레드 수
+	 * @return 지정한 와일드카드에 포함되지않는 파일들에 대해 File 타입의 배열
 	 */
-	public static List<String> listExcludeFilenamesByWildcard(String dir, String[] wildcards, boolean recursive) {
-		
-		IOFileFilter wildcardExcludeFileFileter = new WildcardExcludeFileFilter(wildcards, IOCase.INSENSITIVE);
+	public static File[] listExcludeFilesByWildcardParallel(String dir, String[] wildcards, boolean recursive, int parallelism) {
+		return listParallel(dir, recursive, false, new WildcardExcludeFileFilter(wildcards, IOCase.INSENSITIVE), parallelism);
+	}
+
+	/**
+	 * 지정한 디렉토리의 파일 생성, 수정, 삭제를 감시하여 listener에 전달한다.<br>
+	 * 확장자를 지정하지 않으면 전체 파일을 감시하며, 사용 후에는 반환된 watcher를 close해야 한다.
+	 *
+	 * @param dir 감시할 디렉토리
+	 * @param recursive 하위 폴더 내부의 파일들에 대한 감시 유무
+	 * @param listener 파일 변경 이벤트를 전달받을 callback
+	 * @param extList 감시할 확장자 리스트
+	 * @return 시작된 HotFolderWatcher
+	 */
+	public static HotFolderWatcher watchDir(String dir, boolean recursive, FileChangeListener listener, String... extList) {
+
+		IOFileFilter suffixFileFilter = extList.length == 0 ? null : new SuffixFileFilter(toSuffixes(extList), IOCase.INSENSITIVE);
+
+		return startWatcher(dir, recursive, suffixFileFilter, listener);
+	}
+
+	/**
+	 * 지정한 와일드카드에 해당하는 파일의 생성, 수정, 삭제를 감시하여 listener에 전달한다.<br>
+	 * 예) 와일드 카드: "test*.*" - test로 시작되는 파일 전부<br>
+	 * 사용 후에는 반환된 watcher를 close해야 한다.
+	 *
+	 * @param dir 감시할 디렉토리
+	 * @param wildcards 감시할 와일드카드
+	 * @param recursive 하위 폴더 내부의 파일들에 대한 감시 유무
+	 * @param listener 파일 변경 이벤트를 전달받을 callback
+	 * @return 시작된 HotFolderWatcher
+	 */
+	public static HotFolderWatcher watchDirByWildcard(String dir, String[] wildcards, boolean recursive, FileChangeListener listener) {
+		return startWatcher(dir, recursive, wildcardFileFilter(wildcards), listener);
+	}
+
+	private static HotFolderWatcher startWatcher(String dir, boolean recursive, IOFileFilter fileFilter, FileChangeListener listener) {
+
+		HotFolderWatcher watcher = new HotFolderWatcher(new File(dir), recursive, fileFilter, HotFolderWatcher.DEFAULT_COALESCE_MILLIS, listener);
+		watcher.start();
+
+		return watcher;
+	}
+
+	private static File[] listParallel(String dir, boolean recursive, boolean includeDirs, IOFileFilter fileFilter, int parallelism) {
 		
-		IOFileFilter recursiveDirFilter = null;
+		final Queue<File> resultFiles = new ConcurrentLinkedQueue<File>();
 		
-		if (recursive) {
-			recursiveDirFilter = TrueFileFilter.INSTANCE;
-		}
+		new ParallelFileWalker(parallelism, recursive, includeDirs, fileFilter, null).walk(new File(dir), new Consumer<FileEntry>() {
+			@Override
+			public void accept(FileEntry entry) {
+				resultFiles.add(entry.getFile());
+			}
+		});
 		
-		Collection<File> resultFiles = org.apache.commons.io.FileUtils.listFiles(new File(dir), wildcardExcludeFileFileter, recursiveDirFilter);
+		return resultFiles.toArray(new File[resultFiles.size()]);
+	}
+	
+	private static File[] prependRootDir(String dir, File[] files) {
 		
-		List<String> resultList = new ArrayList<String>();
+		File[] result = new File[files.length + 1];
 		
-		for (File file : resultFiles) {
-			resultList.add(file.getAbsolutePath());
-		}
+		result[0] = new File(dir);
+		System.arraycopy(files, 0, result, 1, files.length);
 		
-		return resultList;		
+		return result;
 	}
 	
-	/**
-	 * 지정한 와일드카드를 포함하지않는 파일들에 대해 File 타입의 배열로 가져온다.<br>
-	 * 예) 와일드 카드: "test*.*" - test로 시작되는 파일 전부 제외
-	 * 
-	 * @param dir 디렉토리
-	 * @param wildcards 제외시킬 와일드카드
-	 * @param recursive 하위 폴더 내부의 파일들에 대한 작업 유무
-	 * @return 지정한 와일드카드에 포함되지않는 파일들에 대해 File 타입의 배열
-	 */
-	public static File[] listExcludeFilesByWildcard(String dir, String[] wildcards, boolean recursive) {
+	private static String[] toSuffixes(String[] extList) {
 		
+		String[] suffixes = new String[extList.length];
 		
-		IOFileFilter wildcardExcludeFileFileter = new WildcardExcludeFileFilter(wildcards, IOCase.INSENSITIVE);
-		
-		IOFileFilter recursiveDirFilter = null;
-		
-		if (recursive) {
-			recursiveDirFilter = TrueFileFilter.INSTANCE;
+		for (int i = 0; i < extList.length; i++) {
+			suffixes[i] = "." + extList[i];
 		}
 		
-		Collection<File> resultFiles = org.apache.commons.io.FileUtils.listFiles(new File(dir), wildcardExcludeFileFileter, recursiveDirFilter);
-		
-		return org.apache.commons.io.FileUtils.convertFileCollectionToFileArray(resultFiles);		
+		return suffixes;
 	}
 	
 	/**
@@ -1306,7 +2318,10 @@ public final class FileUtils {
 	/**
 	 * 원본 디렉토리가 대상 디렉토리 명으로 이동한다.<br>
 	 * preserveFileDate가 true면 원본디렉토리의 파일 최종 수정일을 그대로 사용하고 false면 현재 일자를 최종 수정일로
-	 * 설정한다.
+	 * 설정한다.<br>
+	 * 같은 볼륨에서는 디렉토리 이름만 atomic 하게 변경하므로 하위 파일의 최종 수정일은 그대로 유지되며,
+	 * 다른 볼륨으로는 임시 이름으로 복사 후 fsync 하고 대상 이름으로 rename 한다. 기존 대상 디렉토리는 복사가 끝난 후 교체되어 삭제된다.<br>
+	 * 대상 디렉토리로 이동은 완료되었으나 복사한 원본 디렉토리를 삭제하지 못한 경우에도 Result.FAIL을 반환하며, 메시지로 구분할 수 있다.
 	 * 
 	 * @param srcDir  원본 디렉토리
 	 * @param destDir 대상 디렉토리
@@ -1314,6 +2329,21 @@ public final class FileUtils {
 	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
 	 */
 	public static Result moveDir(File srcDir, File destDir, boolean preserveFileDate) {
+		return moveDir(srcDir, destDir, preserveFileDate, null);
+	}
+
+	/**
+	 * 원본 디렉토리가 대상 디렉토리 명으로 이동하며 진행 상황을 listener에 전달한다.<br>
+	 * 다른 볼륨으로 복사하는 경우에만 파일별 진행 상황을 전달하며, 같은 볼륨에서 이름만 변경하는 경우에는
+	 * 이동이 끝났을 때의 진행 상황만 한 번 전달한다.
+	 * 
+	 * @param srcDir  원본 디렉토리
+	 * @param destDir 대상 디렉토리
+	 * @param preserveFileDate 수정일 설정 플래그
+	 * @param listener 진행 상황 listener, null이면 전달하지 않는다.
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 */
+	public static Result moveDir(File srcDir, File destDir, boolean preserveFileDate, CopyProgressListener listener) {
 
 		Result result = Result.EMPTY;
 		
@@ -1325,27 +2355,20 @@ public final class FileUtils {
 			return buildFailResult(result, srcDir + "는 디렉토리가 아닙니다.");
 		}
 
-		if (destDir.exists()) {
-			
-			result = deleteDir(destDir);
-			
-			if (result == Result.FAIL) {
-				return buildFailResult(result, destDir + " 디렉토리 삭제중에 에러가 발생하였습니다.");
+		CopyProgressTracker tracker = CopyProgressTracker.of(listener);
+
+		try {
+			AtomicMover.moveDir(srcDir.toPath(), destDir.toPath(), preserveFileDate, tracker);
+		} catch (AtomicMover.SourceCleanupException e) {
+			return buildFailResult(result, destDir + "로 이동은 완료되었으나 원본 디렉토리를 삭제하지 못했습니다. " + e.getMessage());
+		} catch (IOException e) {
+			return buildFailResult(result, srcDir + " 디렉토리 이동중에 에러가 발생하였습니다. " + e.getMessage());
+		} finally {
+			if (tracker != null) {
+				tracker.finish();
 			}
 		}
 		
-		result = copyDir(srcDir, destDir, preserveFileDate);
-		
-		if (result == Result.FAIL) {
-			return buildFailResult(result, srcDir + " 디렉토리 복사중에 에러가 발생하였습니다.");
-		}
-            
-		result = deleteDir(srcDir);
-		
-		if (result == Result.FAIL) {
-			return buildFailResult(result, srcDir + " 디렉토리 삭제중에 에러가 발생하였습니다.");
-		}
-		
 		return Result.SUCCESS;
 	}
 	
@@ -1363,6 +2386,56 @@ public final class FileUtils {
 		return moveDir(new File(srcDir), new File(destDir), preserveFileDate);
 	}
 
+	/**
+	 * 원본 디렉토리가 대상 디렉토리 명으로 이동하며 진행 상황을 listener에 전달한다.
+	 * 
+	 * @param srcDir  원본 디렉토리
+	 * @param destDir 대상 디렉토리
+	 * @param preserveFileDate 수정일 설정 플래그
+	 * @param listener 진행 상황 listener, null이면 전달하지 않는다.
+	 * @return 성공하면 enum 타입의 Result.SUCCESS를 그렇지 않으면 Result.FAIL을 반환
+	 */
+	public static Result moveDir(String srcDir, String destDir, boolean preserveFileDate, CopyProgressListener listener) {
+		return moveDir(new File(srcDir), new File(destDir), preserveFileDate, listener);
+	}
+
+	/**
+	 * 원본 디렉토리를 대상 디렉토리명으로 이동한다. 대상 디렉토리를 지우고 전부 다시 복사하는 대신
+	 * 새로 생겼거나 변경된 파일만 복사하고 원본에 없는 대상 파일은 삭제한 후 원본 디렉토리를 삭제한다.<br>
+	 * 복사 중 에러가 발생하면 원본 디렉토리는 삭제하지 않는다.
+	 *
+	 * @param srcDir  원본 디렉토리
+	 * @param destDir 대상 디렉토리
+	 * @param compareContent 수정일 대신 파일 내용 비교 유무
+	 * @param parallelism 동시에 복사할 스레드 수
+	 * @return 복사한 파일 수, 건너뛴 파일 수, 삭제한 파일 수, 소요 시간이 담긴 CopyReport
+	 */
+	public static CopyReport moveDirIncremental(File srcDir, File destDir, boolean compareContent, int parallelism) {
+
+		CopyReport report = copyDirIncremental(srcDir, destDir, compareContent, true, parallelism);
+
+		if (report.isSuccess() && deleteDir(srcDir) == Result.FAIL) {
+			return report.withFailure(srcDir + " 디렉토리 삭제중에 에러가 발생하였습니다.");
+		}
+
+		return report;
+	}
+
+	/**
+	 * 원본 디렉토리를 대상 디렉토리명으로 이동한다. 대상 디렉토리를 지우고 전부 다시 복사하는 대신
+	 * 새로 생겼거나 변경된 파일만 복사하고 원본에 없는 대상 파일은 삭제한 후 원본 디렉토리를 삭제한다.<br>
+	 * 복사 중 에러가 발생하면 원본 디렉토리는 삭제하지 않는다.
+	 *
+	 * @param srcDir  원본 디렉토리
+	 * @param destDir 대상 디렉토리
+	 * @param compareContent 수정일 대신 파일 내용 비교 유무
+	 * @param parallelism 동시에 복사할 스레드 수
+	 * @return 복사한 파일 수, 건너뛴 파일 수, 삭제한 파일 수, 소요 시간이 담긴 CopyReport
+	 */
+	public static CopyReport moveDirIncremental(String srcDir, String destDir, boolean compareContent, int parallelism) {
+		return moveDirIncremental(new File(srcDir), new File(destDir), compareContent, parallelism);
+	}
+
 	/**
 	 * 원본 디렉토리가 대상 디렉토리 하위로 이동한다.
 	 * 
@@ -1417,26 +2490,7 @@ public final class FileUtils {
 		}
 		
 		
-		String subDir = destDir.getAbsolutePath() + "/" + srcDir.getName();
-		File destSubDir = new File(subDir);
-
-		if (destSubDir.exists() && destSubDir.isDirectory()) {
-			
-			result = deleteDir(destSubDir);
-			
-			if (result == Result.FAIL) {
-				return buildFailResult(result, destDir + " 디렉토리 삭제중에 에러가 발생하였습니다.");
-			}
-		}
-
-		if (FileUtils.notExistsDir(subDir)) {
-			
-			result = createDir(subDir);
-			
-			if (result == Result.FAIL) {
-				return buildFailResult(result, destDir + " 디렉토리 생성 중에 에러가 발생하였습니다.");
-			}
-		}
+		File destSubDir = new File(destDir, srcDir.getName());
 		
 		result = moveDir(srcDir, destSubDir, preserveFileDate);
 		
@@ -1486,7 +2540,9 @@ public final class FileUtils {
 	/**
 	 * 원본 파일을 대상 파일 명으로 이동한다.<br>
 	 * preserveFileDate가 true면 원본디렉토리의 파일 최종 수정일을 그대로 사용하고 false면 현재 일자를 최종 수정일로
-	 * 설정한다.
+	 * 설정한다.<br>
+	 * 같은 볼륨에서는 atomic rename으로, 다른 볼륨으로는 임시 이름으로 복사 후 fsync 하고 대상 이름으로 rename 하므로
+	 * 대상 파일이 보이면 내용이 모두 기록된 상태이다.
 	 * 
 	 * @param srcFile  원본 파일
 	 * @param destFile 대상 파일
@@ -1505,25 +2561,16 @@ public final class FileUtils {
 			return buildFailResult(result, srcFile + "는 파일이 아닙니다.");
 		}
 
-		if (destFile.exists()) {
-			
-			result = deleteFile(destFile);
-			
-			if (result == Result.FAIL) {
-				return buildFailResult(result, destFile + " 파일 삭제중에 에러가 발생하였습니다.");
-			}
-		}
-		
-		result = copyFile(srcFile, destFile, preserveFileDate);
-		
-		if (result == Result.FAIL) {
-			return buildFailResult(result, srcFile + " 파일 복사중에 에러가 발생하였습니다.");
+		if (destFile.isDirectory()) {
+			return buildFailResult(result, destFile + "는 디렉토리입니다.");
 		}
-            
-		result = deleteFile(srcFile);
 		
-		if (result == Result.FAIL) {
-			return buildFailResult(result, srcFile + " 파일 삭제중에 에러가 발생하였습니다.");
+		try {
+			AtomicMover.moveFile(srcFile.toPath(), destFile.toPath(), preserveFileDate);
+		} catch (AtomicMover.SourceCleanupException e) {
+			return buildFailResult(result, destFile + "로 이동은 완료되었으나 원본 파일을 삭제하지 못했습니다. " + e.getMessage());
+		} catch (IOException e) {
+			return buildFailResult(result, srcFile + " 파일 이동중에 에러가 발생하였습니다. " + e.getMessage());
 		}
 		
 		return Result.SUCCESS;
@@ -1957,21 +3004,18 @@ public final class FileUtils {
     
     /**
 	 * 파일을 읽어 들인 후 바이트 배열로 반환한다.<br>
+	 * 파일 크기와 같은 길이의 배열에 바로 읽으며, mappedReadThreshold 이상의 파일은 memory-map 하여 읽는다.
+	 * 파일 크기가 readSizeLimit을 넘으면 null을 반환하므로 이런 파일은 openInputStream으로 순차적으로 읽는다.
 	 * 
 	 * @param file 대상 파일
 	 * @return 원본 파일의 byte[]
 	 */
 	public static byte[] readFileToByteArray(File file) {
 
-		InputStream in = null;
-
 		try {
-			in = openInputStream(file);
-			return IOUtils.toByteArray(in, file.length());
+			return MappedFileReader.readBytes(file);
 		} catch (Exception e) {
 			return null;
-		} finally {
-			IOUtils.closeQuietly(in);
 		}
 	}
     
@@ -1984,9 +3028,42 @@ public final class FileUtils {
 	public static byte[] readFileToByteArray(String file) {
 		return readFileToByteArray(new File(file));
 	}
+
+	/**
+	 * 두 파일의 내용이 같은지 비교한다.<br>
+	 * 크기가 다르면 파일을 읽지 않고 바로 false를 반환하며, 크기가 같으면 큰 파일은 일정 크기씩 memory-map 하여
+	 * 8 bytes 단위로 비교하므로 파일 전체를 heap에 올리지 않는다. 두 파일이 모두 존재하지 않으면 true를 반환한다.
+	 * 
+	 * @param file1 비교할 파일
+	 * @param file2 비교할 파일
+	 * @return 내용이 같으면 true
+	 * @throws FileUtilsException 디렉토리이거나 읽는 중 에러가 발생한 경우
+	 */
+	public static boolean contentEquals(File file1, File file2) {
+
+		try {
+			return FileContentComparator.contentEquals(file1, file2);
+		} catch (IOException e) {
+			throw new FileUtilsException(e.getMessage());
+		}
+	}
+
+	/**
+	 * 두 파일의 내용이 같은지 비교한다.
+	 * 
+	 * @param file1 비교할 파일 경로
+	 * @param file2 비교할 파일 경로
+	 * @return 내용이 같으면 true
+	 * @throws FileUtilsException 디렉토리이거나 읽는 중 에러가 발생한 경우
+	 */
+	public static boolean contentEquals(String file1, String file2) {
+		return contentEquals(new File(file1), new File(file2));
+	}
 	
     /**
-     * 파일을 읽어 들인 후 지정한 charset으로 인토딩한 문자열을 반환한다.
+     * 파일을 읽어 들인 후 지정한 charset으로 인토딩한 문자열을 반환한다.<br>
+     * 파일 내용을 스레드별로 재사용하는 CharsetDecoder로 바로 decode 하며, mappedReadThreshold 이상의 파일은 memory-map 하여 읽는다.
+     * 파일 크기가 readSizeLimit을 넘으면 null을 반환하므로 이런 파일은 openMappedReader로 순차적으로 읽는다.
      * 
      * @param file 대상 파일 경로
      * @param encoding 인코딩할 charset
@@ -1994,15 +3071,31 @@ public final class FileUtils {
      */
     public static String readFileToString(File file, Charset encoding) {
         
-    	InputStream in = null;
-        in = openInputStream(file);
-        
         try {
-			return org.apache.commons.io.IOUtils.toString(in, Charsets.toCharset(encoding));
+			return MappedFileReader.readString(file, Charsets.toCharset(encoding));
 		} catch (Exception e) {
 			return null;
-		} finally {
-			IOUtils.closeQuietly(in);
+		}
+    }
+    
+    /**
+     * 파일을 일정 크기씩 memory-map 하면서 지정한 charset으로 decode 하는 Reader를 반환한다.<br>
+     * 파일 전체를 heap에 올리지 않으므로 readSizeLimit을 넘는 큰 파일도 읽을 수 있다. 사용 후 반드시 close 해야 한다.
+     * 
+     * @param file 대상 파일
+     * @param encoding decode 할 charset
+     * @return 파일 내용을 순차적으로 읽는 Reader
+     */
+    public static Reader openMappedReader(File file, Charset encoding) {
+    	
+    	if (notExistsFile(file)) {
+    		throw new FileUtilsException("File '" + file + "' does not exist");
+    	}
+    	
+    	try {
+			return new MappedFileReader(file, Charsets.toCharset(encoding));
+		} catch (IOException e) {
+			throw new FileUtilsException(e.getMessage());
 		}
     }
     
@@ -2029,7 +3122,8 @@ public final class FileUtils {
     
     /**
 	 * 원본 파일명을 대상 파일 명으로 변경한다.<br>
-	 * 파일변경후 원본 파일 삭제
+	 * 대상 파일이 존재하면 atomic 하게 교체하므로 대상 파일이 없는 순간이 생기지 않는다.
+	 * 다른 볼륨으로 변경하는 경우 임시 이름으로 복사 후 fsync 하고 대상 이름으로 변경한 뒤 원본 파일을 삭제한다.
 	 * 
 	 * @param srcFile  원본 파일
 	 * @param destFile 대상 파일
@@ -2043,36 +3137,19 @@ public final class FileUtils {
 			return buildFailResult(result, srcFile + "가 존재하지 않습니다.");
 		}
 		
-		if (existsFile(destFile)) {
-			
-			result = deleteFile(destFile);
-
-			if (result == Result.FAIL) {
-				return buildFailResult(result, destFile + " 삭제 중에 에러가 발생하였습니다");
-			}
+		if (existsDir(destFile)) {
+			return buildFailResult(result, destFile + "는 디렉토리입니다.");
 		}
 		
-		File file = new File(srcFile);
-		
-		if (!file.renameTo(new File(destFile))) {
-			
-			result = copyFile(srcFile, destFile, false);
-
-			if (result == Result.SUCCESS) {
-				
-				result = deleteFile(srcFile);
-				
-				if (result == Result.FAIL) {
-					deleteFile(destFile);
-				}
-			}
-
-			return result;
-			
-		} else {
-			
-			return Result.SUCCESS;
+		try {
+			AtomicMover.moveFile(Paths.get(srcFile), Paths.get(destFile), true);
+		} catch (AtomicMover.SourceCleanupException e) {
+			return buildFailResult(result, destFile + "로 이동은 완료되었으나 원본 파일을 삭제하지 못했습니다. " + e.getMessage());
+		} catch (IOException e) {
+			return buildFailResult(result, srcFile + " 이름 변경 중에 에러가 발생하였습니다. " + e.getMessage());
 		}
+		
+		return Result.SUCCESS;
 	}
 	
 	public static void main(String[] args) {
@@ -0,0 +1,280 @@
+package io.manasobi.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.io.IOCase;
+
+/**
+ * "2024/*&#47;incoming/*.pdf", "**&#47;*.pdf"처럼 '/'로 구분된 경로 glob과 일치하는 파일을 찾는 탐색기.<br>
+ * <ul>
+ * <li>glob의 각 구간은 '*', '?' wildcard를 사용할 수 있고, "**" 구간은 0개 이상의 디렉토리와 일치한다.</li>
+ * <li>여러 glob을 구간 단위의 NFA 하나로 합쳐 두고, 디렉토리마다 아직 일치할 수 있는 구간(상태)의 집합을 들고 내려간다.
+ * 남은 glob과 일치할 수 없는 디렉토리는 하위를 탐색하지 않는다.</li>
+ * <li>대소문자를 구분하고 다음 구간이 모두 wildcard 없는 이름이면 디렉토리 목록을 읽지 않고 해당 이름의 하위 경로만 확인한다.</li>
+ * </ul>
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+final class GlobFileWalker {
+
+	private static final String ANY_DIRS = "**";
+
+	/** 구간별 wildcard matcher, glob의 끝(일치 완료) 상태는 null */
+	private final WildcardMatcher[] matchers;
+
+	/** wildcard가 없는 구간의 이름, 그 외에는 null */
+	private final String[] literals;
+
+	private final boolean[] anyDirs;
+
+	private final boolean caseSensitive;
+
+	private final BitSet initialStates = new BitSet();
+
+	GlobFileWalker(String[] globs, IOCase caseSensitivity) {
+
+		if (globs == null || globs.length == 0) {
+			throw new IllegalArgumentException("The glob array must not be empty");
+		}
+
+		this.caseSensitive = caseSensitivity == null || caseSensitivity.isCaseSensitive();
+
+		List<String> segments = new ArrayList<String>();
+
+		for (String glob : globs) {
+
+			if (glob == null) {
+				throw new IllegalArgumentException("The glob must not be null");
+			}
+
+			initialStates.set(segments.size());
+
+			for (String segment : glob.replace('\\', '/').split("/")) {
+
+				if (segment.isEmpty() || ".".equals(segment)) {
+					continue;
+				}
+
+				// 연속된 "**" 구간은 하나로 합친다.
+				if (ANY_DIRS.equals(segment) && !segments.isEmpty() && ANY_DIRS.equals(segments.get(segments.size() - 1))) {
+					continue;
+				}
+
+				segments.add(segment);
+			}
+
+			segments.add(null);
+		}
+
+		int size = segments.size();
+
+		this.matchers = new WildcardMatcher[size];
+		this.literals = new String[size];
+		this.anyDirs = new boolean[size];
+
+		for (int state = 0; state < size; state++) {
+
+			String segment = segments.get(state);
+
+			if (segment == null) {
+				continue;
+			}
+
+			if (ANY_DIRS.equals(segment)) {
+				anyDirs[state] = true;
+				continue;
+			}
+
+			matchers[state] = WildcardMatcher.compile(new String[] {segment}, caseSensitivity);
+
+			if (segment.indexOf('*') < 0 && segment.indexOf('?') < 0) {
+				literals[state] = segment;
+			}
+		}
+
+		closeOverAnyDirs(initialStates);
+	}
+
+	/**
+	 * 기준 디렉토리 하위에서 glob과 일치하는 파일들을 찾는다.
+	 *
+	 * @param rootDir 기준 디렉토리
+	 * @return 일치하는 파일 목록
+	 */
+	List<File> walk(File rootDir) {
+
+		List<File> files = new ArrayList<File>();
+
+		if (!rootDir.isDirectory()) {
+			return files;
+		}
+
+		Deque<Visit> visits = new ArrayDeque<Visit>();
+		visits.push(new Visit(rootDir, initialStates));
+
+		while (!visits.isEmpty()) {
+
+			Visit visit = visits.pop();
+
+			Set<String> names = literalNames(visit.states);
+
+			if (names != null) {
+
+				for (String name : names) {
+
+					File child = new File(visit.dir, name);
+
+					if (child.exists()) {
+						visitChild(child, visit.states, files, visits);
+					}
+				}
+
+				continue;
+			}
+
+			DirectoryStream<Path> stream = null;
+
+			try {
+
+				stream = Files.newDirectoryStream(visit.dir.toPath());
+
+				for (Path path : stream) {
+					visitChild(path.toFile(), visit.states, files, visits);
+				}
+
+			} catch (IOException e) {
+				// 읽을 수 없는 디렉토리는 건너뛴다.
+			} catch (DirectoryIteratorException e) {
+				// 탐색 중 삭제된 디렉토리는 건너뛴다.
+			} finally {
+				IOUtils.closeQuietly(stream);
+			}
+		}
+
+		return files;
+	}
+
+	private void visitChild(File child, BitSet states, List<File> files, Deque<Visit> visits) {
+
+		BitSet nextStates = advance(states, child.getName());
+
+		if (nextStates.isEmpty()) {
+			return;
+		}
+
+		if (child.isDirectory()) {
+
+			if (hasPendingState(nextStates)) {
+				visits.push(new Visit(child, nextStates));
+			}
+
+		} else if (hasAcceptState(nextStates)) {
+			files.add(child);
+		}
+	}
+
+	private BitSet advance(BitSet states, String name) {
+
+		BitSet nextStates = new BitSet();
+
+		for (int state = states.nextSetBit(0); state >= 0; state = states.nextSetBit(state + 1)) {
+
+			if (anyDirs[state]) {
+				nextStates.set(state);
+			} else if (matchers[state] != null && matchers[state].matches(name)) {
+				nextStates.set(state + 1);
+			}
+		}
+
+		closeOverAnyDirs(nextStates);
+
+		return nextStates;
+	}
+
+	/**
+	 * "**" 구간은 0개의 디렉토리와도 일치하므로 바로 다음 구간도 함께 활성화한다.
+	 */
+	private void closeOverAnyDirs(BitSet states) {
+
+		for (int state = states.nextSetBit(0); state >= 0; state = states.nextSetBit(state + 1)) {
+			if (anyDirs[state]) {
+				states.set(state + 1);
+			}
+		}
+	}
+
+	/**
+	 * 대소문자를 구분하고 다음 구간이 모두 wildcard 없는 이름이면 그 이름들을 반환한다. 그 외에는 null을 반환한다.
+	 */
+	private Set<String> literalNames(BitSet states) {
+
+		if (!caseSensitive) {
+			return null;
+		}
+
+		Set<String> names = new LinkedHashSet<String>();
+
+		for (int state = states.nextSetBit(0); state >= 0; state = states.nextSetBit(state + 1)) {
+
+			if (matchers[state] == null && !anyDirs[state]) {
+				continue;
+			}
+
+			if (literals[state] == null) {
+				return null;
+			}
+
+			names.add(literals[state]);
+		}
+
+		return names;
+	}
+
+	private boolean hasPendingState(BitSet states) {
+
+		for (int state = states.nextSetBit(0); state >= 0; state = states.nextSetBit(state + 1)) {
+			if (matchers[state] != null || anyDirs[state]) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private boolean hasAcceptState(BitSet states) {
+
+		for (int state = states.nextSetBit(0); state >= 0; state = states.nextSetBit(state + 1)) {
+			if (matchers[state] == null && !anyDirs[state]) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static final class Visit {
+
+		private final File dir;
+
+		private final BitSet states;
+
+		private Visit(File dir, BitSet states) {
+			this.dir = dir;
+			this.states = states;
+		}
+	}
+
+}
@@ -0,0 +1,671 @@
+package io.manasobi.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.filefilter.IOFileFilter;
+
+import io.manasobi.constnat.Result;
+import io.manasobi.exception.FileUtilsException;
+
+/**
+ * hot folder로 들어오는 파일을 감지하여 worker 스레드에서 처리하고, 결과에 따라 완료/에러 디렉토리로 이동시키는 pipeline.
+ * <ul>
+ * <li>입력 디렉토리를 주기적으로 조회하여 쓰기가 끝난(stable) 파일만 처리 대상으로 삼는다.
+ * marker 확장자를 지정하면 marker 파일(예: a.pdf에 대한 a.end 또는 a.pdf.end)이 있는 파일을,
+ * 지정하지 않으면 stableMillis 동안 크기와 수정일이 변하지 않은 파일을 stable로 판단한다.
+ * a.end처럼 확장자를 뺀 이름의 marker는 a.pdf, a.xml 등 같은 이름의 파일들이 공유하므로, 같은 이름의 파일을 모두 가져온 후
+ * 마지막으로 가져온 파일과 함께 이동한다.</li>
+ * <li>처리 대상 파일은 작업 디렉토리 하위의 고유 디렉토리로 atomic rename 하여 가져오므로
+ * 같은 입력 디렉토리를 여러 pipeline이 공유하더라도 하나의 파일은 한 번만 처리된다.</li>
+ * <li>worker 큐가 가득 차면 더 이상 파일을 가져오지 않으므로 처리량을 넘는 파일은 입력 디렉토리에 그대로 남는다.</li>
+ * </ul>
+ * 시작 시 작업 디렉토리에 남아 있는 파일(비정상 종료로 처리되지 못한 파일)은 입력 디렉토리로 되돌린다.
+ * 설정은 start() 호출 전에만 변경할 수 있다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class HotFolderPipeline implements Closeable {
+
+	public static final long DEFAULT_POLL_INTERVAL_MILLIS = 1000;
+
+	public static final long DEFAULT_STABLE_MILLIS = 2000;
+
+	public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+	private final File inboxDir;
+
+	private final File inProcDir;
+
+	private final File doneDir;
+
+	private final File errorDir;
+
+	private final FileProcessor processor;
+
+	private int workerCount = Runtime.getRuntime().availableProcessors();
+
+	private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+	private long pollIntervalMillis = DEFAULT_POLL_INTERVAL_MILLIS;
+
+	private long stableMillis = DEFAULT_STABLE_MILLIS;
+
+	private IOFileFilter fileFilter;
+
+	private String[] markerExts = new String[0];
+
+	private final Map<String, Candidate> candidates = new HashMap<String, Candidate>();
+
+	/** 같은 이름의 파일이 남아 있을 수 있어 입력 디렉토리에 남겨 둔 공유 marker (scanner 스레드에서만 사용) */
+	private final Set<File> heldMarkers = new HashSet<File>();
+
+	private final Map<File, Long> inFlight = new ConcurrentHashMap<File, Long>();
+
+	private final AtomicLong claimedCount = new AtomicLong();
+
+	private final AtomicLong completedCount = new AtomicLong();
+
+	private final AtomicLong failedCount = new AtomicLong();
+
+	private ScheduledExecutorService scanner;
+
+	private ThreadPoolExecutor workers;
+
+	private volatile long startNanos;
+
+	/**
+	 * @param inboxDir 처리할 파일이 들어오는 입력 디렉토리
+	 * @param inProcDir 처리 중인 파일을 보관하는 작업 디렉토리
+	 * @param doneDir 처리가 끝난 파일을 이동할 완료 디렉토리
+	 * @param errorDir 처리 중 에러가 발생한 파일을 이동할 에러 디렉토리
+	 * @param processor 파일을 처리할 callback
+	 */
+	public HotFolderPipeline(File inboxDir, File inProcDir, File doneDir, File errorDir, FileProcessor processor) {
+		this.inboxDir = inboxDir;
+		this.inProcDir = inProcDir;
+		this.doneDir = doneDir;
+		this.errorDir = errorDir;
+		this.processor = processor;
+	}
+
+	/**
+	 * @param workerCount 동시에 파일을 처리할 worker 스레드 수
+	 */
+	public void setWorkerCount(int workerCount) {
+
+		checkNotStarted();
+
+		if (workerCount < 1) {
+			throw new IllegalArgumentException("workerCount는 1 이상이어야 합니다.");
+		}
+
+		this.workerCount = workerCount;
+	}
+
+	/**
+	 * @param queueCapacity 처리를 기다리는 파일의 최대 개수
+	 */
+	public void setQueueCapacity(int queueCapacity) {
+
+		checkNotStarted();
+
+		if (queueCapacity < 1) {
+			throw new IllegalArgumentException("queueCapacity는 1 이상이어야 합니다.");
+		}
+
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * @param pollIntervalMillis 입력 디렉토리 조회 주기(ms)
+	 */
+	public void setPollIntervalMillis(long pollIntervalMillis) {
+		checkNotStarted();
+		this.pollIntervalMillis = pollIntervalMillis;
+	}
+
+	/**
+	 * @param stableMillis 크기와 수정일이 이 시간(ms) 동안 변하지 않으면 쓰기가 끝난 파일로 판단한다
+	 */
+	public void setStableMillis(long stableMillis) {
+		checkNotStarted();
+		this.stableMillis = stableMillis;
+	}
+
+	/**
+	 * @param fileFilter 처리 대상 파일명에 적용할 필터, null이면 전체 파일
+	 */
+	public void setFileFilter(IOFileFilter fileFilter) {
+		checkNotStarted();
+		this.fileFilter = fileFilter;
+	}
+
+	/**
+	 * @param markerExts 쓰기 완료를 알리는 marker 파일의 확장자 리스트 (예: "end", "done")
+	 */
+	public void setMarkerExts(String... markerExts) {
+		checkNotStarted();
+		this.markerExts = markerExts.clone();
+	}
+
+	/**
+	 * 작업 디렉토리에 남아 있는 파일을 복구한 후 입력 디렉토리 조회와 worker 스레드를 시작한다.
+	 */
+	public synchronized void start() {
+
+		checkNotStarted();
+
+		for (File dir : new File[] {inboxDir, inProcDir, doneDir, errorDir}) {
+
+			if (FileUtils.notExistsDir(dir) && FileUtils.createDir(dir.getAbsolutePath()) == Result.FAIL) {
+				throw new FileUtilsException(dir + " 디렉토리 생성 중에 에러가 발생하였습니다.");
+			}
+		}
+
+		recoverInProc();
+
+		workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(queueCapacity), new NamedThreadFactory("hotfolder-worker"));
+
+		scanner = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("hotfolder-scanner"));
+
+		startNanos = System.nanoTime();
+
+		scanner.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					scan();
+				} catch (RuntimeException e) {
+					// 입력 디렉토리 조회 에러로 스케줄이 중단되지 않도록 다음 주기에 다시 시도한다.
+				}
+			}
+		}, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * 입력 디렉토리 조회를 중지하고, 이미 가져온 파일의 처리가 끝날 때까지 기다린다.
+	 */
+	@Override
+	public synchronized void close() {
+
+		if (scanner == null) {
+			return;
+		}
+
+		scanner.shutdownNow();
+
+		try {
+			// 진행 중인 조회가 가져온 파일을 worker에 넘길 수 있도록 조회가 끝난 후에 worker를 종료한다.
+			scanner.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		workers.shutdown();
+
+		try {
+			workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * @return 작업 디렉토리로 가져왔지만 아직 처리를 시작하지 않은 파일 수
+	 */
+	public int getQueueDepth() {
+		return workers == null ? 0 : workers.getQueue().size();
+	}
+
+	/**
+	 * @return 현재 처리 중인 파일 수
+	 */
+	public int getActiveCount() {
+		return workers == null ? 0 : workers.getActiveCount();
+	}
+
+	/**
+	 * @return 작업 디렉토리로 가져온 후 아직 끝나지 않은 파일 중 가장 오래된 파일의 대기 시간(ms), 없으면 0
+	 */
+	public long getOldestItemAgeMillis() {
+
+		long now = System.nanoTime();
+		long oldestAge = 0;
+
+		for (Long claimNanos : inFlight.values()) {
+			oldestAge = Math.max(oldestAge, now - claimNanos);
+		}
+
+		return TimeUnit.NANOSECONDS.toMillis(oldestAge);
+	}
+
+	/**
+	 * @return 작업 디렉토리로 가져온 파일 수
+	 */
+	public long getClaimedCount() {
+		return claimedCount.get();
+	}
+
+	/**
+	 * @return 정상 처리된 파일 수
+	 */
+	public long getCompletedCount() {
+		return completedCount.get();
+	}
+
+	/**
+	 * @return 처리 중 에러가 발생한 파일 수
+	 */
+	public long getFailedCount() {
+		return failedCount.get();
+	}
+
+	/**
+	 * @return 시작 이후 초당 처리한 파일 수 (정상 처리와 에러를 모두 포함)
+	 */
+	public double getThroughputPerSecond() {
+
+		if (startNanos == 0) {
+			return 0;
+		}
+
+		long elapsedNanos = System.nanoTime() - startNanos;
+
+		if (elapsedNanos <= 0) {
+			return 0;
+		}
+
+		return (completedCount.get() + failedCount.get()) * 1e9 / elapsedNanos;
+	}
+
+	private void scan() {
+
+		Set<String> seen = new HashSet<String>();
+
+		boolean scannedAll = false;
+
+		Scan scan = new Scan();
+
+		FileEntryIterator iterator = new FileEntryIterator(inboxDir.toPath(), false, false, fileFilter);
+
+		try {
+
+			while (iterator.hasNext()) {
+
+				if (workers.getQueue().remainingCapacity() <= scan.heldItems.size()) {
+					break;
+				}
+
+				FileEntry entry = iterator.next();
+
+				if (isMarker(entry.getName())) {
+					continue;
+				}
+
+				String key = entry.getAbsolutePath();
+
+				seen.add(key);
+
+				String baseName = FileNameUtils.getBaseName(entry.getName());
+
+				scan.seenBaseNames.add(baseName);
+
+				boolean claimed = false;
+
+				if (markerExts.length > 0) {
+
+					File marker = findMarker(entry.getFile(), scan);
+
+					if (marker != null) {
+						claimed = claim(entry.getFile(), marker, scan);
+					}
+
+				} else if (isStable(key, entry)) {
+					candidates.remove(key);
+					claimed = claim(entry.getFile(), null, scan);
+				}
+
+				if (!claimed) {
+					scan.waitingBaseNames.add(baseName);
+				}
+			}
+
+			scannedAll = !iterator.hasNext();
+
+		} finally {
+			iterator.close();
+			releaseSharedMarkers(scan, scannedAll);
+		}
+
+		if (scannedAll) {
+			candidates.keySet().retainAll(seen);
+		}
+	}
+
+	/**
+	 * 같은 이름의 파일을 모두 가져온 공유 marker를 마지막으로 가져온 파일의 작업 디렉토리로 옮긴 후, 보류한 작업을 worker에 넘긴다.
+	 */
+	private void releaseSharedMarkers(Scan scan, boolean scannedAll) {
+
+		for (Map.Entry<File, File> sharedMarker : scan.sharedMarkerDirs.entrySet()) {
+
+			File marker = sharedMarker.getKey();
+
+			if (!scannedAll || scan.waitingBaseNames.contains(FileNameUtils.getBaseName(marker.getName()))) {
+				heldMarkers.add(marker);
+				continue;
+			}
+
+			heldMarkers.remove(marker);
+			moveMarker(marker, sharedMarker.getValue());
+		}
+
+		if (scannedAll) {
+
+			// 이전 조회에서 남겨 두었지만 같은 이름의 파일이 더 이상 없는 marker는 완료 디렉토리로 옮긴다.
+			for (Iterator<File> it = heldMarkers.iterator(); it.hasNext();) {
+
+				File marker = it.next();
+
+				if (!scan.seenBaseNames.contains(FileNameUtils.getBaseName(marker.getName()))) {
+					it.remove();
+					moveMarker(marker, doneDir);
+				}
+			}
+		}
+
+		for (WorkItem workItem : scan.heldItems) {
+			submit(workItem);
+		}
+	}
+
+	private boolean isStable(String key, FileEntry entry) {
+
+		long now = System.nanoTime();
+
+		Candidate candidate = candidates.get(key);
+
+		if (candidate == null || candidate.size != entry.size() || candidate.lastModified != entry.lastModified()) {
+			candidates.put(key, new Candidate(entry.size(), entry.lastModified(), now));
+			return false;
+		}
+
+		return now - candidate.sinceNanos >= TimeUnit.MILLISECONDS.toNanos(stableMillis);
+	}
+
+	private boolean isMarker(String fileName) {
+
+		String ext = FileNameUtils.getExtension(fileName);
+
+		for (String markerExt : markerExts) {
+			if (markerExt.equalsIgnoreCase(ext)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * isMarker와 같이 확장자의 대소문자를 구분하지 않고 marker를 찾는다.
+	 * 지정한 확장자 그대로의 marker가 없으면 조회당 한 번 입력 디렉토리의 marker 목록을 만들어 찾는다.
+	 */
+	private File findMarker(File file, Scan scan) {
+
+		String baseName = FileNameUtils.getBaseName(file.getName());
+
+		for (String markerExt : markerExts) {
+
+			File marker = new File(file.getParentFile(), file.getName() + "." + markerExt);
+
+			if (marker.isFile()) {
+				return marker;
+			}
+
+			marker = new File(file.getParentFile(), baseName + "." + markerExt);
+
+			if (marker.isFile()) {
+				return marker;
+			}
+		}
+
+		if (scan.markers == null) {
+			scan.markers = listMarkers();
+		}
+
+		for (String markerExt : markerExts) {
+
+			String ext = markerExt.toLowerCase(Locale.ROOT);
+
+			File marker = scan.markers.get(file.getName() + "." + ext);
+
+			if (marker == null) {
+				marker = scan.markers.get(baseName + "." + ext);
+			}
+
+			if (marker != null && marker.isFile()) {
+				return marker;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * @return 확장자를 소문자로 바꾼 이름을 key로 하는 입력 디렉토리의 marker 목록
+	 */
+	private Map<String, File> listMarkers() {
+
+		Map<String, File> markers = new HashMap<String, File>();
+
+		FileEntryIterator iterator = new FileEntryIterator(inboxDir.toPath(), false, false, null);
+
+		try {
+
+			while (iterator.hasNext()) {
+
+				FileEntry entry = iterator.next();
+
+				if (isMarker(entry.getName())) {
+					markers.put(FileNameUtils.getBaseName(entry.getName()) + "."
+							+ FileNameUtils.getExtension(entry.getName()).toLowerCase(Locale.ROOT), entry.getFile());
+				}
+			}
+
+		} finally {
+			iterator.close();
+		}
+
+		return markers;
+	}
+
+	private boolean claim(File file, File marker, Scan scan) {
+
+		File claimDir = new File(inProcDir, UUID.randomUUID().toString());
+
+		if (!claimDir.mkdirs()) {
+			return false;
+		}
+
+		File claimedFile = new File(claimDir, file.getName());
+
+		try {
+			Files.move(file.toPath(), claimedFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			// 다른 consumer가 먼저 가져갔거나 삭제된 파일
+			claimDir.delete();
+			return false;
+		}
+
+		inFlight.put(claimedFile, System.nanoTime());
+		claimedCount.incrementAndGet();
+
+		WorkItem workItem = new WorkItem(claimDir, claimedFile);
+
+		if (marker != null && FileNameUtils.getBaseName(marker.getName()).equals(FileNameUtils.getBaseName(file.getName()))) {
+			// 같은 이름의 다른 파일도 사용하는 marker이므로 조회가 끝난 후에 처리한다.
+			scan.sharedMarkerDirs.put(marker, claimDir);
+			scan.heldItems.add(workItem);
+			return true;
+		}
+
+		if (marker != null) {
+			moveMarker(marker, claimDir);
+		}
+
+		return submit(workItem);
+	}
+
+	/**
+	 * 작업을 worker에 넘긴다. worker가 종료되어 거부되면 가져온 파일과 marker를 입력 디렉토리로 되돌린다.
+	 */
+	private boolean submit(WorkItem workItem) {
+
+		try {
+			workers.execute(workItem);
+			return true;
+		} catch (RejectedExecutionException e) {
+			finish(workItem.claimDir, inboxDir);
+			inFlight.remove(workItem.claimedFile);
+			claimedCount.decrementAndGet();
+			return false;
+		}
+	}
+
+	private static void moveMarker(File marker, File targetDir) {
+		try {
+			Files.move(marker.toPath(), new File(targetDir, marker.getName()).toPath(), StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			// marker는 처리 대상이 아니므로 이동하지 못해도 무시한다.
+		}
+	}
+
+	private void recoverInProc() {
+
+		File[] claimDirs = inProcDir.listFiles();
+
+		if (claimDirs == null) {
+			return;
+		}
+
+		for (File claimDir : claimDirs) {
+
+			if (!claimDir.isDirectory()) {
+				continue;
+			}
+
+			finish(claimDir, inboxDir);
+		}
+	}
+
+	private static void finish(File claimDir, File targetDir) {
+
+		File[] files = claimDir.listFiles();
+
+		if (files != null) {
+			for (File file : files) {
+				FileUtils.moveFileToDir(file, targetDir);
+			}
+		}
+
+		claimDir.delete();
+	}
+
+	private final class WorkItem implements Runnable {
+
+		private final File claimDir;
+
+		private final File claimedFile;
+
+		private WorkItem(File claimDir, File claimedFile) {
+			this.claimDir = claimDir;
+			this.claimedFile = claimedFile;
+		}
+
+		@Override
+		public void run() {
+
+			boolean success = false;
+
+			try {
+				processor.process(claimedFile);
+				success = true;
+			} catch (Exception e) {
+				// 에러 디렉토리로 이동한다.
+			} finally {
+
+				// Error가 발생한 경우에도 에러 디렉토리로 옮기고 처리 중 목록에서 제거해야 close()와 대기 시간 집계가 멈추지 않는다.
+				finish(claimDir, success ? doneDir : errorDir);
+
+				inFlight.remove(claimedFile);
+
+				if (success) {
+					completedCount.incrementAndGet();
+				} else {
+					failedCount.incrementAndGet();
+				}
+			}
+		}
+	}
+
+	/**
+	 * 한 번의 입력 디렉토리 조회 동안 공유 marker와 보류한 작업을 모은다.
+	 */
+	private static final class Scan {
+
+		private final Map<File, File> sharedMarkerDirs = new HashMap<File, File>();
+
+		private final List<WorkItem> heldItems = new ArrayList<WorkItem>();
+
+		private final Set<String> seenBaseNames = new HashSet<String>();
+
+		private final Set<String> waitingBaseNames = new HashSet<String>();
+
+		private Map<String, File> markers;
+	}
+
+	private void checkNotStarted() {
+		if (scanner != null) {
+			throw new IllegalStateException("이미 시작된 pipeline입니다.");
+		}
+	}
+
+	private static final class Candidate {
+
+		private final long size;
+
+		private final long lastModified;
+
+		private final long sinceNanos;
+
+		private Candidate(long size, long lastModified, long sinceNanos) {
+			this.size = size;
+			this.lastModified = lastModified;
+			this.sinceNanos = sinceNanos;
+		}
+	}
+
+}
@@ -0,0 +1,423 @@
+package io.manasobi.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.FileVisitOption;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.filefilter.IOFileFilter;
+
+import io.manasobi.exception.FileUtilsException;
+
+/**
+ * java.nio WatchService를 이용하여 hot folder의 파일 생성, 수정, 삭제를 감지하는 change feed.<br>
+ * 주기적으로 전체 트리를 다시 조회하는 대신 변경된 경로만 처리하므로 비용이 트리 크기가 아닌 변경 건수에 비례한다.
+ * <ul>
+ * <li>recursive가 true면 하위 디렉토리를 모두 등록하고, 새로 생긴 디렉토리도 자동으로 등록한다.</li>
+ * <li>짧은 시간(coalesceMillis) 안에 같은 파일에 대해 발생한 이벤트들은 하나로 합쳐서 전달한다.</li>
+ * <li>이벤트가 유실(OVERFLOW)되면 전체 트리를 한 번 다시 조회하여 놓친 변경 사항을 복구한다.</li>
+ * </ul>
+ * 마지막으로 확인한 파일 크기와 수정일을 메모리에 보관하며, 이를 기준으로 실제 변경 여부를 판단한다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class HotFolderWatcher implements Closeable {
+
+	public static final long DEFAULT_COALESCE_MILLIS = 200;
+
+	private static final int MAX_COALESCE_ROUNDS = 10;
+
+	private final Path rootDir;
+
+	private final boolean recursive;
+
+	private final IOFileFilter fileFilter;
+
+	private final long coalesceMillis;
+
+	private final FileChangeListener listener;
+
+	private final Map<WatchKey, Path> watchKeys = new HashMap<WatchKey, Path>();
+
+	private final TreeMap<String, FileState> snapshot = new TreeMap<String, FileState>();
+
+	private final Set<Path> dirtyPaths = new LinkedHashSet<Path>();
+
+	private final AtomicLong overflowCount = new AtomicLong();
+
+	private WatchService watchService;
+
+	private Thread watchThread;
+
+	private volatile boolean running;
+
+	private long firstDirtyNanos;
+
+	/**
+	 * @param rootDir 감시할 디렉토리
+	 * @param recursive 하위 디렉토리 감시 유무
+	 * @param fileFilter 파일명에 적용할 필터, null이면 전체 파일
+	 * @param coalesceMillis 이벤트를 모아서 전달하기 위해 대기하는 시간(ms)
+	 * @param listener 이벤트를 전달받을 callback
+	 */
+	public HotFolderWatcher(File rootDir, boolean recursive, IOFileFilter fileFilter, long coalesceMillis, FileChangeListener listener) {
+
+		if (!rootDir.isDirectory()) {
+			throw new FileUtilsException(rootDir + "는 디렉토리가 아닙니다.");
+		}
+
+		this.rootDir = rootDir.toPath().toAbsolutePath();
+		this.recursive = recursive;
+		this.fileFilter = fileFilter;
+		this.coalesceMillis = coalesceMillis;
+		this.listener = listener;
+	}
+
+	/**
+	 * 디렉토리를 등록하고 감시 스레드를 시작한다. 시작 시점에 이미 존재하는 파일들에 대해서는 이벤트를 전달하지 않는다.
+	 */
+	public synchronized void start() {
+
+		if (watchThread != null) {
+			throw new IllegalStateException("이미 시작된 watcher입니다.");
+		}
+
+		try {
+			watchService = rootDir.getFileSystem().newWatchService();
+			registerTree(rootDir, false);
+		} catch (IOException e) {
+			IOUtils.closeQuietly(watchService);
+			throw new FileUtilsException(e.getMessage());
+		}
+
+		running = true;
+
+		watchThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				watchLoop();
+			}
+		}, "hotfolder-watcher-" + rootDir.getFileName());
+
+		watchThread.setDaemon(true);
+		watchThread.start();
+	}
+
+	/**
+	 * 감시를 중지한다.
+	 */
+	@Override
+	public synchronized void close() {
+
+		running = false;
+
+		IOUtils.closeQuietly(watchService);
+
+		if (watchThread != null && watchThread != Thread.currentThread()) {
+			watchThread.interrupt();
+		}
+	}
+
+	/**
+	 * @return 감시 중이면 true, 아니면 false
+	 */
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * @return 이벤트 유실(OVERFLOW)로 전체 트리를 다시 조회한 횟수
+	 */
+	public long getOverflowCount() {
+		return overflowCount.get();
+	}
+
+	private void watchLoop() {
+
+		while (running) {
+
+			WatchKey key;
+
+			try {
+				key = dirtyPaths.isEmpty() ? watchService.take() : watchService.poll(coalesceMillis, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				break;
+			} catch (ClosedWatchServiceException e) {
+				break;
+			}
+
+			if (key != null) {
+				processKey(key);
+			}
+
+			if (key == null || System.nanoTime() - firstDirtyNanos >= TimeUnit.MILLISECONDS.toNanos(coalesceMillis * MAX_COALESCE_ROUNDS)) {
+				flush();
+			}
+		}
+
+		running = false;
+	}
+
+	private void processKey(WatchKey key) {
+
+		Path dir = watchKeys.get(key);
+
+		boolean overflow = false;
+
+		for (WatchEvent<?> event : key.pollEvents()) {
+
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				overflow = true;
+				continue;
+			}
+
+			if (dir == null) {
+				continue;
+			}
+
+			Path path = dir.resolve((Path) event.context());
+
+			if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && recursive && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+				registerTreeQuietly(path);
+			} else {
+				markDirty(path, event.kind() == StandardWatchEventKinds.ENTRY_DELETE);
+			}
+		}
+
+		if (!key.reset()) {
+			watchKeys.remove(key);
+		}
+
+		if (overflow) {
+			rescan();
+		}
+	}
+
+	private void markDirty(Path path, boolean deleted) {
+
+		if (dirtyPaths.isEmpty()) {
+			firstDirtyNanos = System.nanoTime();
+		}
+
+		String prefix = path.toString() + File.separator;
+
+		Map<String, FileState> children = snapshot.subMap(prefix, prefix + Character.MAX_VALUE);
+
+		if (!children.isEmpty()) {
+
+			for (String child : children.keySet()) {
+				dirtyPaths.add(rootDir.getFileSystem().getPath(child));
+			}
+
+			// 하위 디렉토리의 수정(touch, chmod 등) 이벤트로는 감시를 해제하지 않고, 삭제되거나 교체된 경우에만 해제 후 다시 등록한다.
+			boolean directory = Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS);
+
+			if (deleted || !directory) {
+				cancelKeysUnder(path);
+			}
+
+			if (directory && recursive) {
+				registerTreeQuietly(path);
+			}
+		}
+
+		if (isAccepted(path)) {
+			dirtyPaths.add(path);
+		}
+	}
+
+	private void cancelKeysUnder(Path dir) {
+
+		Iterator<Map.Entry<WatchKey, Path>> iterator = watchKeys.entrySet().iterator();
+
+		while (iterator.hasNext()) {
+
+			Map.Entry<WatchKey, Path> entry = iterator.next();
+
+			if (entry.getValue().startsWith(dir)) {
+				entry.getKey().cancel();
+				iterator.remove();
+			}
+		}
+	}
+
+	private void rescan() {
+
+		overflowCount.incrementAndGet();
+
+		List<String> knownFiles = new ArrayList<String>(snapshot.keySet());
+
+		for (String knownFile : knownFiles) {
+			markDirty(rootDir.getFileSystem().getPath(knownFile), false);
+		}
+
+		registerTreeQuietly(rootDir);
+		flush();
+	}
+
+	private void flush() {
+
+		for (Path path : dirtyPaths) {
+			reconcile(path);
+		}
+
+		dirtyPaths.clear();
+	}
+
+	private void reconcile(Path path) {
+
+		String key = path.toString();
+
+		FileState previous = snapshot.get(key);
+		FileState current = null;
+
+		try {
+
+			BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+
+			if (attributes.isRegularFile()) {
+				current = new FileState(attributes.size(), attributes.lastModifiedTime().toMillis());
+			}
+
+		} catch (IOException e) {
+			current = null;
+		}
+
+		if (current == null) {
+
+			if (previous != null) {
+				snapshot.remove(key);
+				fire(FileChangeEvent.Kind.DELETE, path, previous);
+			}
+
+		} else if (previous == null) {
+			snapshot.put(key, current);
+			fire(FileChangeEvent.Kind.CREATE, path, current);
+		} else if (!previous.equals(current)) {
+			snapshot.put(key, current);
+			fire(FileChangeEvent.Kind.MODIFY, path, current);
+		}
+	}
+
+	private void fire(FileChangeEvent.Kind kind, Path path, FileState state) {
+
+		try {
+			listener.onChange(new FileChangeEvent(kind, path.toFile(), state.size, state.lastModified));
+		} catch (RuntimeException e) {
+			// listener의 예외로 감시가 중단되지 않도록 무시한다.
+		}
+	}
+
+	private boolean isAccepted(Path path) {
+
+		if (fileFilter == null) {
+			return true;
+		}
+
+		Path parent = path.getParent();
+
+		return fileFilter.accept(parent == null ? null : parent.toFile(), path.getFileName().toString());
+	}
+
+	private void registerTreeQuietly(Path dir) {
+
+		try {
+			registerTree(dir, true);
+		} catch (IOException e) {
+			// 디렉토리가 등록 전에 삭제된 경우 등은 무시한다.
+		}
+	}
+
+	private void registerTree(final Path dir, final boolean markDirty) throws IOException {
+
+		int maxDepth = recursive ? Integer.MAX_VALUE : 1;
+
+		Files.walkFileTree(dir, EnumSet.noneOf(FileVisitOption.class), maxDepth, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult preVisitDirectory(Path subDir, BasicFileAttributes attrs) throws IOException {
+
+				WatchKey key = subDir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+
+				watchKeys.put(key, subDir);
+
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+
+				if (!attrs.isRegularFile() || !isAccepted(file)) {
+					return FileVisitResult.CONTINUE;
+				}
+
+				if (markDirty) {
+					markDirty(file, false);
+				} else {
+					snapshot.put(file.toString(), new FileState(attrs.size(), attrs.lastModifiedTime().toMillis()));
+				}
+
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFileFailed(Path file, IOException e) {
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	private static final class FileState {
+
+		private final long size;
+
+		private final long lastModified;
+
+		private FileState(long size, long lastModified) {
+			this.size = size;
+			this.lastModified = lastModified;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+
+			if (!(obj instanceof FileState)) {
+				return false;
+			}
+
+			FileState other = (FileState) obj;
+
+			return size == other.size && lastModified == other.lastModified;
+		}
+
+		@Override
+		public int hashCode() {
+			return (int) (size ^ (size >>> 32)) * 31 + (int) (lastModified ^ (lastModified >>> 32));
+		}
+	}
+
+}
@@ -48,6 +48,8 @@ import io.manasobi.exception.IOUtilsException;
  */
 public final class IOUtils {
 	
+	private static final int THROTTLED_BUFFER_SIZE = 64 * 1024;
+	
 	private IOUtils() { }
 
 	private static Result buildFailResult(Result result, String errMsg) {
@@ -280,6 +282,28 @@ public final class IOUtils {
 		}
 	}
 
+	/**
+	 * 큰 InputStream (2GB 이상)에서 OutputStream으로 bytes를 복사한다. 읽은 bytes 수만큼 IoThrottle의 token을 사용하므로
+	 * 설정한 속도를 넘지 않는다.
+	 * 
+	 * @param is InputStream에서 읽는다
+	 * @param os OutputStream 에 쓴다.
+	 * @param throttle 복사 속도를 제한할 IoThrottle, null이면 제한 없음
+	 * @return 복사한 bytes 수
+	 */
+	public static long copyLarge(InputStream is, OutputStream os, IoThrottle throttle) {
+		
+		if (throttle == null) {
+			return copyLarge(is, os);
+		}
+		
+		try {
+			return FileChannelCopier.meteredCopy(is, os, new byte[THROTTLED_BUFFER_SIZE], throttle, null);
+		} catch (Exception e) {
+			throw new IOUtilsException(e.getMessage());
+		}
+	}
+
 	/**
 	 * 큰 InputStream (2GB 이상)에서 OutputStream으로 bytes를 복사한다.
 	 * 
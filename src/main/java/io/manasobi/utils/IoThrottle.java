@@ -0,0 +1,177 @@
+package io.manasobi.utils;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 초당 bytes 수와 초당 파일 수를 제한하는 token bucket 방식의 I/O 제한기.<br>
+ * 각 bucket은 최대 1초 분량의 token을 모아 둘 수 있고, token이 부족하면 요청한 스레드가 부족한 만큼 대기한다.
+ * 여러 스레드가 하나의 인스턴스를 공유하면 전체 처리량이 설정한 속도를 넘지 않는다.<br>
+ * 속도는 실행 중에도 변경할 수 있으며 다음 요청부터 적용된다. 0 이하의 값은 제한 없음을 의미한다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class IoThrottle {
+
+	/** 제한 없음 */
+	public static final long UNLIMITED = 0;
+
+	/** 1초에 약 10번 나누어 요청하도록 하여 대기가 한 번에 몰리지 않게 한다. */
+	private static final int CHUNKS_PER_SECOND = 10;
+
+	private static final int MIN_CHUNK_SIZE = 64 * 1024;
+
+	private static final long MIN_SLEEP_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final TokenBucket byteBucket = new TokenBucket();
+
+	private final TokenBucket fileBucket = new TokenBucket();
+
+	/**
+	 * @param bytesPerSecond 초당 최대 bytes 수, 0 이하면 제한 없음
+	 * @param filesPerSecond 초당 최대 파일 수, 0 이하면 제한 없음
+	 */
+	public IoThrottle(long bytesPerSecond, long filesPerSecond) {
+		setBytesPerSecond(bytesPerSecond);
+		setFilesPerSecond(filesPerSecond);
+	}
+
+	/**
+	 * @return 초당 최대 bytes 수, 제한이 없으면 0
+	 */
+	public long getBytesPerSecond() {
+		return byteBucket.getRate();
+	}
+
+	/**
+	 * 초당 최대 bytes 수를 변경한다.
+	 *
+	 * @param bytesPerSecond 초당 최대 bytes 수, 0 이하면 제한 없음
+	 */
+	public void setBytesPerSecond(long bytesPerSecond) {
+		byteBucket.setRate(bytesPerSecond);
+	}
+
+	/**
+	 * @return 초당 최대 파일 수, 제한이 없으면 0
+	 */
+	public long getFilesPerSecond() {
+		return fileBucket.getRate();
+	}
+
+	/**
+	 * 초당 최대 파일 수를 변경한다.
+	 *
+	 * @param filesPerSecond 초당 최대 파일 수, 0 이하면 제한 없음
+	 */
+	public void setFilesPerSecond(long filesPerSecond) {
+		fileBucket.setRate(filesPerSecond);
+	}
+
+	/**
+	 * 지정한 bytes 수만큼 token을 사용한다. token이 부족하면 부족한 만큼 대기한다.
+	 *
+	 * @param bytes 읽거나 쓸 bytes 수
+	 * @throws InterruptedIOException 대기 중 인터럽트된 경우
+	 */
+	public void acquireBytes(long bytes) throws InterruptedIOException {
+		pause(byteBucket.reserve(bytes));
+	}
+
+	/**
+	 * 파일 하나만큼 token을 사용한다. token이 부족하면 부족한 만큼 대기한다.
+	 *
+	 * @throws InterruptedIOException 대기 중 인터럽트된 경우
+	 */
+	public void acquireFile() throws InterruptedIOException {
+		pause(fileBucket.reserve(1));
+	}
+
+	/**
+	 * 한 번에 요청할 bytes 수를 반환한다. 속도 제한이 있으면 약 0.1초 분량(최소 64KB)으로 줄여서 대기 시간이 고르게 나뉘도록 한다.
+	 *
+	 * @param maxChunkSize 제한이 없을 때 사용할 크기
+	 * @return 한 번에 요청할 bytes 수
+	 */
+	long chunkSize(long maxChunkSize) {
+
+		long rate = byteBucket.getRate();
+
+		if (rate <= 0) {
+			return maxChunkSize;
+		}
+
+		return Math.min(maxChunkSize, Math.max(MIN_CHUNK_SIZE, rate / CHUNKS_PER_SECOND));
+	}
+
+	private static void pause(long waitNanos) throws InterruptedIOException {
+
+		if (waitNanos < MIN_SLEEP_NANOS) {
+			return;
+		}
+
+		try {
+			TimeUnit.NANOSECONDS.sleep(waitNanos);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("I/O 속도 제한 대기 중 인터럽트 되었습니다.");
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "IoThrottle(bytesPerSecond=" + getBytesPerSecond() + ", filesPerSecond=" + getFilesPerSecond() + ")";
+	}
+
+	/**
+	 * 초당 rate 개의 token이 채워지고 최대 1초 분량까지 모아 둘 수 있는 bucket.<br>
+	 * token은 음수가 될 수 있으며, 음수인 만큼이 요청한 스레드가 대기할 시간이 된다.
+	 */
+	private static final class TokenBucket {
+
+		private long rate;
+
+		private double tokens;
+
+		private long lastRefillNanos = System.nanoTime();
+
+		private synchronized long getRate() {
+			return rate;
+		}
+
+		private synchronized void setRate(long rate) {
+
+			refill(System.nanoTime());
+
+			this.rate = Math.max(0, rate);
+			this.tokens = Math.min(tokens, this.rate);
+		}
+
+		/**
+		 * token을 사용하고, 부족한 token이 채워질 때까지 대기해야 하는 시간을 반환한다.
+		 */
+		private synchronized long reserve(long permits) {
+
+			if (rate <= 0) {
+				return 0;
+			}
+
+			refill(System.nanoTime());
+
+			tokens -= permits;
+
+			return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * TimeUnit.SECONDS.toNanos(1) / rate);
+		}
+
+		private void refill(long now) {
+
+			if (rate > 0) {
+				tokens = Math.min(rate, tokens + (double) (now - lastRefillNanos) * rate / TimeUnit.SECONDS.toNanos(1));
+			}
+
+			lastRefillNanos = now;
+		}
+	}
+
+}
@@ -0,0 +1,140 @@
+package io.manasobi.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.manasobi.constnat.OperationResult;
+
+/**
+ * checksum manifest 생성 및 검증 작업의 결과를 담는 불변 객체.<br>
+ * 처리한 파일 수와 bytes 수, 소요 시간과 함께 검증에서 내용이 다른 파일과 존재하지 않는 파일의 상대 경로 목록을 담는다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class ManifestReport {
+
+	private final long fileCount;
+
+	private final long byteCount;
+
+	private final List<String> mismatchedFiles;
+
+	private final List<String> missingFiles;
+
+	private final long elapsedNanos;
+
+	private final List<String> failures;
+
+	ManifestReport(long fileCount, long byteCount, List<String> mismatchedFiles, List<String> missingFiles, long elapsedNanos, List<String> failures) {
+		this.fileCount = fileCount;
+		this.byteCount = byteCount;
+		this.mismatchedFiles = Collections.unmodifiableList(new ArrayList<String>(mismatchedFiles));
+		this.missingFiles = Collections.unmodifiableList(new ArrayList<String>(missingFiles));
+		this.elapsedNanos = elapsedNanos;
+		this.failures = Collections.unmodifiableList(new ArrayList<String>(failures));
+	}
+
+	static ManifestReport fail(String errMsg) {
+		return new ManifestReport(0, 0, Collections.<String>emptyList(), Collections.<String>emptyList(), 0, Collections.singletonList(errMsg));
+	}
+
+	/**
+	 * 생성에서는 manifest에 기록한 파일 수를, 검증에서는 checksum이 일치한 파일 수를 반환한다.
+	 *
+	 * @return 처리한 파일 수
+	 */
+	public long getFileCount() {
+		return fileCount;
+	}
+
+	/**
+	 * 처리한 파일들의 bytes 합계를 반환한다.
+	 *
+	 * @return 읽은 bytes 수
+	 */
+	public long getByteCount() {
+		return byteCount;
+	}
+
+	/**
+	 * 검증에서 checksum이 manifest와 다른 파일의 상대 경로 목록을 반환한다.
+	 *
+	 * @return 내용이 다른 파일 목록, 없으면 빈 리스트
+	 */
+	public List<String> getMismatchedFiles() {
+		return mismatchedFiles;
+	}
+
+	/**
+	 * 검증에서 manifest에는 있지만 존재하지 않는 파일의 상대 경로 목록을 반환한다.
+	 *
+	 * @return 존재하지 않는 파일 목록, 없으면 빈 리스트
+	 */
+	public List<String> getMissingFiles() {
+		return missingFiles;
+	}
+
+	/**
+	 * 작업 소요 시간을 nano second 단위로 반환한다.
+	 *
+	 * @return 소요 시간(ns)
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * 작업 소요 시간을 milli second 단위로 반환한다.
+	 *
+	 * @return 소요 시간(ms)
+	 */
+	public long getElapsedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+	}
+
+	/**
+	 * 파일을 읽지 못했거나 manifest 형식이 잘못된 경우 등 작업 중 발생한 에러 메시지 목록을 반환한다.
+	 *
+	 * @return 에러 메시지 목록, 실패가 없으면 빈 리스트
+	 */
+	public List<String> getFailures() {
+		return failures;
+	}
+
+	/**
+	 * 에러 없이 작업이 완료되었고, 검증의 경우 모든 파일이 manifest와 일치하는지를 체크한다.
+	 *
+	 * @return 에러, 불일치, 누락이 없으면 true, 아니면 false
+	 */
+	public boolean isSuccess() {
+		return failures.isEmpty() && mismatchedFiles.isEmpty() && missingFiles.isEmpty();
+	}
+
+	/**
+	 * 작업 결과를 OperationResult로 변환한다. 실패가 있으면 에러, 불일치, 누락 건수를 메시지로 사용한다.
+	 *
+	 * @return 처리한 파일 수와 bytes 수, 소요 시간이 담긴 OperationResult
+	 */
+	public OperationResult toOperationResult() {
+
+		if (isSuccess()) {
+			return OperationResult.success(fileCount, byteCount, elapsedNanos);
+		}
+
+		String errMsg = failures.isEmpty() ? "" : failures.get(0) + " ";
+
+		errMsg += "(에러 " + failures.size() + "건, 불일치 " + mismatchedFiles.size() + "건, 누락 " + missingFiles.size() + "건)";
+
+		return OperationResult.fail(errMsg, fileCount, byteCount, elapsedNanos);
+	}
+
+	@Override
+	public String toString() {
+		return "ManifestReport(files=" + fileCount + ", bytes=" + byteCount + ", mismatched=" + mismatchedFiles.size() + ", missing=" + missingFiles.size()
+				+ ", elapsed=" + getElapsedMillis() + "ms, failures=" + failures.size() + ")";
+	}
+
+}
@@ -0,0 +1,361 @@
+package io.manasobi.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * FileUtils의 파일 읽기를 담당하는 내부 헬퍼이자, 큰 파일을 일정 크기씩 memory-map 하여 문자열로 decode 하는 Reader.<br>
+ * <ul>
+ * <li>readBytes/readString은 파일 크기만큼의 배열을 한 번에 할당하므로 읽는 도중 버퍼를 늘려가며 복사하지 않는다.
+ * mappedReadThreshold 이상의 파일은 FileChannel.map으로 매핑한 뒤 읽는다.</li>
+ * <li>문자열 decode에는 스레드별로 재사용하는 CharsetDecoder를 사용한다. 잘못된 byte는 대체 문자로 바꾼다.</li>
+ * <li>크기가 0으로 보이거나 일반 파일이 아닌 파일(/proc, FIFO 등)은 파일 끝까지 버퍼를 늘려가며 순차적으로 읽는다.</li>
+ * <li>readSizeLimit을 넘는 파일은 heap에 한 번에 올리지 않고 예외를 던진다. 이런 파일은 Reader로 열어 순차적으로 읽는다.</li>
+ * </ul>
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+final class MappedFileReader extends Reader {
+
+	static final long DEFAULT_MAPPED_READ_THRESHOLD = 1024L * 1024L;
+
+	static final long DEFAULT_READ_SIZE_LIMIT = Integer.MAX_VALUE - 8;
+
+	private static final long WINDOW_SIZE = 64L * 1024L * 1024L;
+
+	private static final int STREAM_BUFFER_SIZE = 8192;
+
+	private static volatile long mappedReadThreshold = DEFAULT_MAPPED_READ_THRESHOLD;
+
+	private static volatile long readSizeLimit = DEFAULT_READ_SIZE_LIMIT;
+
+	private static final ThreadLocal<Map<Charset, CharsetDecoder>> DECODERS = new ThreadLocal<Map<Charset, CharsetDecoder>>() {
+		@Override
+		protected Map<Charset, CharsetDecoder> initialValue() {
+			return new HashMap<Charset, CharsetDecoder>();
+		}
+	};
+
+	private final FileChannel channel;
+
+	private final long size;
+
+	private final CharsetDecoder decoder;
+
+	private MappedByteBuffer window;
+
+	private long windowStart;
+
+	private boolean decoded;
+
+	private boolean flushed;
+
+	/**
+	 * @param file 읽을 파일
+	 * @param encoding decode 할 charset
+	 * @throws IOException 파일을 열 수 없는 경우
+	 */
+	MappedFileReader(File file, Charset encoding) throws IOException {
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		this.size = channel.size();
+		this.decoder = newDecoder(encoding);
+	}
+
+	static long getMappedReadThreshold() {
+		return mappedReadThreshold;
+	}
+
+	static void setMappedReadThreshold(long threshold) {
+
+		if (threshold < 0) {
+			throw new IllegalArgumentException("threshold는 0 이상이어야 합니다.");
+		}
+
+		mappedReadThreshold = threshold;
+	}
+
+	static long getReadSizeLimit() {
+		return readSizeLimit;
+	}
+
+	static void setReadSizeLimit(long limit) {
+
+		if (limit < 0 || limit > DEFAULT_READ_SIZE_LIMIT) {
+			throw new IllegalArgumentException("limit는 0 이상 " + DEFAULT_READ_SIZE_LIMIT + " 이하여야 합니다.");
+		}
+
+		readSizeLimit = limit;
+	}
+
+	/**
+	 * 파일 전체를 파일 크기와 같은 길이의 byte 배열로 읽는다.
+	 *
+	 * @param file 읽을 파일
+	 * @return 파일 내용
+	 * @throws IOException 파일이 readSizeLimit보다 크거나 읽는 중 에러가 발생한 경우
+	 */
+	static byte[] readBytes(File file) throws IOException {
+
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+
+		try {
+
+			ByteBuffer buffer = readFully(file, channel);
+
+			if (buffer.hasArray()) {
+				return buffer.array().length == buffer.remaining() ? buffer.array() : Arrays.copyOf(buffer.array(), buffer.remaining());
+			}
+
+			byte[] bytes = new byte[buffer.remaining()];
+			buffer.get(bytes);
+
+			return bytes;
+
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * 파일 전체를 읽어 지정한 charset으로 decode 한 문자열을 반환한다.
+	 *
+	 * @param file 읽을 파일
+	 * @param encoding decode 할 charset
+	 * @return 파일 내용
+	 * @throws IOException 파일이 readSizeLimit보다 크거나 읽는 중 에러가 발생한 경우
+	 */
+	static String readString(File file, Charset encoding) throws IOException {
+
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+
+		try {
+
+			ByteBuffer buffer = readFully(file, channel);
+
+			if (buffer.hasArray()) {
+				// String 생성자가 charset에 맞는 크기로 decode 하므로 최대 크기의 CharBuffer를 거치지 않는다. 잘못된 byte는 마찬가지로 대체 문자로 바꾼다.
+				return new String(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), encoding);
+			}
+
+			return decodeMapped(file, reusableDecoder(encoding), buffer);
+
+		} finally {
+			channel.close();
+		}
+	}
+
+	@Override
+	public int read(char[] cbuf, int off, int len) throws IOException {
+
+		if (off < 0 || len < 0 || off + len > cbuf.length) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		if (len == 0) {
+			return 0;
+		}
+
+		CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+
+		while (out.hasRemaining() && !flushed) {
+
+			if (!decoded) {
+
+				if (window == null) {
+					mapNextWindow();
+				}
+
+				CoderResult coderResult = decoder.decode(window, out, isLastWindow());
+
+				if (coderResult.isOverflow()) {
+					break;
+				}
+
+				if (!isLastWindow()) {
+					// 창 끝에 걸린 불완전한 문자는 다음 창에 포함되도록 남은 위치부터 다시 매핑한다.
+					mapNextWindow();
+					continue;
+				}
+
+				decoded = true;
+			}
+
+			if (decoder.flush(out).isOverflow()) {
+				break;
+			}
+
+			flushed = true;
+		}
+
+		int read = out.position() - off;
+
+		return read == 0 && flushed ? -1 : read;
+	}
+
+	@Override
+	public void close() throws IOException {
+		window = null;
+		channel.close();
+	}
+
+	private boolean isLastWindow() {
+		return window == null ? size == 0 : windowStart + window.limit() >= size;
+	}
+
+	private void mapNextWindow() throws IOException {
+
+		long position = window == null ? 0 : windowStart + window.position();
+
+		windowStart = position;
+		window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, size - position));
+	}
+
+	private static ByteBuffer readFully(File file, FileChannel channel) throws IOException {
+
+		long fileSize = channel.size();
+
+		if (fileSize == 0 || !Files.isRegularFile(file.toPath())) {
+			// /proc 파일, FIFO, 장치 파일처럼 크기를 알 수 없는 파일은 끝까지 순차적으로 읽는다.
+			return readUntilEof(file, channel);
+		}
+
+		if (fileSize > readSizeLimit) {
+			throw new IOException(file + "의 크기(" + fileSize + " bytes)가 읽기 제한(" + readSizeLimit + " bytes)을 초과합니다. Reader로 읽어야 합니다.");
+		}
+
+		if (fileSize >= mappedReadThreshold) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate((int) fileSize);
+
+		while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+			// 파일 크기만큼 채울 때까지 읽는다.
+		}
+
+		buffer.flip();
+
+		return buffer;
+	}
+
+	private static ByteBuffer readUntilEof(File file, FileChannel channel) throws IOException {
+
+		ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(STREAM_BUFFER_SIZE, readSizeLimit + 1));
+
+		while (channel.read(buffer) >= 0) {
+
+			if (buffer.hasRemaining()) {
+				continue;
+			}
+
+			if (buffer.capacity() > readSizeLimit) {
+				throw new IOException(file + "의 크기가 읽기 제한(" + readSizeLimit + " bytes)을 초과합니다. Reader로 읽어야 합니다.");
+			}
+
+			// 읽기 제한을 넘었는지 알 수 있도록 제한보다 1 byte 큰 크기까지 늘린다.
+			ByteBuffer grown = ByteBuffer.allocate((int) Math.min(buffer.capacity() * 2L, readSizeLimit + 1));
+
+			buffer.flip();
+			grown.put(buffer);
+			buffer = grown;
+		}
+
+		buffer.flip();
+
+		return buffer;
+	}
+
+	/**
+	 * 평균 문자 수로 추정한 크기의 CharBuffer에 decode 하고, 부족하면 두 배씩 늘린다.
+	 */
+	private static String decodeMapped(File file, CharsetDecoder decoder, ByteBuffer in) throws IOException {
+
+		long capacity = (long) Math.ceil(in.remaining() * (double) decoder.averageCharsPerByte());
+
+		if (capacity > DEFAULT_READ_SIZE_LIMIT) {
+			throw tooLargeForString(file);
+		}
+
+		CharBuffer out = CharBuffer.allocate((int) capacity);
+
+		boolean decoded = false;
+
+		while (true) {
+
+			CoderResult coderResult = decoded ? decoder.flush(out) : decoder.decode(in, out, true);
+
+			if (coderResult.isOverflow()) {
+				out = grow(file, out);
+				continue;
+			}
+
+			if (!coderResult.isUnderflow()) {
+				coderResult.throwException();
+			}
+
+			if (decoded) {
+				break;
+			}
+
+			decoded = true;
+		}
+
+		out.flip();
+
+		return out.toString();
+	}
+
+	private static CharBuffer grow(File file, CharBuffer out) throws IOException {
+
+		if (out.capacity() >= DEFAULT_READ_SIZE_LIMIT) {
+			throw tooLargeForString(file);
+		}
+
+		CharBuffer grown = CharBuffer.allocate((int) Math.min(out.capacity() * 2L + 1, DEFAULT_READ_SIZE_LIMIT));
+
+		out.flip();
+		grown.put(out);
+
+		return grown;
+	}
+
+	private static IOException tooLargeForString(File file) {
+		return new IOException(file + "는 문자열로 읽기에 너무 큽니다. Reader로 읽어야 합니다.");
+	}
+
+	private static CharsetDecoder reusableDecoder(Charset encoding) {
+
+		Map<Charset, CharsetDecoder> decoders = DECODERS.get();
+
+		CharsetDecoder decoder = decoders.get(encoding);
+
+		if (decoder == null) {
+			decoder = newDecoder(encoding);
+			decoders.put(encoding, decoder);
+		}
+
+		return decoder.reset();
+	}
+
+	private static CharsetDecoder newDecoder(Charset encoding) {
+		return encoding.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+}
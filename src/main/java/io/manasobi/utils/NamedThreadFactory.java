@@ -0,0 +1,31 @@
+package io.manasobi.utils;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * prefix-번호 형식의 이름을 가진 daemon 스레드를 생성하는 내부 ThreadFactory.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+final class NamedThreadFactory implements ThreadFactory {
+
+	private final String prefix;
+
+	private final AtomicInteger sequence = new AtomicInteger();
+
+	NamedThreadFactory(String prefix) {
+		this.prefix = prefix;
+	}
+
+	@Override
+	public Thread newThread(Runnable runnable) {
+
+		Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+		thread.setDaemon(true);
+
+		return thread;
+	}
+
+}
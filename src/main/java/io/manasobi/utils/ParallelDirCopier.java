@@ -0,0 +1,379 @@
+package io.manasobi.utils;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.manasobi.constnat.Result;
+
+/**
+ * 디렉토리 트리를 병렬로 복사하는 엔진.<br>
+ * ForkJoinPool로 하위 디렉토리를 나누어 탐색하고, 발견된 파일은 별도의 복사 전용 스레드 풀에서 동시에 복사한다.<br>
+ * filter와 preserveFileDate의 의미는 commons-io의 copyDirectory와 동일하다.<br>
+ * 증분 모드에서는 대상 파일의 크기와 수정일(또는 내용)이 원본과 같으면 복사하지 않으며,
+ * 원본에 없는 대상 파일을 삭제하도록 설정할 수 있다.<br>
+ * CopyProgressListener를 설정하면 파일별 시작과 완료, 누적 bytes 수, 처리 속도와 남은 시간을 전달한다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class ParallelDirCopier {
+
+	private static final int QUEUE_CAPACITY_PER_THREAD = 64;
+
+	private final int parallelism;
+
+	private final FileFilter filter;
+
+	private final boolean preserveFileDate;
+
+	private boolean incremental;
+
+	private boolean compareContent;
+
+	private boolean deleteExtraneous;
+
+	private CopyProgressListener progressListener;
+
+	private long progressIntervalMillis = CopyProgressTracker.DEFAULT_SAMPLE_INTERVAL_MILLIS;
+
+	/**
+	 * @param parallelism 동시에 복사할 스레드 수
+	 * @param filter 복사 대상을 결정하는 필터, null이면 전체 복사
+	 * @param preserveFileDate 수정일 설정 플래그
+	 */
+	public ParallelDirCopier(int parallelism, FileFilter filter, boolean preserveFileDate) {
+
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism은 1 이상이어야 합니다.");
+		}
+
+		this.parallelism = parallelism;
+		this.filter = filter;
+		this.preserveFileDate = preserveFileDate;
+	}
+
+	/**
+	 * 증분 모드를 설정한다. 대상 파일의 크기가 같고, preserveFileDate가 true면 수정일이 같을 때,
+	 * false면 대상 파일의 수정일이 원본보다 이후일 때 변경이 없는 것으로 판단하여 복사하지 않는다.
+	 *
+	 * @param incremental 증분 모드 사용 유무
+	 */
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+	}
+
+	/**
+	 * 증분 모드에서 수정일 대신 파일 내용을 비교하여 변경 여부를 판단한다.<br>
+	 * 수정일을 신뢰할 수 없는 경우에 사용하며, 크기가 같은 파일은 양쪽을 모두 읽어야 하므로 느리다.
+	 *
+	 * @param compareContent 내용 비교 유무
+	 */
+	public void setCompareContent(boolean compareContent) {
+		this.compareContent = compareContent;
+	}
+
+	/**
+	 * 원본 디렉토리에 없는 대상 디렉토리의 파일 및 디렉토리를 삭제한다.
+	 *
+	 * @param deleteExtraneous 삭제 유무
+	 */
+	public void setDeleteExtraneous(boolean deleteExtraneous) {
+		this.deleteExtraneous = deleteExtraneous;
+	}
+
+	/**
+	 * 진행 상황을 전달받을 listener를 설정한다. onProgress는 1초 간격으로 호출된다.<br>
+	 * 필터나 증분 모드를 사용하지 않으면 복사 전에 원본 디렉토리의 파일 수와 크기를 병렬로 수집하여 남은 시간을 계산한다.
+	 *
+	 * @param listener 진행 상황 listener, null이면 전달하지 않는다.
+	 */
+	public void setProgressListener(CopyProgressListener listener) {
+		setProgressListener(listener, CopyProgressTracker.DEFAULT_SAMPLE_INTERVAL_MILLIS);
+	}
+
+	/**
+	 * 진행 상황을 전달받을 listener와 onProgress 호출 간격을 설정한다.
+	 *
+	 * @param listener 진행 상황 listener, null이면 전달하지 않는다.
+	 * @param intervalMillis onProgress 호출 간격(ms)
+	 */
+	public void setProgressListener(CopyProgressListener listener, long intervalMillis) {
+
+		if (intervalMillis < 0) {
+			throw new IllegalArgumentException("intervalMillis는 0 이상이어야 합니다.");
+		}
+
+		this.progressListener = listener;
+		this.progressIntervalMillis = intervalMillis;
+	}
+
+	/**
+	 * 원본 디렉토리를 대상 디렉토리명으로 병렬 복사한다.
+	 *
+	 * @param srcDir  원본 디렉토리
+	 * @param destDir 대상 디렉토리
+	 * @return 복사한 파일 수, bytes 수, 소요 시간이 담긴 CopyReport
+	 */
+	public CopyReport copy(File srcDir, File destDir) {
+
+		long startTime = System.nanoTime();
+
+		CopyContext context = new CopyContext();
+
+		try {
+
+			String srcPath = srcDir.getCanonicalPath();
+			String destPath = destDir.getCanonicalPath();
+
+			if (srcPath.equals(destPath)) {
+				return CopyReport.fail(srcDir + "와 " + destDir + "가 동일합니다.");
+			}
+
+			if (destPath.startsWith(srcPath + File.separator)) {
+				context.excludedPath = destPath;
+			}
+
+		} catch (IOException e) {
+			return CopyReport.fail(e.getMessage());
+		}
+
+		if (progressListener != null) {
+
+			context.tracker = new CopyProgressTracker(progressListener, progressIntervalMillis);
+
+			if (filter == null && !incremental) {
+				context.tracker.expectDir(srcDir, parallelism);
+			}
+		}
+
+		ForkJoinPool walkPool = new ForkJoinPool(parallelism);
+
+		context.copyPool = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(parallelism * QUEUE_CAPACITY_PER_THREAD), new ThreadPoolExecutor.CallerRunsPolicy());
+
+		try {
+
+			walkPool.invoke(new DirCopyTask(context, srcDir, destDir));
+
+			context.copyPool.shutdown();
+			context.copyPool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			context.failures.add("복사 작업이 중단되었습니다.");
+		} finally {
+			walkPool.shutdownNow();
+			context.copyPool.shutdownNow();
+		}
+
+		if (preserveFileDate) {
+			for (File[] dirPair : context.copiedDirs) {
+				dirPair[1].setLastModified(dirPair[0].lastModified());
+			}
+		}
+
+		if (context.tracker != null) {
+			context.tracker.finish();
+		}
+
+		return new CopyReport(context.fileCount.get(), context.byteCount.get(), context.skippedCount.get(), context.deletedCount.get(),
+				System.nanoTime() - startTime, new ArrayList<String>(context.failures));
+	}
+
+	private void copyFile(CopyContext context, File srcFile, File destFile) {
+
+		long length = 0;
+
+		if (incremental && isUnchanged(srcFile, destFile)) {
+			context.skippedCount.incrementAndGet();
+			return;
+		}
+
+		try {
+			length = FileChannelCopier.copy(srcFile, destFile, preserveFileDate, context.tracker);
+		} catch (IOException e) {
+			context.failures.add(srcFile + ": " + e.getMessage());
+			return;
+		}
+
+		context.fileCount.incrementAndGet();
+		context.byteCount.addAndGet(length);
+	}
+
+	private boolean isUnchanged(File srcFile, File destFile) {
+
+		if (!destFile.isFile() || destFile.length() != srcFile.length()) {
+			return false;
+		}
+
+		long srcTime = srcFile.lastModified();
+		long destTime = destFile.lastModified();
+
+		if (!compareContent) {
+			return preserveFileDate ? srcTime == destTime : destTime >= srcTime;
+		}
+
+		try {
+
+			if (!FileContentComparator.contentEquals(srcFile, destFile)) {
+				return false;
+			}
+
+		} catch (IOException e) {
+			return false;
+		}
+
+		if (preserveFileDate && srcTime != destTime) {
+			destFile.setLastModified(srcTime);
+		}
+
+		return true;
+	}
+
+	private void deleteExtraneous(CopyContext context, File srcDir, File destDir) {
+
+		File[] srcChildren = srcDir.listFiles();
+		File[] destChildren = destDir.listFiles();
+
+		if (srcChildren == null || destChildren == null) {
+			return;
+		}
+
+		Set<String> srcFileNames = new HashSet<String>();
+		Set<String> srcDirNames = new HashSet<String>();
+
+		for (File srcChild : srcChildren) {
+			(srcChild.isDirectory() ? srcDirNames : srcFileNames).add(srcChild.getName());
+		}
+
+		for (File destChild : destChildren) {
+
+			// 이름이 같더라도 파일과 디렉토리의 종류가 바뀌었으면 복사할 수 없으므로 삭제한다.
+			if ((destChild.isDirectory() ? srcDirNames : srcFileNames).contains(destChild.getName())) {
+				continue;
+			}
+
+			Result result = destChild.isDirectory() ? FileUtils.deleteDir(destChild) : FileUtils.deleteFile(destChild);
+
+			if (result == Result.SUCCESS) {
+				context.deletedCount.incrementAndGet();
+			} else {
+				context.failures.add(destChild + " 삭제 중에 에러가 발생하였습니다.");
+			}
+		}
+	}
+
+	private static final class CopyContext {
+
+		private final AtomicLong fileCount = new AtomicLong();
+
+		private final AtomicLong byteCount = new AtomicLong();
+
+		private final AtomicLong skippedCount = new AtomicLong();
+
+		private final AtomicLong deletedCount = new AtomicLong();
+
+		private final Queue<String> failures = new ConcurrentLinkedQueue<String>();
+
+		private final Queue<File[]> copiedDirs = new ConcurrentLinkedQueue<File[]>();
+
+		private String excludedPath;
+
+		private CopyProgressTracker tracker;
+
+		private ThreadPoolExecutor copyPool;
+	}
+
+	private final class DirCopyTask extends RecursiveAction {
+
+		private static final long serialVersionUID = -4402378437616950711L;
+
+		private final transient CopyContext context;
+
+		private final File srcDir;
+
+		private final File destDir;
+
+		private DirCopyTask(CopyContext context, File srcDir, File destDir) {
+			this.context = context;
+			this.srcDir = srcDir;
+			this.destDir = destDir;
+		}
+
+		@Override
+		protected void compute() {
+
+			if (!destDir.mkdirs() && !destDir.isDirectory()) {
+				context.failures.add(destDir + " 디렉토리 생성 중에 에러가 발생하였습니다.");
+				return;
+			}
+
+			File[] children = filter == null ? srcDir.listFiles() : srcDir.listFiles(filter);
+
+			if (children == null) {
+				context.failures.add(srcDir + "의 목록을 읽을 수 없습니다.");
+				return;
+			}
+
+			if (deleteExtraneous) {
+				deleteExtraneous(context, srcDir, destDir);
+			}
+
+			List<DirCopyTask> subTasks = new ArrayList<DirCopyTask>();
+
+			for (final File child : children) {
+
+				final File destChild = new File(destDir, child.getName());
+
+				if (child.isDirectory()) {
+
+					if (isExcluded(child)) {
+						continue;
+					}
+
+					subTasks.add(new DirCopyTask(context, child, destChild));
+
+				} else {
+
+					context.copyPool.execute(new Runnable() {
+						@Override
+						public void run() {
+							copyFile(context, child, destChild);
+						}
+					});
+				}
+			}
+
+			invokeAll(subTasks);
+
+			context.copiedDirs.add(new File[] { srcDir, destDir });
+		}
+
+		private boolean isExcluded(File dir) {
+
+			if (context.excludedPath == null) {
+				return false;
+			}
+
+			try {
+				return context.excludedPath.equals(dir.getCanonicalPath());
+			} catch (IOException e) {
+				return false;
+			}
+		}
+	}
+
+}
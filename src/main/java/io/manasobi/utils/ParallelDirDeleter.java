@@ -0,0 +1,198 @@
+package io.manasobi.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 디렉토리 트리를 병렬로 삭제하는 엔진.<br>
+ * ForkJoinPool로 하위 디렉토리를 나누어 동시에 삭제하며, 하위 항목이 모두 삭제된 디렉토리부터 삭제한다(post-order).<br>
+ * 한 디렉토리에 파일이 많은 경우 파일 목록을 일정 개수씩 나누어 여러 스레드에서 삭제한다.
+ * 심볼릭 링크는 따라가지 않고 링크 자체만 삭제한다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class ParallelDirDeleter {
+
+	private static final int FILE_BATCH_SIZE = 512;
+
+	private final int parallelism;
+
+	/**
+	 * @param parallelism 동시에 삭제할 스레드 수
+	 */
+	public ParallelDirDeleter(int parallelism) {
+
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism은 1 이상이어야 합니다.");
+		}
+
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * 디렉토리 하위의 파일 및 디렉토리를 병렬로 삭제한다.
+	 *
+	 * @param dir 삭제할 디렉토리
+	 * @param deleteRoot true면 dir 자신도 삭제하고, false면 dir 내부만 비운다
+	 * @return 삭제한 파일 수, 디렉토리 수, 소요 시간이 담긴 DeleteReport
+	 */
+	public DeleteReport delete(File dir, boolean deleteRoot) {
+
+		long startTime = System.nanoTime();
+
+		Path rootDir = dir.toPath();
+
+		if (!Files.isDirectory(rootDir, LinkOption.NOFOLLOW_LINKS)) {
+			return DeleteReport.fail(dir + "는 디렉토리가 아닙니다.");
+		}
+
+		DeleteContext context = new DeleteContext();
+
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+		try {
+			pool.invoke(new DirDeleteTask(context, rootDir, deleteRoot));
+		} finally {
+			pool.shutdownNow();
+		}
+
+		return new DeleteReport(context.fileCount.get(), context.dirCount.get(), System.nanoTime() - startTime,
+				new ArrayList<String>(context.failures));
+	}
+
+	private static final class DeleteContext {
+
+		private final AtomicLong fileCount = new AtomicLong();
+
+		private final AtomicLong dirCount = new AtomicLong();
+
+		private final Queue<String> failures = new ConcurrentLinkedQueue<String>();
+	}
+
+	private static final class DirDeleteTask extends RecursiveTask<Boolean> {
+
+		private static final long serialVersionUID = 6195360342166573581L;
+
+		private final transient DeleteContext context;
+
+		private final transient Path dir;
+
+		private final boolean deleteSelf;
+
+		private DirDeleteTask(DeleteContext context, Path dir, boolean deleteSelf) {
+			this.context = context;
+			this.dir = dir;
+			this.deleteSelf = deleteSelf;
+		}
+
+		@Override
+		protected Boolean compute() {
+
+			List<RecursiveTask<Boolean>> subTasks = new ArrayList<RecursiveTask<Boolean>>();
+			List<Path> files = new ArrayList<Path>();
+
+			boolean success = true;
+
+			DirectoryStream<Path> stream = null;
+
+			try {
+
+				stream = Files.newDirectoryStream(dir);
+
+				for (Path path : stream) {
+
+					if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+						subTasks.add(new DirDeleteTask(context, path, true));
+						continue;
+					}
+
+					files.add(path);
+
+					if (files.size() == FILE_BATCH_SIZE) {
+						subTasks.add(new FileDeleteTask(context, files));
+						files = new ArrayList<Path>();
+					}
+				}
+
+			} catch (IOException e) {
+				context.failures.add(dir + ": " + e.getMessage());
+				success = false;
+			} catch (DirectoryIteratorException e) {
+				context.failures.add(dir + ": " + e.getCause().getMessage());
+				success = false;
+			} finally {
+				IOUtils.closeQuietly(stream);
+			}
+
+			if (!files.isEmpty()) {
+				subTasks.add(new FileDeleteTask(context, files));
+			}
+
+			for (RecursiveTask<Boolean> subTask : invokeAll(subTasks)) {
+				success &= subTask.join();
+			}
+
+			if (!success || !deleteSelf) {
+				return success;
+			}
+
+			try {
+				if (Files.deleteIfExists(dir)) {
+					context.dirCount.incrementAndGet();
+				}
+				return true;
+			} catch (IOException e) {
+				context.failures.add(dir + ": " + e.getMessage());
+				return false;
+			}
+		}
+	}
+
+	private static final class FileDeleteTask extends RecursiveTask<Boolean> {
+
+		private static final long serialVersionUID = -2293714540238741950L;
+
+		private final transient DeleteContext context;
+
+		private final transient List<Path> files;
+
+		private FileDeleteTask(DeleteContext context, List<Path> files) {
+			this.context = context;
+			this.files = files;
+		}
+
+		@Override
+		protected Boolean compute() {
+
+			boolean success = true;
+
+			for (Path file : files) {
+
+				try {
+					if (Files.deleteIfExists(file)) {
+						context.fileCount.incrementAndGet();
+					}
+				} catch (IOException e) {
+					context.failures.add(file + ": " + e.getMessage());
+					success = false;
+				}
+			}
+
+			return success;
+		}
+	}
+
+}
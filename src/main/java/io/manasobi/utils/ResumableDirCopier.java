@@ -0,0 +1,365 @@
+package io.manasobi.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 중단되더라도 다시 실행하면 이어서 복사하는 디렉토리 복사기.<br>
+ * <ul>
+ * <li>복사를 완료한 파일은 journal에 기록하고, 다시 실행하면 원본의 크기와 수정일이 기록과 같고 대상 파일이 있는 파일은 건너뛴다.</li>
+ * <li>파일은 대상 디렉토리의 임시 파일(".이름.part")에 복사한 후 대상 이름으로 rename 하므로 대상 이름에는 완성된 파일만 보인다.</li>
+ * <li>checkpoint 간격보다 큰 파일은 간격마다 임시 파일을 fsync 하고 진행 위치를 journal에 기록하여, 다시 실행하면 기록된 위치부터 이어서 복사한다.</li>
+ * <li>완료 기록은 OS에 바로 전달하므로 JVM이 비정상 종료되어도 유지된다. checkpoint 간격보다 큰 파일은 완료 전에 fsync 한다.</li>
+ * </ul>
+ * 모든 파일을 복사하면 journal을 삭제하고, 실패가 있으면 다음 실행을 위해 남겨 둔다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class ResumableDirCopier {
+
+	/** 기본 checkpoint 간격 (64MB) */
+	public static final long DEFAULT_CHECKPOINT_INTERVAL = 64L * 1024L * 1024L;
+
+	private static final String PART_SUFFIX = ".part";
+
+	private static final int QUEUE_CAPACITY_PER_THREAD = 64;
+
+	private final File journalFile;
+
+	private final int parallelism;
+
+	private final boolean preserveFileDate;
+
+	private long checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+
+	/**
+	 * @param journalFile 진행 상태를 기록할 journal 파일
+	 * @param parallelism 동시에 복사할 스레드 수
+	 * @param preserveFileDate 수정일 설정 플래그
+	 */
+	public ResumableDirCopier(File journalFile, int parallelism, boolean preserveFileDate) {
+
+		if (journalFile == null) {
+			throw new IllegalArgumentException("journalFile은 null일 수 없습니다.");
+		}
+
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism은 1 이상이어야 합니다.");
+		}
+
+		this.journalFile = journalFile.getAbsoluteFile();
+		this.parallelism = parallelism;
+		this.preserveFileDate = preserveFileDate;
+	}
+
+	/**
+	 * 큰 파일의 진행 위치를 기록하는 간격을 설정한다. 간격보다 큰 파일만 진행 위치를 기록하며 기본값은 64MB.
+	 *
+	 * @param checkpointInterval checkpoint 간격(bytes)
+	 */
+	public void setCheckpointInterval(long checkpointInterval) {
+
+		if (checkpointInterval < 1) {
+			throw new IllegalArgumentException("checkpointInterval은 1 이상이어야 합니다.");
+		}
+
+		this.checkpointInterval = checkpointInterval;
+	}
+
+	/**
+	 * 원본 디렉토리를 대상 디렉토리명으로 복사한다. journal이 남아 있으면 완료된 파일은 건너뛰고 중단된 파일은 이어서 복사한다.
+	 *
+	 * @param srcDir  원본 디렉토리
+	 * @param destDir 대상 디렉토리
+	 * @return 이번 실행에서 복사한 파일 수와 bytes 수, 이전 실행에서 완료되어 건너뛴 파일 수, 소요 시간이 담긴 CopyReport
+	 */
+	public CopyReport copy(File srcDir, File destDir) {
+
+		long startTime = System.nanoTime();
+
+		CopyContext context = new CopyContext();
+
+		try {
+
+			String srcPath = srcDir.getCanonicalPath();
+			String destPath = destDir.getCanonicalPath();
+
+			if (srcPath.equals(destPath)) {
+				return CopyReport.fail(srcDir + "와 " + destDir + "가 동일합니다.");
+			}
+
+			if (destPath.startsWith(srcPath + File.separator)) {
+				context.excludedDir = destDir.getCanonicalFile();
+			}
+
+			context.journal = CopyJournal.open(journalFile, srcDir, destDir);
+
+		} catch (IOException e) {
+			return CopyReport.fail(journalFile + " journal을 열 수 없습니다. " + e.getMessage());
+		}
+
+		ThreadPoolExecutor copyPool = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(parallelism * QUEUE_CAPACITY_PER_THREAD), new NamedThreadFactory("resumable-copy"),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+
+		List<File[]> copiedDirs = new ArrayList<File[]>();
+
+		try {
+
+			walk(context, copyPool, srcDir, destDir, copiedDirs);
+
+			copyPool.shutdown();
+			copyPool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+		} catch (InterruptedException e) {
+			context.failures.add("복사 작업이 중단되었습니다.");
+			stopQuietly(copyPool);
+			Thread.currentThread().interrupt();
+		} finally {
+			copyPool.shutdownNow();
+		}
+
+		if (preserveFileDate) {
+			for (int i = copiedDirs.size() - 1; i >= 0; i--) {
+				copiedDirs.get(i)[1].setLastModified(copiedDirs.get(i)[0].lastModified());
+			}
+		}
+
+		if (context.failures.isEmpty()) {
+			context.journal.delete();
+		} else {
+			IOUtils.closeQuietly(context.journal);
+		}
+
+		return new CopyReport(context.fileCount.get(), context.byteCount.get(), context.skippedCount.get(), 0,
+				System.nanoTime() - startTime, new ArrayList<String>(context.failures));
+	}
+
+	private void walk(final CopyContext context, ThreadPoolExecutor copyPool, File srcDir, File destDir, List<File[]> copiedDirs) {
+
+		Deque<Object[]> dirs = new ArrayDeque<Object[]>();
+		dirs.push(new Object[] {srcDir, destDir, ""});
+
+		while (!dirs.isEmpty()) {
+
+			Object[] dir = dirs.pop();
+
+			File currentSrcDir = (File) dir[0];
+			File currentDestDir = (File) dir[1];
+			String relativeDir = (String) dir[2];
+
+			if (!currentDestDir.mkdirs() && !currentDestDir.isDirectory()) {
+				context.failures.add(currentDestDir + " 디렉토리 생성 중에 에러가 발생하였습니다.");
+				continue;
+			}
+
+			File[] children = currentSrcDir.listFiles();
+
+			if (children == null) {
+				context.failures.add(currentSrcDir + "의 목록을 읽을 수 없습니다.");
+				continue;
+			}
+
+			copiedDirs.add(new File[] {currentSrcDir, currentDestDir});
+
+			for (final File child : children) {
+
+				final File destChild = new File(currentDestDir, child.getName());
+				final String relativePath = relativeDir + child.getName();
+
+				if (child.isDirectory()) {
+
+					if (!isExcluded(context, child)) {
+						dirs.push(new Object[] {child, destChild, relativePath + "/"});
+					}
+
+				} else if (!child.getAbsoluteFile().equals(journalFile)) {
+
+					copyPool.execute(new Runnable() {
+						@Override
+						public void run() {
+							copyFile(context, child, destChild, relativePath);
+						}
+					});
+				}
+			}
+		}
+	}
+
+	private void copyFile(CopyContext context, File srcFile, File destFile, String relativePath) {
+
+		long size = srcFile.length();
+		long lastModified = srcFile.lastModified();
+
+		CopyJournal.Entry entry = context.journal.get(relativePath);
+
+		if (entry != null && entry.isCompleted() && entry.matches(size, lastModified) && destFile.isFile() && destFile.length() == size) {
+			context.skippedCount.incrementAndGet();
+			return;
+		}
+
+		File partFile = new File(destFile.getParentFile(), "." + destFile.getName() + PART_SUFFIX);
+
+		long offset = 0;
+
+		if (entry != null && !entry.isCompleted() && entry.matches(size, lastModified) && partFile.length() >= entry.getOffset()) {
+			offset = entry.getOffset();
+		}
+
+		try {
+
+			long copied = copyFrom(context, srcFile, partFile, offset, size, lastModified, relativePath);
+
+			if (preserveFileDate) {
+				partFile.setLastModified(lastModified);
+			}
+
+			try {
+				Files.move(partFile.toPath(), destFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(partFile.toPath(), destFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+
+			context.journal.completed(relativePath, size, lastModified);
+
+			context.fileCount.incrementAndGet();
+			context.byteCount.addAndGet(copied);
+
+		} catch (IOException e) {
+			context.failures.add(srcFile + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * 원본 파일의 offset 이후를 임시 파일에 복사한다. checkpoint 간격마다 임시 파일을 fsync 하고 진행 위치를 journal에 기록한다.
+	 *
+	 * @return 이번에 복사한 bytes 수
+	 */
+	private long copyFrom(CopyContext context, File srcFile, File partFile, long offset, long size, long lastModified, String relativePath) throws IOException {
+
+		IoThrottle throttle = FileChannelCopier.getThrottle();
+
+		if (throttle != null) {
+			throttle.acquireFile();
+		}
+
+		FileInputStream fis = null;
+		RandomAccessFile raf = null;
+
+		try {
+
+			fis = new FileInputStream(srcFile);
+			raf = new RandomAccessFile(partFile, "rw");
+
+			FileChannel input = fis.getChannel();
+			FileChannel output = raf.getChannel();
+
+			// 마지막 checkpoint 이후에 쓴 내용은 fsync 되지 않았을 수 있으므로 버리고 checkpoint부터 다시 복사한다.
+			raf.setLength(offset);
+			input.position(offset);
+
+			long chunkSize = throttle == null ? checkpointInterval : Math.min(checkpointInterval, throttle.chunkSize(checkpointInterval));
+			long position = offset;
+			long checkpoint = offset;
+
+			while (position < size) {
+
+				long count = Math.min(chunkSize, size - position);
+
+				if (throttle != null) {
+					throttle.acquireBytes(count);
+				}
+
+				long transferred = output.transferFrom(input, position, count);
+
+				if (transferred <= 0) {
+					break;
+				}
+
+				position += transferred;
+
+				if (position - checkpoint >= checkpointInterval && position < size) {
+					output.force(false);
+					context.journal.progress(relativePath, size, lastModified, position);
+					checkpoint = position;
+				}
+			}
+
+			if (position != size) {
+				throw new IOException("Failed to copy full contents from '" + srcFile + "' to '" + partFile + "'");
+			}
+
+			if (size > checkpointInterval) {
+				output.force(false);
+			}
+
+			return position - offset;
+
+		} finally {
+			IOUtils.closeQuietly(fis);
+			IOUtils.closeQuietly(raf);
+		}
+	}
+
+	/**
+	 * 복사 중인 스레드를 인터럽트하고, journal을 닫기 전에 모두 종료될 때까지 기다린다.
+	 */
+	private static void stopQuietly(ThreadPoolExecutor copyPool) {
+
+		copyPool.shutdownNow();
+
+		while (!copyPool.isTerminated()) {
+			try {
+				copyPool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+			} catch (InterruptedException ignore) {
+				// 종료될 때까지 계속 기다린다. 인터럽트 상태는 호출한 곳에서 복원한다.
+			}
+		}
+	}
+
+	private static boolean isExcluded(CopyContext context, File dir) {
+
+		if (context.excludedDir == null) {
+			return false;
+		}
+
+		try {
+			return context.excludedDir.equals(dir.getCanonicalFile());
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private static final class CopyContext {
+
+		private final AtomicLong fileCount = new AtomicLong();
+
+		private final AtomicLong byteCount = new AtomicLong();
+
+		private final AtomicLong skippedCount = new AtomicLong();
+
+		private final Queue<String> failures = new ConcurrentLinkedQueue<String>();
+
+		private File excludedDir;
+
+		private CopyJournal journal;
+	}
+
+}
@@ -360,7 +360,7 @@ public final class StringUtils {
 	 *  포함되어있지 않거나 입력 문자열이 <code>null</code>인경우 false
 	 */
 	public static boolean contains(String str, String searchStr) {
-		return StringUtils.contains(str, searchStr);
+		return org.apache.commons.lang3.StringUtils.contains(str, searchStr);
 	}
 
 	/**
@@ -862,7 +862,7 @@ public final class StringUtils {
 	 * @return 두 개의 문자열을 비교하여 같으면 true, 아니면 false를 반환
 	 */
 	public static boolean equals(String str1, String str2) {
-		return StringUtils.equals(str1, str2);
+		return org.apache.commons.lang3.StringUtils.equals(str1, str2);
 	}
 
 	/**
@@ -881,7 +881,7 @@ public final class StringUtils {
 	 * @return 두 개의 문자열을 영문 대소문자를 무시하고 비교하여 같으면 true, 아니면 false를 반환
 	 */
 	public static boolean equalsIgnoreCase(String str1, String str2) {
-		return StringUtils.equalsIgnoreCase(str1, str2);
+		return org.apache.commons.lang3.StringUtils.equalsIgnoreCase(str1, str2);
 	}
 
 	/**
@@ -4,13 +4,13 @@ import java.io.File;
 import java.io.Serializable;
 import java.util.List;
 
-import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOCase;
 import org.apache.commons.io.filefilter.AbstractFileFilter;
 
 /**
  * 
- * FileUtils에서 사용되는 listExcludeFilenamesByWildcard 메소드를 지원하기 위한 헬퍼 유틸.
+ * FileUtils에서 사용되는 listExcludeFilenamesByWildcard 메소드를 지원하기 위한 헬퍼 유틸.<br>
+ * wildcard 목록은 생성 시 WildcardMatcher로 한 번만 컴파일하여 파일명마다 모든 wildcard를 한 번에 검사한다.
  * 
  * @author taewook.jang
  * @since 1.0.0
@@ -23,6 +23,8 @@ public class WildcardExcludeFileFilter extends AbstractFileFilter implements Ser
 
     private final IOCase caseSensitivity;
     
+    private final WildcardMatcher matcher;
+    
     public WildcardExcludeFileFilter(String wildcard) {
         this(wildcard, null);
     }
@@ -33,6 +35,7 @@ public class WildcardExcludeFileFilter extends AbstractFileFilter implements Ser
         }
         this.wildcards = new String[] { wildcard };
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.matcher = WildcardMatcher.compile(this.wildcards, this.caseSensitivity);
     }
     
     public WildcardExcludeFileFilter(String[] wildcards) {
@@ -46,6 +49,7 @@ public class WildcardExcludeFileFilter extends AbstractFileFilter implements Ser
         this.wildcards = new String[wildcards.length];
         System.arraycopy(wildcards, 0, this.wildcards, 0, wildcards.length);
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.matcher = WildcardMatcher.compile(this.wildcards, this.caseSensitivity);
     }
 
     public WildcardExcludeFileFilter(List<String> wildcards) {
@@ -58,27 +62,17 @@ public class WildcardExcludeFileFilter extends AbstractFileFilter implements Ser
         }
         this.wildcards = wildcards.toArray(new String[wildcards.size()]);
         this.caseSensitivity = caseSensitivity == null ? IOCase.SENSITIVE : caseSensitivity;
+        this.matcher = WildcardMatcher.compile(this.wildcards, this.caseSensitivity);
     }
 
     @Override
     public boolean accept(File dir, String name) {
-        for (String wildcard : wildcards) {
-            if (FilenameUtils.wildcardMatch(name, wildcard, caseSensitivity)) {
-                return false;
-            }
-        }
-        return true;
+        return !matcher.matches(name);
     }
 
     @Override
     public boolean accept(File file) {
-        String name = file.getName();
-        for (String wildcard : wildcards) {
-            if (FilenameUtils.wildcardMatch(name, wildcard, caseSensitivity)) {
-                return false;
-            }
-        }
-        return true;
+        return !matcher.matches(file.getName());
     }
 
     @Override
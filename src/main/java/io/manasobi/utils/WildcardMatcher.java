@@ -0,0 +1,262 @@
+package io.manasobi.utils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.IOCase;
+
+/**
+ * 여러 개의 wildcard('*', '?')를 한 번 컴파일하여, 파일명을 한 번 훑는 동안 모든 wildcard와의 일치 여부를 함께 검사하는 matcher.<br>
+ * 모든 wildcard를 하나의 NFA로 합쳐 두고 파일명의 문자마다 전체 상태를 64개씩 bit 연산으로 진행시키므로,
+ * wildcard 수가 많아도 FilenameUtils.wildcardMatch를 wildcard마다 반복 호출하는 것보다 훨씬 빠르다.
+ * 컴파일한 matcher는 불변이므로 여러 스레드에서 공유하여 사용할 수 있다.
+ *
+ * @author manasobi
+ * @since 1.0.1
+ */
+public final class WildcardMatcher implements Serializable {
+
+	private static final long serialVersionUID = -4630021557271863394L;
+
+	private static final char ANY_CHAR = '?';
+
+	private static final char ANY_CHARS = '*';
+
+	private static final byte LITERAL = 0;
+
+	private static final byte ONE = 1;
+
+	private static final byte MANY = 2;
+
+	private static final byte ACCEPT = 3;
+
+	private static final int ASCII_SIZE = 128;
+
+	private final int words;
+
+	private final long[] initialStates;
+
+	private final long[] acceptStates;
+
+	private final long[] manyStates;
+
+	private final long[] oneStates;
+
+	private final long[][] asciiLiteralStates = new long[ASCII_SIZE][];
+
+	private final Map<Character, long[]> literalStates = new HashMap<Character, long[]>();
+
+	private final boolean caseSensitive;
+
+	private WildcardMatcher(byte[] types, char[] literals, boolean caseSensitive) {
+
+		this.caseSensitive = caseSensitive;
+		this.words = (types.length + 63) >>> 6;
+
+		this.initialStates = new long[words];
+		this.acceptStates = new long[words];
+		this.manyStates = new long[words];
+		this.oneStates = new long[words];
+
+		for (int state = 0; state < types.length; state++) {
+
+			switch (types[state]) {
+			case MANY:
+				setBit(manyStates, state);
+				break;
+			case ONE:
+				setBit(oneStates, state);
+				break;
+			case ACCEPT:
+				setBit(acceptStates, state);
+				break;
+			default:
+				setBit(literalStatesOf(literals[state]), state);
+				break;
+			}
+
+			// 각 wildcard의 시작 상태는 바로 앞 상태가 없거나 ACCEPT인 상태이다.
+			if (state == 0 || types[state - 1] == ACCEPT) {
+				setBit(initialStates, state);
+			}
+		}
+
+		closeOverMany(initialStates);
+	}
+
+	/**
+	 * wildcard 목록을 하나의 matcher로 컴파일한다.
+	 *
+	 * @param wildcards '*', '?'를 사용한 wildcard 목록
+	 * @param caseSensitivity 대소문자 구분 방식, null이면 IOCase.SENSITIVE
+	 * @return 컴파일한 WildcardMatcher
+	 */
+	public static WildcardMatcher compile(String[] wildcards, IOCase caseSensitivity) {
+
+		if (wildcards == null) {
+			throw new IllegalArgumentException("The wildcard array must not be null");
+		}
+
+		boolean caseSensitive = caseSensitivity == null || caseSensitivity.isCaseSensitive();
+
+		List<Byte> types = new ArrayList<Byte>();
+		StringBuilder literals = new StringBuilder();
+
+		for (String wildcard : wildcards) {
+
+			if (wildcard == null) {
+				// FilenameUtils.wildcardMatch와 같이 null wildcard는 어떤 파일명과도 일치하지 않는다.
+				continue;
+			}
+
+			for (int i = 0; i < wildcard.length(); i++) {
+
+				char ch = wildcard.charAt(i);
+
+				if (ch == ANY_CHARS) {
+
+					// 연속된 '*'는 하나로 합친다.
+					if (i > 0 && wildcard.charAt(i - 1) == ANY_CHARS) {
+						continue;
+					}
+
+					types.add(MANY);
+					literals.append(ch);
+
+				} else if (ch == ANY_CHAR) {
+					types.add(ONE);
+					literals.append(ch);
+				} else {
+					types.add(LITERAL);
+					literals.append(caseSensitive ? ch : fold(ch));
+				}
+			}
+
+			types.add(ACCEPT);
+			literals.append('\0');
+		}
+
+		byte[] typeArray = new byte[types.size()];
+
+		for (int i = 0; i < typeArray.length; i++) {
+			typeArray[i] = types.get(i);
+		}
+
+		return new WildcardMatcher(typeArray, literals.toString().toCharArray(), caseSensitive);
+	}
+
+	/**
+	 * wildcard 목록을 대소문자를 구분하는 matcher로 컴파일한다.
+	 *
+	 * @param wildcards '*', '?'를 사용한 wildcard 목록
+	 * @return 컴파일한 WildcardMatcher
+	 */
+	public static WildcardMatcher compile(String... wildcards) {
+		return compile(wildcards, IOCase.SENSITIVE);
+	}
+
+	/**
+	 * 이름이 wildcard 중 하나 이상과 일치하는지 검사한다.<br>
+	 * 상태 집합을 long 배열의 bit로 표현하고, 문자마다 일치한 상태들을 한 번의 shift 연산으로 다음 상태로 옮긴다(shift-and).
+	 *
+	 * @param name 검사할 이름(파일명)
+	 * @return 하나라도 일치하면 true, 아니면 false
+	 */
+	public boolean matches(String name) {
+
+		if (name == null || words == 0) {
+			return false;
+		}
+
+		long[] current = initialStates.clone();
+		long[] next = new long[words];
+
+		for (int i = 0; i < name.length(); i++) {
+
+			char ch = caseSensitive ? name.charAt(i) : fold(name.charAt(i));
+
+			long[] literal = ch < ASCII_SIZE ? asciiLiteralStates[ch] : literalStates.get(ch);
+
+			long carry = 0;
+			long alive = 0;
+
+			for (int word = 0; word < words; word++) {
+
+				long matched = current[word] & (oneStates[word] | (literal != null ? literal[word] : 0L));
+
+				// '?'나 문자가 일치한 상태는 다음 상태로, '*' 상태는 그대로 남는다.
+				next[word] = matched << 1 | carry | current[word] & manyStates[word];
+				carry = matched >>> 63;
+
+				alive |= next[word];
+			}
+
+			if (alive == 0) {
+				return false;
+			}
+
+			closeOverMany(next);
+
+			long[] swap = current;
+			current = next;
+			next = swap;
+		}
+
+		for (int word = 0; word < words; word++) {
+			if ((current[word] & acceptStates[word]) != 0) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * '*' 상태는 0글자와도 일치하므로 바로 다음 상태도 함께 활성화한다. 연속된 '*'는 컴파일 시 합쳐지므로 한 번만 옮기면 된다.
+	 */
+	private void closeOverMany(long[] states) {
+
+		long carry = 0;
+
+		for (int word = 0; word < words; word++) {
+
+			long many = states[word] & manyStates[word];
+
+			states[word] |= many << 1 | carry;
+			carry = many >>> 63;
+		}
+	}
+
+	private long[] literalStatesOf(char ch) {
+
+		if (ch < ASCII_SIZE) {
+
+			if (asciiLiteralStates[ch] == null) {
+				asciiLiteralStates[ch] = new long[words];
+			}
+
+			return asciiLiteralStates[ch];
+		}
+
+		long[] states = literalStates.get(ch);
+
+		if (states == null) {
+			states = new long[words];
+			literalStates.put(ch, states);
+		}
+
+		return states;
+	}
+
+	private static void setBit(long[] states, int state) {
+		states[state >>> 6] |= 1L << state;
+	}
+
+	private static char fold(char ch) {
+		return Character.toLowerCase(Character.toUpperCase(ch));
+	}
+
+}
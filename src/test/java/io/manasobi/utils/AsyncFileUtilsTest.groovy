@@ -0,0 +1,78 @@
+package io.manasobi.utils
+
+import io.manasobi.constnat.OperationResult
+import io.manasobi.constnat.Result
+import io.manasobi.exception.FileUtilsException
+
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.TimeUnit
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+
+import spock.lang.Specification
+import spock.lang.Timeout
+
+class AsyncFileUtilsTest extends Specification {
+
+	@Rule
+	TemporaryFolder tempFolder = new TemporaryFolder();
+
+	@Timeout(30)
+	def "writeByteArrayToFile() :: AsynchronousFileChannel로 쓰고 읽은 내용이 같음"() {
+
+		setup:
+			byte[] data = new byte[3 * 1024 * 1024]
+			new Random(7).nextBytes(data)
+			File file = new File(tempFolder.root, 'sub/async.bin')
+			File textFile = new File(tempFolder.root, 'async.txt')
+
+		when:
+			OperationResult writeResult = AsyncFileUtils.writeByteArrayToFile(file, data).get(10, TimeUnit.SECONDS)
+			byte[] read = AsyncFileUtils.readFileToByteArray(file).get(10, TimeUnit.SECONDS)
+			AsyncFileUtils.writeStringToFile(textFile, '비동기 쓰기', StandardCharsets.UTF_8).get(10, TimeUnit.SECONDS)
+		then:
+			writeResult.success
+			writeResult.byteCount == data.length
+			read == data
+			AsyncFileUtils.readFileToString(textFile, StandardCharsets.UTF_8).get(10, TimeUnit.SECONDS) == '비동기 쓰기'
+
+		when:
+			AsyncFileUtils.readFileToByteArray(new File(tempFolder.root, 'not_exists')).get(10, TimeUnit.SECONDS)
+		then:
+			ExecutionException e = thrown()
+			e.cause instanceof FileUtilsException
+	}
+
+	@Timeout(30)
+	def "copyFile() :: 복사, 이동, 삭제를 I/O executor에서 실행하고 OperationResult로 완료"() {
+
+		setup:
+			File srcFile = tempFolder.newFile('src.txt')
+			srcFile.text = '0123456789'
+			File copyFile = new File(tempFolder.root, 'copy/src.txt')
+			File moveFile = new File(tempFolder.root, 'move/src.txt')
+
+		when:
+			OperationResult copyResult = AsyncFileUtils.copyFile(srcFile, copyFile, true).get(10, TimeUnit.SECONDS)
+			OperationResult moveResult = AsyncFileUtils.moveFile(copyFile, moveFile, true).get(10, TimeUnit.SECONDS)
+			OperationResult deleteResult = AsyncFileUtils.deleteFile(new File(tempFolder.root, 'not_exists')).get(10, TimeUnit.SECONDS)
+		then:
+			copyResult.success
+			copyResult.byteCount == 10
+			moveResult.success
+			!copyFile.exists()
+			moveFile.text == '0123456789'
+
+			deleteResult.status == Result.FAIL
+			deleteResult.message.contains('not_exists')
+
+		expect:
+			!(AsyncFileUtils.executor instanceof ExecutorService)
+			CompletableFuture.supplyAsync({ 'io' }, AsyncFileUtils.executor).get(10, TimeUnit.SECONDS) == 'io'
+	}
+
+}
@@ -0,0 +1,93 @@
+package io.manasobi.utils
+
+import java.security.MessageDigest
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+
+import spock.lang.Specification
+
+class ChecksumManifestTest extends Specification {
+
+	@Rule
+	TemporaryFolder tempFolder = new TemporaryFolder();
+
+	def "generate() :: 여러 스레드로 hash 하여 상대 경로 순으로 정렬된 sha256sum 형식의 manifest를 기록"() {
+
+		setup:
+			File rootDir = tempFolder.newFolder('manifest_root')
+			new File(rootDir, 'a').mkdirs()
+			new File(rootDir, 'a.b').mkdirs()
+			(1..300).each { new File(rootDir, "a/file_${it}.txt").text = "content_${it}" }
+			new File(rootDir, 'a.txt').text = 'a.txt'
+			new File(rootDir, 'a.b/z.txt').text = 'z'
+			new File(rootDir, 'large.bin').bytes = new byte[3 * 1024 * 1024 + 7].collect { (byte) it } as byte[]
+			new File(rootDir, 'back\\slash.txt').text = 'escaped'
+			new File(rootDir, 'carriage\rreturn.txt').text = 'escaped'
+			File manifestFile = new File(rootDir, 'SHA256SUMS')
+
+		when:
+			ManifestReport report = new ChecksumManifest(4).generate(rootDir, manifestFile)
+			List<String> lines = manifestFile.readLines('UTF-8')
+			List<String> paths = lines.collect { ChecksumManifest.parseLine(it)[1] }
+		then:
+			report.success
+			report.fileCount == 305
+			report.byteCount == FileUtils.listFiles(rootDir.path, true).findAll { it != manifestFile }.sum { it.length() }
+			paths == paths.sort(false)
+			paths.take(2) == ['a.b/z.txt', 'a.txt']
+			!paths.contains('SHA256SUMS')
+			lines.contains(sha256(new File(rootDir, 'large.bin')) + '  large.bin')
+			lines.contains('\\' + sha256(new File(rootDir, 'back\\slash.txt')) + '  back\\\\slash.txt')
+			lines.contains('\\' + sha256(new File(rootDir, 'carriage\rreturn.txt')) + '  carriage\\rreturn.txt')
+			new ChecksumManifest(2).verify(rootDir, manifestFile).with { success && fileCount == 305 }
+			!new File(rootDir, 'SHA256SUMS.tmp').exists()
+	}
+
+	def "verify() :: manifest를 병렬로 검증하여 내용이 다른 파일과 존재하지 않는 파일을 구분"() {
+
+		setup:
+			File rootDir = tempFolder.newFolder('verify_root')
+			(1..50).each { new File(rootDir, "sub/file_${it}.txt").with { parentFile.mkdirs(); text = "file_${it}" } }
+			File manifestFile = new File(tempFolder.root, 'verify.sha256')
+			ChecksumManifest manifest = new ChecksumManifest(3)
+			manifest.generate(rootDir, manifestFile)
+
+		expect:
+			manifest.verify(rootDir, manifestFile).with { success && fileCount == 50 }
+
+		when:
+			new File(rootDir, 'sub/file_7.txt').text = 'changed'
+			new File(rootDir, 'sub/file_9.txt').delete()
+			new File(rootDir, 'sub/extra.txt').text = 'not in manifest'
+			manifestFile << 'not a manifest line\n'
+			manifestFile << ('0' * 64) + '  ../outside.txt\n'
+			ManifestReport report = FileUtils.verifyChecksumManifest(rootDir, manifestFile, 3)
+		then:
+			!report.success
+			report.fileCount == 48
+			report.mismatchedFiles == ['sub/file_7.txt']
+			report.missingFiles == ['sub/file_9.txt']
+			report.failures.size() == 2
+	}
+
+	def "parseLine() :: sha256sum의 text, binary 표시와 escape 된 경로를 해석"() {
+
+		expect:
+			ChecksumManifest.parseLine(line) == expected
+
+		where:
+			line                                       || expected
+			('A' * 64) + '  dir/file.txt'              || ['a' * 64, 'dir/file.txt'] as String[]
+			('b' * 64) + ' *binary.bin'                || ['b' * 64, 'binary.bin'] as String[]
+			'\\' + ('c' * 64) + '  new\\nline\\\\x'    || ['c' * 64, 'new\nline\\x'] as String[]
+			'\\' + ('e' * 64) + '  carriage\\rreturn'   || ['e' * 64, 'carriage\rreturn'] as String[]
+			('g' * 64) + '  invalid.txt'               || null
+			('d' * 64) + ' missing_separator'          || null
+	}
+
+	private static String sha256(File file) {
+		return MessageDigest.getInstance('SHA-256').digest(file.bytes).encodeHex().toString()
+	}
+
+}
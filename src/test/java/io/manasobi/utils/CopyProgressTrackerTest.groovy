@@ -0,0 +1,118 @@
+package io.manasobi.utils
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+
+import io.manasobi.constnat.Result
+import spock.lang.Specification
+
+class CopyProgressTrackerTest extends Specification {
+
+	@Rule
+	TemporaryFolder tempFolder = new TemporaryFolder();
+
+	def "copyDir() :: 파일별 시작과 완료를 전달하고 마지막 진행 상황에 전체 파일 수와 bytes 수를 담음"() {
+
+		setup:
+			File srcDir = tempFolder.newFolder('src')
+			new File(srcDir, 'sub').mkdir()
+			new File(srcDir, 'a.txt').text = 'a' * 100
+			new File(srcDir, 'sub/b.txt').text = 'b' * 2000
+			new File(srcDir, 'sub/c.bin').bytes = new byte[3 * 1024 * 1024]
+			File destDir = new File(tempFolder.root, 'dest')
+			RecordingListener listener = new RecordingListener()
+
+		when:
+			Result result = FileUtils.copyDir(srcDir, destDir, true, listener)
+		then:
+			result == Result.SUCCESS
+			listener.started.size() == 3
+			listener.finished.size() == 3
+			new File(destDir, 'sub/c.bin').length() == 3 * 1024 * 1024
+
+		when:
+			CopyProgress last = listener.progresses.last()
+		then:
+			last.done
+			last.completedFileCount == 3
+			last.failedFileCount == 0
+			last.totalFileCount == 3
+			last.copiedBytes == 100 + 2000 + 3 * 1024 * 1024
+			last.totalBytes == last.copiedBytes
+			last.etaMillis == 0
+	}
+
+	def "bytesCopied() :: 버퍼마다가 아니라 샘플 간격이 지났을 때만 onProgress를 호출"() {
+
+		setup:
+			RecordingListener listener = new RecordingListener()
+			CopyProgressTracker tracker = new CopyProgressTracker(listener, intervalMillis)
+			tracker.expect(1, 1000 * 64)
+
+		when:
+			1000.times { tracker.bytesCopied(64) }
+			tracker.finish()
+		then:
+			listener.progresses.size() == expected
+			listener.progresses.last().done
+			listener.progresses.last().copiedBytes == 1000 * 64
+
+		where:
+			intervalMillis | expected
+			60000          | 1
+			0              | 1001
+	}
+
+	def "getEtaMillis() :: 남은 bytes 수를 처리 속도로 나누고 전체 bytes 수를 모르면 -1"() {
+
+		expect:
+			new CopyProgress(0, 0, 2, 250, 1250, 100, 1000000000L, false).etaMillis == 10000
+			new CopyProgress(0, 0, -1, 250, -1, 100, 1000000000L, false).etaMillis == -1
+			new CopyProgress(0, 0, 2, 250, 1250, 0, 0, false).etaMillis == -1
+			new CopyProgress(0, 0, 2, 500, 1000, 0, 1000000000L, false).averageBytesPerSecond == 500
+	}
+
+	def "copyFile() :: 복사에 실패하면 실패 건수와 함께 완료를 전달"() {
+
+		setup:
+			File srcFile = tempFolder.newFile('src.txt')
+			srcFile.text = 'content'
+			File blocker = tempFolder.newFile('blocker')
+			RecordingListener listener = new RecordingListener()
+
+		when:
+			Result result = FileUtils.copyFile(srcFile, new File(blocker, 'dest.txt'), true, listener)
+		then:
+			result == Result.FAIL
+			listener.finished == ['src.txt:false']
+			listener.progresses.last().failedFileCount == 1
+			listener.progresses.last().done
+	}
+
+	static class RecordingListener implements CopyProgressListener {
+
+		List<String> started = new CopyOnWriteArrayList<String>()
+
+		List<String> finished = new CopyOnWriteArrayList<String>()
+
+		List<CopyProgress> progresses = new CopyOnWriteArrayList<CopyProgress>()
+
+		@Override
+		void onFileStart(File srcFile, File destFile, long size) {
+			started << srcFile.name
+		}
+
+		@Override
+		void onFileFinish(File srcFile, File destFile, long bytes, boolean success) {
+			finished << (srcFile.name + ':' + success)
+		}
+
+		@Override
+		void onProgress(CopyProgress progress) {
+			progresses << progress
+		}
+	}
+
+}
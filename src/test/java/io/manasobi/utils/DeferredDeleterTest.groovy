@@ -0,0 +1,123 @@
+package io.manasobi.utils
+
+import io.manasobi.constnat.Result
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+
+import spock.lang.Specification
+import spock.lang.Timeout
+
+class DeferredDeleterTest extends Specification {
+
+	@Rule
+	TemporaryFolder tempFolder = new TemporaryFolder();
+
+	DeferredDeleter deleter
+
+	def cleanup() {
+		deleter?.close()
+	}
+
+	@Timeout(30)
+	def "delete() :: 휴지통으로 이동한 후 즉시 반환하고 백그라운드에서 삭제"() {
+
+		setup:
+			File trashDir = new File(tempFolder.root, 'trash')
+			File targetDir = tempFolder.newFolder('target')
+			(1..3).each { new File(targetDir, "sub_${it}").mkdirs(); new File(targetDir, "sub_${it}/file.txt") << 'x' }
+			deleter = new DeferredDeleter(0, trashDir)
+			deleter.start()
+
+		when:
+			Result result = deleter.delete(targetDir)
+		then:
+			result == Result.SUCCESS
+			!targetDir.exists()
+			deleter.awaitIdle(10000)
+			trashDir.list().length == 0
+			deleter.deletedCount == 1
+
+		expect:
+			deleter.delete(new File(tempFolder.root, 'not_exists')) == Result.FAIL
+	}
+
+	@Timeout(30)
+	def "start() :: 휴지통에 남아 있는 항목을 삭제"() {
+
+		setup:
+			File trashDir = tempFolder.newFolder('trash')
+			new File(trashDir, 'orphan/inner').mkdirs()
+			new File(trashDir, 'orphan/inner/file.txt') << 'x'
+			new File(trashDir, 'orphan.txt') << 'x'
+			deleter = new DeferredDeleter(100, trashDir)
+
+		when:
+			deleter.start()
+		then:
+			deleter.awaitIdle(10000)
+			trashDir.list().length == 0
+			deleter.deletedCount == 2
+	}
+
+	@Timeout(30)
+	def "start() :: 기록 파일에 남아 있는 상위 디렉토리의 휴지통 항목을 삭제하고 없어진 휴지통은 기록에서 제거"() {
+
+		setup:
+			File registryFile = new File(tempFolder.root, 'trash-dirs')
+			File parentDir = tempFolder.newFolder('parent')
+			new File(parentDir, 'target/inner').mkdirs()
+			new File(parentDir, 'target/inner/file.txt') << 'x'
+			File goneTrashDir = new File(tempFolder.root, 'gone/.trash')
+
+		when: '시작하지 않은 deleter는 휴지통으로 옮기기만 하므로 비정상 종료된 것과 같은 상태가 됨'
+			DeferredDeleter crashed = new DeferredDeleter(0)
+			crashed.registryFile = registryFile
+			crashed.delete(new File(parentDir, 'target'))
+			registryFile << goneTrashDir.path + '\n'
+		then:
+			new File(parentDir, '.trash').list().length == 1
+			registryFile.readLines() == [new File(parentDir, '.trash').path, goneTrashDir.path]
+
+		when:
+			deleter = new DeferredDeleter(0)
+			deleter.registryFile = registryFile
+			deleter.start()
+		then:
+			deleter.awaitIdle(10000)
+			deleter.deletedCount == 1
+			new File(parentDir, '.trash').list().length == 0
+			registryFile.readLines() == [new File(parentDir, '.trash').path]
+	}
+
+	def "delete() :: 지정한 휴지통이 없으면 각 대상의 상위 디렉토리에 있는 휴지통을 사용"() {
+
+		setup:
+			File firstDir = tempFolder.newFolder('first')
+			File secondDir = tempFolder.newFolder('second')
+			new File(firstDir, 'target').mkdirs()
+			new File(secondDir, 'target').mkdirs()
+			deleter = new DeferredDeleter(0)
+
+		when: '시작하지 않은 deleter는 휴지통으로 옮기기만 함'
+			deleter.delete(new File(firstDir, 'target'))
+			deleter.delete(new File(secondDir, 'target'))
+		then:
+			new File(firstDir, '.trash').list().length == 1
+			new File(secondDir, '.trash').list().length == 1
+	}
+
+	@Timeout(30)
+	def "deleteDirLater() :: 같은 볼륨의 .trash 디렉토리로 이동한 후 삭제"() {
+
+		setup:
+			File targetDir = tempFolder.newFolder('later')
+			new File(targetDir, 'file.txt') << 'x'
+
+		expect:
+			FileUtils.deleteDirLater(targetDir) == Result.SUCCESS
+			!targetDir.exists()
+			FileUtils.deleteDirLater(targetDir) == Result.FAIL
+	}
+
+}
@@ -0,0 +1,85 @@
+package io.manasobi.utils
+
+import io.manasobi.constnat.OperationResult
+import io.manasobi.constnat.Result
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+
+import spock.lang.Specification
+import spock.lang.Timeout
+
+class FileBatchTest extends Specification {
+
+	@Rule
+	TemporaryFolder tempFolder = new TemporaryFolder();
+
+	@Timeout(30)
+	def "submit() :: 등록한 복사, 이동, 삭제, 이름 변경 작업을 한 번에 실행하고 작업별 결과를 반환"() {
+
+		setup:
+			File srcDir = tempFolder.newFolder('batch_src')
+			File destDir = new File(tempFolder.root, 'batch_dest')
+			FileBatch batch = new FileBatch(2).setDeviceConcurrency(tempFolder.root, 3)
+			(0..<40).each {
+				File file = new File(srcDir, "file_${it}.txt")
+				file.text = '0123456789'
+				switch (it % 4) {
+					case 0: batch.copyFile(file, new File(destDir, "copy/${file.name}")); break
+					case 1: batch.moveFile(file, new File(destDir, "move/${file.name}")); break
+					case 2: batch.deleteFile(file); break
+					default: batch.rename(file, new File(srcDir, "renamed_${it}.txt"))
+				}
+			}
+			batch.deleteFile(new File(srcDir, 'not_exists.txt'))
+
+		when:
+			FileBatchReport report = batch.submit()
+		then:
+			batch.size() == 0
+			report.operationCount == 41
+			report.successCount == 40
+			report.failedCount == 1
+			report.byteCount == 200
+			report.deviceCount == 1
+			report.results[40].status == Result.FAIL
+			report.failures[0].contains('not_exists.txt')
+
+			new File(destDir, 'copy').list().length == 10
+			new File(destDir, 'move').list().length == 10
+			srcDir.list().findAll { it.startsWith('renamed_') }.size() == 10
+			srcDir.list().findAll { it.startsWith('file_') }.size() == 10
+
+		when:
+			OperationResult result = report.toOperationResult()
+		then:
+			!result.success
+			result.fileCount == 40
+			result.message.contains('not_exists.txt')
+
+		expect:
+			new FileBatch().submit().success
+	}
+
+	@Timeout(30)
+	def "submit() :: 작업 중 Error가 발생하면 해당 작업을 실패로 기록"() {
+
+		setup:
+			File srcFile = tempFolder.newFile('error.txt')
+			File brokenFile = new File(tempFolder.root, 'broken.txt') {
+				@Override
+				String getPath() {
+					throw new AssertionError('broken')
+				}
+			}
+			FileBatch batch = new FileBatch().copyFile(srcFile, new File(tempFolder.root, 'copied.txt')).rename(brokenFile, srcFile)
+
+		when:
+			FileBatchReport report = batch.submit()
+		then:
+			report.operationCount == 2
+			report.successCount == 1
+			report.failures[0].contains('AssertionError: broken')
+	}
+
+}
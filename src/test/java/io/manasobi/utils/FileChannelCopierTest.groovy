@@ -0,0 +1,94 @@
+package io.manasobi.utils
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+
+import spock.lang.IgnoreIf
+import spock.lang.Specification
+
+class FileChannelCopierTest extends Specification {
+
+	@Rule
+	TemporaryFolder tempFolder = new TemporaryFolder();
+
+	def cleanup() {
+		FileChannelCopier.setChannelCopyThreshold(FileChannelCopier.DEFAULT_CHANNEL_COPY_THRESHOLD)
+	}
+
+	def "copy() :: threshold 이상의 파일은 FileChannel 전송으로, 미만의 파일은 버퍼로 복사"() {
+
+		setup:
+			FileChannelCopier.setChannelCopyThreshold(threshold)
+			File srcFile = tempFolder.newFile('src.bin')
+			srcFile.bytes = new byte[size].collect { (byte) (it + 7) } as byte[]
+			File destFile = new File(tempFolder.root, 'dest/dest.bin')
+
+		when:
+			long copied = FileChannelCopier.copy(srcFile, destFile, true)
+		then:
+			copied == size
+			destFile.bytes == srcFile.bytes
+			destFile.lastModified() == srcFile.lastModified()
+
+		where:
+			size  | threshold
+			0     | 1024
+			100   | 1024
+			4096  | 1024
+			4096  | 0
+	}
+
+	def "copy() :: 기존 대상 파일이 더 크면 원본 크기에 맞춰 잘라냄"() {
+
+		setup:
+			FileChannelCopier.setChannelCopyThreshold(0)
+			File srcFile = tempFolder.newFile('small.txt')
+			srcFile.text = 'abc'
+			File destFile = tempFolder.newFile('large.txt')
+			destFile.text = 'abcdefghijklmnopqrstuvwxyz'
+
+		when:
+			FileChannelCopier.copy(srcFile, destFile, false)
+		then:
+			destFile.text == 'abc'
+	}
+
+	/**
+	 * MANASOBI_BENCHMARK 환경 변수가 설정된 경우에만 수행한다.
+	 */
+	@IgnoreIf({ !System.getenv('MANASOBI_BENCHMARK') })
+	def "benchmark :: 대용량 파일에 대한 버퍼 복사와 FileChannel 복사 비교"() {
+
+		setup:
+			int sizeInMb = 512
+			File srcFile = tempFolder.newFile('benchmark.bin')
+			byte[] chunk = new byte[1024 * 1024]
+			new Random(1).nextBytes(chunk)
+			srcFile.withOutputStream { out -> sizeInMb.times { out.write(chunk) } }
+
+			long bestBuffered = Long.MAX_VALUE
+			long bestChannel = Long.MAX_VALUE
+
+		when:
+			3.times {
+				File bufferedDest = new File(tempFolder.root, 'buffered.bin')
+				File channelDest = new File(tempFolder.root, 'channel.bin')
+
+				long start = System.nanoTime()
+				FileChannelCopier.bufferedCopy(srcFile, bufferedDest)
+				bestBuffered = Math.min(bestBuffered, System.nanoTime() - start)
+
+				start = System.nanoTime()
+				FileChannelCopier.copy(srcFile, channelDest, false)
+				bestChannel = Math.min(bestChannel, System.nanoTime() - start)
+
+				bufferedDest.delete()
+				channelDest.delete()
+			}
+
+			println "buffered copy: ${(long) (bestBuffered / 1000000)}ms, channel copy: ${(long) (bestChannel / 1000000)}ms (${sizeInMb}MB)"
+		then:
+			bestChannel <= bestBuffered
+	}
+
+}
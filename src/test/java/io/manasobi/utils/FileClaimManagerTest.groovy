@@ -0,0 +1,105 @@
+package io.manasobi.utils
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+
+import spock.lang.Specification
+import spock.lang.Timeout
+
+class FileClaimManagerTest extends Specification {
+
+	@Rule
+	TemporaryFolder tempFolder = new TemporaryFolder();
+
+	@Timeout(120)
+	def "claim() :: 여러 프로세스가 같은 입력 디렉토리를 공유해도 파일은 한 번씩만 처리"() {
+
+		setup:
+			File inbox = tempFolder.newFolder('inbox')
+			File claimRoot = tempFolder.newFolder('claim')
+			File done = tempFolder.newFolder('done')
+			(1..400).each { new File(inbox, "job-${it}.pdf").text = "${it}" }
+
+			String javaBin = new File(System.getProperty('java.home'), 'bin/java').path
+			List<File> outputs = (1..4).collect { new File(tempFolder.root, "node-${it}.out") }
+
+		when:
+			List<Process> processes = (1..4).collect { int node ->
+				new ProcessBuilder(javaBin, '-cp', System.getProperty('java.class.path'), FileClaimWorker.name,
+						inbox.path, claimRoot.path, "node-${node}", outputs[node - 1].path, done.path)
+					.redirectErrorStream(true)
+					.redirectOutput(new File(tempFolder.root, "node-${node}.log"))
+					.start()
+			}
+			List<Integer> exitCodes = processes.collect { it.waitFor() }
+			List<String> processed = outputs.collectMany { it.exists() ? it.readLines() : [] }
+		then:
+			exitCodes == [0, 0, 0, 0]
+			processed.size() == 400
+			processed.toSet().size() == 400
+			done.list().length == 400
+			inbox.list().length == 0
+			claimRoot.listFiles().every { it.directory && it.list().length == 0 }
+	}
+
+	@Timeout(30)
+	def "reclaimStale() :: heartbeat가 멈춘 노드의 파일을 입력 디렉토리로 되돌림"() {
+
+		setup:
+			File inbox = tempFolder.newFolder('inbox')
+			File claimRoot = tempFolder.newFolder('claim')
+			File orphan = new File(claimRoot, 'dead-node/5b1e/job-1.pdf')
+			orphan.parentFile.mkdirs()
+			orphan.text = 'job'
+			new File(claimRoot, 'dead-node.lease').text = '7 0'
+
+			FileClaimManager manager = new FileClaimManager(inbox, claimRoot, 'live-node', 200)
+			manager.start()
+
+		when:
+			int first = manager.reclaimStale()
+			Thread.sleep(300)
+			int second = manager.reclaimStale()
+		then:
+			first == 0
+			second == 1
+			inbox.list() == ['job-1.pdf']
+			!new File(claimRoot, 'dead-node').exists()
+			!new File(claimRoot, 'dead-node.lease').exists()
+
+		when:
+			File claimed = manager.claim(new File(inbox, 'job-1.pdf'))
+			Thread.sleep(300)
+		then:
+			claimed.text == 'job'
+			manager.reclaimStale() == 0
+			!manager.leaseLost
+
+		cleanup:
+			manager?.close()
+	}
+
+	def "claim() :: 다른 노드가 claim 디렉토리를 reclaim 했으면 다시 만들지 않고 lease를 잃은 것으로 표시"() {
+
+		setup:
+			File inbox = tempFolder.newFolder('inbox')
+			File claimRoot = tempFolder.newFolder('claim')
+			new File(inbox, 'job-1.pdf').text = 'job'
+
+			FileClaimManager manager = new FileClaimManager(inbox, claimRoot, 'lost-node', 60000)
+			manager.start()
+
+		when:
+			new File(claimRoot, 'lost-node').deleteDir()
+			File claimed = manager.claim(new File(inbox, 'job-1.pdf'))
+		then:
+			claimed == null
+			manager.leaseLost
+			!new File(claimRoot, 'lost-node').exists()
+			inbox.list() == ['job-1.pdf']
+
+		cleanup:
+			manager?.close()
+	}
+
+}
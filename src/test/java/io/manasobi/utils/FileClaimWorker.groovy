@@ -0,0 +1,30 @@
+package io.manasobi.utils
+
+/**
+ * FileClaimManagerTest에서 별도의 JVM으로 실행하는 consumer.<br>
+ * args: inboxDir claimRootDir nodeId outputFile doneDir
+ */
+class FileClaimWorker {
+
+	static void main(String[] args) {
+
+		FileClaimManager manager = new FileClaimManager(new File(args[0]), new File(args[1]), args[2], 5000)
+		File outputFile = new File(args[3])
+		File doneDir = new File(args[4])
+
+		manager.start()
+
+		try {
+			List<File> claimedFiles
+			while (!(claimedFiles = manager.claimAvailable(4)).isEmpty()) {
+				claimedFiles.each { File file ->
+					outputFile << file.name + '\n'
+					manager.complete(file, doneDir)
+				}
+			}
+		} finally {
+			manager.close()
+		}
+	}
+
+}
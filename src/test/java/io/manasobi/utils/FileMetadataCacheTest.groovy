@@ -0,0 +1,130 @@
+package io.manasobi.utils
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+
+import spock.lang.Specification
+import spock.lang.Timeout
+
+class FileMetadataCacheTest extends Specification {
+
+	@Rule
+	TemporaryFolder tempFolder = new TemporaryFolder();
+
+	def "existsFile() :: TTL 동안 같은 경로의 검사 결과를 캐시하고 hit/miss 건수를 기록"() {
+
+		setup:
+			File file = tempFolder.newFile('cached.txt')
+			File dir = tempFolder.newFolder('cached_dir')
+			FileMetadataCache cache = new FileMetadataCache(60000, 100, false)
+
+		expect:
+			cache.existsFile(file)
+			cache.isFile(file.path)
+			cache.isDir(dir)
+			!cache.isNotDir(dir.path)
+			cache.notExistsDir(file)
+			cache.notExistsFile(new File(tempFolder.root, 'not_exists.txt'))
+			cache.missCount == 3
+			cache.hitCount == 3
+			cache.hitRatio == 0.5d
+
+		when: 'watch 없이 삭제하면 무효화하기 전까지는 캐시된 결과를 반환'
+			file.delete()
+		then:
+			cache.existsFile(file)
+
+		when:
+			cache.invalidate(file)
+		then:
+			!cache.existsFile(file)
+
+		cleanup:
+			cache.close()
+	}
+
+	def "size() :: 최대 개수를 넘으면 가장 오래 사용하지 않은 경로부터 제거하고 TTL이 지나면 다시 확인"() {
+
+		setup:
+			FileMetadataCache cache = new FileMetadataCache(0, 2, false)
+			(1..5).each { cache.existsFile(new File(tempFolder.root, "file_${it}.txt")) }
+			cache.existsFile(new File(tempFolder.root, 'file_5.txt'))
+
+		expect:
+			cache.size() == 2
+			cache.hitCount == 0
+			cache.missCount == 6
+
+		cleanup:
+			cache.close()
+	}
+
+	@Timeout(30)
+	def "existsDir() :: WatchService 이벤트가 발생한 경로와 삭제된 디렉토리 하위의 캐시를 무효화"() {
+
+		setup:
+			File dir = tempFolder.newFolder('watch_dir')
+			File file = new File(dir, 'watched.txt')
+			file << 'watched'
+			File created = new File(dir, 'created')
+			FileMetadataCache cache = new FileMetadataCache(60000, 100, true)
+
+		when:
+			boolean existsBefore = cache.existsFile(file)
+			boolean createdBefore = cache.existsDir(created)
+			file.delete()
+			created.mkdir()
+			while (cache.existsFile(file) || cache.notExistsDir(created)) {
+				sleep(20)
+			}
+		then:
+			existsBefore
+			!createdBefore
+			cache.watchedDirCount == 1
+
+		cleanup:
+			cache.close()
+	}
+
+	def "getWatchedDirCount() :: watch 디렉토리 수를 별도로 제한하고 마지막 캐시 항목이 제거되면 watch를 해제"() {
+
+		setup:
+			List<File> dirs = (1..3).collect { tempFolder.newFolder("watch_${it}") }
+			File nested = new File(dirs[0], 'nested/deep')
+			nested.mkdirs()
+			FileMetadataCache cache = new FileMetadataCache(60000, 100, 3)
+			FileMetadataCache small = new FileMetadataCache(60000, 1, 10)
+
+		when:
+			dirs.each { cache.existsFile(new File(it, 'file.txt')) }
+			cache.existsFile(new File(nested, 'file.txt'))
+		then:
+			cache.size() == 4
+			cache.watchedDirCount == 3
+
+		when:
+			cache.invalidate(dirs[1])
+			cache.invalidate(new File(dirs[2], 'file.txt'))
+		then:
+			cache.size() == 2
+			cache.watchedDirCount == 1
+
+		when:
+			cache.invalidate(dirs[0])
+		then:
+			cache.size() == 0
+			cache.watchedDirCount == 0
+
+		when: 'LRU로 제거된 항목의 watch도 해제'
+			small.existsFile(new File(dirs[0], 'file.txt'))
+			small.existsFile(new File(dirs[1], 'file.txt'))
+		then:
+			small.size() == 1
+			small.watchedDirCount == 1
+
+		cleanup:
+			cache.close()
+			small.close()
+	}
+
+}
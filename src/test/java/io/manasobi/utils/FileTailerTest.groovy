@@ -0,0 +1,170 @@
+package io.manasobi.utils
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+
+import io.manasobi.exception.FileUtilsException
+import spock.lang.Specification
+import spock.lang.Timeout
+
+class FileTailerTest extends Specification {
+
+	@Rule
+	TemporaryFolder tempFolder = new TemporaryFolder();
+
+	List<String> events = [].asSynchronized()
+
+	FileTailListener listener = new FileTailListener() {
+
+		@Override
+		void onLine(File file, String line) {
+			events << "${file.name}:${line}".toString()
+		}
+
+		@Override
+		void onReset(File file, boolean truncated) {
+			events << "${file.name}:reset(${truncated})".toString()
+		}
+	}
+
+	def "pollAll() :: 추가된 bytes만 읽어 완성된 줄을 전달하고 전달한 줄까지의 위치를 기억"() {
+
+		setup:
+			File log = tempFolder.newFile('app.log')
+			log << 'before\n'
+			FileTailer tailer = new FileTailer()
+			tailer.follow(log, true, listener)
+
+		when:
+			log.append('한글 line1\nline2\r\npart', 'UTF-8')
+			tailer.pollAll()
+		then:
+			events == ['app.log:한글 line1', 'app.log:line2']
+			tailer.getPosition(log) == log.length() - 'part'.length()
+
+		when:
+			log << 'ial\n'
+			tailer.pollAll()
+		then:
+			events.last() == 'app.log:partial'
+			tailer.getPosition(log) == log.length()
+
+		when:
+			tailer.follow(log, false, listener)
+		then:
+			thrown(FileUtilsException)
+
+		cleanup:
+			tailer.close()
+	}
+
+	def "pollAll() :: 잘린 파일은 처음부터, 교체된 파일은 이전 파일의 남은 줄을 전달한 후 새 파일을 처음부터 읽음"() {
+
+		setup:
+			File log = tempFolder.newFile('rotate.log')
+			FileTailer tailer = new FileTailer()
+			tailer.follow(log, false, listener)
+
+		when:
+			log << 'line1\nline2\n'
+			tailer.pollAll()
+			log.text = 'new\n'
+			tailer.pollAll()
+		then:
+			events == ['rotate.log:line1', 'rotate.log:line2', 'rotate.log:reset(true)', 'rotate.log:new']
+
+		when:
+			events.clear()
+			log << 'last\nno-newline'
+			Files.move(log.toPath(), new File(tempFolder.root, 'rotate.log.1').toPath())
+			log << 'first\n'
+			tailer.pollAll()
+		then:
+			events == ['rotate.log:last', 'rotate.log:no-newline', 'rotate.log:reset(false)', 'rotate.log:first']
+
+		when: '읽기 에러로 채널을 닫은 사이에 교체된 파일은 이전 위치가 아닌 처음부터 읽음'
+			events.clear()
+			tailer.files.values()*.closeChannel()
+			Files.move(log.toPath(), new File(tempFolder.root, 'rotate.log.2').toPath())
+			log << 'rotated after error\n'
+			tailer.pollAll()
+		then:
+			events == ['rotate.log:reset(false)', 'rotate.log:rotated after error']
+
+		when: 'follow 후에 생성되는 파일도 생길 때까지 기다렸다가 읽음'
+			File later = new File(tempFolder.root, 'later.log')
+			tailer.follow(later, true, listener)
+			tailer.pollAll()
+			later << 'created\n'
+			tailer.pollAll()
+		then:
+			events.last() == 'later.log:created'
+
+		cleanup:
+			tailer.close()
+	}
+
+	def "pollAll() :: listener에서 예외가 발생한 줄은 건너뛰고 다음 줄부터 계속 읽음"() {
+
+		setup:
+			File log = tempFolder.newFile('bad.log')
+			FileTailer tailer = new FileTailer()
+			tailer.follow(log, false, new FileTailListener() {
+				void onLine(File file, String line) {
+					if (line == 'BAD') {
+						throw new IllegalStateException(line)
+					}
+					events << line
+				}
+				void onReset(File file, boolean truncated) { }
+			})
+
+		when:
+			log << 'L1\nBAD\nL3\n'
+			tailer.pollAll()
+			tailer.pollAll()
+		then:
+			events == ['L1', 'L3']
+			tailer.errorCount == 1
+			tailer.getPosition(log) == log.length()
+
+		cleanup:
+			tailer.close()
+	}
+
+	@Timeout(30)
+	def "start() :: 스레드 하나로 여러 파일을 따라 읽고 listener 예외가 발생해도 계속 읽음"() {
+
+		setup:
+			List<File> logs = (1..100).collect { tempFolder.newFile("multi_${it}.log") }
+			FileTailer tailer = new FileTailer(10, StandardCharsets.UTF_8)
+			logs.each { tailer.follow(it, false, listener) }
+			tailer.follow(tempFolder.newFile('failing.log') << 'boom\n', false, new FileTailListener() {
+				void onLine(File file, String line) { throw new IllegalStateException(line) }
+				void onReset(File file, boolean truncated) { }
+			})
+
+		when:
+			tailer.start()
+			(1..5).each { round -> logs.each { it << "round_${round}\n" } }
+			while (events.size() < 500) {
+				sleep(20)
+			}
+		then:
+			tailer.running
+			tailer.followedCount == 101
+			tailer.errorCount == 1
+			Thread.allStackTraces.keySet().count { it.name.startsWith('file-tailer') } == 1
+			events.findAll { it.startsWith('multi_7.log:') } == (1..5).collect { "multi_7.log:round_${it}".toString() }
+
+		when:
+			tailer.close()
+		then:
+			!tailer.running
+			tailer.followedCount == 0
+	}
+
+}
@@ -1,8 +1,17 @@
 package io.manasobi.utils
 
+import io.manasobi.constnat.OperationResult
+import io.manasobi.constnat.Result
+import io.manasobi.exception.FileUtilsException
+
+import java.nio.charset.StandardCharsets
+import java.util.stream.Stream
+
+import org.apache.commons.io.IOCase
 import org.junit.Rule
 import org.junit.rules.TemporaryFolder
 
+import spock.lang.IgnoreIf
 import spock.lang.Shared
 import spock.lang.Specification
 
@@ -31,6 +40,456 @@ class FileUtilsTest extends Specification {
 			456789000 || '435 MB'	
 	}
 	
+	def "copyDirParallel() :: 원본 디렉토리를 대상 디렉토리명으로 병렬 복사"() {
+		
+		setup:
+			File srcDir = tempFolder.newFolder('parallel_src')
+			(1..3).each { dirNo ->
+				File subDir = new File(srcDir, "sub_$dirNo/inner")
+				subDir.mkdirs()
+				(1..4).each { new File(subDir, "file_${it}.${it % 2 == 0 ? 'pdf' : 'txt'}") << '0123456789' }
+			}
+			File destDir = new File(tempFolder.root, 'parallel_dest')
+			File extDestDir = new File(tempFolder.root, 'parallel_ext_dest')
+		
+		when:
+			CopyReport report = FileUtils.copyDirParallel(srcDir, destDir, 4)
+			CopyReport extReport = FileUtils.copyDirAfterCheckFileExtParallel(srcDir, extDestDir, true, 2, 'pdf')
+		then:
+			report.success
+			report.fileCount == 12
+			report.byteCount == 120
+			new File(destDir, 'sub_2/inner/file_3.txt').text == '0123456789'
+			
+			extReport.fileCount == 6
+			!new File(extDestDir, 'sub_1/inner/file_1.txt').exists()
+			
+		expect:
+			!FileUtils.copyDirParallel(new File(tempFolder.root, 'not_exists'), destDir, 2).success
+			!FileUtils.copyDirParallel(srcDir, destDir, 'unknown', true, 2).success
+	}
+
+	def "copyDirIncremental() :: 새로 생겼거나 변경된 파일만 복사하고 원본에 없는 파일은 삭제"() {
+
+		setup:
+			File srcDir = tempFolder.newFolder('sync_src')
+			(1..5).each { new File(srcDir, "sub/file_${it}.txt").with { parentFile.mkdirs(); text = "file_${it}" } }
+			File destDir = new File(tempFolder.root, 'sync_dest')
+			FileUtils.copyDirIncremental(srcDir, destDir, false, false, 2)
+
+			new File(srcDir, 'sub/file_1.txt').with { text = 'changed'; lastModified = lastModified() + 5000 }
+			new File(srcDir, 'sub/file_6.txt').text = 'added'
+			new File(srcDir, 'sub/file_5.txt').delete()
+
+		when:
+			CopyReport report = FileUtils.copyDirIncremental(srcDir, destDir, false, true, 2)
+		then:
+			report.success
+			report.fileCount == 2
+			report.skippedFileCount == 3
+			report.deletedCount == 1
+			new File(destDir, 'sub/file_1.txt').text == 'changed'
+			new File(destDir, 'sub/file_6.txt').text == 'added'
+			!new File(destDir, 'sub/file_5.txt').exists()
+
+		when:
+			new File(destDir, 'sub/file_2.txt').lastModified = 0
+			CopyReport contentReport = FileUtils.copyDirIncremental(srcDir, destDir, true, true, 2)
+		then:
+			contentReport.fileCount == 0
+			contentReport.skippedFileCount == 5
+			new File(destDir, 'sub/file_2.txt').lastModified() == new File(srcDir, 'sub/file_2.txt').lastModified()
+
+		when:
+			CopyReport moveReport = FileUtils.moveDirIncremental(srcDir, destDir, false, 2)
+		then:
+			moveReport.success
+			moveReport.skippedFileCount == 5
+			!srcDir.exists()
+	}
+
+	def "copyDirIncremental() :: 원본에서 파일과 디렉토리의 종류가 바뀐 대상은 삭제 후 다시 복사"() {
+
+		setup:
+			File srcDir = tempFolder.newFolder('swap_src')
+			new File(srcDir, 'was_dir/inner.txt').with { parentFile.mkdirs(); text = 'inner' }
+			new File(srcDir, 'was_file').text = 'file'
+			File destDir = new File(tempFolder.root, 'swap_dest')
+			FileUtils.copyDirIncremental(srcDir, destDir, false, true, 2)
+
+			FileUtils.deleteDir(new File(srcDir, 'was_dir'))
+			new File(srcDir, 'was_dir').text = 'now file'
+			new File(srcDir, 'was_file').delete()
+			new File(srcDir, 'was_file/inner.txt').with { parentFile.mkdirs(); text = 'now dir' }
+
+		when:
+			CopyReport report = FileUtils.copyDirIncremental(srcDir, destDir, false, true, 2)
+		then:
+			report.success
+			report.deletedCount == 2
+			new File(destDir, 'was_dir').text == 'now file'
+			new File(destDir, 'was_file/inner.txt').text == 'now dir'
+	}
+	
+	def "streamFiles() :: 디렉토리 하위의 파일들을 Stream으로 하나씩 가져옴"() {
+		
+		setup:
+			File rootDir = tempFolder.newFolder('stream_root')
+			File subDir = new File(rootDir, 'sub')
+			subDir.mkdirs()
+			new File(rootDir, 'root.pdf') << '12345'
+			new File(subDir, 'sub.pdf') << '123'
+			new File(subDir, 'sub.txt') << '1'
+		
+		expect:
+			consume(FileUtils.streamFiles(rootDir.path, true)) { it.count() } == 3
+			consume(FileUtils.streamFiles(rootDir.path, false)) { it.count() } == 1
+			consume(FileUtils.streamFilesIncludeExt(rootDir.path, true, 'pdf')) { stream ->
+				stream.mapToLong { it.size() }.sum()
+			} == 8
+			consume(FileUtils.streamFilesAndDirs(rootDir.path, true)) { stream ->
+				stream.filter { it.directory }.count()
+			} == 1
+			consume(FileUtils.streamExcludeFilesByWildcard(rootDir.path, ['sub*.*'] as String[], true)) { stream ->
+				stream.map { it.name }.toArray()
+			} == ['root.pdf'] as Object[]
+	}
+	
+	def "listFilesParallel() :: 여러 스레드로 하위 디렉토리를 동시에 탐색하여 파일 목록을 가져옴"() {
+		
+		setup:
+			File rootDir = tempFolder.newFolder('walk_root')
+			(1..5).each { dirNo ->
+				File subDir = new File(rootDir, "sub_$dirNo/inner")
+				subDir.mkdirs()
+				new File(subDir, "seq-${dirNo}.pdf") << 'pdf'
+				new File(subDir, "doc-${dirNo}.txt") << 'txt'
+			}
+			String dir = rootDir.path
+		
+		expect:
+			FileUtils.listFilesParallel(dir, true, 4).length == 10
+			FileUtils.listFilesParallel(dir, false, 4).length == 0
+			FileUtils.listDirsParallel(dir, false, 4).length == 10
+			FileUtils.listFilesAndDirsParallel(dir, true, 4).length == 21
+			FileUtils.listFilesIncludeExtParallel(dir, true, 4, 'pdf').length == 5
+			FileUtils.listFilesExcludeExtParallel(dir, true, 4, 'PDF').length == 5
+			FileUtils.listExcludeFilesByWildcardParallel(dir, ['seq-*.*'] as String[], true, 4)*.name.every { it.startsWith('doc-') }
+			FileUtils.listFilesParallel(dir, true, 4)*.path.sort() == FileUtils.listFiles(dir, true)*.path.sort()
+	}
+
+	def "deleteDirParallel() :: 여러 스레드로 하위 디렉토리를 동시에 삭제"() {
+
+		setup:
+			File rootDir = tempFolder.newFolder('delete_root')
+			(1..4).each { dirNo ->
+				File subDir = new File(rootDir, "sub_$dirNo/inner")
+				subDir.mkdirs()
+				(1..700).each { new File(subDir, "file_${it}.txt") << 'x' }
+			}
+			new File(rootDir, 'root.txt') << 'root'
+
+		when:
+			DeleteReport report = new ParallelDirDeleter(4).delete(new File(rootDir, 'sub_1'), true)
+		then:
+			report.success
+			report.fileCount == 700
+			report.dirCount == 2
+			!new File(rootDir, 'sub_1').exists()
+
+		when:
+			Result cleanResult = FileUtils.cleanDirParallel(rootDir, 4)
+		then:
+			cleanResult == Result.SUCCESS
+			rootDir.exists()
+			rootDir.list().length == 0
+
+		when:
+			Result deleteResult = FileUtils.deleteDirParallel(rootDir.path, 4)
+		then:
+			deleteResult == Result.SUCCESS
+			!rootDir.exists()
+			FileUtils.deleteDirParallel(rootDir, 4) == Result.FAIL
+	}
+	
+	def "moveFile() :: 대상 파일을 atomic 하게 교체하고 디렉토리는 이름만 변경하여 이동"() {
+
+		setup:
+			File srcFile = tempFolder.newFile('move_src.txt')
+			srcFile.text = 'new'
+			srcFile.lastModified = 1000000L
+			File destFile = new File(tempFolder.newFolder('move_dest'), 'dest.txt')
+			destFile.text = 'old'
+
+			File srcDir = tempFolder.newFolder('move_src_dir')
+			new File(srcDir, 'sub').mkdirs()
+			new File(srcDir, 'sub/inner.txt').text = 'inner'
+			File destDir = tempFolder.newFolder('move_dest_dir')
+			new File(destDir, 'stale.txt').text = 'stale'
+
+		when:
+			Result fileResult = FileUtils.moveFile(srcFile, destFile, true)
+			Result dirResult = FileUtils.moveDir(srcDir, destDir, true)
+			Result renameResult = FileUtils.rename(destFile.path, new File(destFile.parentFile, 'renamed.txt').path)
+		then:
+			fileResult == Result.SUCCESS
+			!srcFile.exists()
+			destFile.parentFile.list() == ['renamed.txt'] as String[]
+			new File(destFile.parentFile, 'renamed.txt').text == 'new'
+			new File(destFile.parentFile, 'renamed.txt').lastModified() == 1000000L
+
+			dirResult == Result.SUCCESS
+			!srcDir.exists()
+			destDir.list() == ['sub'] as String[]
+			new File(destDir, 'sub/inner.txt').text == 'inner'
+			tempFolder.root.list().findAll { it.startsWith('.') }.empty
+
+			renameResult == Result.SUCCESS
+
+		expect:
+			FileUtils.moveFile(srcFile, destFile, true) == Result.FAIL
+	}
+
+	@IgnoreIf({ !System.getenv('MANASOBI_CROSS_DEVICE_DIR') })
+	def "moveDirToDir() :: 다른 볼륨으로는 임시 이름으로 복사한 후 rename 하여 이동"() {
+
+		setup:
+			File otherVolume = new File(System.getenv('MANASOBI_CROSS_DEVICE_DIR'), "manasobi-${UUID.randomUUID()}")
+			otherVolume.mkdirs()
+			File srcDir = tempFolder.newFolder('cross_src')
+			new File(srcDir, 'file.txt').text = 'cross'
+
+		when:
+			Result result = FileUtils.moveDirToDir(srcDir, otherVolume, true)
+		then:
+			result == Result.SUCCESS
+			!srcDir.exists()
+			otherVolume.list() == ['cross_src'] as String[]
+			new File(otherVolume, 'cross_src/file.txt').text == 'cross'
+
+		cleanup:
+			FileUtils.deleteDir(otherVolume)
+	}
+
+	def "Result :: 동시에 실패한 호출의 에러 메시지가 스레드별로 유지되고 OperationResult로 변환"() {
+
+		setup:
+			File srcDir = tempFolder.newFolder('result_src')
+			(1..3).each { new File(srcDir, "file_${it}.txt") << '0123456789' }
+			List<String> mismatches = Collections.synchronizedList([])
+
+		when:
+			List<Thread> threads = (1..8).collect { threadNo ->
+				Thread.start {
+					200.times {
+						String notExists = new File(tempFolder.root, "missing_${threadNo}_${it}").path
+						if (FileUtils.deleteFile(notExists) == Result.FAIL && !Result.FAIL.message.contains("missing_${threadNo}_${it}")) {
+							mismatches << Result.FAIL.message
+						}
+					}
+				}
+			}
+			threads*.join()
+		then:
+			mismatches.empty
+
+		when:
+			OperationResult copyResult = FileUtils.copyDirParallel(srcDir, new File(tempFolder.root, 'result_dest'), 2).toOperationResult()
+			OperationResult failResult = FileUtils.copyDirParallel(new File(tempFolder.root, 'not_exists'), srcDir, 2).toOperationResult()
+		then:
+			copyResult.success
+			copyResult.status == Result.SUCCESS
+			copyResult.fileCount == 3
+			copyResult.byteCount == 30
+			copyResult.elapsedNanos > 0
+
+			!failResult.success
+			failResult.status == Result.FAIL
+			failResult.message.contains('not_exists')
+	}
+
+	def "readFileToString() :: memory-map 하여 읽고 제한 크기를 넘는 파일은 Reader로 읽음"() {
+
+		setup:
+			String content = 'x' + ('가나다라마바사' * 2000)
+			File file = tempFolder.newFile('mapped.txt')
+			file.setText(content, 'UTF-8')
+			FileUtils.mappedReadThreshold = 0
+
+		expect:
+			FileUtils.readFileToString(file, 'UTF-8') == content
+			FileUtils.readFileToByteArray(file) == content.getBytes('UTF-8')
+			FileUtils.readFileToString(tempFolder.newFile('empty.txt'), 'UTF-8') == ''
+
+		when:
+			FileUtils.readSizeLimit = 1024
+			StringWriter writer = new StringWriter()
+			Reader reader = FileUtils.openMappedReader(file, StandardCharsets.UTF_8)
+			try {
+				char[] buffer = new char[7]
+				int read
+				while ((read = reader.read(buffer)) != -1) {
+					writer.write(buffer, 0, read)
+				}
+			} finally {
+				reader.close()
+			}
+		then:
+			FileUtils.readFileToString(file, 'UTF-8') == null
+			FileUtils.readFileToByteArray(file) == null
+			writer.toString() == content
+
+		cleanup:
+			FileUtils.mappedReadThreshold = MappedFileReader.DEFAULT_MAPPED_READ_THRESHOLD
+			FileUtils.readSizeLimit = MappedFileReader.DEFAULT_READ_SIZE_LIMIT
+	}
+
+	@IgnoreIf({ !new File('/proc/self/status').exists() })
+	def "readFileToString() :: 크기가 0으로 보이는 /proc 파일도 끝까지 읽음"() {
+
+		expect:
+			new File('/proc/self/status').length() == 0
+			FileUtils.readFileToString(new File('/proc/self/status'), 'UTF-8').startsWith('Name:')
+			FileUtils.readFileToByteArray(new File('/proc/self/status')).length > 0
+	}
+
+	def "listFilesByGlob() :: 경로 glob과 일치하는 파일만 가져오고 일치할 수 없는 디렉토리는 탐색하지 않음"() {
+
+		setup:
+			File rootDir = tempFolder.newFolder('glob_root')
+			['2023', '2024'].each { year ->
+				(1..3).each { month ->
+					File dayDir = new File(rootDir, "${year}/0${month}")
+					new File(dayDir, 'incoming').mkdirs()
+					new File(dayDir, 'archive/deep').mkdirs()
+					new File(dayDir, 'incoming/a.pdf') << 'pdf'
+					new File(dayDir, 'incoming/b.txt') << 'txt'
+					new File(dayDir, 'archive/deep/c.PDF') << 'pdf'
+				}
+			}
+			new File(rootDir, 'top.txt') << 'txt'
+			String dir = rootDir.path
+
+		expect:
+			FileUtils.listFilesByGlob(dir, '2024/*/incoming/*.pdf')*.path.sort() == (1..3).collect { new File(rootDir, "2024/0${it}/incoming/a.pdf").path }
+			FileUtils.listFilesByGlob(dir, '**/deep/*.pdf').length == 6
+			FileUtils.listFilesByGlob(dir, IOCase.SENSITIVE, '**/deep/*.pdf').length == 0
+			FileUtils.listFilesByGlob(dir, IOCase.SENSITIVE, '2023/02/incoming/a.pdf').length == 1
+			FileUtils.listFilesByGlob(dir, '2023/**', '**/01/incoming/*').length == 11
+			FileUtils.listFilesByGlob(dir, '2025/**').length == 0
+			FileUtils.listFilenamesByGlob(dir, '2023/0?/incoming/*.txt').size() == 3
+			FileUtils.listFilesByWildcard(dir, ['2024/*/incoming/*.pdf'] as String[], false).length == 3
+			FileUtils.listFilesByWildcard(dir, ['2024/*/incoming/*.pdf', '*.txt'] as String[], true).length == 10
+			FileUtils.listFilesByWildcard(dir, ['2024/*/incoming/*.pdf', '*.txt'] as String[], false).length == 4
+			FileUtils.listFilenamesByWildcard(dir, ['2024/*/incoming/*.pdf', null] as String[], true).size() == 3
+	}
+
+	def "dirStatsParallel() :: 한 번의 병렬 탐색으로 전체, 확장자별, 깊이별 사용량을 구하고 캐시는 디렉토리의 최종 수정일로 갱신"() {
+
+		setup:
+			File rootDir = tempFolder.newFolder('stats_root')
+			new File(rootDir, 'root.PDF') << '12345'
+			(1..3).each { dirNo ->
+				File subDir = new File(rootDir, "sub_$dirNo/inner")
+				subDir.mkdirs()
+				new File(subDir, 'doc.pdf') << '123'
+				new File(subDir, 'note') << '1'
+			}
+			DirStatsCollector collector = new DirStatsCollector(2, true)
+
+		when:
+			DirStats stats = FileUtils.dirStatsParallel(rootDir.path, 2)
+		then:
+			stats.fileCount == 7
+			stats.dirCount == 6
+			stats.byteCount == 17
+			stats.getExtensionUsage('pdf').fileCount == 4
+			stats.getExtensionUsage('PDF').byteCount == 14
+			stats.getExtensionUsage('').fileCount == 3
+			stats.getExtensionUsage('txt').fileCount == 0
+			stats.depthUsage*.fileCount == [1, 0, 6]
+
+		when:
+			rootDir.eachFileRecurse { if (it.directory) it.lastModified = 1000000L }
+			rootDir.lastModified = 1000000L
+			collector.collect(rootDir)
+			DirStats cachedStats = collector.collect(rootDir)
+		then:
+			cachedStats.cachedDirCount == 7
+			cachedStats.byteCount == 17
+
+		when:
+			new File(rootDir, 'sub_1/inner/added.pdf') << '1234567890'
+			new File(rootDir, 'sub_2').deleteDir()
+			DirStats changedStats = collector.collect(rootDir)
+		then:
+			changedStats.fileCount == 6
+			changedStats.dirCount == 4
+			changedStats.byteCount == 23
+			collector.cacheSize == 3
+
+		when:
+			FileUtils.dirStatsParallel(new File(rootDir, 'root.PDF'), 2)
+		then:
+			thrown(FileUtilsException)
+	}
+
+	def "contentEquals() :: 크기가 다르면 읽지 않고 false, 같으면 memory-map 구간을 8 bytes 단위로 비교"() {
+
+		setup:
+			byte[] bytes = new byte[size].collect { (byte) (it * 31) } as byte[]
+			File file1 = tempFolder.newFile("left_${size}.bin")
+			File file2 = tempFolder.newFile("right_${size}.bin")
+			file1.bytes = bytes
+			if (diffAt >= 0) {
+				bytes[diffAt] = (byte) (bytes[diffAt] + 1)
+			}
+			file2.bytes = bytes
+
+		expect:
+			FileUtils.contentEquals(file1, file2) == expected
+			FileUtils.contentEquals(file1.path, file1.path)
+
+		where:
+			size              | diffAt            || expected
+			0                 | -1                || true
+			13                | -1                || true
+			13                | 12                || false
+			64 * 1024 + 3     | 64 * 1024 + 1     || false
+			1024 * 1024 + 5   | -1                || true
+			1024 * 1024 + 5   | 1024 * 1024 + 4   || false
+			1024 * 1024 + 5   | 8                 || false
+	}
+
+	def "contentEquals() :: 크기가 다르거나 한쪽만 존재하면 false, 디렉토리는 예외"() {
+
+		setup:
+			File file1 = tempFolder.newFile('short.txt')
+			file1.text = 'abc'
+			File file2 = tempFolder.newFile('long.txt')
+			file2.text = 'abcd'
+			File notExists = new File(tempFolder.root, 'not_exists.txt')
+
+		expect:
+			!FileUtils.contentEquals(file1, file2)
+			!FileUtils.contentEquals(file1, notExists)
+			FileUtils.contentEquals(notExists, new File(tempFolder.root, 'not_exists_either.txt'))
+
+		when:
+			FileUtils.contentEquals(tempFolder.root, file1)
+		then:
+			thrown(FileUtilsException)
+	}
+
+	private static def consume(Stream<FileEntry> stream, Closure closure) {
+		
+		try {
+			return closure.call(stream)
+		} finally {
+			stream.close()
+		}
+	}
+	
 	/*def "cleanDir() :: 루트 디렉토리 내의 파일 및 하위 디렉토리를 삭제 [루트 디렉토리는 삭제하지 않음]"() {
 		
 		setup:
@@ -0,0 +1,131 @@
+package io.manasobi.utils
+
+import java.util.concurrent.ConcurrentLinkedQueue
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+
+import spock.lang.Specification
+import spock.lang.Timeout
+
+class HotFolderPipelineTest extends Specification {
+
+	@Rule
+	TemporaryFolder tempFolder = new TemporaryFolder();
+
+	HotFolderPipeline pipeline
+
+	def cleanup() {
+		pipeline?.close()
+	}
+
+	@Timeout(30)
+	def "start() :: marker 파일이 있는 파일만 처리하고 결과에 따라 완료/에러 디렉토리로 이동"() {
+
+		setup:
+			File root = tempFolder.root
+			File inbox = tempFolder.newFolder('01.Inbox')
+			def processed = new ConcurrentLinkedQueue<String>()
+
+			pipeline = new HotFolderPipeline(inbox, new File(root, '03.InProc'), new File(root, '04.Done'), new File(root, '05.Error'), { File file ->
+				processed.add(file.name)
+				if (file.name.startsWith('bad')) {
+					throw new IllegalStateException(file.name)
+				}
+			} as FileProcessor)
+			pipeline.pollIntervalMillis = 50
+			pipeline.markerExts = ['end'] as String[]
+
+			new File(inbox, 'a.pdf').text = 'a'
+			new File(inbox, 'a.end').text = ''
+			new File(inbox, 'bad.pdf').text = 'bad'
+			new File(inbox, 'bad.pdf.end').text = ''
+			new File(inbox, 'upper.pdf').text = 'upper'
+			new File(inbox, 'upper.pdf.END').text = ''
+			new File(inbox, 'waiting.pdf').text = 'waiting'
+
+		when:
+			pipeline.start()
+			while (pipeline.completedCount + pipeline.failedCount < 3) {
+				Thread.sleep(20)
+			}
+		then:
+			processed.sort() == ['a.pdf', 'bad.pdf', 'upper.pdf']
+			new File(root, '04.Done').list().sort() == ['a.end', 'a.pdf', 'upper.pdf', 'upper.pdf.END']
+			new File(root, '05.Error').list().sort() == ['bad.pdf', 'bad.pdf.end']
+			new File(root, '03.InProc').list().length == 0
+			inbox.list() == ['waiting.pdf']
+			pipeline.claimedCount == 3
+			pipeline.queueDepth == 0
+			pipeline.oldestItemAgeMillis == 0
+	}
+
+	@Timeout(30)
+	def "start() :: 같은 이름의 파일들이 공유하는 marker는 모두 가져온 후 이동하고 Error가 발생한 파일도 에러 디렉토리로 이동"() {
+
+		setup:
+			File root = tempFolder.root
+			File inbox = tempFolder.newFolder('01.Inbox')
+
+			pipeline = new HotFolderPipeline(inbox, new File(root, '03.InProc'), new File(root, '04.Done'), new File(root, '05.Error'), { File file ->
+				if (file.name.startsWith('error')) {
+					throw new AssertionError(file.name)
+				}
+			} as FileProcessor)
+			pipeline.pollIntervalMillis = 50
+			pipeline.workerCount = 1
+			pipeline.queueCapacity = 1
+			pipeline.markerExts = ['end'] as String[]
+
+			['pdf', 'xml', 'txt'].each { new File(inbox, "shared.${it}").text = it }
+			new File(inbox, 'shared.end').text = ''
+			new File(inbox, 'error.pdf').text = 'error'
+			new File(inbox, 'error.pdf.end').text = ''
+
+		when:
+			pipeline.start()
+			while (pipeline.completedCount + pipeline.failedCount < 4 || inbox.list().length > 0) {
+				Thread.sleep(20)
+			}
+			pipeline.close()
+		then:
+			new File(root, '04.Done').list().sort() == ['shared.end', 'shared.pdf', 'shared.txt', 'shared.xml']
+			new File(root, '05.Error').list().sort() == ['error.pdf', 'error.pdf.end']
+			pipeline.failedCount == 1
+			pipeline.oldestItemAgeMillis == 0
+	}
+
+	@Timeout(30)
+	def "start() :: 크기와 수정일이 변하지 않은 파일을 처리하고 작업 디렉토리에 남은 파일은 복구"() {
+
+		setup:
+			File root = tempFolder.root
+			File inbox = tempFolder.newFolder('01.Inbox')
+			File orphan = new File(root, '03.InProc/0f3c/orphan.txt')
+			orphan.parentFile.mkdirs()
+			orphan.text = 'orphan'
+			def processed = new ConcurrentLinkedQueue<String>()
+
+			pipeline = new HotFolderPipeline(inbox, new File(root, '03.InProc'), new File(root, '04.Done'), new File(root, '05.Error'), { File file ->
+				processed.add(file.name)
+			} as FileProcessor)
+			pipeline.pollIntervalMillis = 50
+			pipeline.stableMillis = 100
+			pipeline.workerCount = 2
+
+			(1..5).each { new File(inbox, "file-${it}.txt").text = "${it}" }
+
+		when:
+			pipeline.start()
+			while (pipeline.completedCount < 6) {
+				Thread.sleep(20)
+			}
+		then:
+			processed.sort() == ['file-1.txt', 'file-2.txt', 'file-3.txt', 'file-4.txt', 'file-5.txt', 'orphan.txt']
+			new File(root, '04.Done').list().length == 6
+			inbox.list().length == 0
+			pipeline.failedCount == 0
+			pipeline.throughputPerSecond > 0
+	}
+
+}
@@ -0,0 +1,94 @@
+package io.manasobi.utils
+
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+
+import spock.lang.Specification
+import spock.lang.Timeout
+
+class HotFolderWatcherTest extends Specification {
+
+	@Rule
+	TemporaryFolder tempFolder = new TemporaryFolder();
+
+	LinkedBlockingQueue<FileChangeEvent> events = new LinkedBlockingQueue<FileChangeEvent>()
+
+	HotFolderWatcher watcher
+
+	def cleanup() {
+		watcher?.close()
+	}
+
+	@Timeout(30)
+	def "watchDir() :: 파일 생성, 수정, 삭제를 이벤트로 전달"() {
+
+		setup:
+			File existing = tempFolder.newFile('existing.txt')
+			watcher = FileUtils.watchDir(tempFolder.root.path, true, { events.add(it) } as FileChangeListener, 'txt')
+
+		when:
+			File created = new File(tempFolder.root, 'created.txt')
+			created.text = 'hello'
+			new File(tempFolder.root, 'ignored.log').text = 'skip'
+		then:
+			nextEvent().kind == FileChangeEvent.Kind.CREATE
+			nextEvent() == null
+
+		when:
+			existing.text = 'changed'
+		then:
+			with(nextEvent()) {
+				kind == FileChangeEvent.Kind.MODIFY
+				file == existing
+				size == 7
+			}
+
+		when:
+			File subDir = new File(tempFolder.root, 'sub/deep')
+			subDir.mkdirs()
+			new File(subDir, 'nested.txt').text = 'nested'
+		then:
+			with(nextEvent()) {
+				kind == FileChangeEvent.Kind.CREATE
+				file.name == 'nested.txt'
+			}
+
+		when:
+			created.delete()
+		then:
+			with(nextEvent()) {
+				kind == FileChangeEvent.Kind.DELETE
+				file.name == 'created.txt'
+			}
+	}
+
+	@Timeout(30)
+	def "watchDir() :: 하위 디렉토리의 속성이 수정된 후에도 하위 디렉토리의 파일 생성을 감시"() {
+
+		setup:
+			File subDir = tempFolder.newFolder('touched')
+			new File(subDir, 'first.txt').text = 'first'
+			watcher = FileUtils.watchDir(tempFolder.root.path, true, { events.add(it) } as FileChangeListener, 'txt')
+
+		when:
+			subDir.setLastModified(System.currentTimeMillis() - 60000)
+		then:
+			nextEvent() == null
+
+		when:
+			new File(subDir, 'second.txt').text = 'second'
+		then:
+			with(nextEvent()) {
+				kind == FileChangeEvent.Kind.CREATE
+				file.name == 'second.txt'
+			}
+	}
+
+	private FileChangeEvent nextEvent() {
+		events.poll(5, TimeUnit.SECONDS)
+	}
+
+}
@@ -0,0 +1,73 @@
+package io.manasobi.utils
+
+import io.manasobi.constnat.Result
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+
+import spock.lang.Specification
+import spock.lang.Timeout
+
+class IoThrottleTest extends Specification {
+
+	@Rule
+	TemporaryFolder tempFolder = new TemporaryFolder();
+
+	def cleanup() {
+		FileUtils.setIoThrottle(null)
+	}
+
+	@Timeout(30)
+	def "setIoThrottle() :: 설정한 초당 bytes 수와 초당 파일 수를 넘지 않도록 복사 속도를 제한"() {
+
+		setup:
+			File srcFile = tempFolder.newFile('throttle_src.bin')
+			srcFile.bytes = new byte[2 * 1024 * 1024]
+			File srcDir = tempFolder.newFolder('throttle_src_dir')
+			(1..20).each { new File(srcDir, "file_${it}.txt") << 'x' }
+			IoThrottle throttle = new IoThrottle(4 * 1024 * 1024, IoThrottle.UNLIMITED)
+			FileUtils.setIoThrottle(throttle)
+
+		when:
+			long start = System.nanoTime()
+			Result fileResult = FileUtils.copyFile(srcFile, new File(tempFolder.root, 'throttle_dest.bin'))
+			long fileMillis = (System.nanoTime() - start) / 1000000
+		then:
+			fileResult == Result.SUCCESS
+			fileMillis >= 400
+			new File(tempFolder.root, 'throttle_dest.bin').length() == srcFile.length()
+
+		when:
+			throttle.bytesPerSecond = IoThrottle.UNLIMITED
+			throttle.filesPerSecond = 40
+			start = System.nanoTime()
+			Result dirResult = FileUtils.copyDir(srcDir, new File(tempFolder.root, 'throttle_dest_dir'))
+			long dirMillis = (System.nanoTime() - start) / 1000000
+		then:
+			dirResult == Result.SUCCESS
+			dirMillis >= 400
+			new File(tempFolder.root, 'throttle_dest_dir').list().length == 20
+			FileUtils.ioThrottle.is(throttle)
+	}
+
+	@Timeout(30)
+	def "copyLarge() :: 스트림 복사에도 IoThrottle의 속도 제한을 적용"() {
+
+		setup:
+			IoThrottle throttle = new IoThrottle(2 * 1024 * 1024, IoThrottle.UNLIMITED)
+			ByteArrayOutputStream output = new ByteArrayOutputStream()
+
+		when:
+			long start = System.nanoTime()
+			long copied = IOUtils.copyLarge(new ByteArrayInputStream(new byte[1024 * 1024]), output, throttle)
+			long millis = (System.nanoTime() - start) / 1000000
+		then:
+			copied == 1024 * 1024
+			output.size() == 1024 * 1024
+			millis >= 400
+
+		expect:
+			IOUtils.copyLarge(new ByteArrayInputStream(new byte[10]), new ByteArrayOutputStream(), null) == 10
+	}
+
+}
@@ -0,0 +1,65 @@
+package io.manasobi.utils
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+
+import spock.lang.Specification
+import spock.lang.Timeout
+
+class ResumableDirCopierTest extends Specification {
+
+	@Rule
+	TemporaryFolder tempFolder = new TemporaryFolder();
+
+	def cleanup() {
+		FileUtils.setIoThrottle(null)
+	}
+
+	@Timeout(60)
+	def "copy() :: 중단된 복사를 다시 실행하면 완료된 파일은 건너뛰고 큰 파일은 마지막 checkpoint부터 이어서 복사"() {
+
+		setup:
+			File srcDir = tempFolder.newFolder('resume_src')
+			Random random = new Random(7)
+			(1..5).each { new File(srcDir, "sub/file_${it}.txt").with { parentFile.mkdirs(); text = "file_${it}" } }
+			byte[] bigBytes = new byte[3 * 1024 * 1024]
+			random.nextBytes(bigBytes)
+			new File(srcDir, 'big.bin').bytes = bigBytes
+			File destDir = new File(tempFolder.root, 'resume_dest')
+			File journalFile = new File(tempFolder.root, 'resume.journal')
+
+			ResumableDirCopier copier = new ResumableDirCopier(journalFile, 2, true)
+			copier.checkpointInterval = 256 * 1024
+
+		when: '속도를 제한하여 복사하던 중에 중단'
+			FileUtils.setIoThrottle(new IoThrottle(1024 * 1024, IoThrottle.UNLIMITED))
+			CopyReport firstReport = null
+			Thread copyThread = Thread.start { firstReport = copier.copy(srcDir, destDir) }
+			sleep(1500)
+			copyThread.interrupt()
+			copyThread.join()
+		then:
+			!firstReport.success
+			journalFile.exists()
+			!new File(destDir, 'big.bin').exists()
+			new File(destDir, '.big.bin.part').exists()
+
+		when: '제한 없이 다시 실행'
+			FileUtils.setIoThrottle(null)
+			CopyReport secondReport = copier.copy(srcDir, destDir)
+		then:
+			secondReport.success
+			secondReport.fileCount + secondReport.skippedFileCount == 6
+			secondReport.skippedFileCount > 0
+			secondReport.byteCount < bigBytes.length
+			new File(destDir, 'big.bin').bytes == bigBytes
+			new File(destDir, 'sub/file_3.txt').text == 'file_3'
+			!new File(destDir, '.big.bin.part').exists()
+			!journalFile.exists()
+
+		expect:
+			FileUtils.copyDirResumable(srcDir, new File(tempFolder.root, 'resume_again'), journalFile, 2).fileCount == 6
+			!FileUtils.copyDirResumable(new File(tempFolder.root, 'not_exists'), destDir, journalFile, 2).success
+	}
+
+}
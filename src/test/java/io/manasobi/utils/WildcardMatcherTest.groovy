@@ -0,0 +1,45 @@
+package io.manasobi.utils
+
+import org.apache.commons.io.IOCase
+
+import spock.lang.Specification
+
+class WildcardMatcherTest extends Specification {
+
+	def "matches() :: 여러 wildcard 중 하나라도 일치하면 true를 반환"() {
+
+		expect:
+			WildcardMatcher.compile(wildcards as String[], ioCase).matches(name) == result
+		where:
+			wildcards                 | ioCase             | name              || result
+			['test*.*']               | IOCase.INSENSITIVE | 'TEST_01.pdf'     || true
+			['test*.*']               | IOCase.SENSITIVE   | 'TEST_01.pdf'     || false
+			['*.pdf', '*.txt']        | IOCase.SENSITIVE   | 'report.txt'      || true
+			['*.pdf', '*.txt']        | IOCase.SENSITIVE   | 'report.doc'      || false
+			['seq-??.*', 'doc-*']     | IOCase.SENSITIVE   | 'seq-01.pdf'      || true
+			['seq-??.*', 'doc-*']     | IOCase.SENSITIVE   | 'seq-001.pdf'     || false
+			['*?']                    | IOCase.SENSITIVE   | 'aaa'             || true
+			['**a**b']                | IOCase.SENSITIVE   | 'xxaxxb'          || true
+			['*']                     | IOCase.SENSITIVE   | ''                || true
+			['?']                     | IOCase.SENSITIVE   | ''                || false
+			['', 'a']                 | IOCase.SENSITIVE   | ''                || true
+			['*_파일.*']              | IOCase.INSENSITIVE | '결과_파일.PDF'   || true
+			[]                        | IOCase.SENSITIVE   | 'any'             || false
+			[null, '*.pdf']           | IOCase.SENSITIVE   | 'a.pdf'           || true
+			[null]                    | IOCase.SENSITIVE   | 'null'            || false
+	}
+
+	def "matches() :: 상태가 64개를 넘는 wildcard 목록도 하나의 matcher로 검사"() {
+
+		setup:
+			String[] wildcards = (1..60).collect { "*_${it}_*.tmp" } as String[]
+			WildcardMatcher matcher = WildcardMatcher.compile(wildcards, IOCase.INSENSITIVE)
+
+		expect:
+			matcher.matches('work_59_final.TMP')
+			matcher.matches('work_1_.tmp')
+			!matcher.matches('work_61_final.tmp')
+			!matcher.matches('work_59_final.pdf')
+	}
+
+}